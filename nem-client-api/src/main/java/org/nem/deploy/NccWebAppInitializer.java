@@ -13,9 +13,11 @@ import org.springframework.web.servlet.*;
 import org.springframework.web.servlet.config.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
 
+import javax.servlet.*;
 import javax.servlet.http.*;
 import java.util.List;
 import java.util.concurrent.CompletionException;
+import java.util.logging.Logger;
 
 /**
  * Class supplying Spring MVC configuration.
@@ -24,6 +26,8 @@ import java.util.concurrent.CompletionException;
 @ComponentScan(basePackages = { "org.nem.ncc.controller" })
 //@EnableWebMvc // this cannot be present, when using WebMvcConfigurationSupport
 public class NccWebAppInitializer extends WebMvcConfigurationSupport {
+	private static final Logger LOGGER = Logger.getLogger(NccWebAppInitializer.class.getName());
+
 	@Autowired
 	private AccountLookup accountLookup;
 
@@ -46,6 +50,32 @@ public class NccWebAppInitializer extends WebMvcConfigurationSupport {
 		super.setApplicationContext(applicationContext);
 	}
 
+	@Override
+	public void setServletContext(final ServletContext servletContext) {
+		super.setServletContext(servletContext);
+		enableAsyncSupport(servletContext);
+	}
+
+	private static void enableAsyncSupport(final ServletContext servletContext) {
+		// deferred results can only be returned when the dispatcher servlet and every filter in front of it
+		// are async supported, so don't rely on the registrations made by the starter to enable it
+		try {
+			for (final ServletRegistration registration : servletContext.getServletRegistrations().values()) {
+				if (registration instanceof ServletRegistration.Dynamic) {
+					((ServletRegistration.Dynamic)registration).setAsyncSupported(true);
+				}
+			}
+
+			for (final FilterRegistration registration : servletContext.getFilterRegistrations().values()) {
+				if (registration instanceof FilterRegistration.Dynamic) {
+					((FilterRegistration.Dynamic)registration).setAsyncSupported(true);
+				}
+			}
+		} catch (final IllegalStateException | UnsupportedOperationException e) {
+			LOGGER.warning(String.format("unable to enable async support on the servlet registrations: %s", e.getMessage()));
+		}
+	}
+
 	@Override
 	protected void configureMessageConverters(final List<HttpMessageConverter<?>> converters) {
 		// NCC should only support JSON APIs
@@ -61,6 +91,16 @@ public class NccWebAppInitializer extends WebMvcConfigurationSupport {
 		super.addInterceptors(registry);
 	}
 
+	@Override
+	protected void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+		// controllers return deferred results that are completed by NIS responses;
+		// the timeout must allow for failing over across multiple NIS requests
+		// (async support itself is enabled on the servlet and filter registrations in setServletContext)
+		final long ASYNC_REQUEST_TIMEOUT = 60000;
+		configurer.setDefaultTimeout(ASYNC_REQUEST_TIMEOUT);
+		super.configureAsyncSupport(configurer);
+	}
+
 	@Override
 	protected void configureHandlerExceptionResolvers(final List<HandlerExceptionResolver> exceptionResolvers) {
 		final CompletionExceptionResolver resolver = new CompletionExceptionResolver();
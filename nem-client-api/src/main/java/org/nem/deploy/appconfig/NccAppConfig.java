@@ -1,9 +1,11 @@
 package org.nem.deploy.appconfig;
 
+import org.nem.core.async.SleepFuture;
 import org.nem.core.connect.*;
-import org.nem.core.connect.client.AsyncNisConnector;
+import org.nem.core.connect.client.*;
 import org.nem.core.deploy.*;
 import org.nem.core.metadata.ApplicationMetaData;
+import org.nem.core.serialization.Deserializer;
 import org.nem.core.time.TimeProvider;
 import org.nem.deploy.NccConfigurationPolicy;
 import org.nem.ncc.*;
@@ -17,14 +19,23 @@ import org.nem.ncc.wallet.storage.SecureWalletDescriptorFactory;
 import org.springframework.context.annotation.*;
 
 import java.io.File;
-import java.util.Arrays;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Class supplying Spring beans.
  */
 @Configuration
 public class NccAppConfig {
-	private DefaultAsyncNisConnector connector;
+	private static final int NIS_CONNECTION_TIMEOUT = 10000;
+	private static final int NIS_SOCKET_TIMEOUT = 10000;
+	private static final int NIS_REQUEST_TIMEOUT = 20000;
+
+	private static final int NIS_MAX_QUEUED_REQUESTS_PER_ROUTE = 1000;
+
+	private AdaptiveTimeoutAsyncNisConnector connector;
+	private BulkheadAsyncNisConnector bulkheadConnector;
+	private RouteLimitingAsyncNisConnector routeConnector;
 
 	@Bean
 	public AsyncNisConnector cloudConnector() {
@@ -35,23 +46,155 @@ public class NccAppConfig {
 			return this.connector;
 		}
 
-		this.connector = new DefaultAsyncNisConnector(this.httpMethodClient());
-		this.connector.setAccountLookup(this.accountLookup());
+		// the binary format is opt-in and only used for apis with large or frequent responses
+		final Set<NisApiId> binaryApiIds = new HashSet<>(Arrays.asList(
+				NisApiId.NIS_REST_ACCOUNT_LOOK_UP,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_INCOMING,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_OUTGOING,
+				NisApiId.NIS_REST_TRANSACTION_ANNOUNCE));
+		// an endpoint that rejected the binary format is asked again after a while (it might have been upgraded)
+		final int JSON_FORMAT_RETRY_SECONDS = 10 * 60;
+		final DefaultAsyncNisConnector jsonConnector = new DefaultAsyncNisConnector(this.httpMethodClient());
+		final BinaryAsyncNisConnector binaryConnector = new BinaryAsyncNisConnector(this.binaryHttpMethodClient());
+		final NegotiatingAsyncNisConnector negotiatingConnector = new NegotiatingAsyncNisConnector(
+				binaryConnector,
+				jsonConnector,
+				() -> this.configuration().getNisCommunicationMode(),
+				binaryApiIds,
+				this.timeProvider(),
+				JSON_FORMAT_RETRY_SECONDS);
+
+		// requests are limited per endpoint and per kind of request
+		this.routeConnector = new RouteLimitingAsyncNisConnector(
+				negotiatingConnector,
+				() -> this.configuration().getNisMaxConnectionsPerRoute(),
+				NIS_MAX_QUEUED_REQUESTS_PER_ROUTE);
+		this.bulkheadConnector = new BulkheadAsyncNisConnector(this.routeConnector, createBulkheads());
+
+		// gets time out after the 99th percentile of their recent latencies (with headroom)
+		// instead of always waiting for the http client request timeout
+		// (the timeout is applied outside of the limiters so that a timed out request keeps its slots until it really ends)
+		final int MIN_GET_TIMEOUT = 2000;
+		final double TIMEOUT_PERCENTILE = 0.99;
+		final double TIMEOUT_FACTOR = 3;
+		this.connector = new AdaptiveTimeoutAsyncNisConnector(
+				this.bulkheadConnector,
+				new AdaptiveTimeoutPolicy(MIN_GET_TIMEOUT, NIS_REQUEST_TIMEOUT, TIMEOUT_PERCENTILE, TIMEOUT_FACTOR),
+				SleepFuture::create);
+		jsonConnector.setAccountLookup(this.accountLookup());
+		binaryConnector.setAccountLookup(this.accountLookup());
 		return this.connector;
 	}
 
 	@Bean
-	public PrimaryNisConnector primaryNisConnector() {
-		return new DefaultNisConnector(
-				() -> this.configuration().getNisEndpoint(),
-				this.cloudConnector());
+	public NisConnectionDiagnostics nisConnectionDiagnostics() {
+		// make sure the connectors have been created
+		this.cloudConnector();
+		return new NisConnectionDiagnostics(this.routeConnector, this.bulkheadConnector);
+	}
+
+	@Bean
+	public CachingNisConnector primaryNisConnector() {
+		// reads that are slower than most recent requests are hedged against another NIS endpoint (if configured)
+		final double HEDGING_PERCENTILE = 0.95;
+		final Set<NisApiId> hedgedApiIds = new HashSet<>(Arrays.asList(
+				NisApiId.NIS_REST_ACCOUNT_LOOK_UP,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_INCOMING,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_OUTGOING,
+				NisApiId.NIS_REST_CHAIN_HEIGHT));
+		final NodePoolNisConnector nodePoolConnector = new NodePoolNisConnector(
+				() -> this.configuration().getNisEndpoints(),
+				this.cloudConnector(),
+				this.timeProvider(),
+				new HedgingPolicy(hedgedApiIds, HEDGING_PERCENTILE, SleepFuture::create));
+
+		// idempotent reads that fail transiently are retried with jittered exponential backoff
+		// (liveness checks such as the heartbeat are not retried so that they fail fast)
+		final int MAX_ATTEMPTS = 3;
+		final int INITIAL_RETRY_DELAY = 250;
+		final int MAX_RETRY_DELAY = 2000;
+		final int RETRY_BUDGET = 5000;
+		final Set<NisApiId> idempotentApiIds = new HashSet<>(Arrays.asList(
+				NisApiId.NIS_REST_ACCOUNT_LOOK_UP,
+				NisApiId.NIS_REST_ACCOUNT_STATUS,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_INCOMING,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_OUTGOING,
+				NisApiId.NIS_REST_ACCOUNT_UNCONFIRMED,
+				NisApiId.NIS_REST_ACCOUNT_HARVESTS));
+		final RetryingNisConnector retryingConnector = new RetryingNisConnector(
+				nodePoolConnector,
+				new RetryPolicy(idempotentApiIds, MAX_ATTEMPTS, INITIAL_RETRY_DELAY, MAX_RETRY_DELAY, RETRY_BUDGET, Math::random),
+				SleepFuture::create);
+
+		// while NIS is known to be unreachable, requests fail fast instead of waiting for connection timeouts
+		// (responses that are still cached are served regardless)
+		final CircuitBreakingNisConnector circuitBreakingConnector = new CircuitBreakingNisConnector(
+				retryingConnector,
+				() -> this.nisConnectionState().isAvailable());
+
+		// account transfers and harvests only change when a new block is added to the chain
+		// (node info is requested via forwarded requests, which are never cached)
+		final int ONE_MINUTE = 60;
+		final Map<NisApiId, Integer> timeToLiveMap = new HashMap<>();
+		timeToLiveMap.put(NisApiId.NIS_REST_ACCOUNT_STATUS, 5);
+		timeToLiveMap.put(NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL, 5 * ONE_MINUTE);
+		timeToLiveMap.put(NisApiId.NIS_REST_ACCOUNT_TRANSFERS_INCOMING, 5 * ONE_MINUTE);
+		timeToLiveMap.put(NisApiId.NIS_REST_ACCOUNT_TRANSFERS_OUTGOING, 5 * ONE_MINUTE);
+		timeToLiveMap.put(NisApiId.NIS_REST_ACCOUNT_HARVESTS, 5 * ONE_MINUTE);
+		final Set<NisApiId> heightSensitiveApiIds = new HashSet<>(Arrays.asList(
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_INCOMING,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_OUTGOING,
+				NisApiId.NIS_REST_ACCOUNT_HARVESTS));
+
+		// locking or unlocking an account changes its harvesting status
+		final Set<NisApiId> lockInvalidatedApiIds = Collections.singleton(NisApiId.NIS_REST_ACCOUNT_STATUS);
+		final Map<NisApiId, Set<NisApiId>> postInvalidationMap = new HashMap<>();
+		postInvalidationMap.put(NisApiId.NIS_REST_ACCOUNT_LOCK, lockInvalidatedApiIds);
+		postInvalidationMap.put(NisApiId.NIS_REST_ACCOUNT_UNLOCK, lockInvalidatedApiIds);
+		return new CachingNisConnector(
+				circuitBreakingConnector,
+				this.timeProvider(),
+				timeToLiveMap,
+				heightSensitiveApiIds,
+				postInvalidationMap);
+	}
+
+	private static Map<NisApiId, Bulkhead> createBulkheads() {
+		// each class of apis has its own concurrency limit so that e.g. a network crawl
+		// cannot delay the announcement of transactions
+		final Map<NisApiId, Bulkhead> bulkheads = new HashMap<>();
+		addBulkhead(bulkheads, new Bulkhead("announce", 4, 16), NisApiId.NIS_REST_TRANSACTION_ANNOUNCE);
+		addBulkhead(
+				bulkheads,
+				new Bulkhead("account reads", 20, 200),
+				NisApiId.NIS_REST_ACCOUNT_LOOK_UP,
+				NisApiId.NIS_REST_ACCOUNT_STATUS,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_INCOMING,
+				NisApiId.NIS_REST_ACCOUNT_TRANSFERS_OUTGOING,
+				NisApiId.NIS_REST_ACCOUNT_UNCONFIRMED,
+				NisApiId.NIS_REST_ACCOUNT_HARVESTS);
+		addBulkhead(bulkheads, new Bulkhead("network crawl", 10, 1000), NisApiId.NIS_REST_PEER_LIST);
+		addBulkhead(bulkheads, new Bulkhead("time sync", 2, 8), NisApiId.NIS_REST_TIME_SYNC_NETWORK_TIME);
+		return bulkheads;
+	}
+
+	private static void addBulkhead(final Map<NisApiId, Bulkhead> bulkheads, final Bulkhead bulkhead, final NisApiId... apiIds) {
+		for (final NisApiId apiId : apiIds) {
+			bulkheads.put(apiId, bulkhead);
+		}
 	}
 
 	private HttpMethodClient<ErrorResponseDeserializerUnion> httpMethodClient() {
-		final int CONNECTION_TIMEOUT = 10000;
-		final int SOCKET_TIMEOUT = 10000;
-		final int REQUEST_TIMEOUT = 20000;
-		return new HttpMethodClient<>(CONNECTION_TIMEOUT, SOCKET_TIMEOUT, REQUEST_TIMEOUT);
+		return new HttpMethodClient<>(NIS_CONNECTION_TIMEOUT, NIS_SOCKET_TIMEOUT, NIS_REQUEST_TIMEOUT);
+	}
+
+	private HttpMethodClient<Deserializer> binaryHttpMethodClient() {
+		return new HttpMethodClient<>(NIS_CONNECTION_TIMEOUT, NIS_SOCKET_TIMEOUT, NIS_REQUEST_TIMEOUT);
 	}
 
 	@Bean
@@ -66,7 +209,21 @@ public class NccAppConfig {
 
 	@Bean
 	public AccountServices accountServices() {
-		return new AccountServices(this.primaryNisConnector());
+		return new AccountServices(this.primaryNisConnector(), this.nisResponseExecutor());
+	}
+
+	@Bean
+	public ExecutorService nisResponseExecutor() {
+		// reading NIS responses can look up accounts (and block on NIS when they are not cached),
+		// so they are read on a small bounded pool instead of on the http client's i/o threads
+		final int NUM_THREADS = 4;
+		final int MAX_QUEUED_RESPONSES = 1000;
+		return new ThreadPoolExecutor(
+				NUM_THREADS,
+				NUM_THREADS,
+				0L,
+				TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(MAX_QUEUED_RESPONSES));
 	}
 
 	@Bean
@@ -74,6 +231,33 @@ public class NccAppConfig {
 		return new ChainServices(this.cloudConnector(), this.networkServices());
 	}
 
+	@Bean
+	public NisConnectionState nisConnectionState() {
+		// the UI polls the NIS state every few seconds from every open browser
+		final int CACHE_SECONDS = 5;
+		final int FAILURE_THRESHOLD = 3;
+		final int OPEN_SECONDS = 30;
+		// the connector is resolved lazily because its circuit breaker depends on this state;
+		// the check that can close an open circuit blocks on NIS, so it runs on the response pool
+		return new NisConnectionState(
+				() -> this.primaryNisConnector().isConnected(),
+				this.nisResponseExecutor(),
+				this.timeProvider(),
+				CACHE_SECONDS,
+				FAILURE_THRESHOLD,
+				OPEN_SECONDS);
+	}
+
+	@Bean
+	public ChainHeightTracker chainHeightTracker() {
+		final ChainHeightTracker chainHeightTracker = new ChainHeightTracker(this.primaryNisConnector());
+		chainHeightTracker.addHeightChangedListener(this.primaryNisConnector()::setChainHeight);
+
+		// the account cache depends on the configuration, so it must be resolved lazily
+		chainHeightTracker.addHeightChangedListener(height -> this.accountCache().setChainHeight(height));
+		return chainHeightTracker;
+	}
+
 	@Bean
 	public NetworkServices networkServices() {
 		return new NetworkServices(this.cloudConnector());
@@ -88,6 +272,16 @@ public class NccAppConfig {
 	public NccScheduler nccScheduler() {
 		final NccScheduler scheduler = new NccScheduler(this.timeProvider());
 		scheduler.addTimeSynchronizationTask(new NccTimeSynchronizer(this.timeSynchronizationServices(), this.timeProvider(), this.primaryNisConnector()));
+		scheduler.addChainHeightRefreshTask(this.chainHeightTracker());
+
+		// keep the accounts of open wallets fresh so that wallet views never wait for NIS
+		// (only expired accounts are looked up, so a sweep only reaches NIS after the chain height changed)
+		// (wallet services and account cache depend on the configuration, so they must be resolved lazily)
+		final int ACCOUNT_REFRESH_BATCH_SIZE = 5;
+		scheduler.addAccountRefreshTask(new AccountRefresher(
+				() -> this.walletServices().getOpenAccountAddresses(),
+				address -> this.accountCache().refreshIfExpiredAsync(address),
+				ACCOUNT_REFRESH_BATCH_SIZE));
 		return scheduler;
 	}
 
@@ -140,35 +334,73 @@ public class NccAppConfig {
 
 	@Bean
 	public NccAccountCache accountCache() {
-		final int refreshInSeconds = 2;
-		final NccAccountCache accountCache = new NccAccountCache(this.accountServices(),
+		// accounts are mainly refreshed when the chain height changes; the refresh interval is only a fallback
+		final int refreshInSeconds = 60;
+		final int maxStaleInSeconds = 120;
+		// the cache is seeded in the background by the accounts cache persister
+		return new NccAccountCache(this.accountServices(),
 				this.timeProvider(),
-				refreshInSeconds);
-		accountCache.seedAccounts(this.accountsFileRepository().load());
-		return accountCache;
+				refreshInSeconds,
+				maxStaleInSeconds,
+				this.configuration().getAccountCacheMaxEntries(),
+				address -> null != this.walletServices().tryFindOpenAccount(address));
 	}
 
 	@Bean
 	@Primary
-	public AccountMetaDataPairLookup accountLookup() {
+	public WalletAwareAccountLookup accountLookup() {
 		return new WalletAwareAccountLookup(this.accountCache(), this.walletServices());
 	}
 
+	@Bean
+	public AccountCacheDiagnostics accountCacheDiagnostics() {
+		return new AccountCacheDiagnostics(this.accountCache(), this.accountLookup());
+	}
+
 	@Bean
 	public AccountsFileRepository accountsFileRepository() {
-		final File file = new File(this.getNemFolder(), "accounts_cache.json");
-		final AccountsFileDescriptor descriptor = new AccountsFileDescriptor(file);
-		return new AccountsFileRepository(descriptor);
+		final File file = new File(this.getNemFolder(), "accounts_cache.bin");
+		final File legacyFile = new File(this.getNemFolder(), "accounts_cache.json");
+		return new AccountsFileRepository(new AccountsFileDescriptor(file), new AccountsFileDescriptor(legacyFile));
+	}
+
+	@Bean
+	public AccountsJournal accountsJournal() {
+		final File file = new File(this.getNemFolder(), "accounts_cache.journal");
+		return new AccountsJournal(new AccountsFileDescriptor(file));
 	}
 
 	@Bean
-	public WalletServices walletServices() {
+	public AccountsCachePersister accountsCachePersister() {
+		final int COMPACTION_THRESHOLD = 1000;
+		final AccountsCachePersister persister = new AccountsCachePersister(
+				this.accountCache(),
+				this.accountsFileRepository(),
+				this.accountsJournal(),
+				COMPACTION_THRESHOLD);
+
+		// the persister depends on the account cache (and therefore on the configuration),
+		// so it cannot be scheduled when the scheduler is created
+		this.nccScheduler().addAccountsCacheFlushTask(persister);
+
+		// seeding must not delay startup; lookups fall through to NIS until the seed accounts are available
+		persister.seedAsync();
+		return persister;
+	}
+
+	@Bean
+	public DefaultWalletServices walletServices() {
 		final WalletRepository walletRepository = new AutoFallbackRepository(Arrays.asList(
 				new BinaryWalletRepository()));
 
-		return new DefaultWalletServices(
+		final DefaultWalletServices walletServices = new DefaultWalletServices(
 				walletRepository,
 				new SecureWalletDescriptorFactory(this.getNemFolder()));
+
+		// the accounts of a closed wallet are no longer pinned in the account cache
+		// (the account cache depends on the wallet services, so it must be resolved lazily)
+		walletServices.addWalletClosedListener(name -> this.accountCache().onPinnedAccountsChanged());
+		return walletServices;
 	}
 
 	@Bean
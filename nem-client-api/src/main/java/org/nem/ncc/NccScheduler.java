@@ -2,6 +2,7 @@ package org.nem.ncc;
 
 import org.nem.core.async.*;
 import org.nem.core.time.TimeProvider;
+import org.nem.ncc.cache.*;
 import org.nem.ncc.time.synchronization.NccTimeSynchronizer;
 
 import java.util.*;
@@ -16,6 +17,15 @@ public class NccScheduler implements AutoCloseable {
 	private static final int TIME_SYNC_INITIAL_DELAY = 10 * ONE_SECOND;
 	private static final int TIME_SYNC_INTERVAL = ONE_MINUTE;
 
+	private static final int CHAIN_HEIGHT_INITIAL_DELAY = ONE_SECOND;
+	private static final int CHAIN_HEIGHT_INTERVAL = 10 * ONE_SECOND;
+
+	private static final int ACCOUNT_REFRESH_INITIAL_DELAY = 5 * ONE_SECOND;
+	private static final int ACCOUNT_REFRESH_INTERVAL = 10 * ONE_SECOND;
+
+	private static final int ACCOUNTS_CACHE_FLUSH_INITIAL_DELAY = ONE_MINUTE;
+	private static final int ACCOUNTS_CACHE_FLUSH_INTERVAL = ONE_MINUTE;
+
 	private final TimeProvider timeProvider;
 	private final List<NemAsyncTimerVisitor> timerVisitors = new ArrayList<>();
 	private final List<AsyncTimer> timers = new ArrayList<>();
@@ -54,6 +64,54 @@ public class NccScheduler implements AutoCloseable {
 		this.timers.add(new AsyncTimer(options));
 	}
 
+	/**
+	 * Adds the chain height refresh task.
+	 *
+	 * @param chainHeightTracker The chain height tracker.
+	 */
+	public void addChainHeightRefreshTask(final ChainHeightTracker chainHeightTracker) {
+		final AsyncTimerVisitor timerVisitor = this.createNamedVisitor("CHAIN HEIGHT");
+		final AsyncTimerOptions options = new AsyncTimerOptionsBuilder()
+				.setRecurringFutureSupplier(chainHeightTracker::refresh)
+				.setInitialDelay(CHAIN_HEIGHT_INITIAL_DELAY)
+				.setDelayStrategy(new UniformDelayStrategy(CHAIN_HEIGHT_INTERVAL))
+				.setVisitor(timerVisitor)
+				.create();
+		this.timers.add(new AsyncTimer(options));
+	}
+
+	/**
+	 * Adds the account refresh task.
+	 *
+	 * @param accountRefresher The account refresher.
+	 */
+	public void addAccountRefreshTask(final AccountRefresher accountRefresher) {
+		final AsyncTimerVisitor timerVisitor = this.createNamedVisitor("ACCOUNT REFRESH");
+		final AsyncTimerOptions options = new AsyncTimerOptionsBuilder()
+				.setRecurringFutureSupplier(accountRefresher::refresh)
+				.setInitialDelay(ACCOUNT_REFRESH_INITIAL_DELAY)
+				.setDelayStrategy(new UniformDelayStrategy(ACCOUNT_REFRESH_INTERVAL))
+				.setVisitor(timerVisitor)
+				.create();
+		this.timers.add(new AsyncTimer(options));
+	}
+
+	/**
+	 * Adds the accounts cache flush task.
+	 *
+	 * @param accountsCachePersister The accounts cache persister.
+	 */
+	public void addAccountsCacheFlushTask(final AccountsCachePersister accountsCachePersister) {
+		final AsyncTimerVisitor timerVisitor = this.createNamedVisitor("ACCOUNTS CACHE FLUSH");
+		final AsyncTimerOptions options = new AsyncTimerOptionsBuilder()
+				.setRecurringFutureSupplier(accountsCachePersister::flushAsync)
+				.setInitialDelay(ACCOUNTS_CACHE_FLUSH_INITIAL_DELAY)
+				.setDelayStrategy(new UniformDelayStrategy(ACCOUNTS_CACHE_FLUSH_INTERVAL))
+				.setVisitor(timerVisitor)
+				.create();
+		this.timers.add(new AsyncTimer(options));
+	}
+
 	// TODO 20140928 J-B (minor) might want to add a test that close transitions all times to stopped
 	@Override
 	public void close() {
@@ -0,0 +1,42 @@
+package org.nem.ncc.cache;
+
+import org.nem.core.serialization.*;
+
+/**
+ * Diagnostic information about the account cache.
+ * <br/>
+ * The information is read from the cache each time it is serialized.
+ */
+public class AccountCacheDiagnostics implements SerializableEntity {
+	private final NccAccountCache accountCache;
+	private final WalletAwareAccountLookup accountLookup;
+
+	/**
+	 * Creates new account cache diagnostics.
+	 *
+	 * @param accountCache The account cache.
+	 * @param accountLookup The wallet aware account lookup.
+	 */
+	public AccountCacheDiagnostics(final NccAccountCache accountCache, final WalletAwareAccountLookup accountLookup) {
+		this.accountCache = accountCache;
+		this.accountLookup = accountLookup;
+	}
+
+	@Override
+	public void serialize(final Serializer serializer) {
+		final AccountCacheStatistics statistics = this.accountCache.getStatistics();
+		serializer.writeInt("size", this.accountCache.size());
+		serializer.writeLong("evictions", this.accountCache.getNumEvictions());
+		serializer.writeLong("lookups", this.accountLookup.getNumLookups());
+		serializer.writeLong("walletAccountLookups", this.accountLookup.getNumWalletAccountLookups());
+		serializer.writeLong("hits", statistics.getNumHits());
+		serializer.writeLong("staleHits", statistics.getNumStaleHits());
+		serializer.writeLong("misses", statistics.getNumMisses());
+		serializer.writeLong("rejections", statistics.getNumRejections());
+		serializer.writeLong("refreshes", statistics.getNumRefreshes());
+		serializer.writeLong("refreshFailures", statistics.getNumRefreshFailures());
+		serializer.writeLong("fallbacks", statistics.getNumFallbacks());
+		serializer.writeLong("medianRefreshLatency", statistics.getRefreshLatencies().getPercentile(0.5));
+		serializer.writeLong("p99RefreshLatency", statistics.getRefreshLatencies().getPercentile(0.99));
+	}
+}
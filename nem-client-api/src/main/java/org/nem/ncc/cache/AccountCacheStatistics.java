@@ -0,0 +1,145 @@
+package org.nem.ncc.cache;
+
+import org.nem.ncc.connector.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the lookups and refreshes of an account cache.
+ * <br/>
+ * The counters are striped so that recording a lookup never contends with concurrent lookups.
+ */
+public class AccountCacheStatistics {
+	private static final int MAX_REFRESH_LATENCY_SAMPLES = 1000;
+
+	private final LongAdder numHits = new LongAdder();
+	private final LongAdder numStaleHits = new LongAdder();
+	private final LongAdder numMisses = new LongAdder();
+	private final LongAdder numRejections = new LongAdder();
+	private final LongAdder numRefreshes = new LongAdder();
+	private final LongAdder numRefreshFailures = new LongAdder();
+	private final LongAdder numFallbacks = new LongAdder();
+	private final LatencyHistogram refreshLatencies = new LatencyHistogram(MAX_REFRESH_LATENCY_SAMPLES);
+
+	/**
+	 * Records a lookup that was answered with a fresh cached account.
+	 */
+	public void recordHit() {
+		this.numHits.increment();
+	}
+
+	/**
+	 * Records a lookup that was answered with an expired cached account.
+	 */
+	public void recordStaleHit() {
+		this.numStaleHits.increment();
+	}
+
+	/**
+	 * Records a lookup that had to wait for NIS.
+	 */
+	public void recordMiss() {
+		this.numMisses.increment();
+	}
+
+	/**
+	 * Records a lookup that was answered with a cached NIS rejection.
+	 */
+	public void recordRejection() {
+		this.numRejections.increment();
+	}
+
+	/**
+	 * Records a successful refresh.
+	 *
+	 * @param latencyMillis The refresh latency in milliseconds.
+	 */
+	public void recordRefresh(final long latencyMillis) {
+		this.numRefreshes.increment();
+		this.refreshLatencies.record(latencyMillis);
+	}
+
+	/**
+	 * Records a failed refresh.
+	 *
+	 * @param isFallback true if the cached account was kept because NIS could not be reached.
+	 */
+	public void recordRefreshFailure(final boolean isFallback) {
+		this.numRefreshFailures.increment();
+		if (isFallback) {
+			this.numFallbacks.increment();
+		}
+	}
+
+	/**
+	 * Gets the number of lookups answered with a fresh cached account.
+	 *
+	 * @return The number of hits.
+	 */
+	public long getNumHits() {
+		return this.numHits.sum();
+	}
+
+	/**
+	 * Gets the number of lookups answered with an expired cached account.
+	 *
+	 * @return The number of stale hits.
+	 */
+	public long getNumStaleHits() {
+		return this.numStaleHits.sum();
+	}
+
+	/**
+	 * Gets the number of lookups that had to wait for NIS.
+	 *
+	 * @return The number of misses.
+	 */
+	public long getNumMisses() {
+		return this.numMisses.sum();
+	}
+
+	/**
+	 * Gets the number of lookups answered with a cached NIS rejection.
+	 *
+	 * @return The number of rejections.
+	 */
+	public long getNumRejections() {
+		return this.numRejections.sum();
+	}
+
+	/**
+	 * Gets the number of successful refreshes.
+	 *
+	 * @return The number of refreshes.
+	 */
+	public long getNumRefreshes() {
+		return this.numRefreshes.sum();
+	}
+
+	/**
+	 * Gets the number of failed refreshes.
+	 *
+	 * @return The number of refresh failures.
+	 */
+	public long getNumRefreshFailures() {
+		return this.numRefreshFailures.sum();
+	}
+
+	/**
+	 * Gets the number of failed refreshes for which the cached account was kept.
+	 *
+	 * @return The number of fallbacks.
+	 */
+	public long getNumFallbacks() {
+		return this.numFallbacks.sum();
+	}
+
+	/**
+	 * Gets the latencies of the most recent successful refreshes.
+	 *
+	 * @return The refresh latencies.
+	 */
+	public LatencyHistogram getRefreshLatencies() {
+		return this.refreshLatencies;
+	}
+}
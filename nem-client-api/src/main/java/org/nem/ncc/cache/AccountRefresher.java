@@ -0,0 +1,69 @@
+package org.nem.ncc.cache;
+
+import org.nem.core.model.Address;
+import org.nem.core.model.ncc.AccountMetaDataPair;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.*;
+import java.util.logging.Logger;
+
+/**
+ * Proactively refreshes a set of accounts (e.g. the accounts of all open wallets) in the account cache
+ * so that readers of these accounts do not have to wait for NIS.
+ * <br/>
+ * Each sweep refreshes the accounts in batches; a batch is only started after the previous batch has completed,
+ * so that a sweep never has more than a batch of lookups in flight.
+ */
+public class AccountRefresher {
+	private static final Logger LOGGER = Logger.getLogger(AccountRefresher.class.getName());
+
+	private final Supplier<Collection<Address>> addressesSupplier;
+	private final Function<Address, CompletableFuture<AccountMetaDataPair>> refreshAccount;
+	private final int batchSize;
+
+	/**
+	 * Creates a new account refresher.
+	 *
+	 * @param addressesSupplier Supplier of the addresses of the accounts that should be refreshed.
+	 * @param refreshAccount Function that refreshes a single account (e.g. NccAccountCache::refreshIfExpiredAsync).
+	 * @param batchSize The maximum number of accounts that are refreshed concurrently.
+	 */
+	public AccountRefresher(
+			final Supplier<Collection<Address>> addressesSupplier,
+			final Function<Address, CompletableFuture<AccountMetaDataPair>> refreshAccount,
+			final int batchSize) {
+		this.addressesSupplier = addressesSupplier;
+		this.refreshAccount = refreshAccount;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Refreshes all accounts.
+	 *
+	 * @return A future that completes when all accounts have been refreshed (successfully or not).
+	 */
+	public CompletableFuture<Void> refresh() {
+		final List<Address> addresses = new ArrayList<>(this.addressesSupplier.get());
+		CompletableFuture<Void> future = CompletableFuture.completedFuture(null);
+		for (int i = 0; i < addresses.size(); i += this.batchSize) {
+			final List<Address> batch = addresses.subList(i, Math.min(addresses.size(), i + this.batchSize));
+			future = future.thenCompose(v -> this.refreshBatch(batch));
+		}
+
+		return future;
+	}
+
+	private CompletableFuture<Void> refreshBatch(final List<Address> batch) {
+		final CompletableFuture<?>[] futures = batch.stream()
+				.map(address -> this.refreshAccount.apply(address).handle((pair, e) -> {
+					if (null != e) {
+						LOGGER.warning(String.format("unable to refresh account %s: %s", address, e.getMessage()));
+					}
+
+					return null;
+				}))
+				.toArray(CompletableFuture[]::new);
+		return CompletableFuture.allOf(futures);
+	}
+}
@@ -0,0 +1,152 @@
+package org.nem.ncc.cache;
+
+import org.nem.core.model.ncc.AccountInfo;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+/**
+ * Restores the accounts cache on startup and persists it incrementally (write-behind).
+ * <br/>
+ * The cache is seeded in the background so that it can serve requests (falling back to NIS) immediately.
+ * Seed accounts never replace accounts that have been looked up in the meantime.
+ * <br/>
+ * Each flush appends the accounts that have been refreshed since the previous flush to a journal.
+ * When the journal grows beyond a threshold, it is compacted by writing a snapshot of the complete cache
+ * and clearing the journal. The snapshot replaces the previous one atomically, so the snapshot and
+ * the journal together always reflect the cache at the time of the last flush.
+ * <br/>
+ * The journal is only cleared after the snapshot has been saved. Dirty accounts that could be neither appended
+ * to the journal nor saved in a snapshot are kept and flushed again by the next flush.
+ */
+public class AccountsCachePersister {
+	private static final Logger LOGGER = Logger.getLogger(AccountsCachePersister.class.getName());
+
+	private final NccAccountCache accountCache;
+	private final AccountsRepository snapshotRepository;
+	private final AccountsJournal journal;
+	private final int compactionThreshold;
+	private List<AccountInfo> unflushedAccounts = Collections.emptyList();
+	private volatile boolean isSeeded;
+
+	/**
+	 * Creates a new persister.
+	 *
+	 * @param accountCache The account cache.
+	 * @param snapshotRepository The repository storing cache snapshots.
+	 * @param journal The journal storing the changes since the last snapshot.
+	 * @param compactionThreshold The number of journal records after which the journal is compacted.
+	 */
+	public AccountsCachePersister(
+			final NccAccountCache accountCache,
+			final AccountsRepository snapshotRepository,
+			final AccountsJournal journal,
+			final int compactionThreshold) {
+		this.accountCache = accountCache;
+		this.snapshotRepository = snapshotRepository;
+		this.journal = journal;
+		this.compactionThreshold = compactionThreshold;
+	}
+
+	/**
+	 * Gets a value indicating whether or not the cache has been seeded.
+	 *
+	 * @return true if the cache has been seeded.
+	 */
+	public boolean isSeeded() {
+		return this.isSeeded;
+	}
+
+	/**
+	 * Seeds the cache with the persisted accounts in the background.
+	 *
+	 * @return The future that completes when the cache has been seeded.
+	 */
+	public CompletableFuture<Void> seedAsync() {
+		return CompletableFuture.runAsync(this::seed)
+				.handle((v, e) -> {
+					if (null != e) {
+						LOGGER.warning(String.format("unable to seed the accounts cache: %s", e));
+					}
+
+					// a failed seed is not retried, so the next snapshot is allowed to replace the unusable one
+					this.isSeeded = true;
+					return null;
+				});
+	}
+
+	private void seed() {
+		// the journal is newer than the snapshot and later journal records are newer than earlier ones
+		final List<AccountInfo> journalAccounts = this.journal.load();
+		Collections.reverse(journalAccounts);
+		this.accountCache.seedAccountsIfAbsent(journalAccounts);
+		this.accountCache.seedAccountsIfAbsent(this.snapshotRepository.load());
+	}
+
+	/**
+	 * Flushes all dirty accounts to the journal and compacts the journal if necessary.
+	 */
+	public synchronized void flush() {
+		this.appendDirtyAccounts();
+		if (this.isSeeded && this.journal.getNumRecords() >= this.compactionThreshold) {
+			this.compact();
+		}
+	}
+
+	/**
+	 * Flushes all dirty accounts in the background.
+	 *
+	 * @return The future that completes when the flush has completed.
+	 */
+	public CompletableFuture<Void> flushAsync() {
+		return CompletableFuture.runAsync(this::flush)
+				.exceptionally(e -> {
+					// the dirty accounts of a failed flush are kept and flushed again by the next flush
+					LOGGER.warning(String.format("unable to flush the accounts cache: %s", e));
+					return null;
+				});
+	}
+
+	/**
+	 * Writes a snapshot of the complete cache and clears the journal.
+	 * Before the cache has been seeded, only the dirty accounts are appended to the journal.
+	 */
+	public synchronized void compact() {
+		if (!this.isSeeded) {
+			// a snapshot of a partially seeded cache would lose the accounts that have not been seeded yet
+			this.appendDirtyAccounts();
+			return;
+		}
+
+		// the dirty marks are cleared before the snapshot is taken so that accounts refreshed while it is being saved
+		// are flushed again; the drained accounts are only dropped once they are part of a saved snapshot
+		final List<AccountInfo> dirtyAccounts = this.drainDirtyAccounts();
+		try {
+			this.snapshotRepository.save(this.accountCache.getAccounts());
+		} catch (final RuntimeException e) {
+			this.unflushedAccounts = dirtyAccounts;
+			throw e;
+		}
+
+		this.journal.clear();
+	}
+
+	private void appendDirtyAccounts() {
+		final List<AccountInfo> dirtyAccounts = this.drainDirtyAccounts();
+		try {
+			this.journal.append(dirtyAccounts);
+		} catch (final RuntimeException e) {
+			this.unflushedAccounts = dirtyAccounts;
+			throw e;
+		}
+	}
+
+	private List<AccountInfo> drainDirtyAccounts() {
+		// accounts that could not be flushed before are older than the accounts that are dirty now
+		final List<AccountInfo> dirtyAccounts = new ArrayList<>(this.unflushedAccounts);
+		dirtyAccounts.addAll(this.accountCache.drainDirtyAccounts());
+		this.unflushedAccounts = Collections.emptyList();
+		return dirtyAccounts;
+	}
+}
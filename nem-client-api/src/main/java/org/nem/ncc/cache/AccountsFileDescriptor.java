@@ -4,6 +4,8 @@ import org.nem.core.utils.ExceptionUtils;
 import org.nem.ncc.exceptions.NccException;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
 
 /**
  * An class that describes an accounts file.
@@ -32,13 +34,109 @@ public class AccountsFileDescriptor {
 	}
 
 	/**
-	 * Opens a write stream that can be used to modify the contents of the file.
+	 * Reads the contents of the file into memory.
+	 * <br/>
+	 * The contents are copied into a heap buffer instead of being memory-mapped because a mapping keeps the file
+	 * locked (on Windows) until it is garbage collected, which would prevent the file from being replaced.
+	 *
+	 * @return The contents or an empty buffer if the file does not exist.
+	 */
+	public ByteBuffer readAll() {
+		return ExceptionUtils.propagate(
+				() -> this.file.exists() ? ByteBuffer.wrap(Files.readAllBytes(this.file.toPath())) : ByteBuffer.allocate(0),
+				ex -> new NccException(NccException.Code.ACCOUNT_CACHE_ERROR));
+	}
+
+	/**
+	 * Opens a write stream that can be used to replace the contents of the file.
+	 * <br/>
+	 * The contents are written to a temporary file that atomically replaces the file when the stream is closed,
+	 * so that a crash while writing never leaves a partially written file behind.
 	 *
 	 * @return The output stream.
 	 */
 	public OutputStream openWrite() {
 		return ExceptionUtils.propagate(
-				() -> new FileOutputStream(this.file),
+				() -> new AtomicFileOutputStream(this.file),
 				ex -> new NccException(NccException.Code.ACCOUNT_CACHE_ERROR));
 	}
+
+	/**
+	 * Opens a write stream that can be used to append to the contents of the file.
+	 *
+	 * @return The output stream.
+	 */
+	public OutputStream openAppend() {
+		return ExceptionUtils.propagate(
+				() -> new FileOutputStream(this.file, true),
+				ex -> new NccException(NccException.Code.ACCOUNT_CACHE_ERROR));
+	}
+
+	private static class AtomicFileOutputStream extends FileOutputStream {
+		private final File file;
+		private final File tempFile;
+		private boolean hasFailed;
+		private boolean isClosed;
+
+		private AtomicFileOutputStream(final File file) throws FileNotFoundException {
+			this(file, new File(file.getPath() + ".tmp"));
+		}
+
+		private AtomicFileOutputStream(final File file, final File tempFile) throws FileNotFoundException {
+			super(tempFile);
+			this.file = file;
+			this.tempFile = tempFile;
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			try {
+				super.write(b);
+			} catch (final IOException ex) {
+				this.hasFailed = true;
+				throw ex;
+			}
+		}
+
+		@Override
+		public void write(final byte[] b) throws IOException {
+			this.write(b, 0, b.length);
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) throws IOException {
+			try {
+				super.write(b, off, len);
+			} catch (final IOException ex) {
+				this.hasFailed = true;
+				throw ex;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (this.isClosed) {
+				return;
+			}
+
+			this.isClosed = true;
+
+			if (!this.hasFailed) {
+				this.getFD().sync();
+			}
+
+			super.close();
+			if (this.hasFailed) {
+				// never replace the file with a partially written one
+				Files.deleteIfExists(this.tempFile.toPath());
+				return;
+			}
+
+			try {
+				Files.move(this.tempFile.toPath(), this.file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (final AtomicMoveNotSupportedException ex) {
+				Files.move(this.tempFile.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+	}
 }
@@ -1,23 +1,28 @@
 package org.nem.ncc.cache;
 
 import net.minidev.json.*;
-import org.apache.commons.io.IOUtils;
 import org.nem.core.model.ncc.AccountInfo;
 import org.nem.core.serialization.*;
 import org.nem.core.utils.ExceptionUtils;
 import org.nem.ncc.exceptions.NccException;
 
 import java.io.*;
+import java.nio.*;
 import java.util.*;
 import java.util.logging.Logger;
 
 /**
- * A JSON-file based accounts repository.
+ * A file based accounts repository.
+ * <br/>
+ * Accounts are saved in a binary format that is read into memory and decoded completely when it is loaded.
+ * Files in the original JSON format can still be loaded; when the accounts file does not exist, the accounts are
+ * loaded from the legacy (JSON) file saved by older versions.
  */
 public class AccountsFileRepository implements AccountsRepository {
 	private static final Logger LOGGER = Logger.getLogger(AccountsFileRepository.class.getName());
 
 	private final AccountsFileDescriptor descriptor;
+	private final AccountsFileDescriptor legacyDescriptor;
 
 	/**
 	 * Creates a new accounts file repository.
@@ -25,14 +30,25 @@ public class AccountsFileRepository implements AccountsRepository {
 	 * @param descriptor The descriptor.
 	 */
 	public AccountsFileRepository(final AccountsFileDescriptor descriptor) {
+		this(descriptor, null);
+	}
+
+	/**
+	 * Creates a new accounts file repository with a legacy accounts file.
+	 *
+	 * @param descriptor The descriptor.
+	 * @param legacyDescriptor The descriptor of the legacy accounts file (or null if there is none).
+	 */
+	public AccountsFileRepository(final AccountsFileDescriptor descriptor, final AccountsFileDescriptor legacyDescriptor) {
 		this.descriptor = descriptor;
+		this.legacyDescriptor = legacyDescriptor;
 	}
 
 	@Override
 	public void save(final Collection<AccountInfo> accounts) {
 		ExceptionUtils.propagateVoid(() -> {
 			try (final OutputStream os = this.descriptor.openWrite()) {
-				os.write(JsonSerializer.serializeToBytes(new Payload(accounts)));
+				os.write(BinarySerializer.serializeToBytes(new Payload(accounts)));
 			}
 		}, ex -> new NccException(NccException.Code.ACCOUNT_CACHE_ERROR));
 	}
@@ -46,48 +62,104 @@ public class AccountsFileRepository implements AccountsRepository {
 	private Collection<AccountInfo> tryLoad() {
 		final String errorPrefix = "unable to load the accounts cache from disk";
 		try {
-			try (final InputStream is = this.descriptor.openRead()) {
-				final byte[] contents = IOUtils.toByteArray(is);
-				if (0 == contents.length) {
-					LOGGER.warning(String.format("%s because it is empty", errorPrefix));
-					return null;
-				}
+			ByteBuffer buffer = this.descriptor.readAll();
+			if (0 == buffer.remaining() && null != this.legacyDescriptor) {
+				// the legacy file is only used until the accounts are saved for the first time
+				buffer = this.legacyDescriptor.readAll();
+			}
 
-				final JSONObject jsonObject = (JSONObject)JSONValue.parse(contents);
-				final Payload payload = new Payload(new JsonDeserializer(jsonObject, null));
-				if (Payload.DEFAULT_VERSION != payload.version) {
-					LOGGER.warning(String.format("%s because it has an unsupported version: %d", errorPrefix, payload.version));
-					return null;
-				}
+			if (0 == buffer.remaining()) {
+				LOGGER.warning(String.format("%s because it is empty", errorPrefix));
+				return null;
+			}
+
+			final int version = Payload.JSON_START_BYTE == buffer.get(0)
+					? Payload.JSON_VERSION
+					: buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN).getInt();
+			switch (version) {
+				case Payload.JSON_VERSION:
+					return loadJson(buffer);
 
-				return payload.accounts;
+				case Payload.BINARY_VERSION:
+					return loadBinary(buffer);
+
+				default:
+					LOGGER.warning(String.format("%s because it has an unsupported version: %d", errorPrefix, version));
+					return null;
 			}
-		} catch (final IOException | SerializationException ex) {
+		} catch (final SerializationException | NccException ex) {
 			LOGGER.warning(String.format("%s: %s", errorPrefix, ex));
 			return null;
 		}
 	}
 
+	private static Collection<AccountInfo> loadJson(final ByteBuffer buffer) {
+		final byte[] contents = new byte[buffer.remaining()];
+		buffer.duplicate().get(contents);
+
+		final Object jsonObject = JSONValue.parse(contents);
+		if (!(jsonObject instanceof JSONObject)) {
+			throw new SerializationException("accounts cache is not a JSON object");
+		}
+
+		final Deserializer deserializer = new JsonDeserializer((JSONObject)jsonObject, null);
+		if (Payload.JSON_VERSION != deserializer.readInt("version")) {
+			throw new SerializationException("accounts cache has an unexpected version");
+		}
+
+		return deserializer.readObjectArray("accounts", AccountInfo::new);
+	}
+
+	private static Collection<AccountInfo> loadBinary(final ByteBuffer payload) {
+		// all accounts are seeded into the cache right after loading, so there is nothing to gain from decoding lazily
+		final ByteBuffer buffer = payload.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		try {
+			buffer.getInt(); // version
+			final int count = buffer.getInt();
+			if (count < 0 || count > buffer.remaining() / 4) {
+				throw new SerializationException(String.format("accounts cache has an invalid count: %d", count));
+			}
+
+			final List<AccountInfo> accounts = new ArrayList<>(count);
+			for (int i = 0; i < count; ++i) {
+				final int length = buffer.getInt();
+				if (length < 0 || length > buffer.remaining()) {
+					throw new SerializationException(String.format("accounts cache has an invalid account length: %d", length));
+				}
+
+				final byte[] bytes = new byte[length];
+				buffer.get(bytes);
+				accounts.add(new AccountInfo(new BinaryDeserializer(bytes, new DeserializationContext(null))));
+			}
+
+			return accounts;
+		} catch (final BufferUnderflowException ex) {
+			throw new SerializationException("accounts cache is truncated");
+		}
+	}
+
+	/**
+	 * The binary payload consists of the version, the number of accounts and the length-prefixed
+	 * binary representation of each account.
+	 */
 	private static class Payload implements SerializableEntity {
-		private static final int DEFAULT_VERSION = 1;
+		private static final byte JSON_START_BYTE = '{';
+		private static final int JSON_VERSION = 1;
+		private static final int BINARY_VERSION = 2;
 
-		private final int version;
 		private final Collection<AccountInfo> accounts;
 
 		private Payload(final Collection<AccountInfo> accounts) {
-			this.version = DEFAULT_VERSION;
 			this.accounts = accounts;
 		}
 
-		private Payload(final Deserializer deserializer) {
-			this.version = deserializer.readInt("version");
-			this.accounts = deserializer.readObjectArray("accounts", AccountInfo::new);
-		}
-
 		@Override
 		public void serialize(final Serializer serializer) {
-			serializer.writeInt("version", this.version);
-			serializer.writeObjectArray("accounts", this.accounts);
+			serializer.writeInt("version", BINARY_VERSION);
+			serializer.writeInt("count", this.accounts.size());
+			for (final AccountInfo account : this.accounts) {
+				serializer.writeBytes("account", BinarySerializer.serializeToBytes(account));
+			}
 		}
 	}
 }
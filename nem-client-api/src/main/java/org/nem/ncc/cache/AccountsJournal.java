@@ -0,0 +1,131 @@
+package org.nem.ncc.cache;
+
+import net.minidev.json.*;
+import org.apache.commons.io.IOUtils;
+import org.nem.core.model.ncc.AccountInfo;
+import org.nem.core.serialization.*;
+import org.nem.core.utils.ExceptionUtils;
+import org.nem.ncc.exceptions.NccException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * An append-only journal of account changes.
+ * <br/>
+ * Each record is an account serialized as a single line of JSON. A record that cannot be parsed
+ * (e.g. because NCC crashed while it was being appended) is skipped when the journal is loaded.
+ * Each append starts on a new line so that a record cut off by a crash cannot swallow the records appended after it.
+ */
+public class AccountsJournal {
+	private static final Logger LOGGER = Logger.getLogger(AccountsJournal.class.getName());
+
+	private final AccountsFileDescriptor descriptor;
+	private int numRecords;
+
+	/**
+	 * Creates a new accounts journal.
+	 *
+	 * @param descriptor The descriptor.
+	 */
+	public AccountsJournal(final AccountsFileDescriptor descriptor) {
+		this.descriptor = descriptor;
+	}
+
+	/**
+	 * Gets the number of records in the journal.
+	 *
+	 * @return The number of records.
+	 */
+	public synchronized int getNumRecords() {
+		return this.numRecords;
+	}
+
+	/**
+	 * Appends the specified accounts to the journal.
+	 *
+	 * @param accounts The accounts.
+	 */
+	public synchronized void append(final Collection<AccountInfo> accounts) {
+		if (accounts.isEmpty()) {
+			return;
+		}
+
+		// an empty line is skipped when the journal is loaded, so a line break is prepended unconditionally
+		// instead of checking whether the last append was completed
+		final StringBuilder builder = new StringBuilder("\n");
+		for (final AccountInfo account : accounts) {
+			builder.append(JsonSerializer.serializeToJson(account).toJSONString()).append('\n');
+		}
+
+		ExceptionUtils.propagateVoid(() -> {
+			try (final OutputStream os = this.descriptor.openAppend()) {
+				os.write(builder.toString().getBytes(StandardCharsets.UTF_8));
+			}
+		}, ex -> new NccException(NccException.Code.ACCOUNT_CACHE_ERROR));
+		this.numRecords += accounts.size();
+	}
+
+	/**
+	 * Removes all records from the journal.
+	 */
+	public synchronized void clear() {
+		ExceptionUtils.propagateVoid(() -> {
+			try (final OutputStream ignored = this.descriptor.openWrite()) {
+				this.numRecords = 0;
+			}
+		}, ex -> new NccException(NccException.Code.ACCOUNT_CACHE_ERROR));
+	}
+
+	/**
+	 * Loads all accounts in the journal in the order in which they were appended.
+	 *
+	 * @return The accounts.
+	 */
+	public synchronized List<AccountInfo> load() {
+		final List<AccountInfo> accounts = new ArrayList<>();
+		final String contents;
+		try (final InputStream is = this.descriptor.openRead()) {
+			contents = new String(IOUtils.toByteArray(is), StandardCharsets.UTF_8);
+		} catch (final IOException | NccException ex) {
+			LOGGER.warning(String.format("unable to load the accounts journal from disk: %s", ex));
+			return accounts;
+		}
+
+		int numSkippedRecords = 0;
+		for (final String line : contents.split("\n")) {
+			if (line.isEmpty()) {
+				continue;
+			}
+
+			final AccountInfo account = tryParse(line);
+			if (null == account) {
+				++numSkippedRecords;
+				continue;
+			}
+
+			accounts.add(account);
+		}
+
+		if (0 != numSkippedRecords) {
+			LOGGER.warning(String.format("skipped %d corrupt records in the accounts journal", numSkippedRecords));
+		}
+
+		this.numRecords = accounts.size() + numSkippedRecords;
+		return accounts;
+	}
+
+	private static AccountInfo tryParse(final String line) {
+		try {
+			final Object jsonObject = JSONValue.parse(line);
+			return jsonObject instanceof JSONObject
+					? new AccountInfo(new JsonDeserializer((JSONObject)jsonObject, null))
+					: null;
+		} catch (final RuntimeException ex) {
+			// a partially written record can fail in many ways depending on where it was cut off
+			return null;
+		}
+	}
+}
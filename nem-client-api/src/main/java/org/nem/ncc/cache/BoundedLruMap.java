@@ -0,0 +1,253 @@
+package org.nem.ncc.cache;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.*;
+import java.util.stream.Collectors;
+
+/**
+ * A concurrent map with a maximum number of entries that evicts the least recently used entries.
+ * <br/>
+ * Reads and writes never block each other. When the unpinned entries grow beyond the maximum size, an eviction
+ * sweep removes the least recently used unpinned entries until they are at 90% of the maximum size so that the cost
+ * of a sweep is shared by many writes. Pinned entries are never evicted and do not count towards the maximum size.
+ *
+ * @param <TKey> The key type.
+ * @param <TValue> The value type.
+ */
+public class BoundedLruMap<TKey, TValue> {
+	private final int maxSize;
+	private final int sweepTargetSize;
+	private final Predicate<TKey> isPinned;
+	private final ConcurrentMap<TKey, Entry<TValue>> entries = new ConcurrentHashMap<>();
+	private final AtomicLong accessCounter = new AtomicLong();
+	private final AtomicLong numEvictions = new AtomicLong();
+	private final Object evictionLock = new Object();
+	private volatile long sweepThreshold;
+
+	/**
+	 * Creates a new map.
+	 *
+	 * @param maxSize The maximum number of (unpinned) entries.
+	 * @param isPinned Predicate that returns true for keys that must not be evicted.
+	 */
+	public BoundedLruMap(final int maxSize, final Predicate<TKey> isPinned) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize must be positive");
+		}
+
+		this.maxSize = maxSize;
+		this.sweepTargetSize = maxSize - maxSize / 10;
+		this.isPinned = isPinned;
+		this.sweepThreshold = maxSize;
+	}
+
+	/**
+	 * Gets the number of entries.
+	 *
+	 * @return The number of entries.
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Gets the total number of evicted entries.
+	 *
+	 * @return The number of evicted entries.
+	 */
+	public long getNumEvictions() {
+		return this.numEvictions.get();
+	}
+
+	/**
+	 * Gets a value indicating whether or not the map contains the specified key.
+	 * This does not count as a use of the entry.
+	 *
+	 * @param key The key.
+	 * @return true if the map contains the key.
+	 */
+	public boolean containsKey(final TKey key) {
+		return this.entries.containsKey(key);
+	}
+
+	/**
+	 * Gets the value with the specified key and marks it as most recently used.
+	 *
+	 * @param key The key.
+	 * @return The value or null if the map does not contain the key.
+	 */
+	public TValue get(final TKey key) {
+		final Entry<TValue> entry = this.entries.get(key);
+		if (null == entry) {
+			return null;
+		}
+
+		entry.lastAccess = this.accessCounter.incrementAndGet();
+		return entry.value;
+	}
+
+	/**
+	 * Gets the value with the specified key without marking it as most recently used.
+	 *
+	 * @param key The key.
+	 * @return The value or null if the map does not contain the key.
+	 */
+	public TValue peek(final TKey key) {
+		final Entry<TValue> entry = this.entries.get(key);
+		return null == entry ? null : entry.value;
+	}
+
+	/**
+	 * Sets the value with the specified key and marks it as most recently used.
+	 *
+	 * @param key The key.
+	 * @param value The value.
+	 */
+	public void put(final TKey key, final TValue value) {
+		this.entries.put(key, new Entry<>(value, this.accessCounter.incrementAndGet()));
+		if (this.entries.size() > this.sweepThreshold) {
+			this.evict();
+		}
+	}
+
+	/**
+	 * Sets the value with the specified key if the map does not already contain the key.
+	 *
+	 * @param key The key.
+	 * @param value The value.
+	 * @return true if the value was set.
+	 */
+	public boolean putIfAbsent(final TKey key, final TValue value) {
+		if (null != this.entries.putIfAbsent(key, new Entry<>(value, this.accessCounter.incrementAndGet()))) {
+			return false;
+		}
+
+		if (this.entries.size() > this.sweepThreshold) {
+			this.evict();
+		}
+
+		return true;
+	}
+
+	/**
+	 * Atomically replaces the value with the specified key and marks it as most recently used.
+	 * The remapping function must not modify this map.
+	 *
+	 * @param key The key.
+	 * @param remappingFunction Function that maps the key and the current value (or null) to the new value (or null to remove it).
+	 * @return The new value or null if the key has been removed.
+	 */
+	public TValue compute(final TKey key, final BiFunction<TKey, TValue, TValue> remappingFunction) {
+		final Entry<TValue> entry = this.entries.compute(key, (k, e) -> this.remap(k, e, remappingFunction));
+		if (this.entries.size() > this.sweepThreshold) {
+			this.evict();
+		}
+
+		return null == entry ? null : entry.value;
+	}
+
+	/**
+	 * Atomically replaces the value with the specified key (if the map contains the key) and marks it as most recently used.
+	 * The remapping function must not modify this map.
+	 *
+	 * @param key The key.
+	 * @param remappingFunction Function that maps the key and the current value to the new value (or null to remove it).
+	 * @return The new value or null if the map does not contain the key (anymore).
+	 */
+	public TValue computeIfPresent(final TKey key, final BiFunction<TKey, TValue, TValue> remappingFunction) {
+		final Entry<TValue> entry = this.entries.computeIfPresent(key, (k, e) -> this.remap(k, e, remappingFunction));
+		return null == entry ? null : entry.value;
+	}
+
+	private Entry<TValue> remap(final TKey key, final Entry<TValue> entry, final BiFunction<TKey, TValue, TValue> remappingFunction) {
+		final TValue value = remappingFunction.apply(key, null == entry ? null : entry.value);
+		return null == value ? null : new Entry<>(value, this.accessCounter.incrementAndGet());
+	}
+
+	/**
+	 * Removes the value with the specified key.
+	 *
+	 * @param key The key.
+	 */
+	public void remove(final TKey key) {
+		this.entries.remove(key);
+	}
+
+	/**
+	 * Recomputes the sweep threshold after entries have been unpinned (e.g. because they are no longer in use).
+	 * Unpinned entries count towards the maximum size again, so entries are evicted immediately if necessary.
+	 */
+	public void resetSweepThreshold() {
+		synchronized (this.evictionLock) {
+			this.sweepThreshold = this.maxSize;
+			this.evict();
+		}
+	}
+
+	/**
+	 * Gets a snapshot of all values.
+	 *
+	 * @return All values.
+	 */
+	public Collection<TValue> values() {
+		return this.entries.values().stream().map(entry -> entry.value).collect(Collectors.toList());
+	}
+
+	private void evict() {
+		synchronized (this.evictionLock) {
+			if (this.entries.size() <= this.sweepThreshold) {
+				return;
+			}
+
+			// the access times are copied before sorting because concurrent reads can change them
+			int numPinnedEntries = 0;
+			final List<EvictionCandidate<TKey, TValue>> candidates = new ArrayList<>();
+			for (final Map.Entry<TKey, Entry<TValue>> e : this.entries.entrySet()) {
+				if (this.isPinned.test(e.getKey())) {
+					++numPinnedEntries;
+				} else {
+					candidates.add(new EvictionCandidate<>(e.getKey(), e.getValue()));
+				}
+			}
+
+			// pinned entries do not count towards the maximum size, so the next sweep is only needed
+			// once the unpinned entries can exceed the maximum size again
+			this.sweepThreshold = (long)numPinnedEntries + this.maxSize;
+			if (candidates.size() <= this.maxSize) {
+				return;
+			}
+
+			candidates.sort(Comparator.comparingLong(candidate -> candidate.lastAccess));
+			for (final EvictionCandidate<TKey, TValue> candidate : candidates.subList(0, candidates.size() - this.sweepTargetSize)) {
+				// an entry that has been replaced since the snapshot was taken is not evicted
+				if (this.entries.remove(candidate.key, candidate.entry)) {
+					this.numEvictions.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	private static class Entry<TValue> {
+		private final TValue value;
+		private volatile long lastAccess;
+
+		private Entry(final TValue value, final long lastAccess) {
+			this.value = value;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+	private static class EvictionCandidate<TKey, TValue> {
+		private final TKey key;
+		private final Entry<TValue> entry;
+		private final long lastAccess;
+
+		private EvictionCandidate(final TKey key, final Entry<TValue> entry) {
+			this.key = key;
+			this.entry = entry;
+			this.lastAccess = entry.lastAccess;
+		}
+	}
+}
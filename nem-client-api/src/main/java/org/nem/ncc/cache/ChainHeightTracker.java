@@ -0,0 +1,97 @@
+package org.nem.ncc.cache;
+
+import org.nem.core.connect.client.NisApiId;
+import org.nem.core.model.primitive.BlockHeight;
+import org.nem.ncc.connector.*;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of the latest NIS chain height.
+ * <br/>
+ * The height is refreshed periodically (by the NCC scheduler) so that callers can get the current height
+ * without a NIS round trip. After a number of consecutive failed refreshes, the height is forgotten
+ * so that callers get the NIS error instead of an outdated height.
+ * <br/>
+ * The height is read like any other (non node-specific) NIS read, so it can be answered by any endpoint
+ * in the node pool and is hedged when the connector hedges chain height reads.
+ */
+public class ChainHeightTracker {
+	private static final int MAX_FAILED_REFRESHES = 3;
+
+	private final PrimaryNisConnector connector;
+	private final RequestCoalescer<Boolean, BlockHeight> refreshCoalescer = new RequestCoalescer<>();
+	private final List<Consumer<BlockHeight>> heightChangedListeners = new CopyOnWriteArrayList<>();
+	private final AtomicInteger numConsecutiveFailures = new AtomicInteger();
+	private volatile BlockHeight height;
+
+	/**
+	 * Creates a new chain height tracker.
+	 *
+	 * @param connector The NIS connector.
+	 */
+	public ChainHeightTracker(final PrimaryNisConnector connector) {
+		this.connector = connector;
+	}
+
+	/**
+	 * Gets the last known chain height.
+	 *
+	 * @return The chain height or null if the chain height is not known (anymore).
+	 */
+	public BlockHeight getHeight() {
+		return this.height;
+	}
+
+	/**
+	 * Gets the last known chain height or requests it from NIS if it is not known yet.
+	 *
+	 * @return The chain height future.
+	 */
+	public CompletableFuture<BlockHeight> getHeightAsync() {
+		final BlockHeight height = this.height;
+		return null != height ? CompletableFuture.completedFuture(height) : this.refresh();
+	}
+
+	/**
+	 * Requests the current chain height from NIS.
+	 * Concurrent refreshes share a single NIS request.
+	 *
+	 * @return The chain height future.
+	 */
+	public CompletableFuture<BlockHeight> refresh() {
+		return this.refreshCoalescer.coalesce(
+				true,
+				() -> this.connector.getAsync(NisApiId.NIS_REST_CHAIN_HEIGHT, null)
+						.thenApply(BlockHeight::new)
+						.whenComplete((height, e) -> {
+							if (null == e) {
+								this.numConsecutiveFailures.set(0);
+								this.setHeight(height);
+							} else if (this.numConsecutiveFailures.incrementAndGet() >= MAX_FAILED_REFRESHES) {
+								this.height = null;
+							}
+						}));
+	}
+
+	/**
+	 * Adds a listener that is called whenever the chain height changes.
+	 *
+	 * @param listener The listener.
+	 */
+	public void addHeightChangedListener(final Consumer<BlockHeight> listener) {
+		this.heightChangedListeners.add(listener);
+	}
+
+	private void setHeight(final BlockHeight height) {
+		if (height.equals(this.height)) {
+			return;
+		}
+
+		this.height = height;
+		this.heightChangedListeners.forEach(listener -> listener.accept(height));
+	}
+}
@@ -2,38 +2,122 @@ package org.nem.ncc.cache;
 
 import org.nem.core.model.*;
 import org.nem.core.model.ncc.*;
+import org.nem.core.model.primitive.BlockHeight;
 import org.nem.core.time.*;
-import org.nem.ncc.exceptions.NccException;
+import org.nem.ncc.connector.RequestCoalescer;
+import org.nem.ncc.exceptions.*;
 import org.nem.ncc.services.*;
 
+import java.net.HttpURLConnection;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.*;
 import java.util.stream.Collectors;
 
 /**
  * An account cache used by NCC.
+ * <br/>
+ * Account information can only change when a new block is added to the chain, so a cached account expires
+ * when the chain height advances beyond the height at which it was refreshed. It also expires when it is
+ * explicitly invalidated (e.g. after a transaction affecting it has been announced) or, as a fallback,
+ * when it is older than the refresh interval. An invalidation that happens while the account is being refreshed
+ * survives that refresh (NIS might have answered before the change that caused it), so the account is refreshed again.
+ * <br/>
+ * At most one refresh per account is in flight at any time. While an expired account is being refreshed,
+ * other readers get the expired value; readers of an account that is not cached at all wait for the refresh.
+ * <br/>
+ * When the maximum staleness is larger than the refresh interval, an expired account that is not older than the
+ * maximum staleness is returned immediately and refreshed in the background (stale-while-revalidate).
+ * Only readers of accounts older than the maximum staleness wait for the refresh.
+ * <br/>
+ * The number of cached accounts can be bounded, in which case the least recently used accounts are evicted.
+ * Pinned accounts (e.g. the accounts of open wallets) are never evicted.
+ * <br/>
+ * When the refresh of a cached account fails with an NccException (e.g. because NIS is not available), the cached
+ * value is returned instead and it is treated as refreshed (it expires again after the refresh interval or the next
+ * chain height change). This intentionally backs off so that NIS is not asked for the account on every read while
+ * it is failing; the cached value can therefore be older than the refresh interval suggests.
+ * <br/>
+ * When NIS rejects the lookup of an account that is not cached because of the address itself (it is malformed or
+ * the account is unknown), the rejection is cached for a short time so that repeated lookups of the same address
+ * do not reach NIS. Other NIS errors (e.g. a NIS node that is not booted) are transient and are not cached.
+ * <br/>
+ * Refreshed accounts are marked as dirty until they are drained so that they can be persisted incrementally.
  */
 public class NccAccountCache implements AccountMetaDataPairLookup {
+	private static final int REJECTION_CACHE_SECONDS = 10;
+	private static final int MAX_REJECTIONS = 1000;
+	private static final long NOT_INVALIDATED = 0;
+
 	private final AccountServices accountServices;
 	private final TimeProvider timeProvider;
 	private final int refreshInSeconds;
-	private final ConcurrentMap<Address, FreshnessPair> cache;
+	private final int maxStaleInSeconds;
+	private final BoundedLruMap<Address, FreshnessPair> cache;
+	private final BoundedLruMap<Address, Rejection> rejections = new BoundedLruMap<>(MAX_REJECTIONS, address -> false);
+	private final RequestCoalescer<Address, AccountMetaDataPair> refreshes = new RequestCoalescer<>();
+	private final Set<Address> dirtyAddresses = ConcurrentHashMap.newKeySet();
+	private final AccountCacheStatistics statistics = new AccountCacheStatistics();
+	private final AtomicLong lastInvalidation = new AtomicLong(NOT_INVALIDATED);
+	private volatile BlockHeight chainHeight;
 
 	/**
 	 * Creates a new account cache.
 	 *
 	 * @param accountServices The account services.
 	 * @param timeProvider The time provider.
-	 * @param refreshInSeconds The number of seconds that a cached entry is valid.
+	 * @param refreshInSeconds The maximum number of seconds that a cached entry is valid.
 	 */
 	public NccAccountCache(
 			final AccountServices accountServices,
 			final TimeProvider timeProvider,
 			final int refreshInSeconds) {
+		this(accountServices, timeProvider, refreshInSeconds, refreshInSeconds);
+	}
+
+	/**
+	 * Creates a new account cache that serves expired entries while they are refreshed in the background.
+	 *
+	 * @param accountServices The account services.
+	 * @param timeProvider The time provider.
+	 * @param refreshInSeconds The maximum number of seconds that a cached entry is valid.
+	 * @param maxStaleInSeconds The number of seconds that an expired entry can be returned without waiting for its refresh.
+	 */
+	public NccAccountCache(
+			final AccountServices accountServices,
+			final TimeProvider timeProvider,
+			final int refreshInSeconds,
+			final int maxStaleInSeconds) {
+		this(accountServices, timeProvider, refreshInSeconds, maxStaleInSeconds, Integer.MAX_VALUE, address -> false);
+	}
+
+	/**
+	 * Creates a new bounded account cache that serves expired entries while they are refreshed in the background.
+	 *
+	 * @param accountServices The account services.
+	 * @param timeProvider The time provider.
+	 * @param refreshInSeconds The maximum number of seconds that a cached entry is valid.
+	 * @param maxStaleInSeconds The number of seconds that an expired entry can be returned without waiting for its refresh.
+	 * @param maxEntries The maximum number of (unpinned) cached accounts.
+	 * @param isPinned Predicate that returns true for accounts that must not be evicted.
+	 */
+	public NccAccountCache(
+			final AccountServices accountServices,
+			final TimeProvider timeProvider,
+			final int refreshInSeconds,
+			final int maxStaleInSeconds,
+			final int maxEntries,
+			final Predicate<Address> isPinned) {
+		if (maxStaleInSeconds < refreshInSeconds) {
+			throw new IllegalArgumentException("maxStaleInSeconds must not be less than refreshInSeconds");
+		}
+
 		this.accountServices = accountServices;
 		this.timeProvider = timeProvider;
 		this.refreshInSeconds = refreshInSeconds;
-		this.cache = new ConcurrentHashMap<>();
+		this.maxStaleInSeconds = maxStaleInSeconds;
+		this.cache = new BoundedLruMap<>(maxEntries, isPinned);
 	}
 
 	/**
@@ -42,11 +126,58 @@ public class NccAccountCache implements AccountMetaDataPairLookup {
 	 * @return All accounts in this cache.
 	 */
 	public List<AccountInfo> getAccounts() {
-		return this.cache.entrySet().stream()
-				.map(e -> e.getValue().accountMetaDataPair.getAccount())
+		return this.cache.values().stream()
+				.map(freshnessPair -> freshnessPair.accountMetaDataPair.getAccount())
 				.collect(Collectors.toList());
 	}
 
+	/**
+	 * Gets the number of cached accounts.
+	 *
+	 * @return The number of cached accounts.
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Gets the total number of accounts that have been evicted from this cache.
+	 *
+	 * @return The number of evicted accounts.
+	 */
+	public long getNumEvictions() {
+		return this.cache.getNumEvictions();
+	}
+
+	/**
+	 * Gets the lookup and refresh statistics of this cache.
+	 *
+	 * @return The statistics.
+	 */
+	public AccountCacheStatistics getStatistics() {
+		return this.statistics;
+	}
+
+	/**
+	 * Gets all accounts that have been refreshed since the last call and clears their dirty marks.
+	 * Dirty accounts that have been evicted in the meantime are skipped.
+	 *
+	 * @return The dirty accounts.
+	 */
+	public List<AccountInfo> drainDirtyAccounts() {
+		final List<AccountInfo> accounts = new ArrayList<>();
+		for (final Address address : this.dirtyAddresses) {
+			// the mark is cleared before the entry is read so that a concurrent refresh marks it again
+			this.dirtyAddresses.remove(address);
+			final FreshnessPair freshnessPair = this.cache.peek(address);
+			if (null != freshnessPair) {
+				accounts.add(freshnessPair.accountMetaDataPair.getAccount());
+			}
+		}
+
+		return accounts;
+	}
+
 	/**
 	 * Seeds this cache with the specified accounts.
 	 *
@@ -56,10 +187,54 @@ public class NccAccountCache implements AccountMetaDataPairLookup {
 		seedAccounts.forEach(info -> this.cache.put(info.getAddress(), this.createFreshnessPairFromSeedAccount(info)));
 	}
 
+	/**
+	 * Seeds this cache with the specified accounts but never replaces accounts that are already cached.
+	 * Accounts are added one by one, so they become available while the seed accounts are still being enumerated.
+	 *
+	 * @param seedAccounts The seed accounts.
+	 */
+	public void seedAccountsIfAbsent(final Iterable<AccountInfo> seedAccounts) {
+		seedAccounts.forEach(info -> this.cache.putIfAbsent(info.getAddress(), this.createFreshnessPairFromSeedAccount(info)));
+	}
+
 	private FreshnessPair createFreshnessPairFromSeedAccount(final AccountInfo info) {
 		return new FreshnessPair(
 				new AccountMetaDataPair(info, new AccountMetaData(AccountStatus.UNKNOWN, AccountRemoteStatus.INACTIVE)),
-				null);
+				null,
+				null,
+				NOT_INVALIDATED);
+	}
+
+	/**
+	 * Notifies this cache that accounts have been unpinned (e.g. because a wallet has been closed),
+	 * so that they count towards the maximum number of cached accounts again.
+	 */
+	public void onPinnedAccountsChanged() {
+		this.cache.resetSweepThreshold();
+	}
+
+	/**
+	 * Sets the current chain height. All accounts that were refreshed at a lower height expire.
+	 *
+	 * @param height The chain height.
+	 */
+	public void setChainHeight(final BlockHeight height) {
+		this.chainHeight = height;
+	}
+
+	/**
+	 * Marks the account with the specified address as expired (e.g. because a transaction affecting it was announced).
+	 *
+	 * @param id The account address.
+	 */
+	public void invalidate(final Address id) {
+		// keep the refresh time so that the invalidated entry can still be served while it is being refreshed;
+		// each invalidation is numbered so that a refresh can tell whether it happened after the refresh started
+		this.cache.computeIfPresent(id, (address, freshnessPair) -> new FreshnessPair(
+				freshnessPair.accountMetaDataPair,
+				freshnessPair.refreshTime,
+				null,
+				this.lastInvalidation.incrementAndGet()));
 	}
 
 	@Override
@@ -77,50 +252,257 @@ public class NccAccountCache implements AccountMetaDataPairLookup {
 		return this.findFreshnessPairByAddress(id).accountMetaDataPair;
 	}
 
+	@Override
+	public CompletableFuture<AccountMetaDataPair> findPairByAddressAsync(final Address id) {
+		final TimeInstant currentTime = this.timeProvider.getCurrentTime();
+		final FreshnessPair freshnessPair = this.cache.get(id);
+		if (this.tryServeCached(id, freshnessPair, currentTime)) {
+			return CompletableFuture.completedFuture(freshnessPair.accountMetaDataPair);
+		}
+
+		final NisException rejection = this.findRejection(id, freshnessPair, currentTime);
+		if (null != rejection) {
+			final CompletableFuture<AccountMetaDataPair> future = new CompletableFuture<>();
+			future.completeExceptionally(rejection);
+			return future;
+		}
+
+		this.statistics.recordMiss();
+		return this.refresh(id, freshnessPair, currentTime, () -> this.accountServices.getAccountMetaDataPairAsync(id));
+	}
+
+	/**
+	 * Refreshes the account with the specified address, regardless of whether or not its cached value has expired.
+	 * If a refresh of the account is already in flight, the result of that refresh is returned instead.
+	 *
+	 * @param id The account address.
+	 * @return The refreshed account.
+	 */
+	public CompletableFuture<AccountMetaDataPair> refreshAsync(final Address id) {
+		final TimeInstant currentTime = this.timeProvider.getCurrentTime();
+		final FreshnessPair freshnessPair = this.cache.get(id);
+		return this.refresh(id, freshnessPair, currentTime, () -> this.accountServices.getAccountMetaDataPairAsync(id));
+	}
+
+	/**
+	 * Refreshes the account with the specified address if it is not cached or its cached value has expired
+	 * (e.g. because the chain height advanced). Otherwise, the cached value is returned without asking NIS.
+	 *
+	 * @param id The account address.
+	 * @return The refreshed (or still valid) account.
+	 */
+	public CompletableFuture<AccountMetaDataPair> refreshIfExpiredAsync(final Address id) {
+		final TimeInstant currentTime = this.timeProvider.getCurrentTime();
+		final FreshnessPair freshnessPair = this.cache.get(id);
+		if (!this.shouldUpdate(freshnessPair, currentTime)) {
+			return CompletableFuture.completedFuture(freshnessPair.accountMetaDataPair);
+		}
+
+		return this.refresh(id, freshnessPair, currentTime, () -> this.accountServices.getAccountMetaDataPairAsync(id));
+	}
+
 	private FreshnessPair findFreshnessPairByAddress(final Address id) {
 		final TimeInstant currentTime = this.timeProvider.getCurrentTime();
-		FreshnessPair freshnessPair = this.cache.getOrDefault(id, null);
-		if (this.shouldUpdate(freshnessPair, currentTime)) {
-			freshnessPair = new FreshnessPair(
-					this.update(id, null == freshnessPair ? null : freshnessPair.accountMetaDataPair),
-					currentTime);
-			this.cache.put(id, freshnessPair);
+		final FreshnessPair freshnessPair = this.cache.get(id);
+		if (this.tryServeCached(id, freshnessPair, currentTime)) {
+			return freshnessPair;
+		}
+
+		final NisException rejection = this.findRejection(id, freshnessPair, currentTime);
+		if (null != rejection) {
+			throw rejection;
+		}
+
+		this.statistics.recordMiss();
+
+		// the lookup is run on the calling thread; concurrent readers without a cached value wait for it
+		final CompletableFuture<AccountMetaDataPair> future = this.refresh(id, freshnessPair, currentTime, () -> {
+			try {
+				return CompletableFuture.completedFuture(this.accountServices.getAccountMetaDataPair(id));
+			} catch (final RuntimeException e) {
+				final CompletableFuture<AccountMetaDataPair> failedFuture = new CompletableFuture<>();
+				failedFuture.completeExceptionally(e);
+				return failedFuture;
+			}
+		});
+
+		final AccountMetaDataPair pair;
+		try {
+			pair = future.join();
+		} catch (final CompletionException e) {
+			throw null != e.getCause() && e.getCause() instanceof RuntimeException ? (RuntimeException)e.getCause() : e;
+		}
+
+		// the refreshed entry can already have been evicted by a concurrent writer
+		final FreshnessPair refreshedPair = this.cache.get(id);
+		return null != refreshedPair ? refreshedPair : new FreshnessPair(pair, currentTime, null, NOT_INVALIDATED);
+	}
+
+	private boolean tryServeCached(final Address id, final FreshnessPair freshnessPair, final TimeInstant currentTime) {
+		if (!this.shouldUpdate(freshnessPair, currentTime)) {
+			this.statistics.recordHit();
+			return true;
+		}
+
+		if (this.isRefreshingExpiredPair(id, freshnessPair)) {
+			this.statistics.recordStaleHit();
+			return true;
+		}
+
+		if (this.canServeStale(freshnessPair, currentTime)) {
+			this.statistics.recordStaleHit();
+			this.refreshInBackground(id, freshnessPair, currentTime);
+			return true;
 		}
 
-		return freshnessPair;
+		return false;
+	}
+
+	private boolean isRefreshingExpiredPair(final Address id, final FreshnessPair freshnessPair) {
+		return null != freshnessPair && this.refreshes.isInFlight(id);
 	}
 
-	private AccountMetaDataPair update(
+	private boolean canServeStale(final FreshnessPair freshnessPair, final TimeInstant currentTime) {
+		// an entry that expired early (because of a chain height change or invalidation) is only served
+		// stale when stale-while-revalidate is enabled
+		return this.maxStaleInSeconds > this.refreshInSeconds &&
+				null != freshnessPair &&
+				null != freshnessPair.refreshTime &&
+				currentTime.subtract(freshnessPair.refreshTime) <= this.maxStaleInSeconds;
+	}
+
+	private NisException findRejection(final Address id, final FreshnessPair freshnessPair, final TimeInstant currentTime) {
+		if (null != freshnessPair) {
+			return null;
+		}
+
+		final Rejection rejection = this.rejections.get(id);
+		if (null == rejection || currentTime.subtract(rejection.rejectionTime) > REJECTION_CACHE_SECONDS) {
+			return null;
+		}
+
+		// every caller gets its own exception so that callers do not share (and modify) a single instance
+		this.statistics.recordRejection();
+		return new NisException(rejection.exception);
+	}
+
+	private void refreshInBackground(final Address id, final FreshnessPair freshnessPair, final TimeInstant currentTime) {
+		// a failed background refresh falls back to the stale entry like any other refresh
+		this.refresh(id, freshnessPair, currentTime, () -> this.accountServices.getAccountMetaDataPairAsync(id));
+	}
+
+	private CompletableFuture<AccountMetaDataPair> refresh(
 			final Address id,
-			final AccountMetaDataPair originalPair) {
-		try {
-			return this.accountServices.getAccountMetaDataPair(id);
-		} catch (final NccException ex) {
-			if (null == originalPair) {
-				throw ex;
-			}
+			final FreshnessPair freshnessPair,
+			final TimeInstant currentTime,
+			final Supplier<CompletableFuture<AccountMetaDataPair>> lookup) {
+		final AccountMetaDataPair originalPair = null == freshnessPair ? null : freshnessPair.accountMetaDataPair;
+		final BlockHeight height = this.chainHeight;
+		return this.refreshes.coalesce(id, () -> {
+			final long startTime = System.nanoTime();
+			final long lastInvalidation = this.lastInvalidation.get();
+			return lookup.get()
+					.handle((pair, e) -> {
+						if (null == e) {
+							this.statistics.recordRefresh(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+							this.putRefreshed(id, pair, currentTime, height, lastInvalidation);
+							this.dirtyAddresses.add(id);
+							this.rejections.remove(id);
+							return pair;
+						}
 
-			return originalPair;
+						final Throwable cause = e instanceof CompletionException && null != e.getCause() ? e.getCause() : e;
+						if (null == originalPair && isRejection(cause)) {
+							this.rejections.put(id, new Rejection((NisException)cause, currentTime));
+						}
+
+						final boolean isFallback = null != originalPair && cause instanceof NccException;
+						this.statistics.recordRefreshFailure(isFallback);
+						if (!isFallback) {
+							throw cause instanceof RuntimeException ? (RuntimeException)cause : new CompletionException(cause);
+						}
+
+						// the fallback is treated as refreshed on purpose so that NIS is not asked again until the entry expires
+						// (its data is not fresh, but it is the best that is known while NIS cannot be reached)
+						this.putRefreshed(id, originalPair, currentTime, height, lastInvalidation);
+						return originalPair;
+					});
+		});
+	}
+
+	private void putRefreshed(
+			final Address id,
+			final AccountMetaDataPair pair,
+			final TimeInstant refreshTime,
+			final BlockHeight height,
+			final long lastInvalidation) {
+		// an invalidation that happened after the refresh started is kept so that the account is refreshed again
+		this.cache.compute(id, (address, freshnessPair) -> new FreshnessPair(
+				pair,
+				refreshTime,
+				height,
+				null != freshnessPair && freshnessPair.invalidation > lastInvalidation ? freshnessPair.invalidation : NOT_INVALIDATED));
+	}
+
+	private static boolean isRejection(final Throwable e) {
+		// only NIS answers that depend on the address alone are cached (NIS answers a malformed address with a bad request);
+		// connection failures and transient NIS errors are not
+		if (!(e instanceof NisException)) {
+			return false;
 		}
+
+		final NisException nisException = (NisException)e;
+		return HttpURLConnection.HTTP_BAD_REQUEST == nisException.getStatus() ||
+				NisException.Code.TRANSACTION_REJECTED_UNKNOWN_ACCOUNT == nisException.getCode();
 	}
 
 	private boolean shouldUpdate(final FreshnessPair freshnessPair, final TimeInstant currentTime) {
 		return null == freshnessPair ||
 				null == freshnessPair.refreshTime ||
+				freshnessPair.isInvalidated ||
+				this.isBehindChainHeight(freshnessPair) ||
 				currentTime.subtract(freshnessPair.refreshTime) > this.refreshInSeconds;
 	}
 
+	private boolean isBehindChainHeight(final FreshnessPair freshnessPair) {
+		final BlockHeight chainHeight = this.chainHeight;
+		if (null == chainHeight) {
+			return false;
+		}
+
+		// an entry that was refreshed before the chain height was known is treated as outdated
+		return null == freshnessPair.height || freshnessPair.height.compareTo(chainHeight) < 0;
+	}
+
+	private static class Rejection {
+		public final NisException exception;
+		public final TimeInstant rejectionTime;
+
+		public Rejection(final NisException exception, final TimeInstant rejectionTime) {
+			this.exception = exception;
+			this.rejectionTime = rejectionTime;
+		}
+	}
+
 	private static class FreshnessPair {
 		public final AccountMetaDataPair accountMetaDataPair;
 		public final Account account;
 		public final TimeInstant refreshTime;
+		public final BlockHeight height;
+		public final long invalidation;
+		public final boolean isInvalidated;
 
 		public FreshnessPair(
 				final AccountMetaDataPair accountMetaDataPair,
-				final TimeInstant refreshTime) {
+				final TimeInstant refreshTime,
+				final BlockHeight height,
+				final long invalidation) {
 			this.accountMetaDataPair = accountMetaDataPair;
 			this.account = mapAccountInfoToAccount(this.accountMetaDataPair.getAccount());
 			this.refreshTime = refreshTime;
+			this.height = height;
+			this.invalidation = invalidation;
+			this.isInvalidated = NOT_INVALIDATED != invalidation;
 		}
 
 		private static Account mapAccountInfoToAccount(final AccountInfo info) {
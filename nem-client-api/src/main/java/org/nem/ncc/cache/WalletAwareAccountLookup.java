@@ -1,12 +1,14 @@
 package org.nem.ncc.cache;
 
-import org.nem.core.crypto.KeyPair;
 import org.nem.core.model.*;
 import org.nem.core.model.ncc.*;
 import org.nem.ncc.services.*;
-import org.nem.ncc.wallet.WalletAccount;
+import org.nem.ncc.wallet.*;
 import org.springframework.context.annotation.Primary;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * An AccountLookup decorator that is aware of wallets and adds the private keys
  * of open wallet accounts to accounts returned by this implementation.
@@ -15,6 +17,8 @@ import org.springframework.context.annotation.Primary;
 public class WalletAwareAccountLookup implements AccountMetaDataPairLookup {
 	private final AccountMetaDataPairLookup accountLookup;
 	private final WalletServices walletServices;
+	private final LongAdder numLookups = new LongAdder();
+	private final LongAdder numWalletAccountLookups = new LongAdder();
 
 	/**
 	 * Creates a new wallet aware account lookup.
@@ -29,18 +33,40 @@ public class WalletAwareAccountLookup implements AccountMetaDataPairLookup {
 		this.walletServices = walletServices;
 	}
 
+	/**
+	 * Gets the number of account lookups.
+	 *
+	 * @return The number of lookups.
+	 */
+	public long getNumLookups() {
+		return this.numLookups.sum();
+	}
+
+	/**
+	 * Gets the number of account lookups that returned an account of an open wallet.
+	 *
+	 * @return The number of wallet account lookups.
+	 */
+	public long getNumWalletAccountLookups() {
+		return this.numWalletAccountLookups.sum();
+	}
+
 	@Override
 	public Account findByAddress(final Address id) {
 		// don't cache private keys so that private keys will never be provided for closed wallet accounts
+		this.numLookups.increment();
 		final Account account = this.accountLookup.findByAddress(id);
 		if (null == account) {
 			return null;
 		}
 
-		final WalletAccount walletAccount = this.walletServices.tryFindOpenAccount(id);
-		return null == walletAccount
-				? account
-				: account.shallowCopyWithKeyPair(new KeyPair(walletAccount.getPrivateKey()));
+		final WalletAccountKeys keys = this.walletServices.tryFindOpenAccountKeys(id);
+		if (null == keys) {
+			return account;
+		}
+
+		this.numWalletAccountLookups.increment();
+		return account.shallowCopyWithKeyPair(keys.getKeyPair());
 	}
 
 	@Override
@@ -50,7 +76,17 @@ public class WalletAwareAccountLookup implements AccountMetaDataPairLookup {
 
 	@Override
 	public AccountMetaDataPair findPairByAddress(final Address id) {
-		final AccountMetaDataPair pair = this.accountLookup.findPairByAddress(id);
+		this.numLookups.increment();
+		return this.addWalletAccountInformation(id, this.accountLookup.findPairByAddress(id));
+	}
+
+	@Override
+	public CompletableFuture<AccountMetaDataPair> findPairByAddressAsync(final Address id) {
+		this.numLookups.increment();
+		return this.accountLookup.findPairByAddressAsync(id).thenApply(pair -> this.addWalletAccountInformation(id, pair));
+	}
+
+	private AccountMetaDataPair addWalletAccountInformation(final Address id, final AccountMetaDataPair pair) {
 		if (null == pair || null != pair.getAccount().getKeyPair()) {
 			return pair;
 		}
@@ -60,6 +96,8 @@ public class WalletAwareAccountLookup implements AccountMetaDataPairLookup {
 			return pair;
 		}
 
+		this.numWalletAccountLookups.increment();
+
 		// we need to create a new AccountInfo here instead of using the AccountInfo
 		// returned by the server (from accountLookup) so that the public key of
 		// a newly created wallet is always returned (in case a new account was created in ncc
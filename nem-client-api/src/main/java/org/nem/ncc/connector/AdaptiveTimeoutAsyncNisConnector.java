@@ -0,0 +1,92 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.connect.*;
+import org.nem.core.connect.client.*;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+import org.nem.ncc.exceptions.NisException;
+
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+/**
+ * An AsyncNisConnector decorator that fails gets that take longer than the timeout of their api.
+ * <br/>
+ * Timed out gets fail with an InactivePeerException so that callers can fail over to another endpoint.
+ * Their inner request is cancelled, which drops it if it has not been started yet (a running http request
+ * is only ended by the timeouts of the underlying http client). The latency of every answered get is recorded,
+ * and a timed out get records its timeout as a lower bound of its latency, so that the timeouts adapt to the
+ * latencies of the apis. Posts are never timed out early because they must not be repeated; they are only bounded
+ * by the timeouts of the underlying http client.
+ */
+public class AdaptiveTimeoutAsyncNisConnector implements AsyncNisConnector {
+	private final AsyncNisConnector innerConnector;
+	private final AdaptiveTimeoutPolicy timeoutPolicy;
+	private final IntFunction<CompletableFuture<Void>> delayFactory;
+
+	/**
+	 * Creates a new adaptive timeout connector.
+	 *
+	 * @param innerConnector The inner connector.
+	 * @param timeoutPolicy The timeout policy.
+	 * @param delayFactory Factory that creates a future that completes after the specified number of milliseconds.
+	 */
+	public AdaptiveTimeoutAsyncNisConnector(
+			final AsyncNisConnector innerConnector,
+			final AdaptiveTimeoutPolicy timeoutPolicy,
+			final IntFunction<CompletableFuture<Void>> delayFactory) {
+		this.innerConnector = innerConnector;
+		this.timeoutPolicy = timeoutPolicy;
+		this.delayFactory = delayFactory;
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> getAsync(final NodeEndpoint endpoint, final NisApiId apiId, final String query) {
+		final int timeout = this.timeoutPolicy.getTimeout(apiId);
+		final long startTime = System.nanoTime();
+		final CompletableFuture<Deserializer> result = new CompletableFuture<>();
+		final CompletableFuture<Deserializer> innerFuture = this.innerConnector.getAsync(endpoint, apiId, query);
+		innerFuture.whenComplete((deserializer, e) -> {
+			if (null == e || unwrap(e) instanceof NisException) {
+				this.timeoutPolicy.recordLatency(apiId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+			}
+
+			if (null == e) {
+				result.complete(deserializer);
+			} else {
+				result.completeExceptionally(unwrap(e));
+			}
+		});
+
+		if (!result.isDone()) {
+			final CompletableFuture<Void> timeoutFuture = this.delayFactory.apply(timeout);
+			timeoutFuture.thenRun(() -> {
+				final boolean isTimedOut = result.completeExceptionally(new InactivePeerException(
+						String.format("%s request to <%s> timed out after %d ms", apiId, endpoint, timeout)));
+				if (isTimedOut) {
+					this.timeoutPolicy.recordLatency(apiId, timeout);
+					innerFuture.cancel(true);
+				}
+			});
+
+			// release the timer's reference to the request as soon as the request is answered
+			result.whenComplete((deserializer, e) -> timeoutFuture.cancel(false));
+		}
+
+		return result;
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> postAsync(final NodeEndpoint endpoint, final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.innerConnector.postAsync(endpoint, apiId, postRequest);
+	}
+
+	@Override
+	public CompletableFuture<Void> postVoidAsync(final NodeEndpoint endpoint, final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.innerConnector.postVoidAsync(endpoint, apiId, postRequest);
+	}
+
+	private static Throwable unwrap(final Throwable e) {
+		return e instanceof CompletionException && null != e.getCause() ? e.getCause() : e;
+	}
+}
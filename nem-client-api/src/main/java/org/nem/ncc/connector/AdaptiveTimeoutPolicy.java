@@ -0,0 +1,68 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.connect.client.NisApiId;
+
+import java.util.concurrent.*;
+
+/**
+ * Policy that derives a per-api request timeout from the latencies observed for that api.
+ * <br/>
+ * The timeout of an api is a high percentile of its recent latencies multiplied by a safety factor
+ * and clamped between a minimum and a maximum timeout. Apis without enough latency samples
+ * use the maximum timeout.
+ */
+public class AdaptiveTimeoutPolicy {
+	private static final int MAX_SAMPLES = 100;
+	private static final int MIN_SAMPLES = 20;
+
+	private final int minTimeoutMillis;
+	private final int maxTimeoutMillis;
+	private final double percentile;
+	private final double factor;
+	private final ConcurrentMap<NisApiId, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new adaptive timeout policy.
+	 *
+	 * @param minTimeoutMillis The minimum timeout in milliseconds.
+	 * @param maxTimeoutMillis The maximum timeout in milliseconds.
+	 * @param percentile The latency percentile (between 0 and 1) from which the timeout is derived.
+	 * @param factor The factor by which the percentile latency is multiplied.
+	 */
+	public AdaptiveTimeoutPolicy(
+			final int minTimeoutMillis,
+			final int maxTimeoutMillis,
+			final double percentile,
+			final double factor) {
+		this.minTimeoutMillis = minTimeoutMillis;
+		this.maxTimeoutMillis = maxTimeoutMillis;
+		this.percentile = percentile;
+		this.factor = factor;
+	}
+
+	/**
+	 * Records the latency of a request that was answered.
+	 *
+	 * @param apiId The api id.
+	 * @param latencyMillis The latency in milliseconds.
+	 */
+	public void recordLatency(final NisApiId apiId, final long latencyMillis) {
+		this.latencies.computeIfAbsent(apiId, id -> new LatencyHistogram(MAX_SAMPLES)).record(latencyMillis);
+	}
+
+	/**
+	 * Gets the timeout for requests of the specified api.
+	 *
+	 * @param apiId The api id.
+	 * @return The timeout in milliseconds.
+	 */
+	public int getTimeout(final NisApiId apiId) {
+		final LatencyHistogram histogram = this.latencies.get(apiId);
+		if (null == histogram || histogram.size() < MIN_SAMPLES) {
+			return this.maxTimeoutMillis;
+		}
+
+		final long timeout = (long)Math.ceil(histogram.getPercentile(this.percentile) * this.factor);
+		return (int)Math.max(this.minTimeoutMillis, Math.min(timeout, this.maxTimeoutMillis));
+	}
+}
@@ -0,0 +1,71 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.connect.*;
+import org.nem.core.connect.client.*;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.*;
+import org.nem.core.utils.ExceptionUtils;
+
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An AsyncNisConnector implementation that requests binary NIS responses.
+ * <br/>
+ * Post requests are sent as is (NIS accepts both JSON and binary payloads), but their responses are requested in
+ * the binary format.
+ */
+public class BinaryAsyncNisConnector implements AsyncNisConnector {
+	private final HttpMethodClient<Deserializer> httpClient;
+	private BinaryResponseStrategy responseStrategy;
+
+	/**
+	 * Creates a new binary NIS connector.
+	 *
+	 * @param httpClient The HTTP client.
+	 */
+	public BinaryAsyncNisConnector(final HttpMethodClient<Deserializer> httpClient) {
+		this.httpClient = httpClient;
+		this.setAccountLookup(null);
+	}
+
+	/**
+	 * Sets the account lookup used by deserializers of NIS responses.
+	 *
+	 * @param accountLookup The account lookup.
+	 */
+	public void setAccountLookup(final AccountLookup accountLookup) {
+		this.responseStrategy = new BinaryResponseStrategy(accountLookup);
+	}
+
+	/**
+	 * Gets the response strategy.
+	 *
+	 * @return The response strategy.
+	 */
+	public BinaryResponseStrategy getResponseStrategy() {
+		return this.responseStrategy;
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> getAsync(final NodeEndpoint endpoint, final NisApiId apiId, final String query) {
+		final URL url = getUrl(endpoint, apiId, query);
+		return this.httpClient.get(url, this.responseStrategy).getFuture();
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> postAsync(final NodeEndpoint endpoint, final NisApiId apiId, final HttpPostRequest postRequest) {
+		final URL url = getUrl(endpoint, apiId, null);
+		return this.httpClient.post(url, postRequest, this.responseStrategy).getFuture();
+	}
+
+	@Override
+	public CompletableFuture<Void> postVoidAsync(final NodeEndpoint endpoint, final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.postAsync(endpoint, apiId, postRequest).thenAccept(d -> { });
+	}
+
+	private static URL getUrl(final NodeEndpoint endpoint, final NisApiId apiId, final String query) {
+		final String path = null == query ? apiId.toString() : String.format("%s?%s", apiId, query);
+		return ExceptionUtils.propagate(() -> new URL(endpoint.getBaseUrl(), path));
+	}
+}
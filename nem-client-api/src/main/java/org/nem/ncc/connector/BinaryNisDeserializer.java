@@ -0,0 +1,43 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.serialization.*;
+
+/**
+ * A binary deserializer of a NIS response that can be copied.
+ * <br/>
+ * Unlike JSON deserializers, binary deserializers can only be read once. Connectors that share a response
+ * among multiple callers (e.g. by coalescing or caching requests) must give each caller its own copy.
+ */
+public class BinaryNisDeserializer extends BinaryDeserializer {
+	private final byte[] bytes;
+
+	/**
+	 * Creates a new binary NIS deserializer.
+	 *
+	 * @param bytes The response bytes.
+	 * @param context The deserialization context.
+	 */
+	public BinaryNisDeserializer(final byte[] bytes, final DeserializationContext context) {
+		super(bytes, context);
+		this.bytes = bytes;
+	}
+
+	/**
+	 * Creates an unread copy of this deserializer.
+	 *
+	 * @return The copy.
+	 */
+	public BinaryNisDeserializer copy() {
+		return new BinaryNisDeserializer(this.bytes, this.getContext());
+	}
+
+	/**
+	 * Gets a deserializer that can be read independently of the specified deserializer.
+	 *
+	 * @param deserializer The (shared) deserializer.
+	 * @return A copy of the deserializer if it can only be read once or the deserializer itself otherwise.
+	 */
+	public static Deserializer fork(final Deserializer deserializer) {
+		return deserializer instanceof BinaryNisDeserializer ? ((BinaryNisDeserializer)deserializer).copy() : deserializer;
+	}
+}
@@ -0,0 +1,94 @@
+package org.nem.ncc.connector;
+
+import net.minidev.json.*;
+import org.apache.http.*;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ContentType;
+import org.apache.http.util.EntityUtils;
+import org.nem.core.connect.*;
+import org.nem.core.serialization.*;
+import org.nem.core.time.TimeInstant;
+import org.nem.core.utils.ExceptionUtils;
+import org.nem.ncc.exceptions.NisException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Strategy for coercing binary NIS responses into deserializers.
+ * <br/>
+ * Error responses are thrown as NIS exceptions. Successful responses that are not in the binary format and
+ * responses rejecting the binary content type (406 or 415) are rejected with an UnsupportedNisFormatException
+ * so that the request can be repeated using JSON. Other error responses that are not in the binary format
+ * (e.g. JSON error bodies) are also thrown as NIS exceptions because they do not indicate that the binary
+ * format is unsupported.
+ */
+public class BinaryResponseStrategy implements HttpResponseStrategy<Deserializer> {
+	/**
+	 * The binary content type.
+	 */
+	public static final String CONTENT_TYPE = "application/binary";
+
+	private final AccountLookup accountLookup;
+
+	/**
+	 * Creates a new binary response strategy.
+	 *
+	 * @param accountLookup The account lookup used by created deserializers.
+	 */
+	public BinaryResponseStrategy(final AccountLookup accountLookup) {
+		this.accountLookup = accountLookup;
+	}
+
+	@Override
+	public Deserializer coerce(final HttpRequestBase request, final HttpResponse response) {
+		final int statusCode = response.getStatusLine().getStatusCode();
+		final HttpEntity entity = response.getEntity();
+		final byte[] bytes = null == entity ? new byte[0] : ExceptionUtils.propagate(() -> EntityUtils.toByteArray(entity));
+		if (HttpStatus.SC_OK == statusCode && 0 == bytes.length) {
+			// void requests do not have a response body (or content type)
+			return null;
+		}
+
+		final String mimeType = null == entity ? null : ContentType.getOrDefault(entity).getMimeType();
+		if (!CONTENT_TYPE.equals(mimeType)) {
+			if (isUnsupportedFormatResponse(statusCode)) {
+				throw new UnsupportedNisFormatException(String.format("received <%s> response with status <%d>", mimeType, statusCode));
+			}
+
+			throw new NisException(createNonBinaryErrorResponse(statusCode, mimeType, bytes));
+		}
+
+		final Deserializer deserializer = new BinaryNisDeserializer(bytes, new DeserializationContext(this.accountLookup));
+		if (HttpStatus.SC_OK != statusCode) {
+			throw new NisException(new ErrorResponse(deserializer));
+		}
+
+		return deserializer;
+	}
+
+	private static boolean isUnsupportedFormatResponse(final int statusCode) {
+		return HttpStatus.SC_OK == statusCode
+				|| HttpStatus.SC_NOT_ACCEPTABLE == statusCode
+				|| HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE == statusCode;
+	}
+
+	private static ErrorResponse createNonBinaryErrorResponse(final int statusCode, final String mimeType, final byte[] bytes) {
+		if (ContentType.APPLICATION_JSON.getMimeType().equals(mimeType)) {
+			final Object jsonObject = JSONValue.parse(new String(bytes, StandardCharsets.UTF_8));
+			if (jsonObject instanceof JSONObject) {
+				try {
+					return new ErrorResponse(new JsonDeserializer((JSONObject)jsonObject, null));
+				} catch (final SerializationException e) {
+					// fall through and create a generic error response
+				}
+			}
+		}
+
+		return new ErrorResponse(TimeInstant.ZERO, String.format("received <%s> response", mimeType), statusCode);
+	}
+
+	@Override
+	public String getSupportedContentType() {
+		return CONTENT_TYPE;
+	}
+}
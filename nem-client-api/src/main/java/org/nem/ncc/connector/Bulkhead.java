@@ -0,0 +1,172 @@
+package org.nem.ncc.connector;
+
+import org.nem.ncc.exceptions.NccException;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Limits the number of concurrent requests of one kind.
+ * <br/>
+ * Requests that exceed the concurrency limit are queued until a running request completes.
+ * Requests that exceed the queue limit are rejected with a NIS_OVERLOADED NccException.
+ * Requests whose result is cancelled while they are queued are removed from the queue without being started. Cancelling
+ * the result of a running request does not release its slot; the slot is only released when the request itself completes.
+ * <br/>
+ * Queued requests are started in a loop by the thread that released a slot (rather than from within the completion
+ * of the previous request), so requests that complete synchronously cannot recurse.
+ */
+public class Bulkhead {
+	private static final Logger LOGGER = Logger.getLogger(Bulkhead.class.getName());
+
+	private final String name;
+	private final int maxConcurrentRequests;
+	private final int maxQueuedRequests;
+	private final Queue<Runnable> queuedRequests = new ArrayDeque<>();
+	private int numRunningRequests;
+	private boolean isDraining;
+
+	/**
+	 * Creates a new bulkhead.
+	 *
+	 * @param name The name of the bulkhead.
+	 * @param maxConcurrentRequests The maximum number of requests that can run concurrently.
+	 * @param maxQueuedRequests The maximum number of requests that can wait for a running request to complete.
+	 */
+	public Bulkhead(final String name, final int maxConcurrentRequests, final int maxQueuedRequests) {
+		this.name = name;
+		this.maxConcurrentRequests = maxConcurrentRequests;
+		this.maxQueuedRequests = maxQueuedRequests;
+	}
+
+	/**
+	 * Gets the name of this bulkhead.
+	 *
+	 * @return The name.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Gets the number of requests that are currently running.
+	 *
+	 * @return The number of running requests.
+	 */
+	public synchronized int getNumRunningRequests() {
+		return this.numRunningRequests;
+	}
+
+	/**
+	 * Gets the number of requests that are currently queued.
+	 *
+	 * @return The number of queued requests.
+	 */
+	public synchronized int getNumQueuedRequests() {
+		return this.queuedRequests.size();
+	}
+
+	/**
+	 * Runs the specified request when this bulkhead has capacity for it.
+	 *
+	 * @param request Supplier that starts the request.
+	 * @return The result of the request.
+	 */
+	public <T> CompletableFuture<T> execute(final Supplier<CompletableFuture<T>> request) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		final Runnable start = () -> this.start(request, future);
+		final boolean isQueued;
+		synchronized (this) {
+			// queued requests are started first (a non-empty queue with free slots is being drained)
+			if (this.numRunningRequests >= this.maxConcurrentRequests || !this.queuedRequests.isEmpty()) {
+				if (this.queuedRequests.size() >= this.maxQueuedRequests) {
+					LOGGER.warning(String.format("rejecting request because the %s bulkhead is full", this.name));
+					future.completeExceptionally(new NccException(NccException.Code.NIS_OVERLOADED));
+					return future;
+				}
+
+				this.queuedRequests.add(start);
+				isQueued = true;
+			} else {
+				++this.numRunningRequests;
+				isQueued = false;
+			}
+		}
+
+		if (!isQueued) {
+			start.run();
+			return future;
+		}
+
+		// a cancelled request gives up its place in the queue (this is a no-op if it has already been started)
+		future.whenComplete((result, e) -> {
+			if (future.isCancelled()) {
+				this.dequeue(start);
+			}
+		});
+		return future;
+	}
+
+	private <T> void start(final Supplier<CompletableFuture<T>> request, final CompletableFuture<T> future) {
+		if (future.isCancelled()) {
+			// the caller gave up (e.g. timed out) while the request was queued
+			this.onComplete();
+			return;
+		}
+
+		final CompletableFuture<T> requestFuture;
+		try {
+			requestFuture = request.get();
+		} catch (final RuntimeException e) {
+			this.onComplete();
+			future.completeExceptionally(e);
+			return;
+		}
+
+		requestFuture.whenComplete((result, e) -> {
+			this.onComplete();
+			if (null == e) {
+				future.complete(result);
+			} else {
+				future.completeExceptionally(e instanceof CompletionException && null != e.getCause() ? e.getCause() : e);
+			}
+		});
+	}
+
+	private synchronized void dequeue(final Runnable start) {
+		this.queuedRequests.remove(start);
+	}
+
+	private void onComplete() {
+		synchronized (this) {
+			--this.numRunningRequests;
+			if (this.isDraining) {
+				// the thread that is already draining the queue picks up the released slot
+				return;
+			}
+
+			this.isDraining = true;
+		}
+
+		this.drain();
+	}
+
+	private void drain() {
+		while (true) {
+			final Runnable next;
+			synchronized (this) {
+				if (this.numRunningRequests >= this.maxConcurrentRequests || this.queuedRequests.isEmpty()) {
+					this.isDraining = false;
+					return;
+				}
+
+				next = this.queuedRequests.poll();
+				++this.numRunningRequests;
+			}
+
+			next.run();
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.connect.HttpPostRequest;
+import org.nem.core.connect.client.*;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * An AsyncNisConnector decorator that isolates classes of NIS apis from each other.
+ * <br/>
+ * Each class of apis (e.g. transaction announcements or network crawls) has its own bulkhead,
+ * so that a burst of requests of one class cannot use up the connections needed by another class.
+ * Requests of apis without a bulkhead are not limited.
+ */
+public class BulkheadAsyncNisConnector implements AsyncNisConnector {
+	private final AsyncNisConnector innerConnector;
+	private final Map<NisApiId, Bulkhead> bulkheads;
+
+	/**
+	 * Creates a new bulkhead connector.
+	 *
+	 * @param innerConnector The inner connector.
+	 * @param bulkheads The bulkheads of the limited apis.
+	 */
+	public BulkheadAsyncNisConnector(final AsyncNisConnector innerConnector, final Map<NisApiId, Bulkhead> bulkheads) {
+		this.innerConnector = innerConnector;
+		this.bulkheads = new HashMap<>(bulkheads);
+	}
+
+	/**
+	 * Gets all bulkheads used by this connector.
+	 *
+	 * @return The bulkheads.
+	 */
+	public Collection<Bulkhead> getBulkheads() {
+		return new HashSet<>(this.bulkheads.values());
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> getAsync(final NodeEndpoint endpoint, final NisApiId apiId, final String query) {
+		return this.execute(apiId, () -> this.innerConnector.getAsync(endpoint, apiId, query));
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> postAsync(final NodeEndpoint endpoint, final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.execute(apiId, () -> this.innerConnector.postAsync(endpoint, apiId, postRequest));
+	}
+
+	@Override
+	public CompletableFuture<Void> postVoidAsync(final NodeEndpoint endpoint, final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.execute(apiId, () -> this.innerConnector.postVoidAsync(endpoint, apiId, postRequest));
+	}
+
+	private <T> CompletableFuture<T> execute(final NisApiId apiId, final Supplier<CompletableFuture<T>> request) {
+		final Bulkhead bulkhead = this.bulkheads.get(apiId);
+		return null == bulkhead ? request.get() : bulkhead.execute(request);
+	}
+}
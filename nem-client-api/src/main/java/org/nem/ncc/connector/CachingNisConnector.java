@@ -0,0 +1,244 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.connect.HttpPostRequest;
+import org.nem.core.connect.client.NisApiId;
+import org.nem.core.model.primitive.BlockHeight;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+import org.nem.core.time.*;
+import org.nem.core.utils.ExceptionUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A NIS connector decorator that caches get responses per api.
+ * <br/>
+ * Each cacheable api has a time to live. Responses of height-sensitive apis (e.g. account transfers)
+ * are additionally only valid as long as the chain height does not change. Posts invalidate the responses of
+ * the apis they affect (e.g. unlocking an account invalidates all account statuses). All other requests are passed
+ * through to the inner connector.
+ * <br/>
+ * Expired responses are removed periodically (every few cache misses) rather than on every miss.
+ * <br/>
+ * Cached deserializers are shared by all callers, so each caller is given its own copy of binary deserializers
+ * (JSON deserializers can be read more than once).
+ */
+public class CachingNisConnector implements PrimaryNisConnector {
+	private static final int EXPIRED_ENTRIES_CLEANUP_INTERVAL = 100;
+
+	private final PrimaryNisConnector innerConnector;
+	private final TimeProvider timeProvider;
+	private final Map<NisApiId, Integer> timeToLiveMap;
+	private final Set<NisApiId> heightSensitiveApiIds;
+	private final Map<NisApiId, Set<NisApiId>> postInvalidationMap;
+	private final ConcurrentMap<CacheKey, CacheEntry> entries = new ConcurrentHashMap<>();
+	private final AtomicInteger numMisses = new AtomicInteger();
+	private volatile BlockHeight chainHeight;
+
+	/**
+	 * Creates a new caching NIS connector.
+	 *
+	 * @param innerConnector The inner connector.
+	 * @param timeProvider The time provider.
+	 * @param timeToLiveMap The time to live (in seconds) of each cacheable api.
+	 * @param heightSensitiveApiIds The cacheable apis that should be invalidated when the chain height changes.
+	 * @param postInvalidationMap The cacheable apis that should be invalidated by a post to each api.
+	 */
+	public CachingNisConnector(
+			final PrimaryNisConnector innerConnector,
+			final TimeProvider timeProvider,
+			final Map<NisApiId, Integer> timeToLiveMap,
+			final Set<NisApiId> heightSensitiveApiIds,
+			final Map<NisApiId, Set<NisApiId>> postInvalidationMap) {
+		this.innerConnector = innerConnector;
+		this.timeProvider = timeProvider;
+		this.timeToLiveMap = new HashMap<>(timeToLiveMap);
+		this.heightSensitiveApiIds = new HashSet<>(heightSensitiveApiIds);
+		this.postInvalidationMap = new HashMap<>(postInvalidationMap);
+	}
+
+	/**
+	 * Gets the number of cached responses.
+	 *
+	 * @return The number of cached responses.
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Gets the last observed chain height.
+	 *
+	 * @return The chain height or null if no chain height has been observed.
+	 */
+	public BlockHeight getChainHeight() {
+		return this.chainHeight;
+	}
+
+	/**
+	 * Sets the observed chain height.
+	 * When the chain height changes, all responses of height-sensitive apis are invalidated.
+	 *
+	 * @param height The chain height.
+	 */
+	public void setChainHeight(final BlockHeight height) {
+		if (height.equals(this.chainHeight)) {
+			return;
+		}
+
+		this.chainHeight = height;
+		this.entries.entrySet().removeIf(e -> this.heightSensitiveApiIds.contains(e.getKey().apiId));
+	}
+
+	@Override
+	public boolean isConnected() {
+		return this.innerConnector.isConnected();
+	}
+
+	@Override
+	public Deserializer get(final NisApiId apiId, final String query) {
+		return ExceptionUtils.propagate(() -> this.getAsync(apiId, query).get());
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> getAsync(final NisApiId apiId, final String query) {
+		final Integer timeToLive = this.timeToLiveMap.get(apiId);
+		if (null == timeToLive) {
+			return this.innerConnector.getAsync(apiId, query);
+		}
+
+		final boolean isHeightSensitive = this.heightSensitiveApiIds.contains(apiId);
+		final BlockHeight height = this.chainHeight;
+		if (isHeightSensitive && null == height) {
+			// the response cannot be invalidated without a known chain height
+			return this.innerConnector.getAsync(apiId, query);
+		}
+
+		final TimeInstant currentTime = this.timeProvider.getCurrentTime();
+		final CacheKey key = new CacheKey(apiId, query);
+		final CacheEntry entry = this.entries.get(key);
+		if (null != entry && entry.isValid(currentTime, height)) {
+			return isolate(entry.future);
+		}
+
+		if (0 == this.numMisses.incrementAndGet() % EXPIRED_ENTRIES_CLEANUP_INTERVAL) {
+			this.removeExpiredEntries(currentTime);
+		}
+
+		final CompletableFuture<Deserializer> future = this.innerConnector.getAsync(apiId, query);
+		final CacheEntry newEntry = new CacheEntry(future, currentTime.addSeconds(timeToLive), isHeightSensitive ? height : null);
+		this.entries.put(key, newEntry);
+
+		// failed responses should not be cached
+		future.whenComplete((result, e) -> {
+			if (null != e) {
+				this.entries.remove(key, newEntry);
+			}
+		});
+
+		return isolate(future);
+	}
+
+	@Override
+	public <T> T forward(final Function<NodeEndpoint, CompletableFuture<T>> request) {
+		return this.innerConnector.forward(request);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> forwardAsync(final Function<NodeEndpoint, CompletableFuture<T>> request) {
+		return this.innerConnector.forwardAsync(request);
+	}
+
+	@Override
+	public Deserializer post(final NisApiId apiId, final HttpPostRequest postRequest) {
+		try {
+			return this.innerConnector.post(apiId, postRequest);
+		} finally {
+			this.invalidate(apiId);
+		}
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> postAsync(final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.innerConnector.postAsync(apiId, postRequest).whenComplete((result, e) -> this.invalidate(apiId));
+	}
+
+	@Override
+	public void voidPost(final NisApiId apiId, final HttpPostRequest postRequest) {
+		try {
+			this.innerConnector.voidPost(apiId, postRequest);
+		} finally {
+			this.invalidate(apiId);
+		}
+	}
+
+	@Override
+	public CompletableFuture<Void> voidPostAsync(final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.innerConnector.voidPostAsync(apiId, postRequest).whenComplete((result, e) -> this.invalidate(apiId));
+	}
+
+	private void invalidate(final NisApiId postApiId) {
+		// a failed post might still have been processed by NIS, so the affected responses are always invalidated
+		final Set<NisApiId> invalidatedApiIds = this.postInvalidationMap.get(postApiId);
+		if (null != invalidatedApiIds) {
+			this.entries.keySet().removeIf(key -> invalidatedApiIds.contains(key.apiId));
+		}
+	}
+
+	private void removeExpiredEntries(final TimeInstant currentTime) {
+		this.entries.values().removeIf(entry -> entry.isExpired(currentTime));
+	}
+
+	private static CompletableFuture<Deserializer> isolate(final CompletableFuture<Deserializer> future) {
+		// give each caller its own future so that one caller cannot complete or cancel the cached future
+		return future.thenApply(BinaryNisDeserializer::fork);
+	}
+
+	private static class CacheKey {
+		private final NisApiId apiId;
+		private final String query;
+
+		private CacheKey(final NisApiId apiId, final String query) {
+			this.apiId = apiId;
+			this.query = query;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.apiId, this.query);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+
+			final CacheKey rhs = (CacheKey)obj;
+			return this.apiId.equals(rhs.apiId) && Objects.equals(this.query, rhs.query);
+		}
+	}
+
+	private static class CacheEntry {
+		private final CompletableFuture<Deserializer> future;
+		private final TimeInstant expiryTime;
+		private final BlockHeight height;
+
+		private CacheEntry(final CompletableFuture<Deserializer> future, final TimeInstant expiryTime, final BlockHeight height) {
+			this.future = future;
+			this.expiryTime = expiryTime;
+			this.height = height;
+		}
+
+		private boolean isExpired(final TimeInstant currentTime) {
+			return currentTime.compareTo(this.expiryTime) >= 0;
+		}
+
+		private boolean isValid(final TimeInstant currentTime, final BlockHeight currentHeight) {
+			return !this.isExpired(currentTime) && (null == this.height || this.height.equals(currentHeight));
+		}
+	}
+}
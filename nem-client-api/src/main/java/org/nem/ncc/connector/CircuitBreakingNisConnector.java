@@ -0,0 +1,89 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.connect.HttpPostRequest;
+import org.nem.core.connect.client.NisApiId;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+import org.nem.core.utils.ExceptionUtils;
+import org.nem.ncc.exceptions.NccException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.*;
+
+/**
+ * A NIS connector decorator that fails requests fast while the NIS connection circuit is open.
+ * <br/>
+ * While NIS is known to be unreachable, requests are rejected with NIS_NOT_AVAILABLE instead of waiting
+ * for connection timeouts. Liveness checks (isConnected) are always passed through so that the circuit
+ * can be closed again.
+ */
+public class CircuitBreakingNisConnector implements PrimaryNisConnector {
+	private final PrimaryNisConnector innerConnector;
+	private final BooleanSupplier isAvailable;
+
+	/**
+	 * Creates a new circuit breaking NIS connector.
+	 *
+	 * @param innerConnector The inner connector.
+	 * @param isAvailable Supplier that returns true if requests should be sent to NIS.
+	 */
+	public CircuitBreakingNisConnector(final PrimaryNisConnector innerConnector, final BooleanSupplier isAvailable) {
+		this.innerConnector = innerConnector;
+		this.isAvailable = isAvailable;
+	}
+
+	@Override
+	public boolean isConnected() {
+		return this.innerConnector.isConnected();
+	}
+
+	@Override
+	public Deserializer get(final NisApiId apiId, final String query) {
+		return ExceptionUtils.propagate(() -> this.getAsync(apiId, query).get());
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> getAsync(final NisApiId apiId, final String query) {
+		return this.sendIfAvailable(() -> this.innerConnector.getAsync(apiId, query));
+	}
+
+	@Override
+	public <T> T forward(final Function<NodeEndpoint, CompletableFuture<T>> request) {
+		return ExceptionUtils.propagate(() -> this.forwardAsync(request).get());
+	}
+
+	@Override
+	public <T> CompletableFuture<T> forwardAsync(final Function<NodeEndpoint, CompletableFuture<T>> request) {
+		return this.sendIfAvailable(() -> this.innerConnector.forwardAsync(request));
+	}
+
+	@Override
+	public Deserializer post(final NisApiId apiId, final HttpPostRequest postRequest) {
+		return ExceptionUtils.propagate(() -> this.postAsync(apiId, postRequest).get());
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> postAsync(final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.sendIfAvailable(() -> this.innerConnector.postAsync(apiId, postRequest));
+	}
+
+	@Override
+	public void voidPost(final NisApiId apiId, final HttpPostRequest postRequest) {
+		ExceptionUtils.propagateVoid(() -> this.voidPostAsync(apiId, postRequest).get());
+	}
+
+	@Override
+	public CompletableFuture<Void> voidPostAsync(final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.sendIfAvailable(() -> this.innerConnector.voidPostAsync(apiId, postRequest));
+	}
+
+	private <T> CompletableFuture<T> sendIfAvailable(final Supplier<CompletableFuture<T>> request) {
+		if (this.isAvailable.getAsBoolean()) {
+			return request.get();
+		}
+
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(new NccException(NccException.Code.NIS_NOT_AVAILABLE));
+		return future;
+	}
+}
@@ -50,7 +50,12 @@ public class DefaultNisConnector implements PrimaryNisConnector {
 
 	@Override
 	public Deserializer get(final NisApiId apiId, final String query) {
-		return ExceptionUtils.propagate(() -> this.nisConnector.getAsync(this.getDefaultEndpoint(), apiId, query).get());
+		return ExceptionUtils.propagate(() -> this.getAsync(apiId, query).get());
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> getAsync(final NisApiId apiId, final String query) {
+		return this.nisConnector.getAsync(this.getDefaultEndpoint(), apiId, query);
 	}
 
 	@Override
@@ -65,12 +70,22 @@ public class DefaultNisConnector implements PrimaryNisConnector {
 
 	@Override
 	public Deserializer post(final NisApiId apiId, final HttpPostRequest postRequest) {
-		return ExceptionUtils.propagate(() -> this.nisConnector.postAsync(this.getDefaultEndpoint(), apiId, postRequest).get());
+		return ExceptionUtils.propagate(() -> this.postAsync(apiId, postRequest).get());
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> postAsync(final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.nisConnector.postAsync(this.getDefaultEndpoint(), apiId, postRequest);
 	}
 
 	@Override
 	public void voidPost(final NisApiId apiId, final HttpPostRequest postRequest) {
-		ExceptionUtils.propagateVoid(() -> this.nisConnector.postVoidAsync(this.getDefaultEndpoint(), apiId, postRequest).get());
+		ExceptionUtils.propagateVoid(() -> this.voidPostAsync(apiId, postRequest).get());
+	}
+
+	@Override
+	public CompletableFuture<Void> voidPostAsync(final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.nisConnector.postVoidAsync(this.getDefaultEndpoint(), apiId, postRequest).thenAccept(v -> { });
 	}
 
 	private NodeEndpoint getDefaultEndpoint() {
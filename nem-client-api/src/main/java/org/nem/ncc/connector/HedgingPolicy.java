@@ -0,0 +1,79 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.connect.client.NisApiId;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+
+/**
+ * Policy that decides when a read should be hedged by sending a second request to an alternate NIS endpoint.
+ * <br/>
+ * The hedge delay is a percentile of the latencies of recent successful requests, so that only requests
+ * in the latency tail are hedged.
+ */
+public class HedgingPolicy {
+	private static final int MAX_SAMPLES = 100;
+	private static final int MIN_SAMPLES = 10;
+	private static final int DEFAULT_HEDGE_DELAY_MILLIS = 1000;
+
+	private final Set<NisApiId> hedgedApiIds;
+	private final double percentile;
+	private final IntFunction<CompletableFuture<Void>> delayFactory;
+	private final LatencyHistogram latencies = new LatencyHistogram(MAX_SAMPLES);
+
+	/**
+	 * Creates a new hedging policy.
+	 *
+	 * @param hedgedApiIds The apis that should be hedged.
+	 * @param percentile The latency percentile (between 0 and 1) after which a request is hedged.
+	 * @param delayFactory Factory that creates a future that completes after the specified number of milliseconds.
+	 */
+	public HedgingPolicy(
+			final Set<NisApiId> hedgedApiIds,
+			final double percentile,
+			final IntFunction<CompletableFuture<Void>> delayFactory) {
+		this.hedgedApiIds = new HashSet<>(hedgedApiIds);
+		this.percentile = percentile;
+		this.delayFactory = delayFactory;
+	}
+
+	/**
+	 * Gets a value indicating whether or not requests for the specified api should be hedged.
+	 *
+	 * @param apiId The api id.
+	 * @return true if requests should be hedged.
+	 */
+	public boolean isHedged(final NisApiId apiId) {
+		return this.hedgedApiIds.contains(apiId);
+	}
+
+	/**
+	 * Records the latency of a successful request.
+	 *
+	 * @param latencyMillis The latency in milliseconds.
+	 */
+	public void recordLatency(final long latencyMillis) {
+		this.latencies.record(latencyMillis);
+	}
+
+	/**
+	 * Gets the delay after which an unanswered request should be hedged.
+	 *
+	 * @return The hedge delay in milliseconds.
+	 */
+	public int getHedgeDelay() {
+		return this.latencies.size() < MIN_SAMPLES
+				? DEFAULT_HEDGE_DELAY_MILLIS
+				: (int)this.latencies.getPercentile(this.percentile);
+	}
+
+	/**
+	 * Creates a future that completes when an unanswered request should be hedged.
+	 *
+	 * @return The hedge trigger.
+	 */
+	public CompletableFuture<Void> createHedgeTrigger() {
+		return this.delayFactory.apply(this.getHedgeDelay());
+	}
+}
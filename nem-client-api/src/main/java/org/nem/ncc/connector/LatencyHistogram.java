@@ -0,0 +1,72 @@
+package org.nem.ncc.connector;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of the most recent request latencies.
+ * <br/>
+ * Percentiles are read from a sorted copy of the samples that is only updated once at least a tenth of the samples
+ * have been recorded since it was taken, so most reads do not sort. Percentiles can therefore lag slightly behind
+ * the most recent samples.
+ */
+public class LatencyHistogram {
+	private static final int RESORT_DIVISOR = 10;
+
+	private final long[] samples;
+	private int numSamples;
+	private int nextSampleIndex;
+	private long[] sortedSamples = new long[0];
+	private int numSamplesSinceSort;
+
+	/**
+	 * Creates a new latency histogram.
+	 *
+	 * @param maxSamples The maximum number of (most recent) samples that are kept.
+	 */
+	public LatencyHistogram(final int maxSamples) {
+		this.samples = new long[maxSamples];
+	}
+
+	/**
+	 * Records a latency sample.
+	 *
+	 * @param latencyMillis The latency in milliseconds.
+	 */
+	public synchronized void record(final long latencyMillis) {
+		this.samples[this.nextSampleIndex] = latencyMillis;
+		this.nextSampleIndex = (this.nextSampleIndex + 1) % this.samples.length;
+		this.numSamples = Math.min(this.numSamples + 1, this.samples.length);
+		++this.numSamplesSinceSort;
+	}
+
+	/**
+	 * Gets the number of samples in this histogram.
+	 *
+	 * @return The number of samples.
+	 */
+	public synchronized int size() {
+		return this.numSamples;
+	}
+
+	/**
+	 * Gets the latency at the specified percentile.
+	 *
+	 * @param percentile The percentile (between 0 and 1).
+	 * @return The latency in milliseconds (or 0 if there are no samples).
+	 */
+	public synchronized long getPercentile(final double percentile) {
+		if (0 == this.numSamples) {
+			return 0;
+		}
+
+		if (this.numSamplesSinceSort * RESORT_DIVISOR >= this.numSamples) {
+			this.sortedSamples = Arrays.copyOf(this.samples, this.numSamples);
+			Arrays.sort(this.sortedSamples);
+			this.numSamplesSinceSort = 0;
+		}
+
+		final int numSortedSamples = this.sortedSamples.length;
+		final int index = (int)Math.ceil(percentile * numSortedSamples) - 1;
+		return this.sortedSamples[Math.max(0, Math.min(index, numSortedSamples - 1))];
+	}
+}
@@ -0,0 +1,150 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.connect.HttpPostRequest;
+import org.nem.core.connect.client.*;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+import org.nem.core.time.*;
+import org.nem.ncc.model.NisCommunicationMode;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * An AsyncNisConnector that negotiates the wire format per NIS endpoint.
+ * <br/>
+ * When the binary communication mode is enabled, gets of supported apis are first requested in the binary format.
+ * An endpoint that rejects the binary format (see BinaryResponseStrategy) is remembered and only JSON is used
+ * for it until a retry period has passed (e.g. because the NIS has been upgraded in the meantime). Afterwards, a single
+ * get is requested in the binary format again. Other failures (including non-binary error responses) do not change
+ * the endpoint format.
+ * Posts are only sent using the binary connector to endpoints that have already answered a binary get
+ * because a post must never be repeated.
+ */
+public class NegotiatingAsyncNisConnector implements AsyncNisConnector {
+	private static final Logger LOGGER = Logger.getLogger(NegotiatingAsyncNisConnector.class.getName());
+
+	private enum EndpointFormat {
+		BINARY,
+		JSON
+	}
+
+	private final AsyncNisConnector binaryConnector;
+	private final AsyncNisConnector jsonConnector;
+	private final Supplier<NisCommunicationMode> modeSupplier;
+	private final Set<NisApiId> binaryApiIds;
+	private final TimeProvider timeProvider;
+	private final int jsonRetrySeconds;
+	private final ConcurrentMap<NodeEndpoint, EndpointState> endpointStates = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new negotiating connector.
+	 *
+	 * @param binaryConnector The binary connector.
+	 * @param jsonConnector The JSON connector.
+	 * @param modeSupplier Supplier of the configured communication mode.
+	 * @param binaryApiIds The apis that can be requested in the binary format.
+	 * @param timeProvider The time provider.
+	 * @param jsonRetrySeconds The number of seconds after which an endpoint that rejected the binary format is asked again.
+	 */
+	public NegotiatingAsyncNisConnector(
+			final AsyncNisConnector binaryConnector,
+			final AsyncNisConnector jsonConnector,
+			final Supplier<NisCommunicationMode> modeSupplier,
+			final Set<NisApiId> binaryApiIds,
+			final TimeProvider timeProvider,
+			final int jsonRetrySeconds) {
+		this.binaryConnector = binaryConnector;
+		this.jsonConnector = jsonConnector;
+		this.modeSupplier = modeSupplier;
+		this.binaryApiIds = new HashSet<>(binaryApiIds);
+		this.timeProvider = timeProvider;
+		this.jsonRetrySeconds = jsonRetrySeconds;
+	}
+
+	/**
+	 * Gets a value indicating whether or not the specified endpoint is known to support the binary format.
+	 *
+	 * @param endpoint The endpoint.
+	 * @return true if the endpoint supports the binary format.
+	 */
+	public boolean supportsBinary(final NodeEndpoint endpoint) {
+		final EndpointState state = this.endpointStates.get(endpoint);
+		return null != state && EndpointFormat.BINARY == state.format;
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> getAsync(final NodeEndpoint endpoint, final NisApiId apiId, final String query) {
+		if (!this.isBinaryEnabled(apiId) || !this.shouldRequestBinary(endpoint)) {
+			return this.jsonConnector.getAsync(endpoint, apiId, query);
+		}
+
+		return this.binaryConnector.getAsync(endpoint, apiId, query)
+				.<CompletableFuture<Deserializer>>handle((deserializer, e) -> {
+					if (null == e) {
+						this.endpointStates.put(endpoint, new EndpointState(EndpointFormat.BINARY, null));
+						return CompletableFuture.completedFuture(deserializer);
+					}
+
+					final Throwable cause = e instanceof CompletionException && null != e.getCause() ? e.getCause() : e;
+					if (!(cause instanceof UnsupportedNisFormatException)) {
+						final CompletableFuture<Deserializer> future = new CompletableFuture<>();
+						future.completeExceptionally(cause);
+						return future;
+					}
+
+					LOGGER.info(String.format("<%s> does not support the binary format (%s); falling back to JSON", endpoint, cause.getMessage()));
+					this.endpointStates.put(endpoint, this.createJsonState());
+					return this.jsonConnector.getAsync(endpoint, apiId, query);
+				})
+				.thenCompose(future -> future);
+	}
+
+	private boolean shouldRequestBinary(final NodeEndpoint endpoint) {
+		final EndpointState state = this.endpointStates.get(endpoint);
+		if (null == state || EndpointFormat.BINARY == state.format) {
+			return true;
+		}
+
+		if (this.timeProvider.getCurrentTime().compareTo(state.retryTime) < 0) {
+			return false;
+		}
+
+		// only the get that extends the retry period asks for the binary format again, so concurrent gets keep using JSON
+		return this.endpointStates.replace(endpoint, state, this.createJsonState());
+	}
+
+	private EndpointState createJsonState() {
+		return new EndpointState(EndpointFormat.JSON, this.timeProvider.getCurrentTime().addSeconds(this.jsonRetrySeconds));
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> postAsync(final NodeEndpoint endpoint, final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.selectPostConnector(endpoint, apiId).postAsync(endpoint, apiId, postRequest);
+	}
+
+	@Override
+	public CompletableFuture<Void> postVoidAsync(final NodeEndpoint endpoint, final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.selectPostConnector(endpoint, apiId).postVoidAsync(endpoint, apiId, postRequest);
+	}
+
+	private AsyncNisConnector selectPostConnector(final NodeEndpoint endpoint, final NisApiId apiId) {
+		return this.isBinaryEnabled(apiId) && this.supportsBinary(endpoint) ? this.binaryConnector : this.jsonConnector;
+	}
+
+	private boolean isBinaryEnabled(final NisApiId apiId) {
+		return NisCommunicationMode.BINARY == this.modeSupplier.get() && this.binaryApiIds.contains(apiId);
+	}
+
+	private static class EndpointState {
+		private final EndpointFormat format;
+		private final TimeInstant retryTime;
+
+		private EndpointState(final EndpointFormat format, final TimeInstant retryTime) {
+			this.format = format;
+			this.retryTime = retryTime;
+		}
+	}
+}
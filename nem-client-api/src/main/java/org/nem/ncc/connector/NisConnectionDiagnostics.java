@@ -0,0 +1,57 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.serialization.*;
+
+import java.util.stream.Collectors;
+
+/**
+ * Diagnostic information about the connections from NCC to NIS.
+ * <br/>
+ * The information is read from the connectors each time it is serialized.
+ */
+public class NisConnectionDiagnostics implements SerializableEntity {
+	private final RouteLimitingAsyncNisConnector routeConnector;
+	private final BulkheadAsyncNisConnector bulkheadConnector;
+
+	/**
+	 * Creates new connection diagnostics.
+	 *
+	 * @param routeConnector The connector that limits the requests per NIS endpoint.
+	 * @param bulkheadConnector The connector that limits the requests per api class.
+	 */
+	public NisConnectionDiagnostics(
+			final RouteLimitingAsyncNisConnector routeConnector,
+			final BulkheadAsyncNisConnector bulkheadConnector) {
+		this.routeConnector = routeConnector;
+		this.bulkheadConnector = bulkheadConnector;
+	}
+
+	@Override
+	public void serialize(final Serializer serializer) {
+		serializer.writeObjectArray("routes", this.routeConnector.getRoutes().stream().map(NisConnectionDiagnostics::toEntity).collect(Collectors.toList()));
+		serializer.writeObjectArray("bulkheads", this.bulkheadConnector.getBulkheads().stream().map(NisConnectionDiagnostics::toEntity).collect(Collectors.toList()));
+	}
+
+	private static SerializableEntity toEntity(final NisRoute route) {
+		return serializer -> {
+			serializer.writeString("endpoint", route.getEndpoint().toString());
+			serializer.writeInt("max", route.getMaxRequests());
+			serializer.writeInt("leased", route.getNumLeased());
+			serializer.writeInt("pending", route.getNumPending());
+			serializer.writeInt("available", route.getNumAvailable());
+			serializer.writeLong("requests", route.getNumRequests());
+			serializer.writeLong("failures", route.getNumFailures());
+			serializer.writeLong("medianWaitTime", route.getWaitTimes().getPercentile(0.5));
+			serializer.writeLong("medianLatency", route.getLatencies().getPercentile(0.5));
+			serializer.writeLong("p99Latency", route.getLatencies().getPercentile(0.99));
+		};
+	}
+
+	private static SerializableEntity toEntity(final Bulkhead bulkhead) {
+		return serializer -> {
+			serializer.writeString("name", bulkhead.getName());
+			serializer.writeInt("running", bulkhead.getNumRunningRequests());
+			serializer.writeInt("queued", bulkhead.getNumQueuedRequests());
+		};
+	}
+}
@@ -0,0 +1,131 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.time.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Keeps track of whether or not NIS is reachable.
+ * <br/>
+ * The result of a liveness check is cached for a short time so that frequent callers do not each cause a NIS
+ * round trip. After a number of consecutive failed checks, the circuit is opened and NIS is reported
+ * as unavailable without being checked until the circuit open period has elapsed. Callers only wait
+ * for a check that is already in progress when no check has completed yet; afterwards, they get the last
+ * known state instead.
+ * <br/>
+ * Checking availability never waits for NIS: once the circuit open period has elapsed, the check that
+ * can close the circuit again is run on the probe executor.
+ */
+public class NisConnectionState {
+	private final BooleanSupplier livenessCheck;
+	private final Executor probeExecutor;
+	private final TimeProvider timeProvider;
+	private final int cacheSeconds;
+	private final int failureThreshold;
+	private final int openSeconds;
+	private final AtomicBoolean isCheckInProgress = new AtomicBoolean();
+	private final CompletableFuture<Void> firstCheck = new CompletableFuture<>();
+
+	private volatile boolean isConnected;
+	private volatile TimeInstant nextCheckTime = TimeInstant.ZERO;
+	private volatile int numConsecutiveFailures;
+
+	/**
+	 * Creates a new connection state.
+	 *
+	 * @param livenessCheck The (blocking) check that returns true if NIS is reachable.
+	 * @param probeExecutor The executor used to check NIS while the circuit is open.
+	 * @param timeProvider The time provider.
+	 * @param cacheSeconds The number of seconds the result of a check is cached.
+	 * @param failureThreshold The number of consecutive failed checks that open the circuit.
+	 * @param openSeconds The number of seconds the circuit stays open.
+	 */
+	public NisConnectionState(
+			final BooleanSupplier livenessCheck,
+			final Executor probeExecutor,
+			final TimeProvider timeProvider,
+			final int cacheSeconds,
+			final int failureThreshold,
+			final int openSeconds) {
+		this.livenessCheck = livenessCheck;
+		this.probeExecutor = probeExecutor;
+		this.timeProvider = timeProvider;
+		this.cacheSeconds = cacheSeconds;
+		this.failureThreshold = failureThreshold;
+		this.openSeconds = openSeconds;
+	}
+
+	/**
+	 * Gets a value indicating whether or not NIS is reachable.
+	 *
+	 * @return true if NIS is reachable.
+	 */
+	public boolean isConnected() {
+		final TimeInstant currentTime = this.timeProvider.getCurrentTime();
+		if (currentTime.compareTo(this.nextCheckTime) < 0) {
+			return this.isConnected;
+		}
+
+		if (!this.isCheckInProgress.compareAndSet(false, true)) {
+			// the initial state is unknown, so wait for the first check instead of reporting it
+			this.firstCheck.join();
+			return this.isConnected;
+		}
+
+		return this.check(currentTime);
+	}
+
+	/**
+	 * Gets a value indicating whether or not NIS requests should be sent.
+	 * This only reads the current state and never waits for NIS. While the circuit is open, NIS is checked
+	 * in the background (at most once per circuit open period) so that the circuit can be closed again.
+	 *
+	 * @return true if NIS requests should be sent.
+	 */
+	public boolean isAvailable() {
+		if (!this.isCircuitOpen()) {
+			return true;
+		}
+
+		final TimeInstant currentTime = this.timeProvider.getCurrentTime();
+		if (currentTime.compareTo(this.nextCheckTime) >= 0 && this.isCheckInProgress.compareAndSet(false, true)) {
+			try {
+				this.probeExecutor.execute(() -> this.check(currentTime));
+			} catch (final RejectedExecutionException e) {
+				// the circuit stays open and the probe is attempted again by the next caller
+				this.isCheckInProgress.set(false);
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gets a value indicating whether or not the circuit is open.
+	 *
+	 * @return true if the circuit is open.
+	 */
+	public boolean isCircuitOpen() {
+		return this.numConsecutiveFailures >= this.failureThreshold;
+	}
+
+	private boolean check(final TimeInstant currentTime) {
+		boolean isConnected = false;
+		try {
+			isConnected = this.livenessCheck.getAsBoolean();
+			return isConnected;
+		} finally {
+			this.update(currentTime, isConnected);
+			this.isCheckInProgress.set(false);
+			this.firstCheck.complete(null);
+		}
+	}
+
+	private void update(final TimeInstant currentTime, final boolean isConnected) {
+		this.numConsecutiveFailures = isConnected ? 0 : this.numConsecutiveFailures + 1;
+		this.isConnected = isConnected;
+		this.nextCheckTime = currentTime.addSeconds(this.isCircuitOpen() ? this.openSeconds : this.cacheSeconds);
+	}
+}
@@ -0,0 +1,141 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.node.NodeEndpoint;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Limits and measures the requests that are sent to a single NIS endpoint.
+ * <br/>
+ * The wait time of a request is the time it is queued because the maximum number of requests to the endpoint
+ * are already running. Its latency is the time from the start of the request (including connection setup)
+ * until its response.
+ */
+public class NisRoute {
+	private static final int MAX_SAMPLES = 100;
+
+	private final NodeEndpoint endpoint;
+	private final int maxRequests;
+	private final Bulkhead bulkhead;
+	private final LatencyHistogram waitTimes = new LatencyHistogram(MAX_SAMPLES);
+	private final LatencyHistogram latencies = new LatencyHistogram(MAX_SAMPLES);
+	private final AtomicLong numRequests = new AtomicLong();
+	private final AtomicLong numFailures = new AtomicLong();
+
+	/**
+	 * Creates a new NIS route.
+	 *
+	 * @param endpoint The NIS endpoint.
+	 * @param maxRequests The maximum number of concurrent requests to the endpoint.
+	 * @param maxQueuedRequests The maximum number of requests that can wait for a running request to complete.
+	 */
+	public NisRoute(final NodeEndpoint endpoint, final int maxRequests, final int maxQueuedRequests) {
+		this.endpoint = endpoint;
+		this.maxRequests = maxRequests;
+		this.bulkhead = new Bulkhead(endpoint.toString(), maxRequests, maxQueuedRequests);
+	}
+
+	/**
+	 * Gets the NIS endpoint.
+	 *
+	 * @return The endpoint.
+	 */
+	public NodeEndpoint getEndpoint() {
+		return this.endpoint;
+	}
+
+	/**
+	 * Gets the maximum number of concurrent requests.
+	 *
+	 * @return The maximum number of concurrent requests.
+	 */
+	public int getMaxRequests() {
+		return this.maxRequests;
+	}
+
+	/**
+	 * Gets the number of running (leased) requests.
+	 *
+	 * @return The number of running requests.
+	 */
+	public int getNumLeased() {
+		return this.bulkhead.getNumRunningRequests();
+	}
+
+	/**
+	 * Gets the number of queued (pending) requests.
+	 *
+	 * @return The number of queued requests.
+	 */
+	public int getNumPending() {
+		return this.bulkhead.getNumQueuedRequests();
+	}
+
+	/**
+	 * Gets the number of requests that can be started without waiting.
+	 *
+	 * @return The number of available request slots.
+	 */
+	public int getNumAvailable() {
+		return Math.max(0, this.maxRequests - this.getNumLeased());
+	}
+
+	/**
+	 * Gets the total number of completed requests.
+	 *
+	 * @return The number of completed requests.
+	 */
+	public long getNumRequests() {
+		return this.numRequests.get();
+	}
+
+	/**
+	 * Gets the total number of failed requests.
+	 *
+	 * @return The number of failed requests.
+	 */
+	public long getNumFailures() {
+		return this.numFailures.get();
+	}
+
+	/**
+	 * Gets the wait times of the most recent requests.
+	 *
+	 * @return The wait times.
+	 */
+	public LatencyHistogram getWaitTimes() {
+		return this.waitTimes;
+	}
+
+	/**
+	 * Gets the latencies of the most recent requests.
+	 *
+	 * @return The latencies.
+	 */
+	public LatencyHistogram getLatencies() {
+		return this.latencies;
+	}
+
+	/**
+	 * Runs the specified request when the route has capacity for it.
+	 *
+	 * @param request Supplier that starts the request.
+	 * @return The result of the request.
+	 */
+	public <T> CompletableFuture<T> execute(final Supplier<CompletableFuture<T>> request) {
+		final long queueTime = System.nanoTime();
+		return this.bulkhead.execute(() -> {
+			final long startTime = System.nanoTime();
+			this.waitTimes.record(TimeUnit.NANOSECONDS.toMillis(startTime - queueTime));
+			return request.get().whenComplete((result, e) -> {
+				this.latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+				this.numRequests.incrementAndGet();
+				if (null != e) {
+					this.numFailures.incrementAndGet();
+				}
+			});
+		});
+	}
+}
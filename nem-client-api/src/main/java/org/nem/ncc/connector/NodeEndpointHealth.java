@@ -0,0 +1,80 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.time.TimeInstant;
+
+/**
+ * Keeps a rolling latency and error score for a single NIS endpoint.
+ * Lower scores indicate healthier endpoints.
+ */
+public class NodeEndpointHealth {
+	private static final double SMOOTHING_FACTOR = 0.25;
+	private static final double DEFAULT_LATENCY_MILLIS = 1000;
+	private static final double FAILURE_PENALTY_MILLIS = 60000;
+	private static final int FAILURE_COOLDOWN_SECONDS = 30;
+
+	private double averageLatency = DEFAULT_LATENCY_MILLIS;
+	private double errorRate;
+	private long numSuccesses;
+	private long numFailures;
+	private TimeInstant lastFailureTime;
+
+	/**
+	 * Records a successful request.
+	 *
+	 * @param latencyMillis The latency of the request in milliseconds.
+	 */
+	public synchronized void recordSuccess(final long latencyMillis) {
+		this.averageLatency = 0 == this.numSuccesses
+				? latencyMillis
+				: smooth(this.averageLatency, latencyMillis);
+		this.errorRate = smooth(this.errorRate, 0);
+		++this.numSuccesses;
+	}
+
+	/**
+	 * Records a failed request.
+	 *
+	 * @param failureTime The time at which the request failed.
+	 */
+	public synchronized void recordFailure(final TimeInstant failureTime) {
+		this.errorRate = smooth(this.errorRate, 1);
+		this.lastFailureTime = failureTime;
+		++this.numFailures;
+	}
+
+	/**
+	 * Gets the number of successful requests.
+	 *
+	 * @return The number of successful requests.
+	 */
+	public synchronized long getNumSuccesses() {
+		return this.numSuccesses;
+	}
+
+	/**
+	 * Gets the number of failed requests.
+	 *
+	 * @return The number of failed requests.
+	 */
+	public synchronized long getNumFailures() {
+		return this.numFailures;
+	}
+
+	/**
+	 * Gets the score of the endpoint at the specified time.
+	 * Errors are only penalized for a short cooldown period after the last failure
+	 * so that a recovered endpoint is eventually probed again.
+	 *
+	 * @param currentTime The current time.
+	 * @return The score.
+	 */
+	public synchronized double getScore(final TimeInstant currentTime) {
+		final boolean isCoolingDown = null != this.lastFailureTime
+				&& currentTime.subtract(this.lastFailureTime) < FAILURE_COOLDOWN_SECONDS;
+		return this.averageLatency + (isCoolingDown ? this.errorRate * FAILURE_PENALTY_MILLIS : 0);
+	}
+
+	private static double smooth(final double average, final double sample) {
+		return SMOOTHING_FACTOR * sample + (1 - SMOOTHING_FACTOR) * average;
+	}
+}
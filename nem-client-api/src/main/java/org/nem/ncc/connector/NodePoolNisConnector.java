@@ -0,0 +1,345 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.connect.HttpPostRequest;
+import org.nem.core.connect.client.*;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+import org.nem.core.time.*;
+import org.nem.core.utils.ExceptionUtils;
+import org.nem.ncc.exceptions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+import java.util.logging.Logger;
+
+/**
+ * A NIS connector that routes requests across a pool of NIS endpoints.
+ * <br/>
+ * Reads are sent to the healthiest endpoint and transparently fail over to the next healthiest endpoint
+ * when an endpoint cannot be reached. Posts are always sent to the primary endpoint because they can contain
+ * private keys and must only ever reach the configured (trusted) NIS. Node-specific reads (heartbeat, status)
+ * and forwarded requests (node info, node metadata, time synchronization) are also sent to the primary endpoint
+ * because their answers describe that node.
+ * <br/>
+ * When a hedging policy is supplied, hedged reads are additionally sent to the next healthiest endpoint
+ * if the first endpoint has not answered within the hedge delay. The first answer is used.
+ * <br/>
+ * Requests that are rejected locally because NCC is overloaded are neither sent to another endpoint nor
+ * counted against the health of their endpoint.
+ */
+public class NodePoolNisConnector implements PrimaryNisConnector {
+	private static final Logger LOGGER = Logger.getLogger(NodePoolNisConnector.class.getName());
+	private static final Set<NisApiId> PRIMARY_ONLY_API_IDS = new HashSet<>(Arrays.asList(
+			NisApiId.NIS_REST_HEARTBEAT,
+			NisApiId.NIS_REST_STATUS));
+
+	private final Supplier<List<NodeEndpoint>> endpointsSupplier;
+	private final AsyncNisConnector nisConnector;
+	private final TimeProvider timeProvider;
+	private final HedgingPolicy hedgingPolicy;
+	private final ConcurrentMap<NodeEndpoint, NodeEndpointHealth> endpointHealths = new ConcurrentHashMap<>();
+	private final RequestCoalescer<GetRequestKey, Deserializer> getRequestCoalescer = new RequestCoalescer<>();
+
+	/**
+	 * Creates a new node pool NIS connector.
+	 *
+	 * @param endpointsSupplier The endpoints supplier (the first endpoint is the primary endpoint).
+	 * @param nisConnector The async NIS connector.
+	 * @param timeProvider The time provider.
+	 */
+	public NodePoolNisConnector(
+			final Supplier<List<NodeEndpoint>> endpointsSupplier,
+			final AsyncNisConnector nisConnector,
+			final TimeProvider timeProvider) {
+		this(endpointsSupplier, nisConnector, timeProvider, null);
+	}
+
+	/**
+	 * Creates a new node pool NIS connector that hedges reads.
+	 *
+	 * @param endpointsSupplier The endpoints supplier (the first endpoint is the primary endpoint).
+	 * @param nisConnector The async NIS connector.
+	 * @param timeProvider The time provider.
+	 * @param hedgingPolicy The hedging policy (optional).
+	 */
+	public NodePoolNisConnector(
+			final Supplier<List<NodeEndpoint>> endpointsSupplier,
+			final AsyncNisConnector nisConnector,
+			final TimeProvider timeProvider,
+			final HedgingPolicy hedgingPolicy) {
+		this.endpointsSupplier = endpointsSupplier;
+		this.nisConnector = nisConnector;
+		this.timeProvider = timeProvider;
+		this.hedgingPolicy = hedgingPolicy;
+	}
+
+	/**
+	 * Gets the health of the specified endpoint.
+	 *
+	 * @param endpoint The endpoint.
+	 * @return The endpoint health.
+	 */
+	public NodeEndpointHealth getHealth(final NodeEndpoint endpoint) {
+		return this.endpointHealths.computeIfAbsent(endpoint, e -> new NodeEndpointHealth());
+	}
+
+	@Override
+	public boolean isConnected() {
+		// Let's see whether the NIS is answering
+		try {
+			this.get(NisApiId.NIS_REST_HEARTBEAT, null);
+			return true;
+		} catch (final NisException e) {
+			// if we receive a NisException then it is because NIS is there
+			return true;
+		} catch (final Exception e) {
+			LOGGER.fine(String.format("isConnected is false. Exception received <%s> : <%s>", e.toString(), e.getMessage()));
+		}
+
+		return false;
+	}
+
+	@Override
+	public Deserializer get(final NisApiId apiId, final String query) {
+		return ExceptionUtils.propagate(() -> this.getAsync(apiId, query).get());
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> getAsync(final NisApiId apiId, final String query) {
+		// identical concurrent gets to the same endpoint share a single NIS request (and each caller reads its own copy)
+		final Function<NodeEndpoint, CompletableFuture<Deserializer>> request = endpoint -> this.getRequestCoalescer.coalesce(
+				new GetRequestKey(endpoint, apiId, query),
+				() -> this.nisConnector.getAsync(endpoint, apiId, query))
+				.thenApply(BinaryNisDeserializer::fork);
+		if (PRIMARY_ONLY_API_IDS.contains(apiId)) {
+			return this.sendToPrimary(request);
+		}
+
+		return null != this.hedgingPolicy && this.hedgingPolicy.isHedged(apiId)
+				? this.sendHedged(this.getEndpointsByHealth(), request)
+				: this.sendWithFailover(this.getEndpointsByHealth(), 0, request);
+	}
+
+	@Override
+	public <T> T forward(final Function<NodeEndpoint, CompletableFuture<T>> request) {
+		return ExceptionUtils.propagate(() -> this.forwardAsync(request).get());
+	}
+
+	@Override
+	public <T> CompletableFuture<T> forwardAsync(final Function<NodeEndpoint, CompletableFuture<T>> request) {
+		// forwarded requests are node-specific, so they must not be answered by another node
+		return this.sendToPrimary(request);
+	}
+
+	@Override
+	public Deserializer post(final NisApiId apiId, final HttpPostRequest postRequest) {
+		return ExceptionUtils.propagate(() -> this.postAsync(apiId, postRequest).get());
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> postAsync(final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.sendToPrimary(endpoint -> this.nisConnector.postAsync(endpoint, apiId, postRequest));
+	}
+
+	@Override
+	public void voidPost(final NisApiId apiId, final HttpPostRequest postRequest) {
+		ExceptionUtils.propagateVoid(() -> this.voidPostAsync(apiId, postRequest).get());
+	}
+
+	@Override
+	public CompletableFuture<Void> voidPostAsync(final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.sendToPrimary(endpoint -> this.nisConnector.postVoidAsync(endpoint, apiId, postRequest).thenAccept(v -> { }));
+	}
+
+	private List<NodeEndpoint> getEndpointsByHealth() {
+		// snapshot the scores so that concurrent updates cannot affect the sort order
+		final TimeInstant currentTime = this.timeProvider.getCurrentTime();
+		final List<NodeEndpoint> endpoints = new ArrayList<>(this.endpointsSupplier.get());
+		final Map<NodeEndpoint, Double> scores = new HashMap<>();
+		endpoints.forEach(endpoint -> scores.put(endpoint, this.getHealth(endpoint).getScore(currentTime)));
+
+		// the sort is stable, so the configured order is used to break ties
+		endpoints.sort((lhs, rhs) -> Double.compare(scores.get(lhs), scores.get(rhs)));
+		return endpoints;
+	}
+
+	private <T> CompletableFuture<T> sendToPrimary(final Function<NodeEndpoint, CompletableFuture<T>> request) {
+		return this.send(this.endpointsSupplier.get().get(0), request);
+	}
+
+	private <T> CompletableFuture<T> sendWithFailover(
+			final List<NodeEndpoint> endpoints,
+			final int index,
+			final Function<NodeEndpoint, CompletableFuture<T>> request) {
+		final NodeEndpoint endpoint = endpoints.get(index);
+		return this.send(endpoint, request)
+				.<CompletableFuture<T>>handle((result, e) -> {
+					if (null == e) {
+						return CompletableFuture.completedFuture(result);
+					}
+
+					final Throwable cause = unwrap(e);
+					if (isFinal(cause) || index + 1 == endpoints.size()) {
+						return NodePoolNisConnector.<T>createExceptionalFuture(cause);
+					}
+
+					LOGGER.info(String.format("request to <%s> failed (%s); failing over", endpoint, cause));
+					return this.sendWithFailover(endpoints, index + 1, request);
+				})
+				.thenCompose(future -> future);
+	}
+
+	private <T> CompletableFuture<T> sendHedged(
+			final List<NodeEndpoint> endpoints,
+			final Function<NodeEndpoint, CompletableFuture<T>> request) {
+		if (endpoints.size() < 2) {
+			return this.sendWithFailover(endpoints, 0, request);
+		}
+
+		return new HedgedRequest<>(endpoints, request).send();
+	}
+
+	private <T> CompletableFuture<T> send(final NodeEndpoint endpoint, final Function<NodeEndpoint, CompletableFuture<T>> request) {
+		final NodeEndpointHealth health = this.getHealth(endpoint);
+		final long startTime = System.nanoTime();
+		final CompletableFuture<T> future;
+		try {
+			future = request.apply(endpoint);
+		} catch (final RuntimeException e) {
+			if (!isOverloaded(e)) {
+				health.recordFailure(this.timeProvider.getCurrentTime());
+			}
+
+			return createExceptionalFuture(e);
+		}
+
+		return future.whenComplete((result, e) -> {
+			if (null != e && isOverloaded(unwrap(e))) {
+				// the request was rejected before it was sent, so it says nothing about the health of the node
+				return;
+			}
+
+			if (null == e || isNodeResponse(unwrap(e))) {
+				final long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+				health.recordSuccess(latency);
+				if (null != this.hedgingPolicy) {
+					this.hedgingPolicy.recordLatency(latency);
+				}
+			} else {
+				health.recordFailure(this.timeProvider.getCurrentTime());
+			}
+		});
+	}
+
+	private static boolean isNodeResponse(final Throwable e) {
+		// a NisException means that the node answered the request (with an error)
+		return e instanceof NisException;
+	}
+
+	private static boolean isOverloaded(final Throwable e) {
+		// NIS_OVERLOADED means that NCC rejected the request because too many requests were pending
+		return e instanceof NccException && NccException.Code.NIS_OVERLOADED == ((NccException)e).getCode();
+	}
+
+	private static boolean isFinal(final Throwable e) {
+		// sending an overloaded request to another node would only add more load
+		return isNodeResponse(e) || isOverloaded(e);
+	}
+
+	private static Throwable unwrap(final Throwable e) {
+		return e instanceof CompletionException && null != e.getCause() ? e.getCause() : e;
+	}
+
+	private static <T> CompletableFuture<T> createExceptionalFuture(final Throwable e) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(e);
+		return future;
+	}
+
+	private class HedgedRequest<T> {
+		private final List<NodeEndpoint> endpoints;
+		private final Function<NodeEndpoint, CompletableFuture<T>> request;
+		private final CompletableFuture<T> result = new CompletableFuture<>();
+		private final AtomicBoolean isHedgeSent = new AtomicBoolean();
+
+		// the hedge is counted up front because it is always sent when the first request fails without a final result
+		// (counting it only when it is sent would let the first failure complete the result before the hedge is counted)
+		private final AtomicInteger numOutstandingRequests = new AtomicInteger(2);
+
+		private HedgedRequest(final List<NodeEndpoint> endpoints, final Function<NodeEndpoint, CompletableFuture<T>> request) {
+			this.endpoints = endpoints;
+			this.request = request;
+		}
+
+		private CompletableFuture<T> send() {
+			NodePoolNisConnector.this.send(this.endpoints.get(0), this.request).whenComplete(this::onFirstComplete);
+			if (!this.result.isDone()) {
+				NodePoolNisConnector.this.hedgingPolicy.createHedgeTrigger().thenRun(this::sendHedge);
+			}
+
+			return this.result;
+		}
+
+		private void sendHedge() {
+			if (this.result.isDone() || !this.isHedgeSent.compareAndSet(false, true)) {
+				return;
+			}
+
+			LOGGER.info(String.format("request to <%s> is slow; hedging", this.endpoints.get(0)));
+			NodePoolNisConnector.this.sendWithFailover(this.endpoints, 1, this.request).whenComplete(this::onComplete);
+		}
+
+		private void onFirstComplete(final T result, final Throwable e) {
+			if (null != e && !isFinal(unwrap(e))) {
+				// the first endpoint could not be reached, so there is no need to wait for the hedge delay
+				this.sendHedge();
+			}
+
+			this.onComplete(result, e);
+		}
+
+		private void onComplete(final T result, final Throwable e) {
+			if (null == e) {
+				this.result.complete(result);
+				return;
+			}
+
+			// an error response is an answer; otherwise, wait for the other request (if any)
+			final Throwable cause = unwrap(e);
+			if (isFinal(cause) || 0 == this.numOutstandingRequests.decrementAndGet()) {
+				this.result.completeExceptionally(cause);
+			}
+		}
+	}
+
+	private static class GetRequestKey {
+		private final NodeEndpoint endpoint;
+		private final NisApiId apiId;
+		private final String query;
+
+		private GetRequestKey(final NodeEndpoint endpoint, final NisApiId apiId, final String query) {
+			this.endpoint = endpoint;
+			this.apiId = apiId;
+			this.query = query;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.endpoint, this.apiId, this.query);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof GetRequestKey)) {
+				return false;
+			}
+
+			final GetRequestKey rhs = (GetRequestKey)obj;
+			return this.endpoint.equals(rhs.endpoint)
+					&& this.apiId.equals(rhs.apiId)
+					&& Objects.equals(this.query, rhs.query);
+		}
+	}
+}
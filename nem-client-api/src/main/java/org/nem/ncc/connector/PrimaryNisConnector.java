@@ -29,6 +29,15 @@ public interface PrimaryNisConnector {
 	 */
 	public Deserializer get(final NisApiId apiId, final String query);
 
+	/**
+	 * Asynchronously gets a response from the specified NIS relative url path.
+	 *
+	 * @param apiId The api to call.
+	 * @param query The get query string or null.
+	 * @return The future result.
+	 */
+	public CompletableFuture<Deserializer> getAsync(final NisApiId apiId, final String query);
+
 	/**
 	 * Forwards a synchronous request to the primary NIS node.
 	 *
@@ -54,6 +63,15 @@ public interface PrimaryNisConnector {
 	 */
 	public Deserializer post(final NisApiId apiId, final HttpPostRequest postRequest);
 
+	/**
+	 * Asynchronously posts a request to the specified NIS relative url path.
+	 *
+	 * @param apiId The api to call.
+	 * @param postRequest The request data.
+	 * @return The future result.
+	 */
+	public CompletableFuture<Deserializer> postAsync(final NisApiId apiId, final HttpPostRequest postRequest);
+
 	/**
 	 * Posts a request to the specified NIS relative url path.
 	 *
@@ -61,4 +79,13 @@ public interface PrimaryNisConnector {
 	 * @param postRequest The request data.
 	 */
 	public void voidPost(final NisApiId apiId, final HttpPostRequest postRequest);
+
+	/**
+	 * Asynchronously posts a request to the specified NIS relative url path.
+	 *
+	 * @param apiId The api to call.
+	 * @param postRequest The request data.
+	 * @return The future that is completed when the request completes.
+	 */
+	public CompletableFuture<Void> voidPostAsync(final NisApiId apiId, final HttpPostRequest postRequest);
 }
@@ -0,0 +1,71 @@
+package org.nem.ncc.connector;
+
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent requests with identical keys so that only a single request is in flight per key.
+ * All callers that request a key while a request for that key is in flight share its result.
+ *
+ * @param <TKey> The key type.
+ * @param <TResult> The result type.
+ */
+public class RequestCoalescer<TKey, TResult> {
+	private final ConcurrentMap<TKey, CompletableFuture<TResult>> inFlightRequests = new ConcurrentHashMap<>();
+
+	/**
+	 * Gets the number of requests that are currently in flight.
+	 *
+	 * @return The number of in flight requests.
+	 */
+	public int getNumInFlightRequests() {
+		return this.inFlightRequests.size();
+	}
+
+	/**
+	 * Gets a value indicating whether or not a request with the specified key is in flight.
+	 *
+	 * @param key The request key.
+	 * @return true if a request with the key is in flight.
+	 */
+	public boolean isInFlight(final TKey key) {
+		return this.inFlightRequests.containsKey(key);
+	}
+
+	/**
+	 * Joins the in flight request with the specified key or starts a new request if there is none.
+	 *
+	 * @param key The request key.
+	 * @param request Supplier that starts a new request.
+	 * @return The (shared) result of the request.
+	 */
+	public CompletableFuture<TResult> coalesce(final TKey key, final Supplier<CompletableFuture<TResult>> request) {
+		final CompletableFuture<TResult> future = new CompletableFuture<>();
+		final CompletableFuture<TResult> inFlightFuture = this.inFlightRequests.putIfAbsent(key, future);
+		if (null != inFlightFuture) {
+			return isolate(inFlightFuture);
+		}
+
+		try {
+			request.get().whenComplete((result, e) -> {
+				// remove the request before completing it so that later callers never join a completed request
+				this.inFlightRequests.remove(key, future);
+				if (null == e) {
+					future.complete(result);
+				} else {
+					future.completeExceptionally(e instanceof CompletionException && null != e.getCause() ? e.getCause() : e);
+				}
+			});
+		} catch (final RuntimeException e) {
+			this.inFlightRequests.remove(key, future);
+			future.completeExceptionally(e);
+		}
+
+		return isolate(future);
+	}
+
+	private static <T> CompletableFuture<T> isolate(final CompletableFuture<T> future) {
+		// give each caller its own future so that one caller cannot complete or cancel the shared future
+		return future.thenApply(result -> result);
+	}
+}
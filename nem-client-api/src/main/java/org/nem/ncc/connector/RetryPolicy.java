@@ -0,0 +1,74 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.connect.client.NisApiId;
+
+import java.util.*;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Policy that decides if and when a failed NIS request should be retried.
+ * <br/>
+ * Only requests of idempotent apis are retried. The delay before a retry grows exponentially with the number
+ * of attempts (up to a maximum delay) and is randomized ("full jitter") so that clients that failed
+ * at the same time do not retry at the same time. No retry is scheduled that would exceed the time budget.
+ */
+public class RetryPolicy {
+	private final Set<NisApiId> idempotentApiIds;
+	private final int maxAttempts;
+	private final int initialDelayMillis;
+	private final int maxDelayMillis;
+	private final int budgetMillis;
+	private final DoubleSupplier random;
+
+	/**
+	 * Creates a new retry policy.
+	 *
+	 * @param idempotentApiIds The apis that can be retried.
+	 * @param maxAttempts The maximum number of attempts (including the first attempt).
+	 * @param initialDelayMillis The maximum delay before the first retry.
+	 * @param maxDelayMillis The maximum delay before any retry.
+	 * @param budgetMillis The maximum time from the first attempt until the start of the last retry.
+	 * @param random Supplier of random numbers between 0 and 1.
+	 */
+	public RetryPolicy(
+			final Set<NisApiId> idempotentApiIds,
+			final int maxAttempts,
+			final int initialDelayMillis,
+			final int maxDelayMillis,
+			final int budgetMillis,
+			final DoubleSupplier random) {
+		this.idempotentApiIds = new HashSet<>(idempotentApiIds);
+		this.maxAttempts = maxAttempts;
+		this.initialDelayMillis = initialDelayMillis;
+		this.maxDelayMillis = maxDelayMillis;
+		this.budgetMillis = budgetMillis;
+		this.random = random;
+	}
+
+	/**
+	 * Gets a value indicating whether or not requests for the specified api can be retried.
+	 *
+	 * @param apiId The api id.
+	 * @return true if requests can be retried.
+	 */
+	public boolean isRetryable(final NisApiId apiId) {
+		return this.idempotentApiIds.contains(apiId);
+	}
+
+	/**
+	 * Gets the delay before the next retry.
+	 *
+	 * @param numAttempts The number of attempts that already failed.
+	 * @param elapsedMillis The time elapsed since the first attempt.
+	 * @return The delay in milliseconds or a negative value if the request should not be retried.
+	 */
+	public int getRetryDelay(final int numAttempts, final long elapsedMillis) {
+		if (numAttempts >= this.maxAttempts) {
+			return -1;
+		}
+
+		final long maxDelay = Math.min(this.maxDelayMillis, (long)this.initialDelayMillis << Math.min(numAttempts - 1, 30));
+		final int delay = (int)(this.random.getAsDouble() * maxDelay);
+		return elapsedMillis + delay > this.budgetMillis ? -1 : delay;
+	}
+}
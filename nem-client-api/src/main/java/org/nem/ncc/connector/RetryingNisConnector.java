@@ -0,0 +1,123 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.connect.*;
+import org.nem.core.connect.client.NisApiId;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+import org.nem.core.utils.ExceptionUtils;
+
+import java.net.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.logging.Logger;
+
+/**
+ * A NIS connector decorator that retries gets of idempotent apis that failed transiently.
+ * <br/>
+ * A failure is transient if NIS could not be reached or did not answer in time. All other failures (e.g. error
+ * responses from NIS, invalid responses and requests rejected by NCC) are not retried because retrying them would
+ * not change the result.
+ * Posts are never retried because they are not idempotent (e.g. transaction announcements).
+ */
+public class RetryingNisConnector implements PrimaryNisConnector {
+	private static final Logger LOGGER = Logger.getLogger(RetryingNisConnector.class.getName());
+
+	private final PrimaryNisConnector innerConnector;
+	private final RetryPolicy retryPolicy;
+	private final IntFunction<CompletableFuture<Void>> delayFactory;
+
+	/**
+	 * Creates a new retrying NIS connector.
+	 *
+	 * @param innerConnector The inner connector.
+	 * @param retryPolicy The retry policy.
+	 * @param delayFactory Factory that creates a future that completes after the specified number of milliseconds.
+	 */
+	public RetryingNisConnector(
+			final PrimaryNisConnector innerConnector,
+			final RetryPolicy retryPolicy,
+			final IntFunction<CompletableFuture<Void>> delayFactory) {
+		this.innerConnector = innerConnector;
+		this.retryPolicy = retryPolicy;
+		this.delayFactory = delayFactory;
+	}
+
+	@Override
+	public boolean isConnected() {
+		return this.innerConnector.isConnected();
+	}
+
+	@Override
+	public Deserializer get(final NisApiId apiId, final String query) {
+		return ExceptionUtils.propagate(() -> this.getAsync(apiId, query).get());
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> getAsync(final NisApiId apiId, final String query) {
+		if (!this.retryPolicy.isRetryable(apiId)) {
+			return this.innerConnector.getAsync(apiId, query);
+		}
+
+		return this.getWithRetry(apiId, query, 1, System.nanoTime());
+	}
+
+	private CompletableFuture<Deserializer> getWithRetry(
+			final NisApiId apiId,
+			final String query,
+			final int attempt,
+			final long startTime) {
+		return this.innerConnector.getAsync(apiId, query)
+				.<CompletableFuture<Deserializer>>handle((deserializer, e) -> {
+					if (null == e) {
+						return CompletableFuture.completedFuture(deserializer);
+					}
+
+					final Throwable cause = e instanceof CompletionException && null != e.getCause() ? e.getCause() : e;
+					final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+					final int delay = isTransient(cause) ? this.retryPolicy.getRetryDelay(attempt, elapsedMillis) : -1;
+					if (delay < 0) {
+						final CompletableFuture<Deserializer> future = new CompletableFuture<>();
+						future.completeExceptionally(cause);
+						return future;
+					}
+
+					LOGGER.info(String.format("%s request failed (%s); retrying in %d ms", apiId, cause, delay));
+					return this.delayFactory.apply(delay).thenCompose(v -> this.getWithRetry(apiId, query, attempt + 1, startTime));
+				})
+				.thenCompose(future -> future);
+	}
+
+	private static boolean isTransient(final Throwable e) {
+		return e instanceof InactivePeerException || e instanceof ConnectException || e instanceof SocketTimeoutException;
+	}
+
+	@Override
+	public <T> T forward(final Function<NodeEndpoint, CompletableFuture<T>> request) {
+		return this.innerConnector.forward(request);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> forwardAsync(final Function<NodeEndpoint, CompletableFuture<T>> request) {
+		return this.innerConnector.forwardAsync(request);
+	}
+
+	@Override
+	public Deserializer post(final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.innerConnector.post(apiId, postRequest);
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> postAsync(final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.innerConnector.postAsync(apiId, postRequest);
+	}
+
+	@Override
+	public void voidPost(final NisApiId apiId, final HttpPostRequest postRequest) {
+		this.innerConnector.voidPost(apiId, postRequest);
+	}
+
+	@Override
+	public CompletableFuture<Void> voidPostAsync(final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.innerConnector.voidPostAsync(apiId, postRequest);
+	}
+}
@@ -0,0 +1,71 @@
+package org.nem.ncc.connector;
+
+import org.nem.core.connect.HttpPostRequest;
+import org.nem.core.connect.client.*;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * An AsyncNisConnector decorator that limits and measures the concurrent requests to each NIS endpoint.
+ * <br/>
+ * The http client shared by all NIS connectors does not expose its connection pool, so the pool
+ * is sized and observed here instead. Requests beyond the limit of an endpoint are queued until a running
+ * request to the same endpoint completes.
+ */
+public class RouteLimitingAsyncNisConnector implements AsyncNisConnector {
+	private final AsyncNisConnector innerConnector;
+	private final IntSupplier maxRequestsPerRouteSupplier;
+	private final int maxQueuedRequestsPerRoute;
+	private final ConcurrentMap<NodeEndpoint, NisRoute> routes = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new route limiting connector.
+	 *
+	 * @param innerConnector The inner connector.
+	 * @param maxRequestsPerRouteSupplier Supplier of the maximum number of concurrent requests to a single endpoint.
+	 * @param maxQueuedRequestsPerRoute The maximum number of queued requests to a single endpoint.
+	 */
+	public RouteLimitingAsyncNisConnector(
+			final AsyncNisConnector innerConnector,
+			final IntSupplier maxRequestsPerRouteSupplier,
+			final int maxQueuedRequestsPerRoute) {
+		this.innerConnector = innerConnector;
+		this.maxRequestsPerRouteSupplier = maxRequestsPerRouteSupplier;
+		this.maxQueuedRequestsPerRoute = maxQueuedRequestsPerRoute;
+	}
+
+	/**
+	 * Gets all routes that have been used.
+	 *
+	 * @return The routes.
+	 */
+	public Collection<NisRoute> getRoutes() {
+		return new ArrayList<>(this.routes.values());
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> getAsync(final NodeEndpoint endpoint, final NisApiId apiId, final String query) {
+		return this.getRoute(endpoint).execute(() -> this.innerConnector.getAsync(endpoint, apiId, query));
+	}
+
+	@Override
+	public CompletableFuture<Deserializer> postAsync(final NodeEndpoint endpoint, final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.getRoute(endpoint).execute(() -> this.innerConnector.postAsync(endpoint, apiId, postRequest));
+	}
+
+	@Override
+	public CompletableFuture<Void> postVoidAsync(final NodeEndpoint endpoint, final NisApiId apiId, final HttpPostRequest postRequest) {
+		return this.getRoute(endpoint).execute(() -> this.innerConnector.postVoidAsync(endpoint, apiId, postRequest));
+	}
+
+	private NisRoute getRoute(final NodeEndpoint endpoint) {
+		// the limit is read when a route is first used so that it can come from the (lazily loaded) configuration
+		return this.routes.computeIfAbsent(
+				endpoint,
+				e -> new NisRoute(e, this.maxRequestsPerRouteSupplier.getAsInt(), this.maxQueuedRequestsPerRoute));
+	}
+}
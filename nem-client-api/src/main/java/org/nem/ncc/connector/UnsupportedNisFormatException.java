@@ -0,0 +1,16 @@
+package org.nem.ncc.connector;
+
+/**
+ * Exception that is thrown when NIS does not respond in the requested wire format.
+ */
+public class UnsupportedNisFormatException extends RuntimeException {
+
+	/**
+	 * Creates a new exception.
+	 *
+	 * @param message The exception message.
+	 */
+	public UnsupportedNisFormatException(final String message) {
+		super(message);
+	}
+}
@@ -4,20 +4,22 @@ import org.nem.core.connect.HttpJsonPostRequest;
 import org.nem.core.connect.client.NisApiId;
 import org.nem.core.crypto.*;
 import org.nem.core.model.*;
-import org.nem.core.model.ncc.HarvestInfo;
-import org.nem.core.model.primitive.BlockHeight;
+import org.nem.core.model.ncc.*;
 import org.nem.core.serialization.*;
+import org.nem.ncc.cache.ChainHeightTracker;
 import org.nem.ncc.connector.PrimaryNisConnector;
 import org.nem.ncc.controller.annotations.RequiresTrustedNis;
 import org.nem.ncc.controller.requests.*;
 import org.nem.ncc.controller.viewmodels.*;
 import org.nem.ncc.exceptions.NccException;
 import org.nem.ncc.services.*;
-import org.nem.ncc.wallet.WalletAccount;
+import org.nem.ncc.wallet.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -25,10 +27,12 @@ import java.util.stream.Collectors;
  */
 @RestController
 public class AccountController {
+	private static final int MAX_CONCURRENT_BATCH_LOOKUPS = 8;
+
 	private final AccountServices accountServices;
 	private final AccountMapper accountMapper;
 	private final WalletServices walletServices;
-	private final ChainServices chainServices;
+	private final ChainHeightTracker chainHeightTracker;
 	private final PrimaryNisConnector nisConnector;
 
 	/**
@@ -37,7 +41,7 @@ public class AccountController {
 	 * @param accountServices The account services.
 	 * @param accountMapper The account mapper.
 	 * @param walletServices The wallet services.
-	 * @param chainServices The chain services.
+	 * @param chainHeightTracker The chain height tracker.
 	 * @param nisConnector The NIS connector.
 	 */
 	@Autowired(required = true)
@@ -45,12 +49,12 @@ public class AccountController {
 			final AccountServices accountServices,
 			final AccountMapper accountMapper,
 			final WalletServices walletServices,
-			final ChainServices chainServices,
+			final ChainHeightTracker chainHeightTracker,
 			final PrimaryNisConnector nisConnector) {
 		this.accountServices = accountServices;
 		this.accountMapper = accountMapper;
 		this.walletServices = walletServices;
-		this.chainServices = chainServices;
+		this.chainHeightTracker = chainHeightTracker;
 		this.nisConnector = nisConnector;
 	}
 
@@ -69,6 +73,20 @@ public class AccountController {
 		return this.accountMapper.toViewModel(address);
 	}
 
+	/**
+	 * Gets information about the specified accounts.
+	 * Accounts that are not cached are looked up concurrently.
+	 * At most AccountIdListRequest.MAX_ACCOUNT_IDS accounts can be requested at once.
+	 *
+	 * @param request The account identifiers.
+	 * @return The account information (in the same order as the account identifiers).
+	 */
+	@RequestMapping(value = "/account/find/batch", method = RequestMethod.POST)
+	public DeferredResult<SerializableList<AccountViewModel>> getAccountInfos(@RequestBody final AccountIdListRequest request) {
+		return DeferredResults.fromFuture(this.accountMapper.toViewModelsAsync(request.getAccountIds(), MAX_CONCURRENT_BATCH_LOOKUPS)
+				.thenApply(viewModels -> new SerializableList<>(viewModels)));
+	}
+
 	//endregion
 
 	//region transactions/unconfirmed
@@ -80,22 +98,28 @@ public class AccountController {
 	 * @return The account and transactions information.
 	 */
 	@RequestMapping(value = "/account/transactions/unconfirmed", method = RequestMethod.POST)
-	public AccountTransactionsPair getAccountTransactionsUnconfirmed(@RequestBody final AccountHashRequest ahRequest) {
-		final AccountViewModel account = this.getAccountInfo(ahRequest);
-		return new AccountTransactionsPair(account, this.getUnconfirmedTransactions(ahRequest));
+	public DeferredResult<AccountTransactionsPair> getAccountTransactionsUnconfirmed(@RequestBody final AccountHashRequest ahRequest) {
+		return DeferredResults.fromFuture(this.getAccountInfoAsync(ahRequest)
+				.thenCombine(this.getUnconfirmedTransactionsAsync(ahRequest), AccountTransactionsPair::new));
+	}
+
+	private CompletableFuture<AccountViewModel> getAccountInfoAsync(final AccountIdRequest aidRequest) {
+		// the account is looked up asynchronously so that a slow NIS never holds the request thread
+		return this.accountMapper.toViewModelAsync(aidRequest.getAccountId());
 	}
 
-	private Collection<TransferViewModel> getUnconfirmedTransactions(final AccountHashRequest ahRequest) {
+	private CompletableFuture<List<TransferViewModel>> getUnconfirmedTransactionsAsync(final AccountHashRequest ahRequest) {
 		// the unconfirmed transactions api does not support paging
 		// in order to simplify the UX code, pretend all subsequent pages are empty
 		if (null != ahRequest.getHash()) {
-			return new ArrayList<>();
+			return CompletableFuture.completedFuture(new ArrayList<>());
 		}
 
 		final Address address = ahRequest.getAccountId();
-		return this.accountServices.getUnconfirmedTransactions(address).stream()
-				.map(t -> new TransferViewModel(t, address))
-				.collect(Collectors.toList());
+		return this.accountServices.getUnconfirmedTransactionsAsync(address)
+				.thenApply(transactions -> transactions.stream()
+						.map(t -> new TransferViewModel(t, address))
+						.collect(Collectors.toList()));
 	}
 
 	//endregion
@@ -109,12 +133,19 @@ public class AccountController {
 	 * @return The account and transactions information.
 	 */
 	@RequestMapping(value = "/account/transactions/all", method = RequestMethod.POST)
-	public AccountTransactionsPair getAccountTransactionsAll(@RequestBody final AccountHashRequest ahRequest) {
-		final AccountViewModel account = this.getAccountInfo(ahRequest);
-		final List<TransferViewModel> allTransfers = new ArrayList<>();
-		allTransfers.addAll(this.getUnconfirmedTransactions(new AccountHashRequest(ahRequest.getAccountId(), null)));
-		allTransfers.addAll(this.getConfirmedTransactions(TransactionDirection.ALL, ahRequest));
-		return new AccountTransactionsPair(account, allTransfers);
+	public DeferredResult<AccountTransactionsPair> getAccountTransactionsAll(@RequestBody final AccountHashRequest ahRequest) {
+		final CompletableFuture<AccountViewModel> accountFuture = this.getAccountInfoAsync(ahRequest);
+		final CompletableFuture<List<TransferViewModel>> unconfirmedFuture =
+				this.getUnconfirmedTransactionsAsync(new AccountHashRequest(ahRequest.getAccountId(), null));
+		final CompletableFuture<List<TransferViewModel>> confirmedFuture =
+				this.getConfirmedTransactionsAsync(TransactionDirection.ALL, ahRequest);
+		final CompletableFuture<List<TransferViewModel>> allFuture = unconfirmedFuture.thenCombine(confirmedFuture, (unconfirmed, confirmed) -> {
+			final List<TransferViewModel> allTransfers = new ArrayList<>();
+			allTransfers.addAll(unconfirmed);
+			allTransfers.addAll(confirmed);
+			return allTransfers;
+		});
+		return DeferredResults.fromFuture(accountFuture.thenCombine(allFuture, AccountTransactionsPair::new));
 	}
 
 	/**
@@ -124,7 +155,7 @@ public class AccountController {
 	 * @return The account and transactions information.
 	 */
 	@RequestMapping(value = "/account/transactions/confirmed", method = RequestMethod.POST)
-	public AccountTransactionsPair getAccountTransactionsConfirmed(@RequestBody final AccountHashRequest ahRequest) {
+	public DeferredResult<AccountTransactionsPair> getAccountTransactionsConfirmed(@RequestBody final AccountHashRequest ahRequest) {
 		return this.getAccountTransactions(TransactionDirection.ALL, ahRequest);
 	}
 
@@ -135,7 +166,7 @@ public class AccountController {
 	 * @return The account and transactions information.
 	 */
 	@RequestMapping(value = "/account/transactions/incoming", method = RequestMethod.POST)
-	public AccountTransactionsPair getAccountTransactionsIncoming(@RequestBody final AccountHashRequest ahRequest) {
+	public DeferredResult<AccountTransactionsPair> getAccountTransactionsIncoming(@RequestBody final AccountHashRequest ahRequest) {
 		return this.getAccountTransactions(TransactionDirection.INCOMING, ahRequest);
 	}
 
@@ -146,21 +177,26 @@ public class AccountController {
 	 * @return The account and transactions information.
 	 */
 	@RequestMapping(value = "/account/transactions/outgoing", method = RequestMethod.POST)
-	public AccountTransactionsPair getAccountTransactionsOutgoing(@RequestBody final AccountHashRequest ahRequest) {
+	public DeferredResult<AccountTransactionsPair> getAccountTransactionsOutgoing(@RequestBody final AccountHashRequest ahRequest) {
 		return this.getAccountTransactions(TransactionDirection.OUTGOING, ahRequest);
 	}
 
-	private AccountTransactionsPair getAccountTransactions(final TransactionDirection direction, final AccountHashRequest ahRequest) {
-		final AccountViewModel account = this.getAccountInfo(ahRequest);
-		return new AccountTransactionsPair(account, this.getConfirmedTransactions(direction, ahRequest));
+	private DeferredResult<AccountTransactionsPair> getAccountTransactions(final TransactionDirection direction, final AccountHashRequest ahRequest) {
+		return DeferredResults.fromFuture(this.getAccountInfoAsync(ahRequest)
+				.thenCombine(this.getConfirmedTransactionsAsync(direction, ahRequest), AccountTransactionsPair::new));
 	}
 
-	private Collection<TransferViewModel> getConfirmedTransactions(final TransactionDirection direction, final AccountHashRequest ahRequest) {
+	private CompletableFuture<List<TransferViewModel>> getConfirmedTransactionsAsync(
+			final TransactionDirection direction,
+			final AccountHashRequest ahRequest) {
 		final Address address = ahRequest.getAccountId();
-		final BlockHeight lastBlockHeight = this.nisConnector.forward(this.chainServices::getChainHeightAsync);
-		return this.accountServices.getTransactions(direction, address, ahRequest.getHash()).stream()
-				.map(p -> new TransferViewModel(p, address, lastBlockHeight))
-				.collect(Collectors.toList());
+		// the chain height is usually known locally, so it is resolved first in order to map each transfer as it is read
+		return this.chainHeightTracker.getHeightAsync().thenCompose(lastBlockHeight ->
+				this.accountServices.getTransactionsAsync(
+						direction,
+						address,
+						ahRequest.getHash(),
+						p -> new TransferViewModel(p, address, lastBlockHeight)));
 	}
 
 	//endregion
@@ -174,9 +210,10 @@ public class AccountController {
 	 * @return The list of harvest infos.
 	 */
 	@RequestMapping(value = "/account/harvests", method = RequestMethod.POST)
-	public SerializableList<HarvestInfoViewModel> getAccountHarvests(@RequestBody final AccountHashRequest ahRequest) {
-		final List<HarvestInfo> harvestInfos = this.accountServices.getAccountHarvests(ahRequest.getAccountId(), ahRequest.getHash());
-		return new SerializableList<>(harvestInfos.stream().map(HarvestInfoViewModel::new).collect(Collectors.toList()));
+	public DeferredResult<SerializableList<HarvestInfoViewModel>> getAccountHarvests(@RequestBody final AccountHashRequest ahRequest) {
+		final CompletableFuture<List<HarvestInfoViewModel>> harvestInfosFuture =
+				this.accountServices.getAccountHarvestsAsync(ahRequest.getAccountId(), ahRequest.getHash(), HarvestInfoViewModel::new);
+		return DeferredResults.fromFuture(harvestInfosFuture.thenApply(harvestInfos -> new SerializableList<>(harvestInfos)));
 	}
 
 	//endregion
@@ -190,8 +227,9 @@ public class AccountController {
 	 */
 	@RequestMapping(value = "/wallet/account/unlock", method = RequestMethod.POST)
 	@RequiresTrustedNis
-	public void unlock(@RequestBody final AccountWalletRequest awRequest) {
-		this.nisConnector.voidPost(NisApiId.NIS_REST_ACCOUNT_UNLOCK, new HttpJsonPostRequest(this.getPrivateKey(awRequest)));
+	public DeferredResult<Void> unlock(@RequestBody final AccountWalletRequest awRequest) {
+		return DeferredResults.fromFuture(
+				this.nisConnector.voidPostAsync(NisApiId.NIS_REST_ACCOUNT_UNLOCK, new HttpJsonPostRequest(this.getPrivateKey(awRequest))));
 	}
 
 	/**
@@ -201,8 +239,9 @@ public class AccountController {
 	 */
 	@RequestMapping(value = "/wallet/account/lock", method = RequestMethod.POST)
 	@RequiresTrustedNis
-	public void lock(@RequestBody final AccountWalletRequest awRequest) {
-		this.nisConnector.voidPost(NisApiId.NIS_REST_ACCOUNT_LOCK, new HttpJsonPostRequest(this.getPrivateKey(awRequest)));
+	public DeferredResult<Void> lock(@RequestBody final AccountWalletRequest awRequest) {
+		return DeferredResults.fromFuture(
+				this.nisConnector.voidPostAsync(NisApiId.NIS_REST_ACCOUNT_LOCK, new HttpJsonPostRequest(this.getPrivateKey(awRequest))));
 	}
 
 	private PrivateKey getPrivateKey(final AccountWalletRequest request) {
@@ -228,17 +267,18 @@ public class AccountController {
 	 * @param awpRequest The remote harvester view model.
 	 */
 	@RequestMapping(value = "/wallet/account/remote/unlock", method = RequestMethod.POST)
-	public void remoteUnlock(@RequestBody final AccountWalletPasswordRequest awpRequest) {
+	public DeferredResult<Void> remoteUnlock(@RequestBody final AccountWalletPasswordRequest awpRequest) {
 		final WalletAccount account = this.walletServices.tryFindOpenAccount(awpRequest.getAccountId());
-		this.nisConnector.voidPost(NisApiId.NIS_REST_ACCOUNT_UNLOCK, new HttpJsonPostRequest(account.getRemoteHarvestingPrivateKey()));
+		return DeferredResults.fromFuture(
+				this.nisConnector.voidPostAsync(NisApiId.NIS_REST_ACCOUNT_UNLOCK, new HttpJsonPostRequest(account.getRemoteHarvestingPrivateKey())));
 	}
 
 	@RequestMapping(value = "/wallet/account/remote/status", method = RequestMethod.POST)
-	public AccountStatusViewModel remoteStatus(@RequestBody final AccountWalletRequest awRequest) {
-		final WalletAccount account = this.walletServices.tryFindOpenAccount(awRequest.getAccountId());
-		final Address remoteAddress = Address.fromPublicKey((new KeyPair(account.getRemoteHarvestingPrivateKey())).getPublicKey());
-		final Deserializer deserializer = this.nisConnector.get(NisApiId.NIS_REST_ACCOUNT_STATUS, "address=" + remoteAddress.getEncoded());
-		return new AccountStatusViewModel(deserializer);
+	public DeferredResult<AccountStatusViewModel> remoteStatus(@RequestBody final AccountWalletRequest awRequest) {
+		final WalletAccountKeys keys = this.walletServices.tryFindOpenAccountKeys(awRequest.getAccountId());
+		final Address remoteAddress = keys.getRemoteAddress();
+		return DeferredResults.fromFuture(this.nisConnector.getAsync(NisApiId.NIS_REST_ACCOUNT_STATUS, "address=" + remoteAddress.getEncoded())
+				.thenApply(AccountStatusViewModel::new));
 	}
 
 	/**
@@ -247,9 +287,10 @@ public class AccountController {
 	 * @param awpRequest The remote harvester view model.
 	 */
 	@RequestMapping(value = "/wallet/account/remote/lock", method = RequestMethod.POST)
-	public void remoteLock(@RequestBody final AccountWalletPasswordRequest awpRequest) {
+	public DeferredResult<Void> remoteLock(@RequestBody final AccountWalletPasswordRequest awpRequest) {
 		final WalletAccount account = this.walletServices.tryFindOpenAccount(awpRequest.getAccountId());
-		this.nisConnector.voidPost(NisApiId.NIS_REST_ACCOUNT_LOCK, new HttpJsonPostRequest(account.getRemoteHarvestingPrivateKey()));
+		return DeferredResults.fromFuture(
+				this.nisConnector.voidPostAsync(NisApiId.NIS_REST_ACCOUNT_LOCK, new HttpJsonPostRequest(account.getRemoteHarvestingPrivateKey())));
 	}
 
 	//endregion
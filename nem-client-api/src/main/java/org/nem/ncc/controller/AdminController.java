@@ -6,6 +6,7 @@ import org.nem.core.model.ncc.NemRequestResult;
 import org.nem.core.serialization.SerializableEntity;
 import org.nem.core.utils.ExceptionUtils;
 import org.nem.ncc.cache.*;
+import org.nem.ncc.connector.NisConnectionDiagnostics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,18 +19,21 @@ import java.util.logging.Logger;
 public class AdminController {
 	private final static Logger LOGGER = Logger.getLogger(AdminController.class.getName());
 	private final static long SHUTDOWN_DELAY = 200;
-	private final AccountsFileRepository repository;
-	private final NccAccountCache accountCache;
+	private final AccountsCachePersister accountsCachePersister;
 	private final CommonStarter commonStarter;
+	private final NisConnectionDiagnostics connectionDiagnostics;
+	private final AccountCacheDiagnostics accountCacheDiagnostics;
 
 	@Autowired(required = true)
 	public AdminController(
-			final AccountsFileRepository repository,
-			final NccAccountCache accountCache,
-			final CommonStarter commonStarter) {
-		this.repository = repository;
-		this.accountCache = accountCache;
+			final AccountsCachePersister accountsCachePersister,
+			final CommonStarter commonStarter,
+			final NisConnectionDiagnostics connectionDiagnostics,
+			final AccountCacheDiagnostics accountCacheDiagnostics) {
+		this.accountsCachePersister = accountsCachePersister;
 		this.commonStarter = commonStarter;
+		this.connectionDiagnostics = connectionDiagnostics;
+		this.accountCacheDiagnostics = accountCacheDiagnostics;
 	}
 
 	/**
@@ -60,18 +64,40 @@ public class AdminController {
 
 	/**
 	 * Gets the NCC status.
+	 * NCC is reported as starting until the accounts cache has been seeded.
 	 *
 	 * @return The NIS request result.
 	 */
 	@RequestMapping(value = "/status", method = RequestMethod.GET)
 	public NemRequestResult status() {
-		return new NemRequestResult(NemRequestResult.TYPE_STATUS, NemStatus.RUNNING.getValue(), "status");
+		final NemStatus status = this.accountsCachePersister.isSeeded() ? NemStatus.RUNNING : NemStatus.STARTING;
+		return new NemRequestResult(NemRequestResult.TYPE_STATUS, status.getValue(), "status");
+	}
+
+	/**
+	 * Gets diagnostic information about the connections to NIS.
+	 *
+	 * @return The connection diagnostics.
+	 */
+	@RequestMapping(value = "/diagnostics/connections", method = RequestMethod.GET)
+	public SerializableEntity connectionDiagnostics() {
+		return this.connectionDiagnostics;
+	}
+
+	/**
+	 * Gets diagnostic information about the account cache.
+	 *
+	 * @return The account cache diagnostics.
+	 */
+	@RequestMapping(value = "/diagnostics/account-cache", method = RequestMethod.GET)
+	public SerializableEntity accountCacheDiagnostics() {
+		return this.accountCacheDiagnostics;
 	}
 
 	/**
 	 * Flushes (saves to disk) the account cache.
 	 */
 	private void flushAccountsCache() {
-		this.repository.save(this.accountCache.getAccounts());
+		this.accountsCachePersister.compact();
 	}
 }
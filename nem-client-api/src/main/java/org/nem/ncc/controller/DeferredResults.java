@@ -0,0 +1,36 @@
+package org.nem.ncc.controller;
+
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.*;
+
+/**
+ * Static class containing helper functions for creating deferred results.
+ * <br/>
+ * Returning a deferred result from a controller allows the servlet thread to be released while NIS
+ * is processing the request.
+ */
+public class DeferredResults {
+
+	/**
+	 * Creates a deferred result that is completed when the specified future is completed.
+	 * An exceptional completion sets the (unwrapped) exception as the error result so that
+	 * Spring can dispatch it to the registered exception handlers.
+	 *
+	 * @param future The future.
+	 * @param <T> The result type.
+	 * @return The deferred result.
+	 */
+	public static <T> DeferredResult<T> fromFuture(final CompletableFuture<T> future) {
+		final DeferredResult<T> deferredResult = new DeferredResult<>();
+		future.whenComplete((result, e) -> {
+			if (null == e) {
+				deferredResult.setResult(result);
+			} else {
+				deferredResult.setErrorResult(e instanceof CompletionException && null != e.getCause() ? e.getCause() : e);
+			}
+		});
+
+		return deferredResult;
+	}
+}
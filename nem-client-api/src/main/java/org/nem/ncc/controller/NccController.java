@@ -3,13 +3,17 @@ package org.nem.ncc.controller;
 import org.nem.core.metadata.ApplicationMetaData;
 import org.nem.core.model.primitive.BlockHeight;
 import org.nem.core.node.NisNodeInfo;
-import org.nem.ncc.connector.PrimaryNisConnector;
+import org.nem.ncc.cache.ChainHeightTracker;
+import org.nem.ncc.connector.*;
 import org.nem.ncc.controller.viewmodels.*;
 import org.nem.ncc.exceptions.NccException;
 import org.nem.ncc.model.*;
 import org.nem.ncc.services.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Handles requests related to NCC and NIS.
@@ -21,6 +25,8 @@ public class NccController {
 	private final PrimaryNisConnector connector;
 	private final ChainServices chainServices;
 	private final NodeServices nodeServices;
+	private final ChainHeightTracker chainHeightTracker;
+	private final NisConnectionState connectionState;
 
 	/**
 	 * Creates a new NCC controller.
@@ -30,6 +36,8 @@ public class NccController {
 	 * @param connector The NIS connector.
 	 * @param chainServices The chain services.
 	 * @param nodeServices The node services.
+	 * @param chainHeightTracker The chain height tracker.
+	 * @param connectionState The NIS connection state.
 	 */
 	@Autowired(required = true)
 	public NccController(
@@ -37,12 +45,16 @@ public class NccController {
 			final ApplicationMetaData metaData,
 			final PrimaryNisConnector connector,
 			final ChainServices chainServices,
-			final NodeServices nodeServices) {
+			final NodeServices nodeServices,
+			final ChainHeightTracker chainHeightTracker,
+			final NisConnectionState connectionState) {
 		this.configuration = configuration;
 		this.metaData = metaData;
 		this.connector = connector;
 		this.chainServices = chainServices;
 		this.nodeServices = nodeServices;
+		this.chainHeightTracker = chainHeightTracker;
+		this.connectionState = connectionState;
 	}
 
 	/**
@@ -61,14 +73,14 @@ public class NccController {
 	 * @return The NIS information.
 	 */
 	@RequestMapping(value = "/info/nis", method = RequestMethod.GET)
-	public NisInfoViewModel getNisInfo() {
-		if (!this.connector.isConnected()) {
+	public DeferredResult<NisInfoViewModel> getNisInfo() {
+		if (!this.connectionState.isConnected()) {
 			throw new NccException(NccException.Code.NIS_NOT_AVAILABLE);
 		}
 
-		final NisNodeInfo nodeInfo = this.connector.forward(this.nodeServices::getNisNodeInfoAsync);
-		final NisNodeMetaData nodeMetaData = this.connector.forward(this.chainServices::getNodeMetaDataAsync);
-		return new NisInfoViewModel(nodeInfo, nodeMetaData);
+		final CompletableFuture<NisNodeInfo> nodeInfoFuture = this.connector.forwardAsync(this.nodeServices::getNisNodeInfoAsync);
+		final CompletableFuture<NisNodeMetaData> nodeMetaDataFuture = this.connector.forwardAsync(this.chainServices::getNodeMetaDataAsync);
+		return DeferredResults.fromFuture(nodeInfoFuture.thenCombine(nodeMetaDataFuture, NisInfoViewModel::new));
 	}
 
 	/**
@@ -78,7 +90,7 @@ public class NccController {
 	 */
 	@RequestMapping(value = "/info/nis/check", method = RequestMethod.GET)
 	public String isNisRunning() {
-		return this.connector.isConnected() ? "1" : "0";
+		return this.connectionState.isConnected() ? "1" : "0";
 	}
 
 	/**
@@ -87,7 +99,7 @@ public class NccController {
 	 * @return The current NIS block height.
 	 */
 	@RequestMapping(value = "/info/nis/chain/height", method = RequestMethod.GET)
-	public BlockHeight getBlockHeight() {
-		return this.connector.forward(this.chainServices::getChainHeightAsync);
+	public DeferredResult<BlockHeight> getBlockHeight() {
+		return DeferredResults.fromFuture(this.chainHeightTracker.getHeightAsync());
 	}
 }
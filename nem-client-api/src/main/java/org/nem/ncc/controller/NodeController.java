@@ -12,6 +12,7 @@ import org.nem.ncc.services.WalletServices;
 import org.nem.ncc.wallet.Wallet;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 /**
  * Handles requests related to the REST resource "node".
@@ -39,13 +40,15 @@ public class NodeController {
 	 * Boots the local node.
 	 *
 	 * @param bootNode Information about the node to boot.
+	 * @return The deferred result that is set when the node has been booted.
 	 */
 	@RequestMapping(value = "/node/boot", method = RequestMethod.POST)
 	@RequiresTrustedNis
-	public void bootNode(@RequestBody final BootNodeRequest bootNode) {
+	public DeferredResult<Void> bootNode(@RequestBody final BootNodeRequest bootNode) {
 		final Wallet wallet = this.walletServices.get(bootNode.getWalletName());
 		final PrivateKey privateKey = wallet.getAccountPrivateKey(bootNode.getAccountId());
-		this.nisConnector.voidPost(NisApiId.NIS_REST_NODE_BOOT, this.createBootNodeRequest(privateKey, bootNode.getNodeName()));
+		return DeferredResults.fromFuture(
+				this.nisConnector.voidPostAsync(NisApiId.NIS_REST_NODE_BOOT, this.createBootNodeRequest(privateKey, bootNode.getNodeName())));
 	}
 
 	private HttpPostRequest createBootNodeRequest(final PrivateKey privateKey, final String nodeName) {
@@ -68,9 +71,11 @@ public class NodeController {
 
 	/**
 	 * Checks the status of the local node.
+	 *
+	 * @return The node status.
 	 */
 	@RequestMapping(value = "/node/status", method = RequestMethod.GET)
-	public NemRequestResult checkNodeStatus() {
-		return new NemRequestResult(this.nisConnector.get(NisApiId.NIS_REST_STATUS, null));
+	public DeferredResult<NemRequestResult> checkNodeStatus() {
+		return DeferredResults.fromFuture(this.nisConnector.getAsync(NisApiId.NIS_REST_STATUS, null).thenApply(NemRequestResult::new));
 	}
 }
@@ -6,6 +6,7 @@ import org.nem.core.crypto.Signer;
 import org.nem.core.model.*;
 import org.nem.core.model.ncc.NemRequestResult;
 import org.nem.core.serialization.BinarySerializer;
+import org.nem.ncc.cache.NccAccountCache;
 import org.nem.ncc.connector.PrimaryNisConnector;
 import org.nem.ncc.controller.requests.*;
 import org.nem.ncc.controller.viewmodels.PartialTransferInformationViewModel;
@@ -13,6 +14,9 @@ import org.nem.ncc.exceptions.NisException;
 import org.nem.ncc.services.TransactionMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Handles requests related to the REST resource "wallet/account/transaction".
@@ -21,30 +25,35 @@ import org.springframework.web.bind.annotation.*;
 public class TransactionController {
 	private final TransactionMapper transactionMapper;
 	private final PrimaryNisConnector nisConnector;
+	private final NccAccountCache accountCache;
 
 	/**
 	 * Creates a new transaction controller.
 	 *
 	 * @param transactionMapper The transaction mapper.
 	 * @param nisConnector The NIS connector.
+	 * @param accountCache The account cache.
 	 */
 	@Autowired(required = true)
 	public TransactionController(
 			final TransactionMapper transactionMapper,
-			final PrimaryNisConnector nisConnector) {
+			final PrimaryNisConnector nisConnector,
+			final NccAccountCache accountCache) {
 		this.transactionMapper = transactionMapper;
 		this.nisConnector = nisConnector;
+		this.accountCache = accountCache;
 	}
 
 	/**
 	 * Sends a new transaction (i.e., sending NEM, messages, assets).
 	 *
 	 * @param transferRequest The transaction information.
+	 * @return The deferred result that is set when the transaction has been announced.
 	 */
 	@RequestMapping(value = "/wallet/account/transaction/send", method = RequestMethod.POST)
-	public void sendTransaction(@RequestBody final TransferSendRequest transferRequest) {
+	public DeferredResult<Void> sendTransaction(@RequestBody final TransferSendRequest transferRequest) {
 		final Transaction transaction = this.transactionMapper.toModel(transferRequest);
-		this.announceTransaction(transaction);
+		return this.announceTransaction(transaction);
 	}
 
 	/**
@@ -65,28 +74,30 @@ public class TransactionController {
 	 * Announces address for secure remote harvesting.
 	 *
 	 * @param request The request parameters.
+	 * @return The deferred result that is set when the transaction has been announced.
 	 */
 	@RequestMapping(value = "/wallet/account/remote/activate", method = RequestMethod.POST)
-	public void remoteUnlock(@RequestBody final TransferImportanceRequest request) {
-		this.remoteHarvest(request, ImportanceTransferTransaction.Mode.Activate);
+	public DeferredResult<Void> remoteUnlock(@RequestBody final TransferImportanceRequest request) {
+		return this.remoteHarvest(request, ImportanceTransferTransaction.Mode.Activate);
 	}
 
 	/**
 	 * Announces deactivation of address for secure remote harvesting.
 	 *
 	 * @param request The request parameters.
+	 * @return The deferred result that is set when the transaction has been announced.
 	 */
 	@RequestMapping(value = "/wallet/account/remote/deactivate", method = RequestMethod.POST)
-	public void remoteLock(@RequestBody final TransferImportanceRequest request) {
-		this.remoteHarvest(request, ImportanceTransferTransaction.Mode.Deactivate);
+	public DeferredResult<Void> remoteLock(@RequestBody final TransferImportanceRequest request) {
+		return this.remoteHarvest(request, ImportanceTransferTransaction.Mode.Deactivate);
 	}
 
-	private void remoteHarvest(final TransferImportanceRequest request, final ImportanceTransferTransaction.Mode mode) {
+	private DeferredResult<Void> remoteHarvest(final TransferImportanceRequest request, final ImportanceTransferTransaction.Mode mode) {
 		final Transaction transaction = this.transactionMapper.toModel(request, mode);
-		this.announceTransaction(transaction);
+		return this.announceTransaction(transaction);
 	}
 
-	private void announceTransaction(final Transaction transaction) {
+	private DeferredResult<Void> announceTransaction(final Transaction transaction) {
 		// prepare transaction
 		final byte[] transferBytes = BinarySerializer.serializeToBytes(transaction.asNonVerifiable());
 		final RequestPrepare preparedTransaction = new RequestPrepare(transferBytes);
@@ -96,11 +107,25 @@ public class TransactionController {
 		final RequestAnnounce announce = new RequestAnnounce(
 				preparedTransaction.getData(),
 				signer.sign(preparedTransaction.getData()).getBytes());
-		final NemRequestResult result = new NemRequestResult(this.nisConnector.post(
+		final CompletableFuture<Void> future = this.nisConnector.postAsync(
 				NisApiId.NIS_REST_TRANSACTION_ANNOUNCE,
-				new HttpJsonPostRequest(announce)));
-		if (result.isError()) {
-			throw new NisException(result);
+				new HttpJsonPostRequest(announce))
+				.thenAccept(deserializer -> {
+					final NemRequestResult result = new NemRequestResult(deserializer);
+					if (result.isError()) {
+						throw new NisException(result);
+					}
+
+					this.invalidateAffectedAccounts(transaction);
+				});
+		return DeferredResults.fromFuture(future);
+	}
+
+	private void invalidateAffectedAccounts(final Transaction transaction) {
+		// the cached accounts are refreshed with the next block anyway, but the sender expects to see the change sooner
+		this.accountCache.invalidate(transaction.getSigner().getAddress());
+		if (transaction instanceof TransferTransaction) {
+			this.accountCache.invalidate(((TransferTransaction)transaction).getRecipient().getAddress());
 		}
 	}
 }
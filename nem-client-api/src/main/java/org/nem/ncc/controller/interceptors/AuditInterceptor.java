@@ -2,6 +2,7 @@ package org.nem.ncc.controller.interceptors;
 
 import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.http.*;
 import java.util.*;
 import java.util.logging.Logger;
@@ -24,7 +25,8 @@ public class AuditInterceptor extends HandlerInterceptorAdapter {
 			final HttpServletResponse response,
 			final Object handler) throws Exception {
 		final AuditEntry entry = new AuditEntry(request);
-		if (entry.shouldIgnore()) {
+		if (entry.shouldIgnore() || DispatcherType.ASYNC == request.getDispatcherType()) {
+			// requests returning deferred results are dispatched a second time when the result is available
 			return true;
 		}
 
@@ -40,7 +42,8 @@ public class AuditInterceptor extends HandlerInterceptorAdapter {
 			final Exception ex)
 			throws Exception {
 		final AuditEntry entry = new AuditEntry(request);
-		if (entry.shouldIgnore()) {
+		if (entry.shouldIgnore() || request.isAsyncStarted()) {
+			// requests returning deferred results exit when the async dispatch completes
 			return;
 		}
 
@@ -0,0 +1,58 @@
+package org.nem.ncc.controller.requests;
+
+import org.nem.core.model.Address;
+import org.nem.core.serialization.Deserializer;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A request representing a list of account identifiers.
+ */
+public class AccountIdListRequest {
+	/**
+	 * The maximum number of account identifiers in a single request.
+	 */
+	public static final int MAX_ACCOUNT_IDS = 100;
+
+	private final List<Address> addresses;
+
+	/**
+	 * Creates a new account id list request.
+	 *
+	 * @param addresses The account addresses.
+	 */
+	public AccountIdListRequest(final List<Address> addresses) {
+		this.addresses = addresses.stream()
+				.map(address -> new AccountIdRequest(address).getAccountId())
+				.collect(Collectors.toList());
+		this.checkValidity();
+	}
+
+	/**
+	 * Deserializes an account id list request.
+	 *
+	 * @param deserializer The deserializer.
+	 */
+	public AccountIdListRequest(final Deserializer deserializer) {
+		this.addresses = deserializer.readObjectArray("data", AccountIdRequest::new).stream()
+				.map(AccountIdRequest::getAccountId)
+				.collect(Collectors.toList());
+		this.checkValidity();
+	}
+
+	private void checkValidity() {
+		if (this.addresses.size() > MAX_ACCOUNT_IDS) {
+			throw new IllegalArgumentException(String.format("at most %d accounts can be requested at once", MAX_ACCOUNT_IDS));
+		}
+	}
+
+	/**
+	 * Gets the account ids.
+	 *
+	 * @return The account ids.
+	 */
+	public List<Address> getAccountIds() {
+		return this.addresses;
+	}
+}
@@ -41,7 +41,12 @@ public class NccException extends RuntimeException {
 		/**
 		 * NCC is disconnected from the network.
 		 */
-		NIS_NOT_AVAILABLE(305);
+		NIS_NOT_AVAILABLE(305),
+
+		/**
+		 * NCC has too many outstanding requests of the same kind to NIS.
+		 */
+		NIS_OVERLOADED(307);
 
 		private final int value;
 
@@ -9,6 +9,8 @@ import java.util.*;
  * A NIS-originating exception.
  */
 public class NisException extends NccException {
+	private final int status;
+
 	/**
 	 * General NIS error codes.
 	 */
@@ -130,6 +132,7 @@ public class NisException extends NccException {
 	 */
 	public NisException(final ErrorResponse errorResponse) {
 		super(Code.fromMessage(errorResponse.getMessage()));
+		this.status = errorResponse.getStatus();
 	}
 
 	/**
@@ -139,5 +142,25 @@ public class NisException extends NccException {
 	 */
 	public NisException(final NemRequestResult result) {
 		super(Code.fromMessage(result.getMessage()));
+		this.status = 0;
+	}
+
+	/**
+	 * Creates a copy of a NIS exception (with the original exception as its cause).
+	 *
+	 * @param original The original NIS exception.
+	 */
+	public NisException(final NisException original) {
+		super(original.getCode(), original);
+		this.status = original.status;
+	}
+
+	/**
+	 * Gets the HTTP status of the NIS error response (or 0 if the error was not reported by an error response).
+	 *
+	 * @return The HTTP status.
+	 */
+	public int getStatus() {
+		return this.status;
 	}
 }
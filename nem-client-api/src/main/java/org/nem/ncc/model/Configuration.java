@@ -5,14 +5,23 @@ import org.nem.core.node.NodeEndpoint;
 import org.nem.core.serialization.*;
 
 import java.util.*;
+import java.util.logging.Logger;
 
 /**
  * Configuration that is persisted across sessions.
  */
 public class Configuration implements SerializableEntity, AccountLabels {
+	private static final Logger LOGGER = Logger.getLogger(Configuration.class.getName());
+	private static final int DEFAULT_NIS_MAX_CONNECTIONS_PER_ROUTE = 20;
+	private static final int DEFAULT_ACCOUNT_CACHE_MAX_ENTRIES = 10000;
+
 	private final HashMap<Address, AccountLabel> accountLabels;
 	private String language;
 	private NodeEndpoint nisEndpoint;
+	private final List<NodeEndpoint> fallbackNisEndpoints;
+	private final NisCommunicationMode nisCommunicationMode;
+	private final int nisMaxConnectionsPerRoute;
+	private final int accountCacheMaxEntries;
 	private NisBootInfo nisBootInfo;
 	private final String nemFolder;
 
@@ -32,6 +41,10 @@ public class Configuration implements SerializableEntity, AccountLabels {
 		this.nisEndpoint = nisEndpoint;
 		this.nisBootInfo = nisBootInfo;
 		this.nemFolder = nemFolder;
+		this.fallbackNisEndpoints = new ArrayList<>();
+		this.nisCommunicationMode = NisCommunicationMode.JSON;
+		this.nisMaxConnectionsPerRoute = DEFAULT_NIS_MAX_CONNECTIONS_PER_ROUTE;
+		this.accountCacheMaxEntries = DEFAULT_ACCOUNT_CACHE_MAX_ENTRIES;
 		this.accountLabels = new HashMap<>();
 	}
 
@@ -53,6 +66,27 @@ public class Configuration implements SerializableEntity, AccountLabels {
 			this.nisEndpoint = NodeEndpoint.fromHost("localhost");
 		}
 
+		final List<NodeEndpoint> fallbackNisEndpoints = deserializer.readOptionalObjectArray("fallbackServers", NodeEndpoint::new);
+		this.fallbackNisEndpoints = null == fallbackNisEndpoints ? new ArrayList<>() : fallbackNisEndpoints;
+
+		this.nisCommunicationMode = parseNisCommunicationMode(deserializer.readOptionalString("nisCommunicationMode"));
+
+		final Integer nisMaxConnectionsPerRoute = deserializer.readOptionalInt("nisMaxConnectionsPerRoute");
+		this.nisMaxConnectionsPerRoute = null == nisMaxConnectionsPerRoute
+				? DEFAULT_NIS_MAX_CONNECTIONS_PER_ROUTE
+				: nisMaxConnectionsPerRoute;
+		if (this.nisMaxConnectionsPerRoute <= 0) {
+			throw new IllegalArgumentException("nisMaxConnectionsPerRoute must be positive");
+		}
+
+		final Integer accountCacheMaxEntries = deserializer.readOptionalInt("accountCacheMaxEntries");
+		this.accountCacheMaxEntries = null == accountCacheMaxEntries
+				? DEFAULT_ACCOUNT_CACHE_MAX_ENTRIES
+				: accountCacheMaxEntries;
+		if (this.accountCacheMaxEntries <= 0) {
+			throw new IllegalArgumentException("accountCacheMaxEntries must be positive");
+		}
+
 		this.nisBootInfo = deserializer.readObject("nisBootInfo", NisBootInfo::new);
 
 		this.accountLabels = new HashMap<>();
@@ -80,6 +114,48 @@ public class Configuration implements SerializableEntity, AccountLabels {
 		return this.nisEndpoint;
 	}
 
+	/**
+	 * Gets all configured NIS endpoints.
+	 * The configured NIS server's endpoint is always first and is followed by any fallback endpoints.
+	 *
+	 * @return All NIS endpoints.
+	 */
+	public List<NodeEndpoint> getNisEndpoints() {
+		final List<NodeEndpoint> endpoints = new ArrayList<>();
+		endpoints.add(this.nisEndpoint);
+		this.fallbackNisEndpoints.stream()
+				.filter(endpoint -> !endpoint.equals(this.nisEndpoint))
+				.forEach(endpoints::add);
+		return endpoints;
+	}
+
+	/**
+	 * Gets the wire format that should be used for communicating with NIS.
+	 *
+	 * @return The NIS communication mode.
+	 */
+	public NisCommunicationMode getNisCommunicationMode() {
+		return this.nisCommunicationMode;
+	}
+
+	/**
+	 * Gets the maximum number of concurrent requests to a single NIS endpoint.
+	 *
+	 * @return The maximum number of connections per NIS endpoint.
+	 */
+	public int getNisMaxConnectionsPerRoute() {
+		return this.nisMaxConnectionsPerRoute;
+	}
+
+	/**
+	 * Gets the maximum number of accounts in the account cache (excluding the accounts of open wallets).
+	 *
+	 * @return The maximum number of cached accounts.
+	 */
+	public int getAccountCacheMaxEntries() {
+		return this.accountCacheMaxEntries;
+	}
+
 	/**
 	 * Gets a value indicating whether or not NIS is local.
 	 *
@@ -148,7 +224,24 @@ public class Configuration implements SerializableEntity, AccountLabels {
 	public void serialize(final Serializer serializer) {
 		serializer.writeString("language", this.language);
 		serializer.writeObject("remoteServer", this.nisEndpoint);
+		serializer.writeObjectArray("fallbackServers", this.fallbackNisEndpoints);
+		serializer.writeString("nisCommunicationMode", this.nisCommunicationMode.toString());
+		serializer.writeInt("nisMaxConnectionsPerRoute", this.nisMaxConnectionsPerRoute);
+		serializer.writeInt("accountCacheMaxEntries", this.accountCacheMaxEntries);
 		serializer.writeObject("nisBootInfo", this.nisBootInfo);
 		serializer.writeObjectArray("accountLabels", this.accountLabels.values());
 	}
+
+	private static NisCommunicationMode parseNisCommunicationMode(final String nisCommunicationMode) {
+		if (null == nisCommunicationMode) {
+			return NisCommunicationMode.JSON;
+		}
+
+		try {
+			return NisCommunicationMode.valueOf(nisCommunicationMode);
+		} catch (final IllegalArgumentException e) {
+			LOGGER.warning(String.format("unknown nisCommunicationMode <%s>; falling back to JSON", nisCommunicationMode));
+			return NisCommunicationMode.JSON;
+		}
+	}
 }
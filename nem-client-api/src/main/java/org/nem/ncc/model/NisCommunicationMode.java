@@ -0,0 +1,16 @@
+package org.nem.ncc.model;
+
+/**
+ * Represents the wire format used for communicating with NIS.
+ */
+public enum NisCommunicationMode {
+	/**
+	 * All requests use JSON.
+	 */
+	JSON,
+
+	/**
+	 * Supported requests use the binary format when NIS supports it and fall back to JSON otherwise.
+	 */
+	BINARY
+}
@@ -5,6 +5,10 @@ import org.nem.ncc.controller.viewmodels.AccountViewModel;
 import org.nem.ncc.model.AccountLabels;
 import org.nem.ncc.wallet.WalletAccount;
 
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Helper class that is able to map various account representations to an AccountViewModel.
  */
@@ -46,4 +50,51 @@ public class AccountMapper {
 				this.accountLookup.findPairByAddress(address),
 				this.accountLabels.getLabel(address));
 	}
+
+	/**
+	 * Asynchronously creates a view model for the account with the specified address.
+	 *
+	 * @param address The address.
+	 * @return The view model.
+	 */
+	public CompletableFuture<AccountViewModel> toViewModelAsync(final Address address) {
+		return this.accountLookup.findPairByAddressAsync(address)
+				.thenApply(pair -> new AccountViewModel(pair, this.accountLabels.getLabel(address)));
+	}
+
+	/**
+	 * Asynchronously creates view models for the accounts with the specified addresses.
+	 * At most maxConcurrentLookups accounts are looked up at the same time.
+	 *
+	 * @param addresses The addresses.
+	 * @param maxConcurrentLookups The maximum number of concurrent account lookups.
+	 * @return The view models (in the same order as the addresses).
+	 */
+	public CompletableFuture<List<AccountViewModel>> toViewModelsAsync(final List<Address> addresses, final int maxConcurrentLookups) {
+		final AccountViewModel[] viewModels = new AccountViewModel[addresses.size()];
+		final AtomicInteger nextIndex = new AtomicInteger();
+		final CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(maxConcurrentLookups, addresses.size())];
+		for (int i = 0; i < workers.length; ++i) {
+			workers[i] = this.mapRemaining(addresses, nextIndex, viewModels);
+		}
+
+		return CompletableFuture.allOf(workers).thenApply(v -> Arrays.asList(viewModels));
+	}
+
+	private CompletableFuture<Void> mapRemaining(
+			final List<Address> addresses,
+			final AtomicInteger nextIndex,
+			final AccountViewModel[] viewModels) {
+		// each worker maps one address at a time until all addresses have been claimed
+		final int index = nextIndex.getAndIncrement();
+		if (index >= addresses.size()) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		return this.toViewModelAsync(addresses.get(index))
+				.thenCompose(viewModel -> {
+					viewModels[index] = viewModel;
+					return this.mapRemaining(addresses, nextIndex, viewModels);
+				});
+	}
 }
@@ -4,6 +4,8 @@ import org.nem.core.model.Address;
 import org.nem.core.model.ncc.AccountMetaDataPair;
 import org.nem.core.serialization.AccountLookup;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * An interface for looking up account metadata pairs.
  */
@@ -16,4 +18,12 @@ public interface AccountMetaDataPairLookup extends AccountLookup {
 	 * @return The account with the specified id.
 	 */
 	public AccountMetaDataPair findPairByAddress(final Address id);
+
+	/**
+	 * Asynchronously looks up a metadata pair by its id.
+	 *
+	 * @param id The account id.
+	 * @return The account with the specified id.
+	 */
+	public CompletableFuture<AccountMetaDataPair> findPairByAddressAsync(final Address id);
 }
\ No newline at end of file
@@ -8,6 +8,8 @@ import org.nem.core.serialization.Deserializer;
 import org.nem.ncc.connector.PrimaryNisConnector;
 
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -15,14 +17,20 @@ import java.util.stream.Collectors;
  */
 public class AccountServices {
 	private final PrimaryNisConnector nisConnector;
+	private final Executor responseExecutor;
 
 	/**
 	 * Creates new account services.
+	 * <br/>
+	 * Reading transactions can look up (and wait for) accounts, so responses containing transactions are read
+	 * on the response executor instead of on the thread that received the response.
 	 *
 	 * @param nisConnector The NIS connector.
+	 * @param responseExecutor The executor used to read responses.
 	 */
-	public AccountServices(final PrimaryNisConnector nisConnector) {
+	public AccountServices(final PrimaryNisConnector nisConnector, final Executor responseExecutor) {
 		this.nisConnector = nisConnector;
+		this.responseExecutor = responseExecutor;
 	}
 
 	/**
@@ -36,6 +44,17 @@ public class AccountServices {
 		return new AccountMetaDataPair(deserializer);
 	}
 
+	/**
+	 * Asynchronously gets account information for the specified account.
+	 *
+	 * @param address The account address.
+	 * @return The account information.
+	 */
+	public CompletableFuture<AccountMetaDataPair> getAccountMetaDataPairAsync(final Address address) {
+		return this.nisConnector.getAsync(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, formatQueryString(address, null))
+				.thenApply(AccountMetaDataPair::new);
+	}
+
 	private NisApiId typeOfTransactionToQueryId(final TransactionDirection direction) {
 		switch (direction) {
 			case INCOMING:
@@ -55,10 +74,34 @@ public class AccountServices {
 	 * @param endHash The hash of top-most transaction.
 	 * @return The account information.
 	 */
-	public List<TransactionMetaDataPair> getTransactions(final TransactionDirection direction, final Address address, final Hash endHash) {
+	public CompletableFuture<List<TransactionMetaDataPair>> getTransactionsAsync(
+			final TransactionDirection direction,
+			final Address address,
+			final Hash endHash) {
+		return this.getTransactionsAsync(direction, address, endHash, Function.identity());
+	}
+
+	/**
+	 * Gets confirmed transactions for the specified account and maps each one as soon as it is read.
+	 * This avoids materializing an intermediate list of transaction meta data pairs.
+	 *
+	 * @param direction Type of transactions.
+	 * @param address The account address.
+	 * @param endHash The hash of top-most transaction.
+	 * @param mapper The function used to map each transaction meta data pair.
+	 * @param <T> The type of mapped transactions.
+	 * @return The mapped transactions.
+	 */
+	public <T> CompletableFuture<List<T>> getTransactionsAsync(
+			final TransactionDirection direction,
+			final Address address,
+			final Hash endHash,
+			final Function<TransactionMetaDataPair, T> mapper) {
 		final String queryString = formatQueryString(address, endHash);
-		final Deserializer deserializer = this.nisConnector.get(this.typeOfTransactionToQueryId(direction), queryString);
-		return deserializer.readObjectArray("data", TransactionMetaDataPair::new);
+		return this.nisConnector.getAsync(this.typeOfTransactionToQueryId(direction), queryString)
+				.thenApplyAsync(
+						deserializer -> deserializer.readObjectArray("data", d -> mapper.apply(new TransactionMetaDataPair(d))),
+						this.responseExecutor);
 	}
 
 	/**
@@ -67,12 +110,14 @@ public class AccountServices {
 	 * @param address The account address.
 	 * @return The account information.
 	 */
-	public List<Transaction> getUnconfirmedTransactions(final Address address) {
+	public CompletableFuture<List<Transaction>> getUnconfirmedTransactionsAsync(final Address address) {
 		final String queryString = formatQueryString(address, null);
-		final Deserializer deserializer = this.nisConnector.get(NisApiId.NIS_REST_ACCOUNT_UNCONFIRMED, queryString);
-		return deserializer.readObjectArray("data", TransactionFactory.VERIFIABLE).stream()
-				.sorted((lhs, rhs) -> -1 * lhs.getTimeStamp().compareTo(rhs.getTimeStamp()))
-				.collect(Collectors.toList());
+		return this.nisConnector.getAsync(NisApiId.NIS_REST_ACCOUNT_UNCONFIRMED, queryString)
+				.thenApplyAsync(
+						deserializer -> deserializer.readObjectArray("data", TransactionFactory.VERIFIABLE).stream()
+								.sorted((lhs, rhs) -> -1 * lhs.getTimeStamp().compareTo(rhs.getTimeStamp()))
+								.collect(Collectors.toList()),
+						this.responseExecutor);
 	}
 
 	/**
@@ -82,10 +127,29 @@ public class AccountServices {
 	 * @param endHash The hash of top-most harvest.
 	 * @return The account information.
 	 */
-	public List<HarvestInfo> getAccountHarvests(final Address address, final Hash endHash) {
+	public CompletableFuture<List<HarvestInfo>> getAccountHarvestsAsync(final Address address, final Hash endHash) {
+		return this.getAccountHarvestsAsync(address, endHash, Function.identity());
+	}
+
+	/**
+	 * Gets account harvests for the specified account and maps each one as soon as it is read.
+	 * This avoids materializing an intermediate list of harvest infos.
+	 *
+	 * @param address The account address.
+	 * @param endHash The hash of top-most harvest.
+	 * @param mapper The function used to map each harvest info.
+	 * @param <T> The type of mapped harvests.
+	 * @return The mapped harvests.
+	 */
+	public <T> CompletableFuture<List<T>> getAccountHarvestsAsync(
+			final Address address,
+			final Hash endHash,
+			final Function<HarvestInfo, T> mapper) {
 		final String queryString = formatQueryString(address, endHash);
-		final Deserializer deserializer = this.nisConnector.get(NisApiId.NIS_REST_ACCOUNT_HARVESTS, queryString);
-		return deserializer.readObjectArray("data", HarvestInfo::new);
+		return this.nisConnector.getAsync(NisApiId.NIS_REST_ACCOUNT_HARVESTS, queryString)
+				.thenApplyAsync(
+						deserializer -> deserializer.readObjectArray("data", d -> mapper.apply(new HarvestInfo(d))),
+						this.responseExecutor);
 	}
 
 	/**
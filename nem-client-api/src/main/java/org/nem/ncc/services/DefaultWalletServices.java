@@ -6,7 +6,8 @@ import org.nem.ncc.wallet.*;
 import org.nem.ncc.wallet.storage.*;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -16,6 +17,8 @@ public class DefaultWalletServices implements WalletServices {
 	private final WalletRepository repository;
 	private final WalletDescriptorFactory descriptorFactory;
 	private final Map<WalletName, Wallet> wallets = new ConcurrentHashMap<>();
+	private final Map<WalletName, Map<Address, WalletAccountKeys>> accountKeys = new ConcurrentHashMap<>();
+	private final List<Consumer<WalletName>> walletClosedListeners = new CopyOnWriteArrayList<>();
 
 	/**
 	 * Creates a new default wallet services.
@@ -30,6 +33,15 @@ public class DefaultWalletServices implements WalletServices {
 		this.descriptorFactory = descriptorFactory;
 	}
 
+	/**
+	 * Adds a listener that is called whenever an open wallet is closed.
+	 *
+	 * @param listener The listener.
+	 */
+	public void addWalletClosedListener(final Consumer<WalletName> listener) {
+		this.walletClosedListeners.add(listener);
+	}
+
 	/**
 	 * Gets the names of all open wallets.
 	 *
@@ -39,6 +51,27 @@ public class DefaultWalletServices implements WalletServices {
 		return this.wallets.keySet().stream().collect(Collectors.toList());
 	}
 
+	/**
+	 * Gets the addresses of all accounts in all open wallets.
+	 *
+	 * @return The addresses of all open accounts.
+	 */
+	public Set<Address> getOpenAccountAddresses() {
+		final Set<Address> addresses = new HashSet<>();
+		for (final Wallet wallet : this.wallets.values()) {
+			addresses.addAll(getAccountAddresses(wallet));
+		}
+
+		return addresses;
+	}
+
+	private static Set<Address> getAccountAddresses(final Wallet wallet) {
+		final Set<Address> addresses = new HashSet<>();
+		addresses.add(wallet.getPrimaryAccount().getAddress());
+		wallet.getOtherAccounts().forEach(account -> addresses.add(account.getAddress()));
+		return addresses;
+	}
+
 	@Override
 	public Wallet get(final WalletName name) {
 		final Wallet wallet = this.wallets.get(name);
@@ -61,6 +94,55 @@ public class DefaultWalletServices implements WalletServices {
 		return null;
 	}
 
+	@Override
+	public WalletAccountKeys tryFindOpenAccountKeys(final Address address) {
+		// the open account is always looked up so that keys are never returned for closed or removed accounts
+		for (final Map.Entry<WalletName, Wallet> entry : this.wallets.entrySet()) {
+			final WalletAccount account = entry.getValue().tryGetWalletAccount(address);
+			if (null != account) {
+				return this.getAccountKeys(entry.getKey(), entry.getValue(), account);
+			}
+		}
+
+		// the account might have been removed from its wallet
+		this.accountKeys.forEach((name, walletKeys) -> {
+			if (walletKeys.containsKey(address)) {
+				this.dropRemovedAccountKeys(name, walletKeys, address);
+			}
+		});
+		return null;
+	}
+
+	private void dropRemovedAccountKeys(final WalletName name, final Map<Address, WalletAccountKeys> walletKeys, final Address address) {
+		// only the wallet that derived the keys decides whether they are dropped, so keys that another wallet derived
+		// concurrently (e.g. because the account was added to it) are kept
+		final Wallet wallet = this.wallets.get(name);
+		if (null == wallet || null == wallet.tryGetWalletAccount(address)) {
+			walletKeys.remove(address);
+		}
+	}
+
+	private WalletAccountKeys getAccountKeys(final WalletName name, final Wallet wallet, final WalletAccount account) {
+		final Map<Address, WalletAccountKeys> walletKeys = this.accountKeys.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+		final WalletAccountKeys keys = walletKeys.get(account.getAddress());
+		if (null != keys && keys.isDerivedFrom(account)) {
+			return keys;
+		}
+
+		final WalletAccountKeys newKeys = new WalletAccountKeys(account);
+		walletKeys.put(account.getAddress(), newKeys);
+
+		// drop the keys of accounts that have been removed from the wallet
+		walletKeys.keySet().retainAll(getAccountAddresses(wallet));
+
+		// the wallet might have been closed concurrently (after its keys were dropped), so its keys must not be kept
+		if (wallet != this.wallets.get(name)) {
+			this.accountKeys.remove(name, walletKeys);
+		}
+
+		return newKeys;
+	}
+
 	@Override
 	public Wallet open(final WalletNamePasswordPair pair) {
 		final Wallet wallet = this.wallets.getOrDefault(pair.getName(), null);
@@ -84,7 +166,17 @@ public class DefaultWalletServices implements WalletServices {
 
 	@Override
 	public void close(final WalletName name) {
-		this.wallets.remove(name);
+		this.removeWallet(name);
+	}
+
+	private void removeWallet(final WalletName name) {
+		// the wallet must be removed before its keys so that keys derived concurrently are not kept
+		if (null == this.wallets.remove(name)) {
+			return;
+		}
+
+		this.accountKeys.remove(name);
+		this.walletClosedListeners.forEach(listener -> listener.accept(name));
 	}
 
 	private AutoSavingWallet wrapWallet(final Wallet wallet, final WalletDescriptor descriptor) {
@@ -109,7 +201,7 @@ public class DefaultWalletServices implements WalletServices {
 		wallet.save();
 
 		if (hasNameChange) {
-			this.wallets.remove(originalPair.getName());
+			this.removeWallet(originalPair.getName());
 			originalWalletDescriptor.delete();
 		}
 	}
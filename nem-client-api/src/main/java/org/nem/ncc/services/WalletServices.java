@@ -24,6 +24,14 @@ public interface WalletServices {
 	 */
 	public WalletAccount tryFindOpenAccount(final Address address);
 
+	/**
+	 * Searches all open wallets for a wallet account with the specified address and gets its key material.
+	 *
+	 * @param address The address.
+	 * @return The key material or null if no matches were found.
+	 */
+	public WalletAccountKeys tryFindOpenAccountKeys(final Address address);
+
 	/**
 	 * Opens and returns the specified wallet.
 	 *
@@ -0,0 +1,67 @@
+package org.nem.ncc.wallet;
+
+import org.nem.core.crypto.*;
+import org.nem.core.model.Address;
+
+/**
+ * The key material derived from the private keys of a wallet account.
+ * <br/>
+ * Deriving a public key from a private key is expensive, so the derived keys of open wallet accounts are
+ * computed once and kept for the lifetime of the wallet.
+ */
+public class WalletAccountKeys {
+	private final PrivateKey privateKey;
+	private final PrivateKey remoteHarvestingPrivateKey;
+	private final KeyPair keyPair;
+	private final Address remoteAddress;
+
+	/**
+	 * Creates the key material for the specified wallet account.
+	 *
+	 * @param account The wallet account.
+	 */
+	public WalletAccountKeys(final WalletAccount account) {
+		this.privateKey = account.getPrivateKey();
+		this.remoteHarvestingPrivateKey = account.getRemoteHarvestingPrivateKey();
+		this.keyPair = new KeyPair(this.privateKey);
+		this.remoteAddress = Address.fromPublicKey(new KeyPair(this.remoteHarvestingPrivateKey).getPublicKey());
+	}
+
+	/**
+	 * Gets the key pair of the account.
+	 *
+	 * @return The key pair.
+	 */
+	public KeyPair getKeyPair() {
+		return this.keyPair;
+	}
+
+	/**
+	 * Gets the public key of the account.
+	 *
+	 * @return The public key.
+	 */
+	public PublicKey getPublicKey() {
+		return this.keyPair.getPublicKey();
+	}
+
+	/**
+	 * Gets the address of the remote harvesting account.
+	 *
+	 * @return The remote address.
+	 */
+	public Address getRemoteAddress() {
+		return this.remoteAddress;
+	}
+
+	/**
+	 * Gets a value indicating whether or not this key material was derived from the keys of the specified account.
+	 *
+	 * @param account The wallet account.
+	 * @return true if this key material belongs to the account.
+	 */
+	public boolean isDerivedFrom(final WalletAccount account) {
+		return this.privateKey.equals(account.getPrivateKey())
+				&& this.remoteHarvestingPrivateKey.equals(account.getRemoteHarvestingPrivateKey());
+	}
+}
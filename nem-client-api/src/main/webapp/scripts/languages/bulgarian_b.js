@@ -19,6 +19,7 @@ define({
             202: "Криптирано съобщение не може да бъде изпратено понеже получателя до сега не е извършил нито една транзакция и няма публичен ключ.",
             305: "NEM Infrastructure Server е недостъпен",
             306: "Възникна непредвидена грешка.Извиняваме се за това ,опитайте отново може това да помогне.В противен случай се обърнете за помощ към NEM NIS/NCC community.",
+            307: "NCC is busy processing other requests of the same kind. Please try again in a moment.",
             400: "Някой параметри липсват или са некоректни.",
             401: "Тази операция не може да бъде завършена защото може да компрометира частният ви ключ като го изпрати до отдалечения NIS",
             404: "Търсеният ресурс не може да бъде намерен.",
@@ -19,6 +19,7 @@ define({
 			202: '该公钥不存在。',
 			305: 'NEM 基础架构服务器(NIS)无法使用。',
 			306: '对不起，一个开发团队没有预见到的错误发生了。请尝试重试，若问题未解决，请在NEM NIS/NCC社区内提交该问题。',
+			307: 'NCC is busy processing other requests of the same kind. Please try again in a moment.',
 			400: '缺失某些参数。',
 			401: '抱歉，不允许执行该操作，本能地钱包登陆远程NIS存在私钥丢失风险！',
 			404: '启动策略值失败。',
@@ -19,6 +19,7 @@ define({
 			202: '没有公鑰。',
 			305: 'NEM 預設伺服器无法使用。',
 			306: '对不起，發生一个未知的錯誤，請重試。否則，請在NEM NIS/NCC社區內提交您的問題。',
+			307: 'NCC is busy processing other requests of the same kind. Please try again in a moment.',
 			400: '遺失某些参數。',
 			401: 'This operation cannot be completed because it might leak a private key by sending it to a remote NIS.',
 			404: '啟動策略值無效。',
@@ -19,6 +19,7 @@ define({
 			202: "Šifrirana se poruka nije mogla poslati jer primatelj nije nikad napravio niti jednu transakciju.",
 			305: "NEM infrastrukturni poslužitelj nije dostupan.",
 			306: "Došlo je do pogreške koju razvojni tim nije predvidio. Ispričavamo se zbog toga. Novi pokušaj bi mogao pomoći, u suprotnom molim Vas pošaljite upit NEM NIS/NCC zajednici.",
+			307: "NCC is busy processing other requests of the same kind. Please try again in a moment.",
 			400: "Neki parametar nedostaje ili je nevažeći.",
 			401: "Ova operacije nije mogla biti sprovedena zato što bi moglo doći do otkrivanja privatnog kluča slanjem na NIS.",
 			404: "Zatraženi resurs nije mogao biti pronađen.",
@@ -19,6 +19,7 @@ define({
 			202: 'Een beveiligd bericht kan niet worden verstuurd naar de ontvanger omdat hij of zij nog nooit een transactie heeft gemaakt met dit rekeningnummer.',
 			305: 'NEM Infrastructure Server is niet beschikbaar.',
 			306: 'Een fout is opgetreden wat het ontwikkelteam niet heeft voorzien. Onze verontschuldiging hiervoor, misschien helpt het om nog een keer te proberen. Als dat ook niet lukt is het wijs om een ticket te openen binnen de NEM NIS/NCC community.',
+			307: 'NCC is busy processing other requests of the same kind. Please try again in a moment.',
 			400: 'Een parameten is missend of niet goed.',
 			401: 'This operation cannot be completed because it might leak a private key by sending it to a remote NIS.',
 			404: 'De opgevraagde bron kom niet worden gevonden..',
@@ -19,6 +19,7 @@ define({
 			202: "Un message chiffré ne peut être envoyé si le destinataire n'a jamais effectué de transaction auparavant.",
 			305: "Le serveur d'infrastructure NEM n'est pas disponible.",
 			306: "Une erreur que l'équipe de développement n'avait pas anticipée s'est produite. Nous vous présentons nos excuses et nous espérons qu'un nouvel essai va régler ce problème. Sinon, ouvrez un billet d'incident auprès de la communauté NIS/NCC de NEM.",
+			307: "NCC is busy processing other requests of the same kind. Please try again in a moment.",
 			400: "Certains paramètres sont manquants ou invalides.",
 			401: "Cette opération ne peut être effectuée car elle pourrait divulguer votre clé privée en l'envoyant à un server NIS distant.",
 			404: "La ressource que vous avez demandé ne peut être trouvée.",
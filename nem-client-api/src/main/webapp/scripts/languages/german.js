@@ -19,6 +19,7 @@ define({
             202: "Die verschlüsselte Nachricht kann nicht gesendet werden, da der Empfänger bisher noch keine Transaktion gemacht hat und deswegen der öffentliche Schlüssel des Empfängers unbekannt ist.",
             305: "Der NEM Infrastructure Server (NIS) ist nicht verfügbar.",
             306: "Entschuldigung! Es ist ein unvorhergesehener Fehler aufgetreten.\n\nMöglicherweise hilft ein Neustart. Falls, eröffne bitte einen Thread in der NEM NIS/NCC Community.",
+            307: "NCC is busy processing other requests of the same kind. Please try again in a moment.",
             400: "Einer der Parameter fehlt oder ist ungültig.",
             401: "Dieser Vorgang kann nicht durchgeführt werden, da der private Schlüssel gestohlen werden könnte, wenn er an das remote NIS gesendet wird.",
             404: "Die angeforderte Ressource wurde nicht gefunden.",
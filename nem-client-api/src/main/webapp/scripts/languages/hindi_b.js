@@ -19,6 +19,7 @@
 			202: 'एन्क्रिप्टेड मेसेज नहीं भेजा जा सकता हे क्योंकि रेसिपईयेंट ने अभी तक एक बार भी NEM का ट्रांजैक्शन नही किया है.',
 			305: 'NEM इंफ्रास्ट्रक्चर सर्वर उपलब्ध नहीं है.',
 			306: 'एक एरर आ गया हे जिसके बारे में विकास टीम ने नही सोचा था. इस बात के लिए हम माफी चाहते हें, शायद एक बार फिरसे प्रयास करने पर मदद मिल सकती है. अन्यथा, NEM NIS/NCC समुदाय के भीतर एक मुद्दे को खोलने का कष्ट करें.',
+			307: 'NCC is busy processing other requests of the same kind. Please try again in a moment.',
 			400: 'कुछ पैरामीटर गुम या अवैध है.',
 			401: 'यह ऑपरेशन पूरा नहीं किया जा सकता है क्योंकि इससे आपकी Private Key एक Remote NIS को भेजा जाता है(आपकी Private Key इस समय प्रकाशित हो सकती है) जिससे आपके अकाउंट पर खतरा हो सकता है.',
 			404: 'अनुरोध किया गया संसाधन नहीं पाया जा सका हे.',
@@ -19,6 +19,7 @@ define({
 			202: "Impossibile cifrare il testo: non è nota la chiave pubblica del destinatario",
 			305: "Il server NIS non è in esecuzione",
 			306: "E' occorso un errore imprevisto; riprova ad effettuare l'operazione. Se il problema persiste chiedi supporto alla comunità NEM",
+			307: "NCC is busy processing other requests of the same kind. Please try again in a moment.",
 			400: "Manca qualche parametro obbligatorio",
 			401: "L'operazione non può essere completata perché è insicuro trasmettere la chiave privata ad un server remoto",
 			404: "Strategia di avvio non valida",
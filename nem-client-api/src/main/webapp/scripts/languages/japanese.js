@@ -19,6 +19,7 @@ define({
 			202: "相手が送金及びメッセージを送信されていない為、このメッセージを暗号化して送れない。",
 			305: "NEM Infrastructure Serverは無効。",
 			306: "開発者が考えられなかったエラーが発生しまして、申し訳ありません。もう一度実行して、問題が再び発生したら場合、NIS/NCCのサイトにエラーリポートを書いてください。",
+			307: "NCC is busy processing other requests of the same kind. Please try again in a moment.",
 			400: "パラメーターがないか間違っている。",
 			401: 'This operation cannot be completed because it might leak a private key by sending it to a remote NIS.',
 			404: "リクエストされたリソースが見つかれなかった。",
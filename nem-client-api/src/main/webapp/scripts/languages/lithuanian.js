@@ -19,6 +19,7 @@ define({
 			202: "Nėra viešojo rakto",
 			305: "NEM Infrastruktūros serveris negalimas",
 			306: "Įvyko klaida, kurios kūrėjai nenumatė. Atsiprašome, bet gal paleidimas iš naujo padės. Kitu atveju, praneškite apie tai NEM NIS/NCC bendruomenei",
+			307: "NCC is busy processing other requests of the same kind. Please try again in a moment.",
 			400: "Trūksta kai kurių parametrų",
 			401: 'This operation cannot be completed because it might leak a private key by sending it to a remote NIS.',
 			404: "Netinkama Boot strategy reikšmė",
@@ -19,6 +19,7 @@ define({
 			202: "An encrypted message cannot be sent because the recipient has never made a transaction before.",
 			305: "NEM Infrastructure Server is not available.",
 			306: "An error occurred that the development team did not have foreseen. Apologies for this, maybe a retry might help. Otherwise, please open up an issue within the NEM NIS/NCC community.",
+			307: "NCC is busy processing other requests of the same kind. Please try again in a moment.",
 			400: "Some parameter is missing or invalid.",
 			401: 'This operation cannot be completed because it might leak a private key by sending it to a remote NIS.',
 			404: "The requested resource could not be found.",
@@ -19,6 +19,7 @@ define({
 			202: 'Zaszyfrowana wiadomość nie może zostać wysłana ponieważ odbiorca nie wykonał jeszcze żadnej transakcji.',
 			305: 'Serwer Infrastruktury NEM jest niedostępny.',
 			306: 'Wystąpił błąd, którego dewelopery nie przewidzieli. Przepraszamy, ponowna próba może rozwiązać problem. W innym wypadku proszę zwrócić się o pomoc do deweloperów NEM NIS/NCC.',
+			307: 'NCC is busy processing other requests of the same kind. Please try again in a moment.',
 			400: 'Brakujący lub niewłaściwy parametr.',
 			401: 'Ta operacja nie może zostać wykonana ponieważ może to spowodować wyciek klucza prywatnego poprzez wysłanie go do zdalnego NIS.',
 			404: 'Żądany zasób nie został odnaleziony.',
@@ -19,6 +19,7 @@ define({
 			202: "Não é possível enviar mensagem, porque o destinatário ainda não possui chave pública.",
 			305: "NIS inicializando.",
 			306: "Ocorreu um erro desconhecido. Pedimos desculpas por esse problema. Talvez uma nova nova tentativa dê certo; caso contrário, informe aos desenvolvedores da NEM no fórum oficial forum.nemcoin.com.",
+			307: "NCC is busy processing other requests of the same kind. Please try again in a moment.",
 			400: "Está faltando algum parâmetro ou os dados são inválidos (letras no lugar de números, por exemplo).",
 			401: 'Esta operação não pode ser completada pois ela pode expor a chave privada enviando-a para um NIS remoto.',
 			404: "O arquivo solicitado não pode ser encontrado..",
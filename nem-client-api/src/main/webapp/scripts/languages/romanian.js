@@ -19,6 +19,7 @@ define({
 			202: "Mesajul encriptat nu poate fi trimis pentru că destinatarul nu are nici o tranzacție efectuată.",
 			305: "NEM Infrastructure Server nu este disponibil.",
 			306: "A apărut o eroare care nu a fost anticipată de echipa de dezvoltare. Ne cerem scuze, o reîncercare ar putea ajuta. În caz contrar, te rog raportează problema în comunitatea NEM NIS/NCC.",
+			307: "NCC is busy processing other requests of the same kind. Please try again in a moment.",
 			400: "Un parametru lipsește sau este invalid.",
 			401: "Această operațiune nu poate fi efectuată deoarece ar putea dezvălui o cheie privată transmițând-o unui NIS la distanță.",
 			404: "Resursele căutate nu au fost găsite.",
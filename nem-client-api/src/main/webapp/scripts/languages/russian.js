@@ -19,6 +19,7 @@
 			202: 'Отсутствует public key.',
 			305: 'NEM Infrastructure Server  не доступен',
 			306: 'Произошла непредвиденная ошибка . Приносим свои извинения, повторите попытку снова. В противном случае, обратитесь за поддержкой в NEM NIS/NCC Community.',
+			307: 'NCC is busy processing other requests of the same kind. Please try again in a moment.',
 			400: 'Некоторые параметры отсутствуют',
 			401: 'This operation cannot be completed because it might leak a private key by sending it to a remote NIS.',
 			404: 'Неправильное значение загрузки',
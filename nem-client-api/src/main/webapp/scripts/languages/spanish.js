@@ -19,6 +19,7 @@ define({
 			202: 'Enviar una transacción encriptada no es posible debido a que el destinatario nunca ha realizado una transacción.',
 			305: 'El Servidor de Infraestructura NEM no está disponible.',
 			306: 'Un error imprevisto ha ocurrido. Pedimos disculpas por este problema. Tal vez re-intentar ayude a resolver el problema. De otra ma nera',
+			307: 'NCC is busy processing other requests of the same kind. Please try again in a moment.',
 			400: 'Algún parametro requerido no ha sido especificado o es inválido.',
 			401: 'This operation cannot be completed because it might leak a private key by sending it to a remote NIS.',
 			404: 'El recurso solicitado no se ha encontrado.',
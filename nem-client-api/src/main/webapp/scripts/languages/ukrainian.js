@@ -19,6 +19,7 @@ define({
 			202: 'Зашифроване повідомлення не може бути відправлено, так як одержувач ніколи не здійснював жодної транзакції.',
 			305: 'NEM Infrastructure Server не досяжний.',
 			306: 'Сталася помилка, не передбачувана командою розробникiв. Вибачте за це, та повторiть спробу ще раз. В іншому випадку, будь ласка, відкрийте питання у співтовариствi NEM NIS/NCC.',
+			307: 'NCC is busy processing other requests of the same kind. Please try again in a moment.',
 			400: 'Деякі параметри відсутні, або недійснi.',
 			401: 'This operation cannot be completed because it might leak a private key by sending it to a remote NIS.',
 			404: 'Запитаний ресурс не знайдено.',
@@ -19,6 +19,7 @@ define({
 			202: 'Không thể gửi thông điệp mã hoá bởi vì người nhận chưa từng thực hiện một giao dịch trước đây.',
 			305: 'NEM Infrastructure Server không khả dụng.',
 			306: 'Một lỗi nằm ngoài dự tính của nhóm phát triển đã xảy ra. Xin lỗi bạn vì điều này, có thể thử lại sẽ có tác dụng. Nếu không, hãy tạo một issue trong cộng đồng NIS/NCC của NEM.',
+			307: 'NCC is busy processing other requests of the same kind. Please try again in a moment.',
 			400: 'Một tham số nào đó bị thiếu hoặc không hợp lệ.',
 			401: 'Tác vụ này không thể hoàn thành vì khoá bí mật có thể sẽ bị lộ khi được gửi tới một NIS từ xa.',
 			404: 'Không tìm thấy tài nguyên được yêu cầu.',
@@ -3,9 +3,13 @@ package org.nem.ncc;
 import org.hamcrest.core.IsEqual;
 import org.junit.*;
 import org.mockito.Mockito;
+import org.nem.core.model.primitive.BlockHeight;
 import org.nem.core.time.TimeProvider;
+import org.nem.ncc.cache.*;
 import org.nem.ncc.time.synchronization.NccTimeSynchronizer;
 
+import java.util.concurrent.CompletableFuture;
+
 public class NccSchedulerTest {
 
 	@Test
@@ -29,4 +33,49 @@ public class NccSchedulerTest {
 		Assert.assertThat(scheduler.getVisitors().size(), IsEqual.equalTo(1));
 		Assert.assertThat(scheduler.getVisitors().get(0).getTimerName(), IsEqual.equalTo("TIME SYNCHRONIZATION"));
 	}
+
+	@Test
+	public void addChainHeightRefreshTaskAddsChainHeightRefreshTask() {
+		// Arrange:
+		final ChainHeightTracker chainHeightTracker = Mockito.mock(ChainHeightTracker.class);
+		Mockito.when(chainHeightTracker.refresh()).thenReturn(CompletableFuture.completedFuture(new BlockHeight(1)));
+		try (final NccScheduler scheduler = new NccScheduler(Mockito.mock(TimeProvider.class))) {
+			// Act:
+			scheduler.addChainHeightRefreshTask(chainHeightTracker);
+
+			// Assert:
+			Assert.assertThat(scheduler.getVisitors().size(), IsEqual.equalTo(1));
+			Assert.assertThat(scheduler.getVisitors().get(0).getTimerName(), IsEqual.equalTo("CHAIN HEIGHT"));
+		}
+	}
+
+	@Test
+	public void addAccountRefreshTaskAddsAccountRefreshTask() {
+		// Arrange:
+		final AccountRefresher accountRefresher = Mockito.mock(AccountRefresher.class);
+		Mockito.when(accountRefresher.refresh()).thenReturn(CompletableFuture.completedFuture(null));
+		try (final NccScheduler scheduler = new NccScheduler(Mockito.mock(TimeProvider.class))) {
+			// Act:
+			scheduler.addAccountRefreshTask(accountRefresher);
+
+			// Assert:
+			Assert.assertThat(scheduler.getVisitors().size(), IsEqual.equalTo(1));
+			Assert.assertThat(scheduler.getVisitors().get(0).getTimerName(), IsEqual.equalTo("ACCOUNT REFRESH"));
+		}
+	}
+
+	@Test
+	public void addAccountsCacheFlushTaskAddsAccountsCacheFlushTask() {
+		// Arrange:
+		final AccountsCachePersister accountsCachePersister = Mockito.mock(AccountsCachePersister.class);
+		Mockito.when(accountsCachePersister.flushAsync()).thenReturn(CompletableFuture.completedFuture(null));
+		try (final NccScheduler scheduler = new NccScheduler(Mockito.mock(TimeProvider.class))) {
+			// Act:
+			scheduler.addAccountsCacheFlushTask(accountsCachePersister);
+
+			// Assert:
+			Assert.assertThat(scheduler.getVisitors().size(), IsEqual.equalTo(1));
+			Assert.assertThat(scheduler.getVisitors().get(0).getTimerName(), IsEqual.equalTo("ACCOUNTS CACHE FLUSH"));
+		}
+	}
 }
@@ -0,0 +1,73 @@
+package org.nem.ncc.cache;
+
+import net.minidev.json.JSONObject;
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.serialization.JsonSerializer;
+
+public class AccountCacheDiagnosticsTest {
+
+	@Test
+	public void canSerializeDiagnostics() {
+		// Arrange:
+		final AccountCacheStatistics statistics = new AccountCacheStatistics();
+		statistics.recordHit();
+		statistics.recordHit();
+		statistics.recordStaleHit();
+		statistics.recordMiss();
+		statistics.recordMiss();
+		statistics.recordMiss();
+		statistics.recordRejection();
+		statistics.recordRefresh(10);
+		statistics.recordRefresh(30);
+		statistics.recordRefreshFailure(true);
+		statistics.recordRefreshFailure(false);
+
+		final NccAccountCache accountCache = Mockito.mock(NccAccountCache.class);
+		final WalletAwareAccountLookup accountLookup = Mockito.mock(WalletAwareAccountLookup.class);
+		Mockito.when(accountCache.getStatistics()).thenReturn(statistics);
+		Mockito.when(accountCache.size()).thenReturn(12);
+		Mockito.when(accountCache.getNumEvictions()).thenReturn(4L);
+		Mockito.when(accountLookup.getNumLookups()).thenReturn(9L);
+		Mockito.when(accountLookup.getNumWalletAccountLookups()).thenReturn(5L);
+		final AccountCacheDiagnostics diagnostics = new AccountCacheDiagnostics(accountCache, accountLookup);
+
+		// Act:
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(diagnostics);
+
+		// Assert:
+		Assert.assertThat(jsonObject.get("size"), IsEqual.equalTo(12));
+		Assert.assertThat(jsonObject.get("evictions"), IsEqual.equalTo(4L));
+		Assert.assertThat(jsonObject.get("lookups"), IsEqual.equalTo(9L));
+		Assert.assertThat(jsonObject.get("walletAccountLookups"), IsEqual.equalTo(5L));
+		Assert.assertThat(jsonObject.get("hits"), IsEqual.equalTo(2L));
+		Assert.assertThat(jsonObject.get("staleHits"), IsEqual.equalTo(1L));
+		Assert.assertThat(jsonObject.get("misses"), IsEqual.equalTo(3L));
+		Assert.assertThat(jsonObject.get("rejections"), IsEqual.equalTo(1L));
+		Assert.assertThat(jsonObject.get("refreshes"), IsEqual.equalTo(2L));
+		Assert.assertThat(jsonObject.get("refreshFailures"), IsEqual.equalTo(2L));
+		Assert.assertThat(jsonObject.get("fallbacks"), IsEqual.equalTo(1L));
+		Assert.assertThat(jsonObject.get("medianRefreshLatency"), IsEqual.equalTo(10L));
+		Assert.assertThat(jsonObject.get("p99RefreshLatency"), IsEqual.equalTo(30L));
+	}
+
+	@Test
+	public void diagnosticsReflectCurrentCacheState() {
+		// Arrange:
+		final AccountCacheStatistics statistics = new AccountCacheStatistics();
+		final NccAccountCache accountCache = Mockito.mock(NccAccountCache.class);
+		final WalletAwareAccountLookup accountLookup = Mockito.mock(WalletAwareAccountLookup.class);
+		Mockito.when(accountCache.getStatistics()).thenReturn(statistics);
+		final AccountCacheDiagnostics diagnostics = new AccountCacheDiagnostics(accountCache, accountLookup);
+
+		// Act:
+		final JSONObject jsonObject1 = JsonSerializer.serializeToJson(diagnostics);
+		statistics.recordHit();
+		final JSONObject jsonObject2 = JsonSerializer.serializeToJson(diagnostics);
+
+		// Assert:
+		Assert.assertThat(jsonObject1.get("hits"), IsEqual.equalTo(0L));
+		Assert.assertThat(jsonObject2.get("hits"), IsEqual.equalTo(1L));
+	}
+}
@@ -0,0 +1,79 @@
+package org.nem.ncc.cache;
+
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+
+public class AccountCacheStatisticsTest {
+
+	@Test
+	public void statisticsAreInitiallyEmpty() {
+		// Act:
+		final AccountCacheStatistics statistics = new AccountCacheStatistics();
+
+		// Assert:
+		Assert.assertThat(statistics.getNumHits(), IsEqual.equalTo(0L));
+		Assert.assertThat(statistics.getNumStaleHits(), IsEqual.equalTo(0L));
+		Assert.assertThat(statistics.getNumMisses(), IsEqual.equalTo(0L));
+		Assert.assertThat(statistics.getNumRejections(), IsEqual.equalTo(0L));
+		Assert.assertThat(statistics.getNumRefreshes(), IsEqual.equalTo(0L));
+		Assert.assertThat(statistics.getNumRefreshFailures(), IsEqual.equalTo(0L));
+		Assert.assertThat(statistics.getNumFallbacks(), IsEqual.equalTo(0L));
+		Assert.assertThat(statistics.getRefreshLatencies().size(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void canRecordLookups() {
+		// Arrange:
+		final AccountCacheStatistics statistics = new AccountCacheStatistics();
+
+		// Act:
+		statistics.recordHit();
+		statistics.recordHit();
+		statistics.recordHit();
+		statistics.recordStaleHit();
+		statistics.recordStaleHit();
+		statistics.recordMiss();
+		statistics.recordRejection();
+		statistics.recordRejection();
+		statistics.recordRejection();
+		statistics.recordRejection();
+
+		// Assert:
+		Assert.assertThat(statistics.getNumHits(), IsEqual.equalTo(3L));
+		Assert.assertThat(statistics.getNumStaleHits(), IsEqual.equalTo(2L));
+		Assert.assertThat(statistics.getNumMisses(), IsEqual.equalTo(1L));
+		Assert.assertThat(statistics.getNumRejections(), IsEqual.equalTo(4L));
+	}
+
+	@Test
+	public void canRecordRefreshes() {
+		// Arrange:
+		final AccountCacheStatistics statistics = new AccountCacheStatistics();
+
+		// Act:
+		statistics.recordRefresh(20);
+		statistics.recordRefresh(10);
+		statistics.recordRefresh(30);
+
+		// Assert:
+		Assert.assertThat(statistics.getNumRefreshes(), IsEqual.equalTo(3L));
+		Assert.assertThat(statistics.getRefreshLatencies().size(), IsEqual.equalTo(3));
+		Assert.assertThat(statistics.getRefreshLatencies().getPercentile(0.5), IsEqual.equalTo(20L));
+	}
+
+	@Test
+	public void canRecordRefreshFailures() {
+		// Arrange:
+		final AccountCacheStatistics statistics = new AccountCacheStatistics();
+
+		// Act:
+		statistics.recordRefreshFailure(true);
+		statistics.recordRefreshFailure(false);
+		statistics.recordRefreshFailure(true);
+
+		// Assert:
+		Assert.assertThat(statistics.getNumRefreshFailures(), IsEqual.equalTo(3L));
+		Assert.assertThat(statistics.getNumFallbacks(), IsEqual.equalTo(2L));
+		Assert.assertThat(statistics.getRefreshLatencies().size(), IsEqual.equalTo(0));
+	}
+}
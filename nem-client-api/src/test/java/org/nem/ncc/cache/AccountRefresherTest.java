@@ -0,0 +1,135 @@
+package org.nem.ncc.cache;
+
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+import org.nem.core.model.Address;
+import org.nem.core.model.ncc.AccountMetaDataPair;
+import org.nem.ncc.test.*;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+public class AccountRefresherTest {
+
+	@Test
+	public void refreshCompletesImmediatelyIfThereAreNoAccounts() {
+		// Arrange:
+		final TestContext context = new TestContext(0, 2);
+
+		// Act:
+		final CompletableFuture<Void> future = context.refresher.refresh();
+
+		// Assert:
+		Assert.assertThat(future.isDone(), IsEqual.equalTo(true));
+		Assert.assertThat(context.refreshedAddresses.size(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void refreshRefreshesAllAccounts() {
+		// Arrange:
+		final TestContext context = new TestContext(5, 2);
+
+		// Act:
+		context.refresher.refresh();
+		context.completeAll();
+
+		// Assert:
+		Assert.assertThat(context.refreshedAddresses, IsEquivalent.equivalentTo(context.addresses));
+	}
+
+	@Test
+	public void refreshOnlyStartsNextBatchAfterPreviousBatchCompletes() {
+		// Arrange:
+		final TestContext context = new TestContext(5, 2);
+
+		// Act:
+		final CompletableFuture<Void> future = context.refresher.refresh();
+
+		// Assert: only the first batch has been started
+		Assert.assertThat(context.refreshedAddresses, IsEqual.equalTo(context.addresses.subList(0, 2)));
+
+		// Act: complete the first batch
+		context.completeAll();
+
+		// Assert: the second batch has been started
+		Assert.assertThat(context.refreshedAddresses, IsEqual.equalTo(context.addresses.subList(0, 4)));
+		Assert.assertThat(future.isDone(), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void refreshCompletesWhenAllBatchesComplete() {
+		// Arrange:
+		final TestContext context = new TestContext(5, 2);
+
+		// Act:
+		final CompletableFuture<Void> future = context.refresher.refresh();
+		context.completeAll();
+		context.completeAll();
+		context.completeAll();
+
+		// Assert:
+		Assert.assertThat(future.isDone(), IsEqual.equalTo(true));
+		Assert.assertThat(future.isCompletedExceptionally(), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void failedRefreshDoesNotStopSweep() {
+		// Arrange:
+		final TestContext context = new TestContext(3, 2);
+
+		// Act:
+		final CompletableFuture<Void> future = context.refresher.refresh();
+		context.futures.get(0).completeExceptionally(new RuntimeException("badness"));
+		context.futures.get(1).complete(null);
+		context.completeAll();
+
+		// Assert:
+		Assert.assertThat(context.refreshedAddresses, IsEqual.equalTo(context.addresses));
+		Assert.assertThat(future.isDone(), IsEqual.equalTo(true));
+		Assert.assertThat(future.isCompletedExceptionally(), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void refreshUsesCurrentAddresses() {
+		// Arrange:
+		final TestContext context = new TestContext(1, 2);
+		context.refresher.refresh();
+		context.completeAll();
+		context.addresses.add(Utils.generateRandomAddress());
+
+		// Act:
+		context.refresher.refresh();
+		context.completeAll();
+
+		// Assert:
+		Assert.assertThat(context.refreshedAddresses.size(), IsEqual.equalTo(3));
+		Assert.assertThat(context.refreshedAddresses.get(2), IsEqual.equalTo(context.addresses.get(1)));
+	}
+
+	private static class TestContext {
+		private final List<Address> addresses = new ArrayList<>();
+		private final List<Address> refreshedAddresses = new ArrayList<>();
+		private final List<CompletableFuture<AccountMetaDataPair>> futures = new ArrayList<>();
+		private final AccountRefresher refresher;
+
+		private TestContext(final int numAddresses, final int batchSize) {
+			for (int i = 0; i < numAddresses; ++i) {
+				this.addresses.add(Utils.generateRandomAddress());
+			}
+
+			this.refresher = new AccountRefresher(
+					() -> this.addresses,
+					address -> {
+						this.refreshedAddresses.add(address);
+						final CompletableFuture<AccountMetaDataPair> future = new CompletableFuture<>();
+						this.futures.add(future);
+						return future;
+					},
+					batchSize);
+		}
+
+		private void completeAll() {
+			new ArrayList<>(this.futures).forEach(future -> future.complete(null));
+		}
+	}
+}
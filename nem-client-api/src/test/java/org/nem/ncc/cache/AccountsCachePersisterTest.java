@@ -0,0 +1,283 @@
+package org.nem.ncc.cache;
+
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+import org.mockito.*;
+import org.nem.core.model.ncc.AccountInfo;
+import org.nem.ncc.exceptions.NccException;
+import org.nem.ncc.test.*;
+
+import java.util.*;
+
+public class AccountsCachePersisterTest {
+
+	//region seedAsync
+
+	@Test
+	public void cacheIsInitiallyNotSeeded() {
+		// Arrange:
+		final TestContext context = new TestContext(10, false);
+
+		// Assert:
+		Assert.assertThat(context.persister.isSeeded(), IsEqual.equalTo(false));
+		Mockito.verify(context.accountCache, Mockito.never()).seedAccountsIfAbsent(Mockito.any());
+	}
+
+	@Test
+	public void seedAsyncSeedsCacheWithJournalBeforeSnapshot() {
+		// Arrange:
+		final TestContext context = new TestContext(10, false);
+		final List<AccountInfo> journalAccounts = Utils.generateRandomAccountInfos(2);
+		final List<AccountInfo> snapshotAccounts = Utils.generateRandomAccountInfos(3);
+		Mockito.when(context.journal.load()).thenReturn(new ArrayList<>(journalAccounts));
+		Mockito.when(context.snapshotRepository.load()).thenReturn(snapshotAccounts);
+
+		// Act:
+		context.persister.seedAsync().join();
+
+		// Assert: the most recent journal records are seeded first so that they are not replaced by older ones
+		final InOrder inOrder = Mockito.inOrder(context.accountCache);
+		inOrder.verify(context.accountCache).seedAccountsIfAbsent(Arrays.asList(journalAccounts.get(1), journalAccounts.get(0)));
+		inOrder.verify(context.accountCache).seedAccountsIfAbsent(snapshotAccounts);
+		Assert.assertThat(context.persister.isSeeded(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void seedAsyncMarksCacheAsSeededWhenSeedingFails() {
+		// Arrange:
+		final TestContext context = new TestContext(10, false);
+		Mockito.when(context.snapshotRepository.load()).thenThrow(new NccException(NccException.Code.ACCOUNT_CACHE_ERROR));
+
+		// Act:
+		context.persister.seedAsync().join();
+
+		// Assert:
+		Assert.assertThat(context.persister.isSeeded(), IsEqual.equalTo(true));
+	}
+
+	//endregion
+
+	//region flush
+
+	@Test
+	public void flushAppendsDirtyAccountsToJournal() {
+		// Arrange:
+		final TestContext context = new TestContext(10);
+		final List<AccountInfo> dirtyAccounts = Utils.generateRandomAccountInfos(3);
+		Mockito.when(context.accountCache.drainDirtyAccounts()).thenReturn(dirtyAccounts);
+
+		// Act:
+		context.persister.flush();
+
+		// Assert:
+		Mockito.verify(context.journal, Mockito.times(1)).append(dirtyAccounts);
+		Mockito.verify(context.snapshotRepository, Mockito.never()).save(Mockito.any());
+	}
+
+	@Test
+	public void flushCompactsJournalWhenThresholdIsReached() {
+		// Arrange:
+		final TestContext context = new TestContext(10);
+		final List<AccountInfo> accounts = Utils.generateRandomAccountInfos(3);
+		Mockito.when(context.accountCache.getAccounts()).thenReturn(accounts);
+		Mockito.when(context.journal.getNumRecords()).thenReturn(10);
+
+		// Act:
+		context.persister.flush();
+
+		// Assert:
+		Mockito.verify(context.snapshotRepository, Mockito.only()).save(accounts);
+		Mockito.verify(context.journal, Mockito.times(1)).clear();
+	}
+
+	@Test
+	public void flushDoesNotCompactJournalBelowThreshold() {
+		// Arrange:
+		final TestContext context = new TestContext(10);
+		Mockito.when(context.journal.getNumRecords()).thenReturn(9);
+
+		// Act:
+		context.persister.flush();
+
+		// Assert:
+		Mockito.verify(context.snapshotRepository, Mockito.never()).save(Mockito.any());
+		Mockito.verify(context.journal, Mockito.never()).clear();
+	}
+
+	@Test
+	public void flushDoesNotCompactJournalBeforeCacheIsSeeded() {
+		// Arrange:
+		final TestContext context = new TestContext(10, false);
+		Mockito.when(context.journal.getNumRecords()).thenReturn(10);
+
+		// Act:
+		context.persister.flush();
+
+		// Assert:
+		Mockito.verify(context.snapshotRepository, Mockito.never()).save(Mockito.any());
+		Mockito.verify(context.journal, Mockito.never()).clear();
+	}
+
+	@Test
+	public void flushAsyncFlushesDirtyAccounts() {
+		// Arrange:
+		final TestContext context = new TestContext(10);
+		final List<AccountInfo> dirtyAccounts = Utils.generateRandomAccountInfos(3);
+		Mockito.when(context.accountCache.drainDirtyAccounts()).thenReturn(dirtyAccounts);
+
+		// Act:
+		context.persister.flushAsync().join();
+
+		// Assert:
+		Mockito.verify(context.journal, Mockito.times(1)).append(dirtyAccounts);
+	}
+
+	@Test
+	public void flushAsyncDoesNotFailWhenFlushFails() {
+		// Arrange:
+		final TestContext context = new TestContext(10);
+		Mockito.doThrow(new NccException(NccException.Code.ACCOUNT_CACHE_ERROR)).when(context.journal).append(Mockito.any());
+
+		// Act:
+		context.persister.flushAsync().join();
+
+		// Assert:
+		Mockito.verify(context.journal, Mockito.times(1)).append(Mockito.any());
+	}
+
+	@Test
+	public void failedFlushKeepsDirtyAccountsForNextFlush() {
+		// Arrange:
+		final TestContext context = new TestContext(10);
+		final List<AccountInfo> dirtyAccounts1 = Utils.generateRandomAccountInfos(2);
+		final List<AccountInfo> dirtyAccounts2 = Utils.generateRandomAccountInfos(1);
+		Mockito.when(context.accountCache.drainDirtyAccounts()).thenReturn(dirtyAccounts1, dirtyAccounts2);
+		Mockito.doThrow(new NccException(NccException.Code.ACCOUNT_CACHE_ERROR)).doNothing().when(context.journal).append(Mockito.any());
+		ExceptionAssert.assertThrowsNccException(v -> context.persister.flush(), NccException.Code.ACCOUNT_CACHE_ERROR);
+
+		// Act:
+		context.persister.flush();
+
+		// Assert: the accounts of the failed flush are appended before the newer dirty accounts
+		final List<AccountInfo> expectedAccounts = new ArrayList<>(dirtyAccounts1);
+		expectedAccounts.addAll(dirtyAccounts2);
+		Mockito.verify(context.journal, Mockito.times(1)).append(expectedAccounts);
+	}
+
+	//endregion
+
+	//region compact
+
+	@Test
+	public void compactSavesSnapshotBeforeClearingJournal() {
+		// Arrange:
+		final TestContext context = new TestContext(10);
+		final List<AccountInfo> accounts = Utils.generateRandomAccountInfos(3);
+		Mockito.when(context.accountCache.getAccounts()).thenReturn(accounts);
+
+		// Act:
+		context.persister.compact();
+
+		// Assert:
+		final InOrder inOrder = Mockito.inOrder(context.snapshotRepository, context.journal);
+		inOrder.verify(context.snapshotRepository).save(accounts);
+		inOrder.verify(context.journal).clear();
+	}
+
+	@Test
+	public void compactClearsDirtyAccounts() {
+		// Arrange:
+		final TestContext context = new TestContext(10);
+
+		// Act:
+		context.persister.compact();
+
+		// Assert:
+		Mockito.verify(context.accountCache, Mockito.times(1)).drainDirtyAccounts();
+		Mockito.verify(context.journal, Mockito.never()).append(Mockito.any());
+	}
+
+	@Test
+	public void compactOnlyAppendsDirtyAccountsToJournalBeforeCacheIsSeeded() {
+		// Arrange:
+		final TestContext context = new TestContext(10, false);
+		final List<AccountInfo> dirtyAccounts = Utils.generateRandomAccountInfos(3);
+		Mockito.when(context.accountCache.drainDirtyAccounts()).thenReturn(dirtyAccounts);
+
+		// Act:
+		context.persister.compact();
+
+		// Assert:
+		Mockito.verify(context.journal, Mockito.times(1)).append(dirtyAccounts);
+		Mockito.verify(context.snapshotRepository, Mockito.never()).save(Mockito.any());
+		Mockito.verify(context.journal, Mockito.never()).clear();
+	}
+
+	@Test
+	public void failedSnapshotDoesNotClearJournal() {
+		// Arrange:
+		final TestContext context = new TestContext(10);
+		Mockito.doThrow(new NccException(NccException.Code.ACCOUNT_CACHE_ERROR)).when(context.snapshotRepository).save(Mockito.any());
+
+		// Act:
+		ExceptionAssert.assertThrowsNccException(v -> context.persister.compact(), NccException.Code.ACCOUNT_CACHE_ERROR);
+
+		// Assert:
+		Mockito.verify(context.journal, Mockito.never()).clear();
+	}
+
+	@Test
+	public void failedSnapshotKeepsDirtyAccountsForNextFlush() {
+		// Arrange:
+		final TestContext context = new TestContext(10);
+		final List<AccountInfo> dirtyAccounts = Utils.generateRandomAccountInfos(3);
+		Mockito.when(context.accountCache.drainDirtyAccounts()).thenReturn(dirtyAccounts, new ArrayList<>());
+		Mockito.doThrow(new NccException(NccException.Code.ACCOUNT_CACHE_ERROR)).when(context.snapshotRepository).save(Mockito.any());
+		ExceptionAssert.assertThrowsNccException(v -> context.persister.compact(), NccException.Code.ACCOUNT_CACHE_ERROR);
+
+		// Act:
+		context.persister.flush();
+
+		// Assert:
+		Mockito.verify(context.journal, Mockito.times(1)).append(dirtyAccounts);
+	}
+
+	@Test
+	public void successfulSnapshotDropsDirtyAccounts() {
+		// Arrange:
+		final TestContext context = new TestContext(10);
+		final List<AccountInfo> dirtyAccounts = Utils.generateRandomAccountInfos(3);
+		Mockito.when(context.accountCache.drainDirtyAccounts()).thenReturn(dirtyAccounts, new ArrayList<>());
+		context.persister.compact();
+
+		// Act:
+		context.persister.flush();
+
+		// Assert:
+		Mockito.verify(context.journal, Mockito.never()).append(dirtyAccounts);
+	}
+
+	//endregion
+
+	private static class TestContext {
+		private final NccAccountCache accountCache = Mockito.mock(NccAccountCache.class);
+		private final AccountsRepository snapshotRepository = Mockito.mock(AccountsRepository.class);
+		private final AccountsJournal journal = Mockito.mock(AccountsJournal.class);
+		private final AccountsCachePersister persister;
+
+		public TestContext(final int compactionThreshold) {
+			this(compactionThreshold, true);
+		}
+
+		public TestContext(final int compactionThreshold, final boolean isSeeded) {
+			Mockito.when(this.accountCache.drainDirtyAccounts()).thenReturn(new ArrayList<>());
+			Mockito.when(this.accountCache.getAccounts()).thenReturn(new ArrayList<>());
+			Mockito.when(this.journal.load()).thenReturn(new ArrayList<>());
+			Mockito.when(this.snapshotRepository.load()).thenReturn(new ArrayList<>());
+			this.persister = new AccountsCachePersister(this.accountCache, this.snapshotRepository, this.journal, compactionThreshold);
+			if (isSeeded) {
+				this.persister.seedAsync().join();
+			}
+		}
+	}
+}
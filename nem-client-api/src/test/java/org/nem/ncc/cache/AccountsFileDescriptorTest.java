@@ -8,6 +8,7 @@ import org.nem.ncc.exceptions.NccException;
 import org.nem.ncc.test.ExceptionAssert;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 public class AccountsFileDescriptorTest {
@@ -86,6 +87,73 @@ public class AccountsFileDescriptorTest {
 
 	//endregion
 
+	//region readAll
+
+	@Test
+	public void readAllCanReadFileThatExists() {
+		// Arrange:
+		final AccountsFileDescriptor descriptor = new AccountsFileDescriptor(TEST_ACCOUNTS_READ_FILE);
+
+		// Act:
+		final ByteBuffer buffer = descriptor.readAll();
+
+		// Assert:
+		final byte[] contents = new byte[buffer.remaining()];
+		buffer.get(contents);
+		Assert.assertThat(contents, IsEqual.equalTo(TEST_ACCOUNTS_FILE_CONTENTS));
+	}
+
+	@Test
+	public void readAllDoesNotMapFile() throws IOException {
+		// Arrange:
+		final File file = new File(TEST_FILE_DIRECTORY, "read-replace.cache");
+		try (final FileOutputStream os = new FileOutputStream(file)) {
+			os.write(TEST_ACCOUNTS_FILE_CONTENTS);
+		}
+
+		final AccountsFileDescriptor descriptor = new AccountsFileDescriptor(file);
+
+		// Act:
+		final ByteBuffer buffer = descriptor.readAll();
+		try (final OutputStream os = descriptor.openWrite()) {
+			os.write(new byte[] { 4, 5 });
+		}
+
+		// Assert: the buffer is a heap buffer and the file could be replaced while it is referenced
+		Assert.assertThat(buffer.isDirect(), IsEqual.equalTo(false));
+		Assert.assertThat(buffer.remaining(), IsEqual.equalTo(TEST_ACCOUNTS_FILE_CONTENTS.length));
+		Assert.assertThat(FileUtils.readFileToByteArray(file), IsEqual.equalTo(new byte[] { 4, 5 }));
+	}
+
+	@Test
+	public void readAllCanReadFileThatDoesNotExist() {
+		// Arrange:
+		final File file = new File(TEST_FILE_DIRECTORY, "imaginary-read.cache");
+		final AccountsFileDescriptor descriptor = new AccountsFileDescriptor(file);
+
+		// Act:
+		final ByteBuffer buffer = descriptor.readAll();
+
+		// Assert:
+		Assert.assertThat(buffer.remaining(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void readAllCannotReadFileThatIsInvalid() {
+		// Arrange:
+		File file = new File("fo\0o.cache");
+		file = Mockito.spy(file);
+		Mockito.when(file.exists()).thenReturn(true);
+		final AccountsFileDescriptor descriptor = new AccountsFileDescriptor(file);
+
+		// Act:
+		ExceptionAssert.assertThrowsNccException(
+				v -> descriptor.readAll(),
+				NccException.Code.ACCOUNT_CACHE_ERROR);
+	}
+
+	//endregion
+
 	//region openWrite
 
 	@Test
@@ -113,6 +181,42 @@ public class AccountsFileDescriptorTest {
 		}
 	}
 
+	@Test
+	public void openWriteReplacesContentsWhenStreamIsClosed() throws IOException {
+		// Arrange:
+		final File file = new File(TEST_FILE_DIRECTORY, "replace-write.cache");
+		writeContents(file, new byte[] { 7, 8, 9, 10 });
+		final AccountsFileDescriptor descriptor = new AccountsFileDescriptor(file);
+
+		// Act:
+		try (final OutputStream os = descriptor.openWrite()) {
+			os.write(TEST_ACCOUNTS_FILE_CONTENTS);
+
+			// Assert: the original contents are unchanged until the stream is closed
+			Assert.assertThat(readContents(file), IsEqual.equalTo(new byte[] { 7, 8, 9, 10 }));
+		}
+
+		// Assert:
+		Assert.assertThat(readContents(file), IsEqual.equalTo(TEST_ACCOUNTS_FILE_CONTENTS));
+		Assert.assertThat(new File(TEST_FILE_DIRECTORY, "replace-write.cache.tmp").exists(), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void openWriteCanBeClosedMultipleTimes() throws IOException {
+		// Arrange:
+		final File file = new File(TEST_FILE_DIRECTORY, "close-write.cache");
+		final AccountsFileDescriptor descriptor = new AccountsFileDescriptor(file);
+		final OutputStream os = descriptor.openWrite();
+		os.write(TEST_ACCOUNTS_FILE_CONTENTS);
+
+		// Act:
+		os.close();
+		os.close();
+
+		// Assert:
+		Assert.assertThat(readContents(file), IsEqual.equalTo(TEST_ACCOUNTS_FILE_CONTENTS));
+	}
+
 	@Test
 	public void openWriteCannotOpenFileThatIsInvalid() {
 		// Arrange:
@@ -128,4 +232,65 @@ public class AccountsFileDescriptorTest {
 	}
 
 	//endregion
+
+	//region openAppend
+
+	@Test
+	public void openAppendAppendsToFileThatExists() throws IOException {
+		// Arrange:
+		final File file = new File(TEST_FILE_DIRECTORY, "existing-append.cache");
+		writeContents(file, TEST_ACCOUNTS_FILE_CONTENTS);
+		final AccountsFileDescriptor descriptor = new AccountsFileDescriptor(file);
+
+		// Act:
+		try (final OutputStream os = descriptor.openAppend()) {
+			os.write(new byte[] { 4, 5 });
+		}
+
+		// Assert:
+		Assert.assertThat(readContents(file), IsEqual.equalTo(new byte[] { 1, 2, 3, 4, 5 }));
+	}
+
+	@Test
+	public void openAppendCanOpenFileThatDoesNotExist() throws IOException {
+		// Arrange:
+		final File file = new File(TEST_FILE_DIRECTORY, "imaginary-append.cache");
+		final AccountsFileDescriptor descriptor = new AccountsFileDescriptor(file);
+
+		// Act:
+		try (final OutputStream os = descriptor.openAppend()) {
+			os.write(new byte[] { 4, 5 });
+		}
+
+		// Assert:
+		Assert.assertThat(readContents(file), IsEqual.equalTo(new byte[] { 4, 5 }));
+	}
+
+	@Test
+	public void openAppendCannotOpenFileThatIsInvalid() {
+		// Arrange:
+		File file = new File("fo\0o.cache");
+		file = Mockito.spy(file);
+		Mockito.when(file.exists()).thenReturn(true);
+		final AccountsFileDescriptor descriptor = new AccountsFileDescriptor(file);
+
+		// Act:
+		ExceptionAssert.assertThrowsNccException(
+				v -> descriptor.openAppend(),
+				NccException.Code.ACCOUNT_CACHE_ERROR);
+	}
+
+	//endregion
+
+	private static void writeContents(final File file, final byte[] contents) throws IOException {
+		try (final FileOutputStream os = new FileOutputStream(file)) {
+			os.write(contents);
+		}
+	}
+
+	private static byte[] readContents(final File file) throws IOException {
+		try (final FileInputStream is = new FileInputStream(file)) {
+			return IOUtils.toByteArray(is);
+		}
+	}
 }
\ No newline at end of file
@@ -1,14 +1,15 @@
 package org.nem.ncc.cache;
 
-import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.*;
 import org.junit.*;
 import org.mockito.Mockito;
 import org.nem.core.model.ncc.AccountInfo;
-import org.nem.core.serialization.JsonSerializer;
+import org.nem.core.serialization.*;
 import org.nem.ncc.exceptions.NccException;
 import org.nem.ncc.test.*;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 public class AccountsFileRepositoryTest {
@@ -29,10 +30,20 @@ public class AccountsFileRepositoryTest {
 		// Assert:
 		Assert.assertThat(
 				outputStream.toByteArray(),
-				IsEqual.equalTo(getBinaryPayload(1, accounts)));
+				IsEqual.equalTo(getBinaryPayload(2, accounts)));
 	}
 
 	private static byte[] getBinaryPayload(final int version, final Collection<AccountInfo> accountInfos) {
+		return BinarySerializer.serializeToBytes(serializer -> {
+			serializer.writeInt("version", version);
+			serializer.writeInt("count", accountInfos.size());
+			for (final AccountInfo accountInfo : accountInfos) {
+				serializer.writeBytes("account", BinarySerializer.serializeToBytes(accountInfo));
+			}
+		});
+	}
+
+	private static byte[] getJsonPayload(final int version, final Collection<AccountInfo> accountInfos) {
 		return JsonSerializer.serializeToBytes(serializer -> {
 			serializer.writeInt("version", version);
 			serializer.writeObjectArray("accounts", accountInfos);
@@ -57,12 +68,10 @@ public class AccountsFileRepositoryTest {
 	//region load
 
 	@Test
-	public void canLoadAccountsFromReadStream() {
+	public void canLoadAccountsFromBinaryPayload() {
 		// Arrange:
 		final List<AccountInfo> originalAccounts = Utils.generateRandomAccountInfos(3);
-		final AccountsFileDescriptor descriptor = Mockito.mock(AccountsFileDescriptor.class);
-		final ByteArrayInputStream inputStream = new ByteArrayInputStream(getBinaryPayload(1, originalAccounts));
-		Mockito.when(descriptor.openRead()).thenReturn(inputStream);
+		final AccountsFileDescriptor descriptor = createDescriptor(getBinaryPayload(2, originalAccounts));
 
 		// Act:
 		final Collection<AccountInfo> accounts = new AccountsFileRepository(descriptor).load();
@@ -72,26 +81,96 @@ public class AccountsFileRepositoryTest {
 	}
 
 	@Test
-	public void cannotLoadAccountsFromReadStreamWithIncompatibleVersion() {
+	public void canLoadAccountsFromJsonPayload() {
 		// Arrange:
 		final List<AccountInfo> originalAccounts = Utils.generateRandomAccountInfos(3);
-		final AccountsFileDescriptor descriptor = Mockito.mock(AccountsFileDescriptor.class);
-		final ByteArrayInputStream inputStream = new ByteArrayInputStream(getBinaryPayload(2, originalAccounts));
-		Mockito.when(descriptor.openRead()).thenReturn(inputStream);
+		final AccountsFileDescriptor descriptor = createDescriptor(getJsonPayload(1, originalAccounts));
 
 		// Act:
 		final Collection<AccountInfo> accounts = new AccountsFileRepository(descriptor).load();
 
 		// Assert:
+		Assert.assertThat(accounts, IsEquivalent.equivalentTo(originalAccounts));
+	}
+
+	@Test
+	public void cannotLoadAccountsFromBinaryPayloadWithUndecodableAccount() {
+		// Arrange: the last account is empty, so it can only fail when it is decoded
+		final List<AccountInfo> originalAccounts = Utils.generateRandomAccountInfos(2);
+		final AccountsFileDescriptor descriptor = createDescriptor(BinarySerializer.serializeToBytes(serializer -> {
+			serializer.writeInt("version", 2);
+			serializer.writeInt("count", 3);
+			for (final AccountInfo accountInfo : originalAccounts) {
+				serializer.writeBytes("account", BinarySerializer.serializeToBytes(accountInfo));
+			}
+
+			serializer.writeBytes("account", new byte[0]);
+		}));
+
+		// Act:
+		final Collection<AccountInfo> accounts = new AccountsFileRepository(descriptor).load();
+
+		// Assert: all accounts are decoded when they are loaded
 		Assert.assertThat(accounts.size(), IsEqual.equalTo(0));
 	}
 
 	@Test
-	public void canLoadAccountsFromEmptyReadStream() {
+	public void cannotLoadAccountsFromJsonPayloadWithIncompatibleVersion() {
 		// Arrange:
-		final AccountsFileDescriptor descriptor = Mockito.mock(AccountsFileDescriptor.class);
-		final ByteArrayInputStream inputStream = new ByteArrayInputStream(new byte[] { });
-		Mockito.when(descriptor.openRead()).thenReturn(inputStream);
+		final List<AccountInfo> originalAccounts = Utils.generateRandomAccountInfos(3);
+		final AccountsFileDescriptor descriptor = createDescriptor(getJsonPayload(2, originalAccounts));
+
+		// Act:
+		final Collection<AccountInfo> accounts = new AccountsFileRepository(descriptor).load();
+
+		// Assert:
+		Assert.assertThat(accounts.size(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void cannotLoadAccountsFromBinaryPayloadWithIncompatibleVersion() {
+		// Arrange:
+		final List<AccountInfo> originalAccounts = Utils.generateRandomAccountInfos(3);
+		final AccountsFileDescriptor descriptor = createDescriptor(getBinaryPayload(3, originalAccounts));
+
+		// Act:
+		final Collection<AccountInfo> accounts = new AccountsFileRepository(descriptor).load();
+
+		// Assert:
+		Assert.assertThat(accounts.size(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void cannotLoadAccountsFromTruncatedBinaryPayload() {
+		// Arrange:
+		final byte[] payload = getBinaryPayload(2, Utils.generateRandomAccountInfos(3));
+		final AccountsFileDescriptor descriptor = createDescriptor(Arrays.copyOf(payload, payload.length - 1));
+
+		// Act:
+		final Collection<AccountInfo> accounts = new AccountsFileRepository(descriptor).load();
+
+		// Assert:
+		Assert.assertThat(accounts.size(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void cannotLoadAccountsFromBinaryPayloadWithInvalidCount() {
+		// Arrange:
+		final byte[] payload = getBinaryPayload(2, Utils.generateRandomAccountInfos(3));
+		payload[7] = (byte)0x80; // make the count negative
+		final AccountsFileDescriptor descriptor = createDescriptor(payload);
+
+		// Act:
+		final Collection<AccountInfo> accounts = new AccountsFileRepository(descriptor).load();
+
+		// Assert:
+		Assert.assertThat(accounts.size(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void canLoadAccountsFromEmptyFile() {
+		// Arrange:
+		final AccountsFileDescriptor descriptor = createDescriptor(new byte[] { });
 
 		// Act:
 		final Collection<AccountInfo> accounts = new AccountsFileRepository(descriptor).load();
@@ -104,7 +183,7 @@ public class AccountsFileRepositoryTest {
 	public void loadFailureIsSuppressed() {
 		// Arrange:
 		final AccountsFileDescriptor descriptor = Mockito.mock(AccountsFileDescriptor.class);
-		Mockito.when(descriptor.openRead()).thenReturn(CorruptStreams.createRead());
+		Mockito.when(descriptor.readAll()).thenThrow(new NccException(NccException.Code.ACCOUNT_CACHE_ERROR));
 
 		// Act:
 		final Collection<AccountInfo> accounts = new AccountsFileRepository(descriptor).load();
@@ -115,6 +194,60 @@ public class AccountsFileRepositoryTest {
 
 	//endregion
 
+	//region legacy file
+
+	@Test
+	public void accountsAreLoadedFromLegacyFileWhenFileIsEmpty() {
+		// Arrange:
+		final AccountsFileDescriptor descriptor = createDescriptor(new byte[] { });
+		final List<AccountInfo> originalAccounts = Utils.generateRandomAccountInfos(3);
+		final AccountsFileDescriptor legacyDescriptor = createDescriptor(getJsonPayload(1, originalAccounts));
+
+		// Act:
+		final Collection<AccountInfo> accounts = new AccountsFileRepository(descriptor, legacyDescriptor).load();
+
+		// Assert:
+		Assert.assertThat(accounts, IsEquivalent.equivalentTo(originalAccounts));
+	}
+
+	@Test
+	public void accountsAreNotLoadedFromLegacyFileWhenFileIsNotEmpty() {
+		// Arrange:
+		final List<AccountInfo> originalAccounts = Utils.generateRandomAccountInfos(2);
+		final AccountsFileDescriptor descriptor = createDescriptor(getBinaryPayload(2, originalAccounts));
+		final AccountsFileDescriptor legacyDescriptor = createDescriptor(getJsonPayload(1, Utils.generateRandomAccountInfos(3)));
+
+		// Act:
+		final Collection<AccountInfo> accounts = new AccountsFileRepository(descriptor, legacyDescriptor).load();
+
+		// Assert:
+		Assert.assertThat(accounts, IsEquivalent.equivalentTo(originalAccounts));
+		Mockito.verify(legacyDescriptor, Mockito.never()).readAll();
+	}
+
+	@Test
+	public void accountsAreNotSavedToLegacyFile() {
+		// Arrange:
+		final AccountsFileDescriptor descriptor = Mockito.mock(AccountsFileDescriptor.class);
+		final AccountsFileDescriptor legacyDescriptor = Mockito.mock(AccountsFileDescriptor.class);
+		Mockito.when(descriptor.openWrite()).thenReturn(new ByteArrayOutputStream());
+
+		// Act:
+		new AccountsFileRepository(descriptor, legacyDescriptor).save(Utils.generateRandomAccountInfos(3));
+
+		// Assert:
+		Mockito.verify(descriptor, Mockito.only()).openWrite();
+		Mockito.verifyZeroInteractions(legacyDescriptor);
+	}
+
+	private static AccountsFileDescriptor createDescriptor(final byte[] contents) {
+		final AccountsFileDescriptor descriptor = Mockito.mock(AccountsFileDescriptor.class);
+		Mockito.when(descriptor.readAll()).thenReturn(ByteBuffer.wrap(contents));
+		return descriptor;
+	}
+
+	//endregion
+
 	@Test
 	public void accountsCanBeRoundTripped() {
 		// Arrange:
@@ -128,11 +261,11 @@ public class AccountsFileRepositoryTest {
 		// Act:
 		repository.save(originalAccounts);
 
-		Mockito.when(descriptor.openRead()).thenReturn(new ByteArrayInputStream(outputStream.toByteArray()));
+		Mockito.when(descriptor.readAll()).thenReturn(ByteBuffer.wrap(outputStream.toByteArray()));
 
 		final Collection<AccountInfo> accounts = repository.load();
 
 		// Assert:
 		Assert.assertThat(accounts, IsEquivalent.equivalentTo(originalAccounts));
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,226 @@
+package org.nem.ncc.cache;
+
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.model.ncc.AccountInfo;
+import org.nem.core.serialization.JsonSerializer;
+import org.nem.ncc.exceptions.NccException;
+import org.nem.ncc.test.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class AccountsJournalTest {
+
+	//region append
+
+	@Test
+	public void appendWritesOneLinePerAccount() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final List<AccountInfo> accounts = Utils.generateRandomAccountInfos(3);
+
+		// Act:
+		context.journal.append(accounts);
+
+		// Assert: the records start on a new line in case the previous append was cut off
+		Assert.assertThat(context.outputStream.toString(), IsEqual.equalTo("\n" + toJournal(accounts)));
+		Assert.assertThat(context.journal.getNumRecords(), IsEqual.equalTo(3));
+	}
+
+	@Test
+	public void appendAccumulatesRecords() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.journal.append(Utils.generateRandomAccountInfos(3));
+		context.journal.append(Utils.generateRandomAccountInfos(2));
+
+		// Assert:
+		Assert.assertThat(context.journal.getNumRecords(), IsEqual.equalTo(5));
+		Mockito.verify(context.descriptor, Mockito.times(2)).openAppend();
+	}
+
+	@Test
+	public void appendOfNoAccountsDoesNotOpenJournal() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.journal.append(new ArrayList<>());
+
+		// Assert:
+		Assert.assertThat(context.journal.getNumRecords(), IsEqual.equalTo(0));
+		Mockito.verify(context.descriptor, Mockito.never()).openAppend();
+	}
+
+	@Test
+	public void appendFailureIsMappedToAppropriateException() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.descriptor.openAppend()).thenReturn(CorruptStreams.createWrite());
+
+		// Assert:
+		ExceptionAssert.assertThrowsNccException(
+				v -> context.journal.append(Utils.generateRandomAccountInfos(3)),
+				NccException.Code.ACCOUNT_CACHE_ERROR);
+		Assert.assertThat(context.journal.getNumRecords(), IsEqual.equalTo(0));
+	}
+
+	//endregion
+
+	//region clear
+
+	@Test
+	public void clearReplacesJournalWithEmptyJournal() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		Mockito.when(context.descriptor.openWrite()).thenReturn(outputStream);
+		context.journal.append(Utils.generateRandomAccountInfos(3));
+
+		// Act:
+		context.journal.clear();
+
+		// Assert:
+		Assert.assertThat(outputStream.size(), IsEqual.equalTo(0));
+		Assert.assertThat(context.journal.getNumRecords(), IsEqual.equalTo(0));
+		Mockito.verify(context.descriptor, Mockito.times(1)).openWrite();
+	}
+
+	//endregion
+
+	//region load
+
+	@Test
+	public void loadReturnsAllAccountsInOrder() {
+		// Arrange:
+		final List<AccountInfo> accounts = Utils.generateRandomAccountInfos(3);
+		final TestContext context = new TestContext(toJournal(accounts));
+
+		// Act:
+		final List<AccountInfo> loadedAccounts = context.journal.load();
+
+		// Assert:
+		Assert.assertThat(loadedAccounts, IsEqual.equalTo(accounts));
+		Assert.assertThat(context.journal.getNumRecords(), IsEqual.equalTo(3));
+	}
+
+	@Test
+	public void loadReturnsNoAccountsWhenJournalIsEmpty() {
+		// Arrange:
+		final TestContext context = new TestContext("");
+
+		// Act:
+		final List<AccountInfo> loadedAccounts = context.journal.load();
+
+		// Assert:
+		Assert.assertThat(loadedAccounts.isEmpty(), IsEqual.equalTo(true));
+		Assert.assertThat(context.journal.getNumRecords(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void loadSkipsPartiallyWrittenRecord() {
+		// Arrange: simulate a crash while the last record was being appended
+		final List<AccountInfo> accounts = Utils.generateRandomAccountInfos(3);
+		final String journal = toJournal(accounts);
+		final TestContext context = new TestContext(journal.substring(0, journal.length() - 20));
+
+		// Act:
+		final List<AccountInfo> loadedAccounts = context.journal.load();
+
+		// Assert:
+		Assert.assertThat(loadedAccounts, IsEqual.equalTo(accounts.subList(0, 2)));
+		Assert.assertThat(context.journal.getNumRecords(), IsEqual.equalTo(3));
+	}
+
+	@Test
+	public void recordsAppendedAfterPartiallyWrittenRecordCanBeLoaded() throws IOException {
+		// Arrange: simulate a crash while the last record was being appended
+		final List<AccountInfo> accounts = Utils.generateRandomAccountInfos(3);
+		final String journal = toJournal(accounts.subList(0, 2));
+		final TestContext context = new TestContext();
+		context.outputStream.write(journal.substring(0, journal.length() - 20).getBytes(StandardCharsets.UTF_8));
+		context.journal.append(accounts.subList(2, 3));
+		Mockito.when(context.descriptor.openRead()).thenReturn(new ByteArrayInputStream(context.outputStream.toByteArray()));
+
+		// Act:
+		final List<AccountInfo> loadedAccounts = context.journal.load();
+
+		// Assert:
+		Assert.assertThat(loadedAccounts, IsEqual.equalTo(Arrays.asList(accounts.get(0), accounts.get(2))));
+		Assert.assertThat(context.journal.getNumRecords(), IsEqual.equalTo(3));
+	}
+
+	@Test
+	public void loadSkipsCorruptRecords() {
+		// Arrange:
+		final List<AccountInfo> accounts = Utils.generateRandomAccountInfos(2);
+		final String journal = toJournal(accounts.subList(0, 1)) + "{\"foo\":7}\nbadness\n" + toJournal(accounts.subList(1, 2));
+		final TestContext context = new TestContext(journal);
+
+		// Act:
+		final List<AccountInfo> loadedAccounts = context.journal.load();
+
+		// Assert:
+		Assert.assertThat(loadedAccounts, IsEqual.equalTo(accounts));
+		Assert.assertThat(context.journal.getNumRecords(), IsEqual.equalTo(4));
+	}
+
+	@Test
+	public void loadReturnsNoAccountsWhenJournalCannotBeRead() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.descriptor.openRead()).thenReturn(CorruptStreams.createRead());
+
+		// Act:
+		final List<AccountInfo> loadedAccounts = context.journal.load();
+
+		// Assert:
+		Assert.assertThat(loadedAccounts.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void loadedAccountsRoundTripThroughAppend() {
+		// Arrange:
+		final List<AccountInfo> accounts = Utils.generateRandomAccountInfos(3);
+		final TestContext context = new TestContext();
+		context.journal.append(accounts);
+		Mockito.when(context.descriptor.openRead()).thenReturn(new ByteArrayInputStream(context.outputStream.toByteArray()));
+
+		// Act:
+		final List<AccountInfo> loadedAccounts = context.journal.load();
+
+		// Assert:
+		Assert.assertThat(loadedAccounts, IsEqual.equalTo(accounts));
+	}
+
+	//endregion
+
+	private static String toJournal(final List<AccountInfo> accounts) {
+		final StringBuilder builder = new StringBuilder();
+		for (final AccountInfo account : accounts) {
+			builder.append(JsonSerializer.serializeToJson(account).toJSONString()).append('\n');
+		}
+
+		return builder.toString();
+	}
+
+	private static class TestContext {
+		private final AccountsFileDescriptor descriptor = Mockito.mock(AccountsFileDescriptor.class);
+		private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		private final AccountsJournal journal = new AccountsJournal(this.descriptor);
+
+		public TestContext() {
+			Mockito.when(this.descriptor.openAppend()).thenReturn(this.outputStream);
+		}
+
+		public TestContext(final String contents) {
+			this();
+			Mockito.when(this.descriptor.openRead()).thenReturn(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)));
+		}
+	}
+}
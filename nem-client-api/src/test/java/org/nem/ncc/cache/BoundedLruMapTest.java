@@ -0,0 +1,363 @@
+package org.nem.ncc.cache;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.nem.ncc.test.*;
+
+import java.util.*;
+
+public class BoundedLruMapTest {
+
+	//region constructor
+
+	@Test
+	public void canCreateEmptyMap() {
+		// Act:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+
+		// Assert:
+		Assert.assertThat(map.size(), IsEqual.equalTo(0));
+		Assert.assertThat(map.getNumEvictions(), IsEqual.equalTo(0L));
+		Assert.assertThat(map.values().isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void cannotCreateMapWithNonPositiveMaxSize() {
+		// Act:
+		for (final int maxSize : Arrays.asList(0, -1)) {
+			ExceptionAssert.assertThrows(v -> new BoundedLruMap<Integer, String>(maxSize, key -> false), IllegalArgumentException.class);
+		}
+	}
+
+	//endregion
+
+	//region get / put
+
+	@Test
+	public void canGetPutValue() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+
+		// Act:
+		map.put(1, "a");
+		map.put(2, "b");
+		map.put(1, "c");
+
+		// Assert:
+		Assert.assertThat(map.size(), IsEqual.equalTo(2));
+		Assert.assertThat(map.get(1), IsEqual.equalTo("c"));
+		Assert.assertThat(map.get(2), IsEqual.equalTo("b"));
+		Assert.assertThat(map.get(3), IsNull.nullValue());
+		Assert.assertThat(map.peek(1), IsEqual.equalTo("c"));
+		Assert.assertThat(map.peek(3), IsNull.nullValue());
+		Assert.assertThat(map.containsKey(1), IsEqual.equalTo(true));
+		Assert.assertThat(map.containsKey(3), IsEqual.equalTo(false));
+		Assert.assertThat(map.values(), IsEquivalent.equivalentTo(Arrays.asList("c", "b")));
+	}
+
+	@Test
+	public void putIfAbsentOnlySetsValueIfKeyIsNotPresent() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+		map.put(1, "a");
+
+		// Act:
+		final boolean isSet1 = map.putIfAbsent(1, "b");
+		final boolean isSet2 = map.putIfAbsent(2, "c");
+
+		// Assert:
+		Assert.assertThat(isSet1, IsEqual.equalTo(false));
+		Assert.assertThat(isSet2, IsEqual.equalTo(true));
+		Assert.assertThat(map.get(1), IsEqual.equalTo("a"));
+		Assert.assertThat(map.get(2), IsEqual.equalTo("c"));
+	}
+
+	@Test
+	public void computeReplacesOrAddsValue() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+		map.put(1, "a");
+
+		// Act:
+		final String value1 = map.compute(1, (key, value) -> value + "b");
+		final String value2 = map.compute(2, (key, value) -> null == value ? "c" : "d");
+
+		// Assert:
+		Assert.assertThat(value1, IsEqual.equalTo("ab"));
+		Assert.assertThat(value2, IsEqual.equalTo("c"));
+		Assert.assertThat(map.get(1), IsEqual.equalTo("ab"));
+		Assert.assertThat(map.get(2), IsEqual.equalTo("c"));
+	}
+
+	@Test
+	public void computeRemovesValueWhenFunctionReturnsNull() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+		map.put(1, "a");
+
+		// Act:
+		final String value = map.compute(1, (key, v) -> null);
+
+		// Assert:
+		Assert.assertThat(value, IsNull.nullValue());
+		Assert.assertThat(map.containsKey(1), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void computeIfPresentOnlyReplacesValueIfKeyIsPresent() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+		map.put(1, "a");
+
+		// Act:
+		final String value1 = map.computeIfPresent(1, (key, value) -> value + "b");
+		final String value2 = map.computeIfPresent(2, (key, value) -> "c");
+
+		// Assert:
+		Assert.assertThat(value1, IsEqual.equalTo("ab"));
+		Assert.assertThat(value2, IsNull.nullValue());
+		Assert.assertThat(map.get(1), IsEqual.equalTo("ab"));
+		Assert.assertThat(map.containsKey(2), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void canRemoveValue() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+		map.put(1, "a");
+		map.put(2, "b");
+
+		// Act:
+		map.remove(1);
+		map.remove(3);
+
+		// Assert:
+		Assert.assertThat(map.size(), IsEqual.equalTo(1));
+		Assert.assertThat(map.containsKey(1), IsEqual.equalTo(false));
+		Assert.assertThat(map.getNumEvictions(), IsEqual.equalTo(0L));
+	}
+
+	//endregion
+
+	//region eviction
+
+	@Test
+	public void mapDoesNotEvictEntriesUpToMaxSize() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+
+		// Act:
+		putAll(map, 0, 10);
+
+		// Assert:
+		Assert.assertThat(map.size(), IsEqual.equalTo(10));
+		Assert.assertThat(map.getNumEvictions(), IsEqual.equalTo(0L));
+	}
+
+	@Test
+	public void mapEvictsLeastRecentlyPutEntriesWhenMaxSizeIsExceeded() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+
+		// Act:
+		putAll(map, 0, 11);
+
+		// Assert: the map is shrunk to 90% of its maximum size
+		Assert.assertThat(map.size(), IsEqual.equalTo(9));
+		Assert.assertThat(map.getNumEvictions(), IsEqual.equalTo(2L));
+		Assert.assertThat(map.containsKey(0), IsEqual.equalTo(false));
+		Assert.assertThat(map.containsKey(1), IsEqual.equalTo(false));
+		Assert.assertThat(map.containsKey(2), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void putIfAbsentEvictsEntriesWhenMaxSizeIsExceeded() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+		putAll(map, 0, 10);
+
+		// Act:
+		map.putIfAbsent(10, "10");
+
+		// Assert:
+		Assert.assertThat(map.size(), IsEqual.equalTo(9));
+		Assert.assertThat(map.containsKey(0), IsEqual.equalTo(false));
+		Assert.assertThat(map.containsKey(10), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void getMarksEntryAsRecentlyUsed() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+		putAll(map, 0, 10);
+		map.get(0);
+
+		// Act:
+		map.put(10, "10");
+
+		// Assert:
+		Assert.assertThat(map.containsKey(0), IsEqual.equalTo(true));
+		Assert.assertThat(map.containsKey(1), IsEqual.equalTo(false));
+		Assert.assertThat(map.containsKey(2), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void containsKeyDoesNotMarkEntryAsRecentlyUsed() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+		putAll(map, 0, 10);
+		map.containsKey(0);
+
+		// Act:
+		map.put(10, "10");
+
+		// Assert:
+		Assert.assertThat(map.containsKey(0), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void peekDoesNotMarkEntryAsRecentlyUsed() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+		putAll(map, 0, 10);
+		final String value = map.peek(0);
+
+		// Act:
+		map.put(10, "10");
+
+		// Assert:
+		Assert.assertThat(value, IsEqual.equalTo("0"));
+		Assert.assertThat(map.containsKey(0), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void pinnedEntriesAreNotEvicted() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> key < 5);
+
+		// Act: 5 pinned and 11 unpinned entries
+		putAll(map, 0, 16);
+
+		// Assert: the unpinned entries are shrunk to 90% of the maximum size
+		Assert.assertThat(map.size(), IsEqual.equalTo(14));
+		for (int i = 0; i < 5; ++i) {
+			Assert.assertThat(map.containsKey(i), IsEqual.equalTo(true));
+		}
+
+		Assert.assertThat(map.containsKey(5), IsEqual.equalTo(false));
+		Assert.assertThat(map.containsKey(6), IsEqual.equalTo(false));
+		Assert.assertThat(map.containsKey(7), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void pinnedEntriesDoNotCountTowardsMaxSize() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> key < 5);
+
+		// Act: 5 pinned and 10 unpinned entries
+		putAll(map, 0, 15);
+
+		// Assert:
+		Assert.assertThat(map.size(), IsEqual.equalTo(15));
+		Assert.assertThat(map.getNumEvictions(), IsEqual.equalTo(0L));
+	}
+
+	@Test
+	public void mapDoesNotSweepOnEveryPutWhenPinnedEntriesReachMaxSize() {
+		// Arrange:
+		final int[] numPinnedChecks = new int[1];
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> {
+			++numPinnedChecks[0];
+			return key < 10;
+		});
+
+		// Act: 10 pinned and 10 unpinned entries
+		putAll(map, 0, 20);
+
+		// Assert: only a single sweep (when the eleventh entry was put) checked the (then eleven) entries
+		Assert.assertThat(numPinnedChecks[0], IsEqual.equalTo(11));
+		Assert.assertThat(map.size(), IsEqual.equalTo(20));
+		Assert.assertThat(map.getNumEvictions(), IsEqual.equalTo(0L));
+	}
+
+	@Test
+	public void mapCanExceedMaxSizeWhenAllEntriesArePinned() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> true);
+
+		// Act:
+		putAll(map, 0, 15);
+
+		// Assert:
+		Assert.assertThat(map.size(), IsEqual.equalTo(15));
+		Assert.assertThat(map.getNumEvictions(), IsEqual.equalTo(0L));
+	}
+
+	@Test
+	public void resetSweepThresholdEvictsEntriesThatAreNoLongerPinned() {
+		// Arrange:
+		final boolean[] isPinned = new boolean[] { true };
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> isPinned[0] && key < 10);
+		putAll(map, 0, 20);
+
+		// Act:
+		isPinned[0] = false;
+		map.resetSweepThreshold();
+
+		// Assert: the 20 unpinned entries are swept down to 9
+		Assert.assertThat(map.size(), IsEqual.equalTo(9));
+		Assert.assertThat(map.getNumEvictions(), IsEqual.equalTo(11L));
+	}
+
+	@Test
+	public void putAfterResetSweepThresholdEvictsEntriesThatAreNoLongerPinned() {
+		// Arrange:
+		final boolean[] isPinned = new boolean[] { true };
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> isPinned[0] && key < 10);
+		putAll(map, 0, 10);
+
+		// Act: the entries are unpinned while the map is not above its maximum size
+		isPinned[0] = false;
+		map.resetSweepThreshold();
+		putAll(map, 10, 11);
+
+		// Assert: the eleventh entry triggers a sweep
+		Assert.assertThat(map.size(), IsEqual.equalTo(9));
+		Assert.assertThat(map.getNumEvictions(), IsEqual.equalTo(2L));
+	}
+
+	@Test
+	public void resetSweepThresholdDoesNotEvictPinnedEntries() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> key < 10);
+		putAll(map, 0, 20);
+
+		// Act:
+		map.resetSweepThreshold();
+
+		// Assert:
+		Assert.assertThat(map.size(), IsEqual.equalTo(20));
+		Assert.assertThat(map.getNumEvictions(), IsEqual.equalTo(0L));
+	}
+
+	@Test
+	public void evictionCountAccumulatesAcrossSweeps() {
+		// Arrange:
+		final BoundedLruMap<Integer, String> map = new BoundedLruMap<>(10, key -> false);
+
+		// Act:
+		putAll(map, 0, 13);
+
+		// Assert: first sweep at 11 entries (2 evicted), second at 11 entries again (2 evicted)
+		Assert.assertThat(map.size(), IsEqual.equalTo(9));
+		Assert.assertThat(map.getNumEvictions(), IsEqual.equalTo(4L));
+	}
+
+	//endregion
+
+	private static void putAll(final BoundedLruMap<Integer, String> map, final int start, final int end) {
+		for (int i = start; i < end; ++i) {
+			map.put(i, String.valueOf(i));
+		}
+	}
+}
@@ -0,0 +1,218 @@
+package org.nem.ncc.cache;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.connect.client.NisApiId;
+import org.nem.core.model.primitive.BlockHeight;
+import org.nem.core.serialization.Deserializer;
+import org.nem.ncc.connector.PrimaryNisConnector;
+import org.nem.ncc.exceptions.NccException;
+import org.nem.ncc.test.*;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+public class ChainHeightTrackerTest {
+
+	@Test
+	public void heightIsInitiallyUnknown() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Assert:
+		Assert.assertThat(context.tracker.getHeight(), IsNull.nullValue());
+	}
+
+	@Test
+	public void refreshUpdatesHeight() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setChainHeight(17);
+
+		// Act:
+		final BlockHeight height = context.tracker.refresh().join();
+
+		// Assert:
+		Assert.assertThat(height, IsEqual.equalTo(new BlockHeight(17)));
+		Assert.assertThat(context.tracker.getHeight(), IsEqual.equalTo(new BlockHeight(17)));
+		Mockito.verify(context.connector, Mockito.only()).getAsync(NisApiId.NIS_REST_CHAIN_HEIGHT, null);
+	}
+
+	@Test
+	public void concurrentRefreshesShareSingleRequest() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Deserializer> future = new CompletableFuture<>();
+		Mockito.when(context.connector.getAsync(NisApiId.NIS_REST_CHAIN_HEIGHT, null)).thenReturn(future);
+
+		// Act:
+		final CompletableFuture<BlockHeight> future1 = context.tracker.refresh();
+		final CompletableFuture<BlockHeight> future2 = context.tracker.refresh();
+		future.complete(Utils.createDeserializerFuture(new BlockHeight(17)).join());
+
+		// Assert:
+		Assert.assertThat(future1.join(), IsEqual.equalTo(new BlockHeight(17)));
+		Assert.assertThat(future2.join(), IsEqual.equalTo(new BlockHeight(17)));
+		Mockito.verify(context.connector, Mockito.only()).getAsync(NisApiId.NIS_REST_CHAIN_HEIGHT, null);
+	}
+
+	@Test
+	public void getHeightAsyncReturnsKnownHeightWithoutRequest() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setChainHeight(17);
+		context.tracker.refresh().join();
+
+		// Act:
+		final BlockHeight height = context.tracker.getHeightAsync().join();
+
+		// Assert:
+		Assert.assertThat(height, IsEqual.equalTo(new BlockHeight(17)));
+		Mockito.verify(context.connector, Mockito.times(1)).getAsync(NisApiId.NIS_REST_CHAIN_HEIGHT, null);
+	}
+
+	@Test
+	public void getHeightAsyncRequestsHeightWhenHeightIsUnknown() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setChainHeight(17);
+
+		// Act:
+		final BlockHeight height = context.tracker.getHeightAsync().join();
+
+		// Assert:
+		Assert.assertThat(height, IsEqual.equalTo(new BlockHeight(17)));
+		Assert.assertThat(context.tracker.getHeight(), IsEqual.equalTo(new BlockHeight(17)));
+		Mockito.verify(context.connector, Mockito.times(1)).getAsync(NisApiId.NIS_REST_CHAIN_HEIGHT, null);
+	}
+
+	@Test
+	public void listenersAreNotifiedWhenHeightChanges() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final List<BlockHeight> heights = new ArrayList<>();
+		context.tracker.addHeightChangedListener(heights::add);
+
+		// Act:
+		context.setChainHeight(17);
+		context.tracker.refresh().join();
+		context.setChainHeight(18);
+		context.tracker.refresh().join();
+
+		// Assert:
+		Assert.assertThat(heights, IsEqual.equalTo(Arrays.asList(new BlockHeight(17), new BlockHeight(18))));
+	}
+
+	@Test
+	public void listenersAreNotNotifiedWhenHeightIsUnchanged() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final List<BlockHeight> heights = new ArrayList<>();
+		context.tracker.addHeightChangedListener(heights::add);
+
+		// Act:
+		context.setChainHeight(17);
+		context.tracker.refresh().join();
+		context.tracker.refresh().join();
+
+		// Assert:
+		Assert.assertThat(heights, IsEqual.equalTo(Arrays.asList(new BlockHeight(17))));
+	}
+
+	@Test
+	public void heightIsKeptAfterFewFailedRefreshes() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setChainHeight(17);
+		context.tracker.refresh().join();
+		context.setChainHeightFailure();
+
+		// Act:
+		for (int i = 0; i < 2; ++i) {
+			ExceptionAssert.assertThrowsCompletionException(v -> context.tracker.refresh().join(), NccException.class);
+		}
+
+		// Assert:
+		Assert.assertThat(context.tracker.getHeight(), IsEqual.equalTo(new BlockHeight(17)));
+	}
+
+	@Test
+	public void heightExpiresAfterManyConsecutiveFailedRefreshes() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setChainHeight(17);
+		context.tracker.refresh().join();
+		context.setChainHeightFailure();
+
+		// Act:
+		for (int i = 0; i < 3; ++i) {
+			ExceptionAssert.assertThrowsCompletionException(v -> context.tracker.refresh().join(), NccException.class);
+		}
+
+		// Assert:
+		Assert.assertThat(context.tracker.getHeight(), IsNull.nullValue());
+		ExceptionAssert.assertThrowsCompletionException(v -> context.tracker.getHeightAsync().join(), NccException.class);
+	}
+
+	@Test
+	public void successfulRefreshResetsFailedRefreshes() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setChainHeightFailure();
+		for (int i = 0; i < 2; ++i) {
+			ExceptionAssert.assertThrowsCompletionException(v -> context.tracker.refresh().join(), NccException.class);
+		}
+
+		context.setChainHeight(17);
+		context.tracker.refresh().join();
+		context.setChainHeightFailure();
+
+		// Act:
+		for (int i = 0; i < 2; ++i) {
+			ExceptionAssert.assertThrowsCompletionException(v -> context.tracker.refresh().join(), NccException.class);
+		}
+
+		// Assert:
+		Assert.assertThat(context.tracker.getHeight(), IsEqual.equalTo(new BlockHeight(17)));
+	}
+
+	@Test
+	public void heightIsRequestedAgainAfterItExpired() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setChainHeight(17);
+		context.tracker.refresh().join();
+		context.setChainHeightFailure();
+		for (int i = 0; i < 3; ++i) {
+			ExceptionAssert.assertThrowsCompletionException(v -> context.tracker.refresh().join(), NccException.class);
+		}
+
+		context.setChainHeight(18);
+
+		// Act:
+		final BlockHeight height = context.tracker.getHeightAsync().join();
+
+		// Assert:
+		Assert.assertThat(height, IsEqual.equalTo(new BlockHeight(18)));
+		Assert.assertThat(context.tracker.getHeight(), IsEqual.equalTo(new BlockHeight(18)));
+	}
+
+	private static class TestContext {
+		private final PrimaryNisConnector connector = Mockito.mock(PrimaryNisConnector.class);
+		private final ChainHeightTracker tracker = new ChainHeightTracker(this.connector);
+
+		private void setChainHeight(final long height) {
+			Mockito.when(this.connector.getAsync(NisApiId.NIS_REST_CHAIN_HEIGHT, null))
+					.then(invocationOnMock -> Utils.createDeserializerFuture(new BlockHeight(height)));
+		}
+
+		private void setChainHeightFailure() {
+			Mockito.when(this.connector.getAsync(NisApiId.NIS_REST_CHAIN_HEIGHT, null)).then(invocationOnMock -> {
+				final CompletableFuture<Deserializer> future = new CompletableFuture<>();
+				future.completeExceptionally(new NccException(NccException.Code.NIS_NOT_AVAILABLE));
+				return future;
+			});
+		}
+	}
+}
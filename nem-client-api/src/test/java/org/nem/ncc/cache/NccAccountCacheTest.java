@@ -1,6 +1,6 @@
 package org.nem.ncc.cache;
 
-import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.*;
 import org.junit.*;
 import org.mockito.Mockito;
 import org.nem.core.connect.ErrorResponse;
@@ -8,12 +8,14 @@ import org.nem.core.model.*;
 import org.nem.core.model.ncc.*;
 import org.nem.core.model.primitive.*;
 import org.nem.core.time.*;
-import org.nem.ncc.exceptions.NisException;
+import org.nem.ncc.exceptions.*;
 import org.nem.ncc.services.AccountServices;
 import org.nem.ncc.test.*;
 
 import java.util.*;
-import java.util.function.Consumer;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.*;
+import java.util.stream.Collectors;
 
 public class NccAccountCacheTest {
 
@@ -276,6 +278,48 @@ public class NccAccountCacheTest {
 		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
 	}
 
+	@Test
+	public void seedAccountsIfAbsentAddsUncachedAccounts() {
+		// Arrange:
+		final List<AccountInfo> accounts = Utils.generateRandomAccountInfos(3);
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.cache.seedAccountsIfAbsent(accounts);
+
+		// Assert:
+		Assert.assertThat(context.cache.getAccounts(), IsEquivalent.equivalentTo(accounts));
+	}
+
+	@Test
+	public void seedAccountsIfAbsentDoesNotReplaceCachedAccounts() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.cache.findPairByAddress(context.address);
+
+		// Act:
+		context.cache.seedAccountsIfAbsent(Arrays.asList(Utils.createAccountInfoFromAddress(context.address)));
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert: the looked up account is still cached and fresh
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void seedAccountsIfAbsentDoesNotReplaceEarlierSeedAccounts() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final AccountInfo account1 = Utils.createAccountInfoFromAddress(context.address);
+		final AccountInfo account2 = new AccountInfo(context.address, Amount.fromNem(7), BlockAmount.ZERO, "", 0.0);
+
+		// Act:
+		context.cache.seedAccountsIfAbsent(Arrays.asList(account1, account2));
+
+		// Assert:
+		Assert.assertThat(context.cache.getAccounts(), IsEqual.equalTo(Collections.singletonList(account1)));
+	}
+
 	//endregion
 
 	//region disconnected fallback
@@ -331,33 +375,1115 @@ public class NccAccountCacheTest {
 
 	//endregion
 
-	private static void assertAreEqual(final AccountInfo expectedInfo, final Account actualAccount) {
+	//region findPairByAddressAsync
+
+	@Test
+	public void findPairByAddressAsyncDelegatesToAccountServicesIfAccountNotInCache() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		final AccountMetaDataPair pair = context.cache.findPairByAddressAsync(context.address).join();
+
 		// Assert:
-		Assert.assertThat(actualAccount.getAddress(), IsEqual.equalTo(expectedInfo.getAddress()));
-		Assert.assertThat(actualAccount.getKeyPair().getPublicKey(), IsEqual.equalTo(expectedInfo.getKeyPair().getPublicKey()));
-		Assert.assertThat(actualAccount.getBalance(), IsEqual.equalTo(expectedInfo.getBalance()));
-		Assert.assertThat(actualAccount.getForagedBlocks(), IsEqual.equalTo(expectedInfo.getNumForagedBlocks()));
-		Assert.assertThat(actualAccount.getLabel(), IsEqual.equalTo(expectedInfo.getLabel()));
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPairAsync(context.address);
+		Mockito.verify(context.accountServices, Mockito.never()).getAccountMetaDataPair(Mockito.any());
 	}
 
-	private static class TestContext {
-		private final Address address = Address.fromEncoded("sigma");
-		private final AccountMetaDataPair pair1 = new AccountMetaDataPair(Utils.generateRandomAccountInfo(), null);
-		private final AccountMetaDataPair pair2 = new AccountMetaDataPair(Utils.generateRandomAccountInfo(), null);
+	@Test
+	public void findPairByAddressAsyncUsesCachedValueIfCachedAccountIsNotExpired() {
+		// Arrange:
+		final TestContext context = new TestContext();
 
-		private final AccountServices accountServices = Mockito.mock(AccountServices.class);
-		private final TimeProvider timeProvider = Mockito.mock(TimeProvider.class);
-		private final NccAccountCache cache = new NccAccountCache(this.accountServices, this.timeProvider, 60);
+		// Act:
+		context.cache.findPairByAddress(context.address);
+		final AccountMetaDataPair pair = context.cache.findPairByAddressAsync(context.address).join();
 
-		public TestContext() {
-			Mockito.when(this.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(52));
-			Mockito.when(this.accountServices.getAccountMetaDataPair(this.address))
-					.thenReturn(this.pair1, this.pair2);
-		}
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPair(context.address);
+		Mockito.verify(context.accountServices, Mockito.never()).getAccountMetaDataPairAsync(Mockito.any());
+	}
 
-		public void setAccountServicesFailure() {
-			Mockito.when(this.accountServices.getAccountMetaDataPair(Mockito.any()))
-					.thenThrow(new NisException(new ErrorResponse(TimeInstant.ZERO, "badness", 17)));
+	@Test
+	public void findPairByAddressAsyncDelegatesToAccountServicesIfCachedAccountIsExpired() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(52), new TimeInstant(52 + 61));
+
+		// Act:
+		context.cache.findPairByAddressAsync(context.address).join();
+		final AccountMetaDataPair pair = context.cache.findPairByAddressAsync(context.address).join();
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair2));
+		Mockito.verify(context.accountServices, Mockito.times(2)).getAccountMetaDataPairAsync(context.address);
+	}
+
+	@Test
+	public void findPairByAddressAsyncUpdatesCache() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.cache.findPairByAddressAsync(context.address).join();
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Assert.assertThat(context.cache.isKnownAddress(context.address), IsEqual.equalTo(true));
+		Mockito.verify(context.accountServices, Mockito.never()).getAccountMetaDataPair(Mockito.any());
+	}
+
+	@Test
+	public void findPairByAddressAsyncFailsIfAccountIsNotInCacheAndNisIsDisconnected() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setAccountServicesFailure();
+
+		// Act:
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> context.cache.findPairByAddressAsync(Utils.generateRandomAddress()).join(),
+				NisException.class);
+	}
+
+	@Test
+	public void findPairByAddressAsyncSucceedsIfAccountIsInCacheAndNisIsDisconnected() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(5000));
+		context.cache.findPairByAddress(context.address); // initially cache the account
+		context.setAccountServicesFailure(); // fail the services lookup
+
+		// Act: retrieve the (expired) pair
+		final AccountMetaDataPair pair = context.cache.findPairByAddressAsync(context.address).join();
+
+		// Assert: the expired pair is returned
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPairAsync(context.address);
+	}
+
+	//endregion
+
+	//region refreshAsync
+
+	@Test
+	public void refreshAsyncRefreshesAccountThatHasNotExpired() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.cache.findPairByAddress(context.address); // initially cache the account
+		Mockito.when(context.accountServices.getAccountMetaDataPairAsync(context.address))
+				.thenReturn(CompletableFuture.completedFuture(context.pair2));
+
+		// Act:
+		final AccountMetaDataPair refreshedPair = context.cache.refreshAsync(context.address).join();
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(refreshedPair, IsEqual.equalTo(context.pair2));
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair2));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void refreshAsyncAddsUncachedAccount() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.cache.refreshAsync(context.address).join();
+
+		// Assert:
+		Assert.assertThat(context.cache.isKnownAddress(context.address), IsEqual.equalTo(true));
+		Assert.assertThat(context.cache.findPairByAddress(context.address), IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.never()).getAccountMetaDataPair(Mockito.any());
+	}
+
+	@Test
+	public void refreshAsyncJoinsRefreshInFlight() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<AccountMetaDataPair> future = context.setPendingAsyncLookup();
+
+		// Act:
+		final CompletableFuture<AccountMetaDataPair> result1 = context.cache.refreshAsync(context.address);
+		final CompletableFuture<AccountMetaDataPair> result2 = context.cache.refreshAsync(context.address);
+		future.complete(context.pair2);
+
+		// Assert:
+		Assert.assertThat(result1.join(), IsEqual.equalTo(context.pair2));
+		Assert.assertThat(result2.join(), IsEqual.equalTo(context.pair2));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPairAsync(context.address);
+	}
+
+	//endregion
+
+	//region refreshIfExpiredAsync
+
+	@Test
+	public void refreshIfExpiredAsyncDoesNotRefreshAccountThatHasNotExpired() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.cache.findPairByAddress(context.address); // initially cache the account
+
+		// Act:
+		final AccountMetaDataPair pair = context.cache.refreshIfExpiredAsync(context.address).join();
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPair(context.address);
+		Mockito.verify(context.accountServices, Mockito.never()).getAccountMetaDataPairAsync(Mockito.any());
+	}
+
+	@Test
+	public void refreshIfExpiredAsyncRefreshesAccountAfterChainHeightChange() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.cache.setChainHeight(new BlockHeight(10));
+		context.cache.findPairByAddress(context.address); // initially cache the account
+		Mockito.when(context.accountServices.getAccountMetaDataPairAsync(context.address))
+				.thenReturn(CompletableFuture.completedFuture(context.pair2));
+
+		// Act:
+		context.cache.setChainHeight(new BlockHeight(11));
+		final AccountMetaDataPair pair = context.cache.refreshIfExpiredAsync(context.address).join();
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair2));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPairAsync(context.address);
+	}
+
+	@Test
+	public void refreshIfExpiredAsyncAddsUncachedAccount() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		final AccountMetaDataPair pair = context.cache.refreshIfExpiredAsync(context.address).join();
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Assert.assertThat(context.cache.isKnownAddress(context.address), IsEqual.equalTo(true));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPairAsync(context.address);
+	}
+
+	//endregion
+
+	//region stampede protection
+
+	@Test
+	public void concurrentAsyncLookupsOfUncachedAccountShareSingleRefresh() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<AccountMetaDataPair> future = context.setPendingAsyncLookup();
+
+		// Act:
+		final CompletableFuture<AccountMetaDataPair> result1 = context.cache.findPairByAddressAsync(context.address);
+		final CompletableFuture<AccountMetaDataPair> result2 = context.cache.findPairByAddressAsync(context.address);
+		future.complete(context.pair1);
+
+		// Assert:
+		Assert.assertThat(result1.join(), IsEqual.equalTo(context.pair1));
+		Assert.assertThat(result2.join(), IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPairAsync(context.address);
+	}
+
+	@Test
+	public void asyncLookupOfExpiredAccountReturnsExpiredValueWhileRefreshIsInFlight() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(5000));
+		context.cache.findPairByAddress(context.address); // initially cache the account
+		final CompletableFuture<AccountMetaDataPair> future = context.setPendingAsyncLookup();
+		final CompletableFuture<AccountMetaDataPair> refreshResult = context.cache.findPairByAddressAsync(context.address);
+
+		// Act:
+		final CompletableFuture<AccountMetaDataPair> result = context.cache.findPairByAddressAsync(context.address);
+
+		// Assert:
+		Assert.assertThat(result.isDone(), IsEqual.equalTo(true));
+		Assert.assertThat(result.join(), IsEqual.equalTo(context.pair1));
+		Assert.assertThat(refreshResult.isDone(), IsEqual.equalTo(false));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPairAsync(context.address);
+	}
+
+	@Test
+	public void lookupOfExpiredAccountReturnsExpiredValueWhileRefreshIsInFlight() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(5000));
+		context.cache.findPairByAddress(context.address); // initially cache the account
+		context.setPendingAsyncLookup();
+		context.cache.findPairByAddressAsync(context.address);
+
+		// Act:
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert: the expired pair is returned without a second lookup
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void lookupOfUncachedAccountWaitsForRefreshInFlight() throws InterruptedException {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<AccountMetaDataPair> future = context.setPendingAsyncLookup();
+		context.cache.findPairByAddressAsync(context.address);
+
+		// Act:
+		final CompletableFuture<AccountMetaDataPair> result = CompletableFuture.supplyAsync(() -> context.cache.findPairByAddress(context.address));
+		Thread.sleep(100);
+		final boolean isDoneBeforeRefresh = result.isDone();
+		future.complete(context.pair2);
+
+		// Assert:
+		Assert.assertThat(isDoneBeforeRefresh, IsEqual.equalTo(false));
+		Assert.assertThat(result.join(), IsEqual.equalTo(context.pair2));
+		Mockito.verify(context.accountServices, Mockito.never()).getAccountMetaDataPair(Mockito.any());
+	}
+
+	@Test
+	public void expiredAccountIsRefreshedAgainAfterRefreshCompletes() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.timeProvider.getCurrentTime())
+				.thenReturn(new TimeInstant(1), new TimeInstant(100), new TimeInstant(200));
+
+		// Act:
+		context.cache.findPairByAddressAsync(context.address).join();
+		context.cache.findPairByAddressAsync(context.address).join();
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.times(2)).getAccountMetaDataPairAsync(context.address);
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void failedRefreshDoesNotBlockLaterRefreshes() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<AccountMetaDataPair> future = context.setPendingAsyncLookup();
+		final CompletableFuture<AccountMetaDataPair> result1 = context.cache.findPairByAddressAsync(context.address);
+		future.completeExceptionally(new RuntimeException("badness"));
+		Mockito.when(context.accountServices.getAccountMetaDataPairAsync(context.address))
+				.thenReturn(CompletableFuture.completedFuture(context.pair2));
+
+		// Act:
+		final AccountMetaDataPair pair = context.cache.findPairByAddressAsync(context.address).join();
+
+		// Assert:
+		Assert.assertThat(result1.isCompletedExceptionally(), IsEqual.equalTo(true));
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair2));
+	}
+
+	//endregion
+
+	//region stale-while-revalidate
+
+	@Test
+	public void cannotCreateCacheWithMaxStalenessLessThanRefreshInterval() {
+		// Act:
+		ExceptionAssert.assertThrows(
+				v -> new NccAccountCache(Mockito.mock(AccountServices.class), Mockito.mock(TimeProvider.class), 60, 59),
+				IllegalArgumentException.class);
+	}
+
+	@Test
+	public void lookupOfStaleAccountReturnsStaleValueAndRefreshesInBackground() {
+		// Arrange:
+		final TestContext context = new TestContext(300);
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(100));
+		context.cache.findPairByAddress(context.address); // initially cache the account
+		final CompletableFuture<AccountMetaDataPair> future = context.setPendingAsyncLookup();
+
+		// Act:
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert: the stale pair is returned and an async refresh was started
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Assert.assertThat(future.isDone(), IsEqual.equalTo(false));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPair(context.address);
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPairAsync(context.address);
+	}
+
+	@Test
+	public void asyncLookupOfStaleAccountReturnsStaleValueAndRefreshesInBackground() {
+		// Arrange:
+		final TestContext context = new TestContext(300);
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(100));
+		context.cache.findPairByAddress(context.address); // initially cache the account
+		context.setPendingAsyncLookup();
+
+		// Act:
+		final CompletableFuture<AccountMetaDataPair> result = context.cache.findPairByAddressAsync(context.address);
+
+		// Assert:
+		Assert.assertThat(result.isDone(), IsEqual.equalTo(true));
+		Assert.assertThat(result.join(), IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPairAsync(context.address);
+	}
+
+	@Test
+	public void lookupAfterBackgroundRefreshReturnsRefreshedValue() {
+		// Arrange:
+		final TestContext context = new TestContext(300);
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(100));
+		context.cache.findPairByAddress(context.address); // initially cache the account
+		final CompletableFuture<AccountMetaDataPair> future = context.setPendingAsyncLookup();
+		context.cache.findPairByAddress(context.address); // starts the background refresh
+
+		// Act:
+		future.complete(context.pair2);
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair2));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPairAsync(context.address);
+	}
+
+	@Test
+	public void failedBackgroundRefreshKeepsStaleValue() {
+		// Arrange:
+		final TestContext context = new TestContext(300);
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(100));
+		context.cache.findPairByAddress(context.address); // initially cache the account
+		final CompletableFuture<AccountMetaDataPair> future = context.setPendingAsyncLookup();
+		context.cache.findPairByAddress(context.address); // starts the background refresh
+
+		// Act:
+		future.completeExceptionally(new RuntimeException("badness"));
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Assert.assertThat(context.cache.isKnownAddress(context.address), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void lookupOfAccountOlderThanMaxStalenessWaitsForRefresh() {
+		// Arrange:
+		final TestContext context = new TestContext(300);
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(302));
+		context.cache.findPairByAddress(context.address); // initially cache the account
+
+		// Act:
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair2));
+		Mockito.verify(context.accountServices, Mockito.times(2)).getAccountMetaDataPair(context.address);
+		Mockito.verify(context.accountServices, Mockito.never()).getAccountMetaDataPairAsync(Mockito.any());
+	}
+
+	@Test
+	public void lookupOfSeedAccountWaitsForRefresh() {
+		// Arrange:
+		final TestContext context = new TestContext(300);
+		final AccountInfo seedInfo = new AccountInfo(context.address, Amount.fromNem(1), new BlockAmount(3), "seed", 0.0);
+		context.cache.seedAccounts(Arrays.asList(seedInfo));
+
+		// Act:
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPair(context.address);
+		Mockito.verify(context.accountServices, Mockito.never()).getAccountMetaDataPairAsync(Mockito.any());
+	}
+
+	//endregion
+
+	//region eviction
+
+	@Test
+	public void boundedCacheEvictsLeastRecentlyUsedAccounts() {
+		// Arrange:
+		final TestContext context = new TestContext(60, 10, address -> false);
+		final List<Address> addresses = context.lookUpRandomAccounts(11);
+
+		// Assert:
+		Assert.assertThat(context.cache.size(), IsEqual.equalTo(9));
+		Assert.assertThat(context.cache.getNumEvictions(), IsEqual.equalTo(2L));
+		Assert.assertThat(context.cache.isKnownAddress(addresses.get(0)), IsEqual.equalTo(false));
+		Assert.assertThat(context.cache.isKnownAddress(addresses.get(1)), IsEqual.equalTo(false));
+		Assert.assertThat(context.cache.isKnownAddress(addresses.get(2)), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void boundedCacheDoesNotEvictPinnedAccounts() {
+		// Arrange:
+		final Set<Address> pinnedAddresses = new HashSet<>();
+		final TestContext context = new TestContext(60, 10, pinnedAddresses::contains);
+		context.cache.findPairByAddress(context.address);
+		pinnedAddresses.add(context.address);
+
+		// Act:
+		context.lookUpRandomAccounts(10);
+
+		// Assert:
+		Assert.assertThat(context.cache.isKnownAddress(context.address), IsEqual.equalTo(true));
+		Assert.assertThat(context.cache.getNumEvictions(), IsEqual.equalTo(2L));
+	}
+
+	@Test
+	public void boundedCacheEvictsAccountsThatAreNoLongerPinnedWhenPinnedAccountsChange() {
+		// Arrange:
+		final Set<Address> pinnedAddresses = new HashSet<>();
+		final TestContext context = new TestContext(60, 10, pinnedAddresses::contains);
+		pinnedAddresses.addAll(context.lookUpRandomAccounts(10));
+		context.lookUpRandomAccounts(10);
+
+		// Act:
+		pinnedAddresses.clear();
+		context.cache.onPinnedAccountsChanged();
+
+		// Assert:
+		Assert.assertThat(context.cache.size(), IsEqual.equalTo(9));
+		Assert.assertThat(context.cache.getNumEvictions(), IsEqual.equalTo(11L));
+	}
+
+	@Test
+	public void boundedCacheOnlyReturnsRemainingAccounts() {
+		// Arrange:
+		final TestContext context = new TestContext(60, 10, address -> false);
+		context.lookUpRandomAccounts(11);
+
+		// Act:
+		final List<AccountInfo> accounts = context.cache.getAccounts();
+
+		// Assert:
+		Assert.assertThat(accounts.size(), IsEqual.equalTo(9));
+	}
+
+	@Test
+	public void seedingBoundedCacheEvictsExcessAccounts() {
+		// Arrange:
+		final TestContext context = new TestContext(60, 10, address -> false);
+
+		// Act:
+		context.cache.seedAccounts(Utils.generateRandomAccountInfos(11));
+
+		// Assert:
+		Assert.assertThat(context.cache.size(), IsEqual.equalTo(9));
+		Assert.assertThat(context.cache.getNumEvictions(), IsEqual.equalTo(2L));
+	}
+
+	//endregion
+
+	//region rejection caching
+
+	@Test
+	public void rejectedLookupOfUncachedAccountIsCached() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setAccountServicesRejection();
+
+		// Act:
+		for (int i = 0; i < 3; ++i) {
+			ExceptionAssert.assertThrows(v -> context.cache.findPairByAddress(context.address), NisException.class);
+		}
+
+		// Assert:
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void rejectedLookupIsCachedForAsyncLookups() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setAccountServicesRejection();
+		ExceptionAssert.assertThrows(v -> context.cache.findPairByAddress(context.address), NisException.class);
+
+		// Act:
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> context.cache.findPairByAddressAsync(context.address).join(),
+				NisException.class);
+
+		// Assert:
+		Mockito.verify(context.accountServices, Mockito.never()).getAccountMetaDataPairAsync(context.address);
+	}
+
+	@Test
+	public void rejectedLookupIsRetriedAfterRejectionExpires() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(52), new TimeInstant(62), new TimeInstant(63));
+		context.setAccountServicesRejection();
+
+		// Act:
+		for (int i = 0; i < 3; ++i) {
+			ExceptionAssert.assertThrows(v -> context.cache.findPairByAddress(context.address), NisException.class);
+		}
+
+		// Assert: 52 - lookup, 62 - cached rejection, 63 - expired rejection
+		Mockito.verify(context.accountServices, Mockito.times(2)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void failedLookupThatIsNotNisRejectionIsNotCached() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.accountServices.getAccountMetaDataPair(context.address))
+				.thenThrow(new NccException(NccException.Code.NIS_NOT_AVAILABLE));
+
+		// Act:
+		for (int i = 0; i < 3; ++i) {
+			ExceptionAssert.assertThrowsNccException(
+					v -> context.cache.findPairByAddress(context.address),
+					NccException.Code.NIS_NOT_AVAILABLE);
+		}
+
+		// Assert:
+		Mockito.verify(context.accountServices, Mockito.times(3)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void unknownAccountLookupIsCached() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.accountServices.getAccountMetaDataPair(context.address))
+				.thenThrow(new NisException(new ErrorResponse(TimeInstant.ZERO, "FAILURE_UNKNOWN_ACCOUNT", 500)));
+
+		// Act:
+		for (int i = 0; i < 3; ++i) {
+			ExceptionAssert.assertThrows(
+					v -> context.cache.findPairByAddress(context.address),
+					NisException.class,
+					ex -> Assert.assertThat(ex.getCode(), IsEqual.equalTo(NisException.Code.TRANSACTION_REJECTED_UNKNOWN_ACCOUNT)));
+		}
+
+		// Assert:
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void nodeNotBootedLookupIsNotCached() {
+		// Assert:
+		assertTransientNisErrorIsNotCached(
+				new NisException(new ErrorResponse(TimeInstant.ZERO, "network has not been booted yet", 503)),
+				NisException.Code.NODE_NOT_BOOTED);
+	}
+
+	@Test
+	public void unexpectedNisErrorLookupIsNotCached() {
+		// Assert:
+		assertTransientNisErrorIsNotCached(
+				new NisException(new ErrorResponse(TimeInstant.ZERO, "badness", 500)),
+				NisException.Code.UNEXPECTED_ERROR);
+	}
+
+	private static void assertTransientNisErrorIsNotCached(final NisException exception, final NisException.Code expectedCode) {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.accountServices.getAccountMetaDataPair(context.address)).thenThrow(exception);
+
+		// Act:
+		for (int i = 0; i < 3; ++i) {
+			ExceptionAssert.assertThrows(
+					v -> context.cache.findPairByAddress(context.address),
+					NisException.class,
+					ex -> Assert.assertThat(ex.getCode(), IsEqual.equalTo(expectedCode)));
+		}
+
+		// Assert:
+		Mockito.verify(context.accountServices, Mockito.times(3)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void cachedRejectionIsReportedWithNewExceptionForEveryLookup() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setAccountServicesRejection();
+		ExceptionAssert.assertThrows(v -> context.cache.findPairByAddress(context.address), NisException.class);
+
+		// Act:
+		final List<NisException> exceptions = new ArrayList<>();
+		for (int i = 0; i < 2; ++i) {
+			ExceptionAssert.assertThrows(v -> context.cache.findPairByAddress(context.address), NisException.class, exceptions::add);
+		}
+
+		// Assert:
+		Assert.assertThat(exceptions.get(0), IsNot.not(IsSame.sameInstance(exceptions.get(1))));
+		for (final NisException exception : exceptions) {
+			Assert.assertThat(exception.getCode(), IsEqual.equalTo(NisException.Code.UNEXPECTED_ERROR));
+			Assert.assertThat(exception.getStatus(), IsEqual.equalTo(400));
+		}
+	}
+
+	@Test
+	public void rejectionDoesNotAffectAccountThatIsCachedLater() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.timeProvider.getCurrentTime())
+				.thenReturn(new TimeInstant(1), new TimeInstant(12), new TimeInstant(75), new TimeInstant(80));
+		final NisException exception = new NisException(new ErrorResponse(TimeInstant.ZERO, "address must be valid", 400));
+		Mockito.when(context.accountServices.getAccountMetaDataPair(context.address))
+				.thenThrow(exception)
+				.thenReturn(context.pair1)
+				.thenThrow(exception);
+		ExceptionAssert.assertThrows(v -> context.cache.findPairByAddress(context.address), NisException.class);
+		context.cache.findPairByAddress(context.address); // successful lookup after the rejection expired
+
+		// Act: the account is expired and the refresh fails, so the cached (expired) pair is returned
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.times(3)).getAccountMetaDataPair(context.address);
+	}
+
+	//endregion
+
+	//region chain height / invalidation
+
+	@Test
+	public void accountIsNotRefreshedWhileChainHeightIsUnchanged() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(30), new TimeInstant(60));
+		context.cache.setChainHeight(new BlockHeight(10));
+
+		// Act:
+		context.cache.findPairByAddress(context.address);
+		context.cache.setChainHeight(new BlockHeight(10));
+		context.cache.findPairByAddress(context.address);
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void accountIsRefreshedWhenChainHeightAdvances() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(5));
+		context.cache.setChainHeight(new BlockHeight(10));
+		context.cache.findPairByAddress(context.address);
+
+		// Act:
+		context.cache.setChainHeight(new BlockHeight(11));
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair2));
+		Mockito.verify(context.accountServices, Mockito.times(2)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void accountCachedBeforeChainHeightIsKnownIsRefreshedWhenChainHeightBecomesKnown() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(5));
+		context.cache.findPairByAddress(context.address);
+
+		// Act:
+		context.cache.setChainHeight(new BlockHeight(10));
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair2));
+		Mockito.verify(context.accountServices, Mockito.times(2)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void accountIsRefreshedAfterRefreshIntervalEvenIfChainHeightIsUnchanged() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(62));
+		context.cache.setChainHeight(new BlockHeight(10));
+		context.cache.findPairByAddress(context.address);
+
+		// Act:
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair2));
+		Mockito.verify(context.accountServices, Mockito.times(2)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void accountBehindChainHeightIsServedStaleWhenStaleWhileRevalidateIsEnabled() {
+		// Arrange:
+		final TestContext context = new TestContext(300);
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(5));
+		context.cache.setChainHeight(new BlockHeight(10));
+		context.cache.findPairByAddress(context.address);
+
+		// Act:
+		context.cache.setChainHeight(new BlockHeight(11));
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPair(context.address);
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPairAsync(context.address);
+	}
+
+	@Test
+	public void invalidatedAccountIsRefreshed() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(5));
+		context.cache.findPairByAddress(context.address);
+
+		// Act:
+		context.cache.invalidate(context.address);
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair2));
+		Mockito.verify(context.accountServices, Mockito.times(2)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void invalidatingUnknownAccountHasNoEffect() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.cache.invalidate(context.address);
+
+		// Assert:
+		Assert.assertThat(context.cache.isKnownAddress(context.address), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void invalidatedAccountFallsBackToCachedValueWhenRefreshFails() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.cache.findPairByAddress(context.address);
+		context.cache.invalidate(context.address);
+		context.setAccountServicesFailure();
+
+		// Act:
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair1));
+	}
+
+	@Test
+	public void invalidationDuringRefreshSurvivesRefresh() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.cache.findPairByAddress(context.address);
+		final CompletableFuture<AccountMetaDataPair> future = context.setPendingAsyncLookup();
+		context.cache.refreshAsync(context.address);
+
+		// Act: the refresh (which might have been answered before the change) completes after the invalidation
+		context.cache.invalidate(context.address);
+		future.complete(context.pair1);
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert: the account is refreshed again
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair2));
+		Mockito.verify(context.accountServices, Mockito.times(2)).getAccountMetaDataPair(context.address);
+	}
+
+	@Test
+	public void invalidationBeforeRefreshIsClearedByRefresh() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.cache.findPairByAddress(context.address);
+		context.cache.invalidate(context.address);
+		final CompletableFuture<AccountMetaDataPair> future = context.setPendingAsyncLookup();
+		context.cache.refreshAsync(context.address);
+
+		// Act:
+		future.complete(context.pair2);
+		final AccountMetaDataPair pair = context.cache.findPairByAddress(context.address);
+
+		// Assert: the account is not refreshed again
+		Assert.assertThat(pair, IsEqual.equalTo(context.pair2));
+		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountMetaDataPair(context.address);
+	}
+
+	//endregion
+
+	//region drainDirtyAccounts
+
+	@Test
+	public void refreshedAccountsAreDirty() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final List<Address> addresses = context.lookUpRandomAccounts(3);
+
+		// Act:
+		final List<AccountInfo> accounts = context.cache.drainDirtyAccounts();
+
+		// Assert:
+		Assert.assertThat(
+				accounts.stream().map(AccountInfo::getAddress).collect(Collectors.toList()),
+				IsEquivalent.equivalentTo(addresses));
+	}
+
+	@Test
+	public void drainedAccountsAreNoLongerDirty() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.lookUpRandomAccounts(3);
+		context.cache.drainDirtyAccounts();
+
+		// Act:
+		final List<AccountInfo> accounts = context.cache.drainDirtyAccounts();
+
+		// Assert:
+		Assert.assertThat(accounts.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void accountRefreshedAfterDrainIsDirtyAgainWithRefreshedValue() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.cache.findPairByAddressAsync(context.address).join();
+		context.cache.drainDirtyAccounts();
+
+		// Act:
+		context.cache.refreshAsync(context.address).join();
+		final List<AccountInfo> accounts = context.cache.drainDirtyAccounts();
+
+		// Assert:
+		Assert.assertThat(accounts, IsEqual.equalTo(Collections.singletonList(context.pair2.getAccount())));
+	}
+
+	@Test
+	public void seedAccountsAreNotDirty() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.cache.seedAccounts(Utils.generateRandomAccountInfos(3));
+
+		// Assert:
+		Assert.assertThat(context.cache.drainDirtyAccounts().isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void failedRefreshDoesNotMarkAccountAsDirty() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setAccountServicesFailure();
+
+		// Act:
+		ExceptionAssert.assertThrows(v -> context.cache.findPairByAddress(context.address), NisException.class);
+
+		// Assert:
+		Assert.assertThat(context.cache.drainDirtyAccounts().isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void evictedDirtyAccountsAreNotDrained() {
+		// Arrange:
+		final TestContext context = new TestContext(60, 10, address -> false);
+		final List<Address> addresses = context.lookUpRandomAccounts(11);
+
+		// Act:
+		final List<AccountInfo> accounts = context.cache.drainDirtyAccounts();
+
+		// Assert:
+		Assert.assertThat(
+				accounts.stream().map(AccountInfo::getAddress).collect(Collectors.toList()),
+				IsEquivalent.equivalentTo(addresses.subList(2, 11)));
+	}
+
+	//endregion
+
+	//region statistics
+
+	@Test
+	public void lookupOfUncachedAccountIsRecordedAsMiss() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.cache.findPairByAddress(context.address);
+		context.lookUpRandomAccounts(1);
+
+		// Assert:
+		final AccountCacheStatistics statistics = context.cache.getStatistics();
+		Assert.assertThat(statistics.getNumMisses(), IsEqual.equalTo(2L));
+		Assert.assertThat(statistics.getNumHits(), IsEqual.equalTo(0L));
+	}
+
+	@Test
+	public void lookupOfFreshCachedAccountIsRecordedAsHit() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.cache.findPairByAddress(context.address);
+
+		// Act:
+		context.cache.findPairByAddress(context.address);
+		context.cache.findPairByAddressAsync(context.address).join();
+
+		// Assert:
+		final AccountCacheStatistics statistics = context.cache.getStatistics();
+		Assert.assertThat(statistics.getNumHits(), IsEqual.equalTo(2L));
+		Assert.assertThat(statistics.getNumMisses(), IsEqual.equalTo(1L));
+	}
+
+	@Test
+	public void lookupOfExpiredCachedAccountServedStaleIsRecordedAsStaleHit() {
+		// Arrange:
+		final TestContext context = new TestContext(300);
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(100));
+		context.cache.findPairByAddress(context.address);
+		context.setPendingAsyncLookup();
+
+		// Act:
+		context.cache.findPairByAddress(context.address);
+		context.cache.findPairByAddress(context.address);
+
+		// Assert: 100 - stale hit that starts a refresh, 100 - stale hit while the refresh is in flight
+		final AccountCacheStatistics statistics = context.cache.getStatistics();
+		Assert.assertThat(statistics.getNumStaleHits(), IsEqual.equalTo(2L));
+		Assert.assertThat(statistics.getNumHits(), IsEqual.equalTo(0L));
+		Assert.assertThat(statistics.getNumMisses(), IsEqual.equalTo(1L));
+	}
+
+	@Test
+	public void lookupAnsweredWithCachedRejectionIsRecordedAsRejection() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setAccountServicesRejection();
+
+		// Act:
+		for (int i = 0; i < 3; ++i) {
+			ExceptionAssert.assertThrows(v -> context.cache.findPairByAddress(context.address), NisException.class);
+		}
+
+		// Assert:
+		final AccountCacheStatistics statistics = context.cache.getStatistics();
+		Assert.assertThat(statistics.getNumMisses(), IsEqual.equalTo(1L));
+		Assert.assertThat(statistics.getNumRejections(), IsEqual.equalTo(2L));
+	}
+
+	@Test
+	public void successfulRefreshIsRecorded() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		final AccountCacheStatistics statistics = context.cache.getStatistics();
+		Assert.assertThat(statistics.getNumRefreshes(), IsEqual.equalTo(1L));
+		Assert.assertThat(statistics.getRefreshLatencies().size(), IsEqual.equalTo(1));
+		Assert.assertThat(statistics.getNumRefreshFailures(), IsEqual.equalTo(0L));
+	}
+
+	@Test
+	public void failedRefreshOfUncachedAccountIsRecordedAsFailure() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setAccountServicesFailure();
+
+		// Act:
+		ExceptionAssert.assertThrows(v -> context.cache.findPairByAddress(context.address), NisException.class);
+
+		// Assert:
+		final AccountCacheStatistics statistics = context.cache.getStatistics();
+		Assert.assertThat(statistics.getNumRefreshes(), IsEqual.equalTo(0L));
+		Assert.assertThat(statistics.getNumRefreshFailures(), IsEqual.equalTo(1L));
+		Assert.assertThat(statistics.getNumFallbacks(), IsEqual.equalTo(0L));
+	}
+
+	@Test
+	public void failedRefreshOfCachedAccountIsRecordedAsFallback() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(1), new TimeInstant(5000));
+		context.cache.findPairByAddress(context.address);
+		context.setAccountServicesFailure();
+
+		// Act:
+		context.cache.findPairByAddress(context.address);
+
+		// Assert:
+		final AccountCacheStatistics statistics = context.cache.getStatistics();
+		Assert.assertThat(statistics.getNumRefreshes(), IsEqual.equalTo(1L));
+		Assert.assertThat(statistics.getNumRefreshFailures(), IsEqual.equalTo(1L));
+		Assert.assertThat(statistics.getNumFallbacks(), IsEqual.equalTo(1L));
+	}
+
+	//endregion
+
+	private static void assertAreEqual(final AccountInfo expectedInfo, final Account actualAccount) {
+		// Assert:
+		Assert.assertThat(actualAccount.getAddress(), IsEqual.equalTo(expectedInfo.getAddress()));
+		Assert.assertThat(actualAccount.getKeyPair().getPublicKey(), IsEqual.equalTo(expectedInfo.getKeyPair().getPublicKey()));
+		Assert.assertThat(actualAccount.getBalance(), IsEqual.equalTo(expectedInfo.getBalance()));
+		Assert.assertThat(actualAccount.getForagedBlocks(), IsEqual.equalTo(expectedInfo.getNumForagedBlocks()));
+		Assert.assertThat(actualAccount.getLabel(), IsEqual.equalTo(expectedInfo.getLabel()));
+	}
+
+	private static class TestContext {
+		private final Address address = Address.fromEncoded("sigma");
+		private final AccountMetaDataPair pair1 = new AccountMetaDataPair(Utils.generateRandomAccountInfo(), null);
+		private final AccountMetaDataPair pair2 = new AccountMetaDataPair(Utils.generateRandomAccountInfo(), null);
+
+		private final AccountServices accountServices = Mockito.mock(AccountServices.class);
+		private final TimeProvider timeProvider = Mockito.mock(TimeProvider.class);
+		private final NccAccountCache cache;
+
+		public TestContext() {
+			this(60);
+		}
+
+		public TestContext(final int maxStaleInSeconds) {
+			this(maxStaleInSeconds, Integer.MAX_VALUE, address -> false);
+		}
+
+		public TestContext(final int maxStaleInSeconds, final int maxEntries, final Predicate<Address> isPinned) {
+			this.cache = new NccAccountCache(this.accountServices, this.timeProvider, 60, maxStaleInSeconds, maxEntries, isPinned);
+			Mockito.when(this.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(52));
+			Mockito.when(this.accountServices.getAccountMetaDataPair(this.address))
+					.thenReturn(this.pair1, this.pair2);
+			Mockito.when(this.accountServices.getAccountMetaDataPairAsync(this.address))
+					.thenReturn(CompletableFuture.completedFuture(this.pair1), CompletableFuture.completedFuture(this.pair2));
+		}
+
+		public List<Address> lookUpRandomAccounts(final int count) {
+			final List<Address> addresses = new ArrayList<>();
+			for (int i = 0; i < count; ++i) {
+				final AccountMetaDataPair pair = new AccountMetaDataPair(Utils.generateRandomAccountInfo(), null);
+				final Address address = pair.getAccount().getAddress();
+				Mockito.when(this.accountServices.getAccountMetaDataPair(address)).thenReturn(pair);
+				this.cache.findPairByAddress(address);
+				addresses.add(address);
+			}
+
+			return addresses;
+		}
+
+		public CompletableFuture<AccountMetaDataPair> setPendingAsyncLookup() {
+			final CompletableFuture<AccountMetaDataPair> future = new CompletableFuture<>();
+			Mockito.when(this.accountServices.getAccountMetaDataPairAsync(this.address)).thenReturn(future);
+			return future;
+		}
+
+		public void setAccountServicesRejection() {
+			this.setAccountServicesFailure(new NisException(new ErrorResponse(TimeInstant.ZERO, "address must be valid", 400)));
+		}
+
+		public void setAccountServicesFailure() {
+			this.setAccountServicesFailure(new NisException(new ErrorResponse(TimeInstant.ZERO, "badness", 17)));
+		}
+
+		private void setAccountServicesFailure(final NisException exception) {
+			Mockito.when(this.accountServices.getAccountMetaDataPair(Mockito.any()))
+					.thenThrow(exception);
+
+			final CompletableFuture<AccountMetaDataPair> future = new CompletableFuture<>();
+			future.completeExceptionally(exception);
+			Mockito.when(this.accountServices.getAccountMetaDataPairAsync(Mockito.any()))
+					.thenReturn(future);
 		}
 	}
 }
\ No newline at end of file
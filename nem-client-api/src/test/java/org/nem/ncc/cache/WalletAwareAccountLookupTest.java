@@ -9,7 +9,9 @@ import org.nem.core.model.ncc.*;
 import org.nem.core.model.primitive.*;
 import org.nem.ncc.services.*;
 import org.nem.ncc.test.Utils;
-import org.nem.ncc.wallet.WalletAccount;
+import org.nem.ncc.wallet.*;
+
+import java.util.concurrent.CompletableFuture;
 
 public class WalletAwareAccountLookupTest {
 
@@ -27,7 +29,7 @@ public class WalletAwareAccountLookupTest {
 		// Assert:
 		Assert.assertThat(result, IsNull.nullValue());
 		Mockito.verify(context.mockAccountLookup, Mockito.times(1)).findByAddress(address);
-		Mockito.verify(context.walletServices, Mockito.times(0)).tryFindOpenAccount(address);
+		Mockito.verify(context.walletServices, Mockito.times(0)).tryFindOpenAccountKeys(address);
 	}
 
 	@Test
@@ -44,7 +46,7 @@ public class WalletAwareAccountLookupTest {
 		// Assert:
 		Assert.assertThat(result, IsEqual.equalTo(account));
 		Mockito.verify(context.mockAccountLookup, Mockito.times(1)).findByAddress(address);
-		Mockito.verify(context.walletServices, Mockito.times(1)).tryFindOpenAccount(address);
+		Mockito.verify(context.walletServices, Mockito.times(1)).tryFindOpenAccountKeys(address);
 	}
 
 	@Test
@@ -53,11 +55,12 @@ public class WalletAwareAccountLookupTest {
 		final TestContext context = new TestContext();
 		final Address address = Utils.generateRandomAddress();
 		final WalletAccount walletAccount = new WalletAccount();
+		final WalletAccountKeys keys = new WalletAccountKeys(walletAccount);
 		final Account account = Mockito.mock(Account.class);
 		final Account accountWithPrivateKey = Mockito.mock(Account.class);
 		final ArgumentCaptor<KeyPair> keyPairCaptor = ArgumentCaptor.forClass(KeyPair.class);
 		Mockito.when(context.mockAccountLookup.findByAddress(address)).thenReturn(account);
-		Mockito.when(context.walletServices.tryFindOpenAccount(address)).thenReturn(walletAccount);
+		Mockito.when(context.walletServices.tryFindOpenAccountKeys(address)).thenReturn(keys);
 		Mockito.when(account.shallowCopyWithKeyPair(keyPairCaptor.capture())).thenReturn(accountWithPrivateKey);
 
 		// Act:
@@ -65,9 +68,9 @@ public class WalletAwareAccountLookupTest {
 
 		// Assert:
 		Assert.assertThat(result, IsEqual.equalTo(accountWithPrivateKey));
-		Assert.assertThat(keyPairCaptor.getValue().getPrivateKey(), IsEqual.equalTo(walletAccount.getPrivateKey()));
+		Assert.assertThat(keyPairCaptor.getValue(), IsSame.sameInstance(keys.getKeyPair()));
 		Mockito.verify(context.mockAccountLookup, Mockito.times(1)).findByAddress(address);
-		Mockito.verify(context.walletServices, Mockito.times(1)).tryFindOpenAccount(address);
+		Mockito.verify(context.walletServices, Mockito.times(1)).tryFindOpenAccountKeys(address);
 		Mockito.verify(account, Mockito.times(1)).shallowCopyWithKeyPair(Mockito.any());
 	}
 
@@ -173,6 +176,91 @@ public class WalletAwareAccountLookupTest {
 		Mockito.verify(context.walletServices, Mockito.times(1)).tryFindOpenAccount(address);
 	}
 
+	@Test
+	public void findPairByAddressAsyncReturnsPairWithPublicKeyAsPassThrough() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final Address address = Utils.generateRandomAddressWithPublicKey();
+		final AccountMetaDataPair pair = createAccountMetaDataPair(address);
+		Mockito.when(context.mockAccountLookup.findPairByAddressAsync(address)).thenReturn(CompletableFuture.completedFuture(pair));
+
+		// Act:
+		final AccountMetaDataPair result = context.accountLookup.findPairByAddressAsync(address).join();
+
+		// Assert:
+		Assert.assertThat(result, IsEqual.equalTo(pair));
+		Mockito.verify(context.mockAccountLookup, Mockito.times(1)).findPairByAddressAsync(address);
+		Mockito.verify(context.mockAccountLookup, Mockito.never()).findPairByAddress(address);
+		Mockito.verify(context.walletServices, Mockito.times(0)).tryFindOpenAccount(address);
+	}
+
+	@Test
+	public void findPairByAddressAsyncReturnsPairWithPublicKeyInWalletAsShallowCopy() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final KeyPair keyPair = new KeyPair();
+		final Address address = Address.fromPublicKey(keyPair.getPublicKey());
+		final Address addressWithoutPublicKey = Address.fromEncoded(address.getEncoded());
+		final AccountMetaDataPair pair = new AccountMetaDataPair(
+				new AccountInfo(addressWithoutPublicKey, Amount.fromNem(17), new BlockAmount(12), "foo", 1.5),
+				new AccountMetaData(AccountStatus.UNLOCKED, AccountRemoteStatus.INACTIVE));
+		Mockito.when(context.mockAccountLookup.findPairByAddressAsync(address)).thenReturn(CompletableFuture.completedFuture(pair));
+		Mockito.when(context.walletServices.tryFindOpenAccount(addressWithoutPublicKey)).thenReturn(new WalletAccount(keyPair.getPrivateKey()));
+
+		// Act:
+		final AccountInfo resultInfo = context.accountLookup.findPairByAddressAsync(address).join().getAccount();
+
+		// Assert:
+		Assert.assertThat(resultInfo.getAddress().getPublicKey(), IsEqual.equalTo(address.getPublicKey()));
+		Assert.assertThat(resultInfo.getBalance(), IsEqual.equalTo(Amount.fromNem(17)));
+		Mockito.verify(context.walletServices, Mockito.times(1)).tryFindOpenAccount(address);
+	}
+
+	//endregion
+
+	//region statistics
+
+	@Test
+	public void lookupsAreCounted() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final Address address = Utils.generateRandomAddress();
+		Mockito.when(context.mockAccountLookup.findPairByAddressAsync(address))
+				.thenReturn(CompletableFuture.completedFuture(createAccountMetaDataPair(address)));
+
+		// Act:
+		context.accountLookup.findByAddress(address);
+		context.accountLookup.findPairByAddress(address);
+		context.accountLookup.findPairByAddressAsync(address).join();
+
+		// Assert:
+		Assert.assertThat(context.accountLookup.getNumLookups(), IsEqual.equalTo(3L));
+		Assert.assertThat(context.accountLookup.getNumWalletAccountLookups(), IsEqual.equalTo(0L));
+	}
+
+	@Test
+	public void lookupsOfOpenWalletAccountsAreCounted() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final KeyPair keyPair = new KeyPair();
+		final Address address = Address.fromPublicKey(keyPair.getPublicKey());
+		final Account account = Mockito.mock(Account.class);
+		Mockito.when(context.mockAccountLookup.findByAddress(address)).thenReturn(account);
+		Mockito.when(context.mockAccountLookup.findPairByAddress(address))
+				.thenReturn(createAccountMetaDataPair(Address.fromEncoded(address.getEncoded())));
+		Mockito.when(context.walletServices.tryFindOpenAccountKeys(address)).thenReturn(new WalletAccountKeys(new WalletAccount(keyPair.getPrivateKey())));
+		Mockito.when(context.walletServices.tryFindOpenAccount(Mockito.any())).thenReturn(new WalletAccount(keyPair.getPrivateKey()));
+
+		// Act:
+		context.accountLookup.findByAddress(address);
+		context.accountLookup.findPairByAddress(address);
+		context.accountLookup.findPairByAddress(Utils.generateRandomAddress());
+
+		// Assert:
+		Assert.assertThat(context.accountLookup.getNumLookups(), IsEqual.equalTo(3L));
+		Assert.assertThat(context.accountLookup.getNumWalletAccountLookups(), IsEqual.equalTo(2L));
+	}
+
 	//endregion
 
 	private static AccountMetaDataPair createAccountMetaDataPair(final Address address) {
@@ -184,7 +272,7 @@ public class WalletAwareAccountLookupTest {
 	private static class TestContext {
 		private final AccountMetaDataPairLookup mockAccountLookup = Mockito.mock(AccountMetaDataPairLookup.class);
 		private final WalletServices walletServices = Mockito.mock(WalletServices.class);
-		private final AccountMetaDataPairLookup accountLookup = new WalletAwareAccountLookup(
+		private final WalletAwareAccountLookup accountLookup = new WalletAwareAccountLookup(
 				this.mockAccountLookup,
 				this.walletServices);
 	}
@@ -0,0 +1,264 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.connect.*;
+import org.nem.core.connect.client.*;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+import org.nem.core.time.TimeInstant;
+import org.nem.ncc.exceptions.*;
+import org.nem.ncc.test.ExceptionAssert;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+public class AdaptiveTimeoutAsyncNisConnectorTest {
+	private static final NisApiId API_ID = NisApiId.NIS_REST_ACCOUNT_LOOK_UP;
+
+	//region getAsync
+
+	@Test
+	public void getAsyncReturnsInnerResultWhenAnsweredBeforeTimeout() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Deserializer> innerFuture = new CompletableFuture<>();
+		context.setGetResult(innerFuture);
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.getAsync(context.endpoint, API_ID, "a=b");
+		innerFuture.complete(context.deserializer);
+		context.timeoutTrigger.complete(null);
+
+		// Assert:
+		Assert.assertThat(future.join(), IsSame.sameInstance(context.deserializer));
+		Mockito.verify(context.innerConnector, Mockito.only()).getAsync(context.endpoint, API_ID, "a=b");
+	}
+
+	@Test
+	public void getAsyncDoesNotScheduleTimeoutWhenAnsweredImmediately() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(CompletableFuture.completedFuture(context.deserializer));
+
+		// Act:
+		final Deserializer deserializer = context.connector.getAsync(context.endpoint, API_ID, "a=b").join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.deserializer));
+		Assert.assertThat(context.timeouts.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void getAsyncFailsWithInactivePeerExceptionWhenTimeoutElapses() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(new CompletableFuture<>());
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.getAsync(context.endpoint, API_ID, "a=b");
+		final boolean isDoneBeforeTimeout = future.isDone();
+		context.timeoutTrigger.complete(null);
+
+		// Assert:
+		Assert.assertThat(isDoneBeforeTimeout, IsEqual.equalTo(false));
+		ExceptionAssert.assertThrowsCompletionException(v -> future.join(), InactivePeerException.class);
+	}
+
+	@Test
+	public void getAsyncCancelsInnerRequestWhenTimeoutElapses() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Deserializer> innerFuture = new CompletableFuture<>();
+		context.setGetResult(innerFuture);
+
+		// Act:
+		context.connector.getAsync(context.endpoint, API_ID, "a=b");
+		context.timeoutTrigger.complete(null);
+
+		// Assert:
+		Assert.assertThat(innerFuture.isCancelled(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void getAsyncCancelsTimeoutWhenAnsweredBeforeTimeout() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Deserializer> innerFuture = new CompletableFuture<>();
+		context.setGetResult(innerFuture);
+
+		// Act:
+		context.connector.getAsync(context.endpoint, API_ID, "a=b");
+		innerFuture.complete(context.deserializer);
+
+		// Assert:
+		Assert.assertThat(context.timeoutTrigger.isCancelled(), IsEqual.equalTo(true));
+		Assert.assertThat(innerFuture.isCancelled(), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void getAsyncRecordsTimeoutAsLatencyOfTimedOutRequests() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		for (int i = 0; i < 20; ++i) {
+			context.policy.recordLatency(API_ID, 1000);
+		}
+
+		// Act: time out more than 1% of the requests
+		for (int i = 0; i < 5; ++i) {
+			final TestContext timeoutContext = new TestContext(context.policy);
+			timeoutContext.setGetResult(new CompletableFuture<>());
+			timeoutContext.connector.getAsync(context.endpoint, API_ID, "a=b");
+			timeoutContext.timeoutTrigger.complete(null);
+		}
+
+		// Assert: the timeouts were recorded as latencies (3000 ms), which raised the timeout
+		Assert.assertThat(context.policy.getTimeout(API_ID), IsEqual.equalTo(9000));
+	}
+
+	@Test
+	public void getAsyncSchedulesTimeoutFromPolicy() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(new CompletableFuture<>());
+		for (int i = 0; i < 20; ++i) {
+			context.policy.recordLatency(API_ID, 1000);
+		}
+
+		// Act:
+		context.connector.getAsync(context.endpoint, API_ID, "a=b");
+
+		// Assert:
+		Assert.assertThat(context.timeouts, IsEqual.equalTo(Arrays.asList(3000)));
+	}
+
+	@Test
+	public void getAsyncPropagatesInnerFailure() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(createExceptionalFuture(new NccException(NccException.Code.NO_PUBLIC_KEY)));
+
+		// Act:
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> context.connector.getAsync(context.endpoint, API_ID, "a=b").join(),
+				NccException.class);
+	}
+
+	@Test
+	public void getAsyncRecordsLatencyOfAnsweredRequests() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(CompletableFuture.completedFuture(context.deserializer));
+
+		// Act:
+		for (int i = 0; i < 20; ++i) {
+			context.connector.getAsync(context.endpoint, API_ID, "a=b").join();
+		}
+
+		// Assert: the fast answers lowered the timeout to the minimum timeout
+		Assert.assertThat(context.policy.getTimeout(API_ID), IsEqual.equalTo(2000));
+	}
+
+	@Test
+	public void getAsyncRecordsLatencyOfNisErrorResponses() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(createExceptionalFuture(new NisException(new ErrorResponse(TimeInstant.ZERO, "badness", 500))));
+
+		// Act:
+		for (int i = 0; i < 20; ++i) {
+			context.connector.getAsync(context.endpoint, API_ID, "a=b").exceptionally(e -> null).join();
+		}
+
+		// Assert:
+		Assert.assertThat(context.policy.getTimeout(API_ID), IsEqual.equalTo(2000));
+	}
+
+	@Test
+	public void getAsyncDoesNotRecordLatencyOfUnansweredRequests() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(createExceptionalFuture(new NccException(NccException.Code.NO_PUBLIC_KEY)));
+
+		// Act:
+		for (int i = 0; i < 20; ++i) {
+			context.connector.getAsync(context.endpoint, API_ID, "a=b").exceptionally(e -> null).join();
+		}
+
+		// Assert:
+		Assert.assertThat(context.policy.getTimeout(API_ID), IsEqual.equalTo(20000));
+	}
+
+	//endregion
+
+	//region postAsync / postVoidAsync
+
+	@Test
+	public void postAsyncDelegatesToInnerConnectorWithoutTimeout() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Deserializer> innerFuture = new CompletableFuture<>();
+		Mockito.when(context.innerConnector.postAsync(context.endpoint, API_ID, context.postRequest)).thenReturn(innerFuture);
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.postAsync(context.endpoint, API_ID, context.postRequest);
+
+		// Assert:
+		Assert.assertThat(future, IsSame.sameInstance(innerFuture));
+		Assert.assertThat(context.timeouts.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void postVoidAsyncDelegatesToInnerConnectorWithoutTimeout() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Void> innerFuture = new CompletableFuture<>();
+		Mockito.when(context.innerConnector.postVoidAsync(context.endpoint, API_ID, context.postRequest)).thenReturn(innerFuture);
+
+		// Act:
+		final CompletableFuture<Void> future = context.connector.postVoidAsync(context.endpoint, API_ID, context.postRequest);
+
+		// Assert:
+		Assert.assertThat(future, IsSame.sameInstance(innerFuture));
+		Assert.assertThat(context.timeouts.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	//endregion
+
+	private static <T> CompletableFuture<T> createExceptionalFuture(final Throwable e) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(e);
+		return future;
+	}
+
+	private static class TestContext {
+		private final NodeEndpoint endpoint = NodeEndpoint.fromHost("10.0.0.88");
+		private final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+		private final Deserializer deserializer = Mockito.mock(Deserializer.class);
+		private final AsyncNisConnector innerConnector = Mockito.mock(AsyncNisConnector.class);
+		private final AdaptiveTimeoutPolicy policy;
+		private final CompletableFuture<Void> timeoutTrigger = new CompletableFuture<>();
+		private final List<Integer> timeouts = new ArrayList<>();
+		private final AdaptiveTimeoutAsyncNisConnector connector;
+
+		private TestContext() {
+			this(new AdaptiveTimeoutPolicy(2000, 20000, 0.99, 3));
+		}
+
+		private TestContext(final AdaptiveTimeoutPolicy policy) {
+			this.policy = policy;
+			this.connector = new AdaptiveTimeoutAsyncNisConnector(
+					this.innerConnector,
+					this.policy,
+					timeout -> {
+						this.timeouts.add(timeout);
+						return this.timeoutTrigger;
+					});
+		}
+
+		private void setGetResult(final CompletableFuture<Deserializer> future) {
+			Mockito.when(this.innerConnector.getAsync(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(future);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+import org.nem.core.connect.client.NisApiId;
+
+public class AdaptiveTimeoutPolicyTest {
+
+	@Test
+	public void getTimeoutReturnsMaxTimeoutForApiWithoutSamples() {
+		// Arrange:
+		final AdaptiveTimeoutPolicy policy = createPolicy();
+
+		// Assert:
+		Assert.assertThat(policy.getTimeout(NisApiId.NIS_REST_HEARTBEAT), IsEqual.equalTo(20000));
+	}
+
+	@Test
+	public void getTimeoutReturnsMaxTimeoutForApiWithTooFewSamples() {
+		// Arrange:
+		final AdaptiveTimeoutPolicy policy = createPolicy();
+		recordLatencies(policy, NisApiId.NIS_REST_HEARTBEAT, 100, 19);
+
+		// Assert:
+		Assert.assertThat(policy.getTimeout(NisApiId.NIS_REST_HEARTBEAT), IsEqual.equalTo(20000));
+	}
+
+	@Test
+	public void getTimeoutReturnsPercentileLatencyTimesFactorForApiWithEnoughSamples() {
+		// Arrange:
+		final AdaptiveTimeoutPolicy policy = createPolicy();
+		recordLatencies(policy, NisApiId.NIS_REST_HEARTBEAT, 1000, 20);
+
+		// Assert:
+		Assert.assertThat(policy.getTimeout(NisApiId.NIS_REST_HEARTBEAT), IsEqual.equalTo(3000));
+	}
+
+	@Test
+	public void getTimeoutIsNotLessThanMinTimeout() {
+		// Arrange:
+		final AdaptiveTimeoutPolicy policy = createPolicy();
+		recordLatencies(policy, NisApiId.NIS_REST_HEARTBEAT, 10, 20);
+
+		// Assert:
+		Assert.assertThat(policy.getTimeout(NisApiId.NIS_REST_HEARTBEAT), IsEqual.equalTo(2000));
+	}
+
+	@Test
+	public void getTimeoutIsNotGreaterThanMaxTimeout() {
+		// Arrange:
+		final AdaptiveTimeoutPolicy policy = createPolicy();
+		recordLatencies(policy, NisApiId.NIS_REST_HEARTBEAT, 15000, 20);
+
+		// Assert:
+		Assert.assertThat(policy.getTimeout(NisApiId.NIS_REST_HEARTBEAT), IsEqual.equalTo(20000));
+	}
+
+	@Test
+	public void getTimeoutIsTrackedPerApi() {
+		// Arrange:
+		final AdaptiveTimeoutPolicy policy = createPolicy();
+		recordLatencies(policy, NisApiId.NIS_REST_HEARTBEAT, 1000, 20);
+		recordLatencies(policy, NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL, 4000, 20);
+
+		// Assert:
+		Assert.assertThat(policy.getTimeout(NisApiId.NIS_REST_HEARTBEAT), IsEqual.equalTo(3000));
+		Assert.assertThat(policy.getTimeout(NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL), IsEqual.equalTo(12000));
+		Assert.assertThat(policy.getTimeout(NisApiId.NIS_REST_ACCOUNT_LOOK_UP), IsEqual.equalTo(20000));
+	}
+
+	private static AdaptiveTimeoutPolicy createPolicy() {
+		return new AdaptiveTimeoutPolicy(2000, 20000, 0.99, 3);
+	}
+
+	private static void recordLatencies(final AdaptiveTimeoutPolicy policy, final NisApiId apiId, final long latency, final int count) {
+		for (int i = 0; i < count; ++i) {
+			policy.recordLatency(apiId, latency);
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.connect.*;
+import org.nem.core.connect.client.NisApiId;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+import org.nem.core.time.TimeInstant;
+import org.nem.core.utils.ExceptionUtils;
+import org.nem.ncc.exceptions.NisException;
+import org.nem.ncc.test.*;
+
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+
+public class BinaryAsyncNisConnectorTest {
+
+	//region getAsync
+
+	@Test
+	public void getAsyncReturnsDeserializerWhenQueryStringIsNotProvided() {
+		// Assert:
+		assertGetAsyncReturnsDeserializer("http://10.0.0.88:7890/node/info", null);
+	}
+
+	@Test
+	public void getAsyncReturnsDeserializerWhenQueryStringIsProvided() {
+		// Assert:
+		assertGetAsyncReturnsDeserializer("http://10.0.0.88:7890/node/info?foo=1&bar=7", "foo=1&bar=7");
+	}
+
+	private static void assertGetAsyncReturnsDeserializer(final String urlString, final String queryString) {
+		// Arrange:
+		final URL url = ExceptionUtils.propagate(() -> new URL(urlString));
+		final TestContext context = new TestContext();
+		final Deserializer deserializer = Mockito.mock(Deserializer.class);
+		context.setGetToken(url, createToken(CompletableFuture.completedFuture(deserializer)));
+
+		// Act:
+		final Deserializer result = context.connector.getAsync(NodeEndpoint.fromHost("10.0.0.88"), NisApiId.NIS_REST_NODE_INFO, queryString).join();
+
+		// Assert:
+		Assert.assertThat(result, IsSame.sameInstance(deserializer));
+		Mockito.verify(context.httpClient, Mockito.times(1)).get(url, context.connector.getResponseStrategy());
+	}
+
+	@Test
+	public void getAsyncPropagatesFailure() {
+		// Arrange:
+		final URL url = ExceptionUtils.propagate(() -> new URL("http://10.0.0.88:7890/node/info"));
+		final TestContext context = new TestContext();
+		context.setGetToken(url, createToken(createExceptionalFuture(new UnsupportedNisFormatException("json"))));
+
+		// Act:
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> context.connector.getAsync(NodeEndpoint.fromHost("10.0.0.88"), NisApiId.NIS_REST_NODE_INFO, null).join(),
+				UnsupportedNisFormatException.class);
+	}
+
+	//endregion
+
+	//region postAsync / postVoidAsync
+
+	@Test
+	public void postAsyncReturnsDeserializer() {
+		// Arrange:
+		final URL url = ExceptionUtils.propagate(() -> new URL("http://10.0.0.88:7890/node/info"));
+		final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+		final TestContext context = new TestContext();
+		final Deserializer deserializer = Mockito.mock(Deserializer.class);
+		context.setPostToken(url, postRequest, createToken(CompletableFuture.completedFuture(deserializer)));
+
+		// Act:
+		final Deserializer result = context.connector.postAsync(NodeEndpoint.fromHost("10.0.0.88"), NisApiId.NIS_REST_NODE_INFO, postRequest).join();
+
+		// Assert:
+		Assert.assertThat(result, IsSame.sameInstance(deserializer));
+		Mockito.verify(context.httpClient, Mockito.times(1)).post(url, postRequest, context.connector.getResponseStrategy());
+	}
+
+	@Test
+	public void postVoidAsyncReturnsNothingOnSuccess() {
+		// Arrange:
+		final URL url = ExceptionUtils.propagate(() -> new URL("http://10.0.0.88:7890/node/info"));
+		final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+		final TestContext context = new TestContext();
+		context.setPostToken(url, postRequest, createToken(CompletableFuture.completedFuture(null)));
+
+		// Act:
+		context.connector.postVoidAsync(NodeEndpoint.fromHost("10.0.0.88"), NisApiId.NIS_REST_NODE_INFO, postRequest).join();
+
+		// Assert:
+		Mockito.verify(context.httpClient, Mockito.times(1)).post(url, postRequest, context.connector.getResponseStrategy());
+	}
+
+	@Test
+	public void postVoidAsyncPropagatesFailure() {
+		// Arrange:
+		final URL url = ExceptionUtils.propagate(() -> new URL("http://10.0.0.88:7890/node/info"));
+		final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+		final TestContext context = new TestContext();
+		final NisException exception = new NisException(new ErrorResponse(TimeInstant.ZERO, "badness", 500));
+		context.setPostToken(url, postRequest, createToken(createExceptionalFuture(exception)));
+
+		// Act:
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> context.connector.postVoidAsync(NodeEndpoint.fromHost("10.0.0.88"), NisApiId.NIS_REST_NODE_INFO, postRequest).join(),
+				NisException.class);
+	}
+
+	//endregion
+
+	@Test
+	public void setAccountLookupChangesResponseStrategy() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final BinaryResponseStrategy originalStrategy = context.connector.getResponseStrategy();
+
+		// Act:
+		context.connector.setAccountLookup(new MockAccountLookup());
+
+		// Assert:
+		Assert.assertThat(context.connector.getResponseStrategy(), IsNot.not(IsSame.sameInstance(originalStrategy)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static HttpMethodClient.AsyncToken<Deserializer> createToken(final CompletableFuture<Deserializer> future) {
+		final HttpMethodClient.AsyncToken<Deserializer> token = Mockito.mock(HttpMethodClient.AsyncToken.class);
+		Mockito.when(token.getFuture()).thenReturn(future);
+		return token;
+	}
+
+	private static CompletableFuture<Deserializer> createExceptionalFuture(final Throwable e) {
+		final CompletableFuture<Deserializer> future = new CompletableFuture<>();
+		future.completeExceptionally(e);
+		return future;
+	}
+
+	private static class TestContext {
+		private final HttpMethodClient<Deserializer> httpClient;
+		private final BinaryAsyncNisConnector connector;
+
+		@SuppressWarnings("unchecked")
+		public TestContext() {
+			this.httpClient = Mockito.mock(HttpMethodClient.class);
+			this.connector = new BinaryAsyncNisConnector(this.httpClient);
+		}
+
+		private void setGetToken(final URL url, final HttpMethodClient.AsyncToken<Deserializer> token) {
+			Mockito.when(this.httpClient.get(url, this.connector.getResponseStrategy())).thenReturn(token);
+		}
+
+		private void setPostToken(final URL url, final HttpPostRequest postRequest, final HttpMethodClient.AsyncToken<Deserializer> token) {
+			Mockito.when(this.httpClient.post(url, postRequest, this.connector.getResponseStrategy())).thenReturn(token);
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.nem.core.serialization.*;
+import org.nem.ncc.test.MockAccountLookup;
+
+public class BinaryNisDeserializerTest {
+
+	@Test
+	public void copyCanBeReadAfterOriginalIsRead() {
+		// Arrange:
+		final BinaryNisDeserializer deserializer = createDeserializer(7);
+		deserializer.readInt("value");
+
+		// Act:
+		final BinaryNisDeserializer copy = deserializer.copy();
+
+		// Assert:
+		Assert.assertThat(copy.readInt("value"), IsEqual.equalTo(7));
+	}
+
+	@Test
+	public void copyHasSameContext() {
+		// Arrange:
+		final BinaryNisDeserializer deserializer = createDeserializer(7);
+
+		// Act:
+		final BinaryNisDeserializer copy = deserializer.copy();
+
+		// Assert:
+		Assert.assertThat(copy.getContext(), IsSame.sameInstance(deserializer.getContext()));
+	}
+
+	@Test
+	public void forkCopiesBinaryNisDeserializer() {
+		// Arrange:
+		final BinaryNisDeserializer deserializer = createDeserializer(7);
+
+		// Act:
+		final Deserializer fork1 = BinaryNisDeserializer.fork(deserializer);
+		final Deserializer fork2 = BinaryNisDeserializer.fork(deserializer);
+
+		// Assert:
+		Assert.assertThat(fork1, IsNot.not(IsSame.sameInstance(deserializer)));
+		Assert.assertThat(fork1.readInt("value"), IsEqual.equalTo(7));
+		Assert.assertThat(fork2.readInt("value"), IsEqual.equalTo(7));
+	}
+
+	@Test
+	public void forkReturnsOtherDeserializersAsIs() {
+		// Arrange:
+		final Deserializer deserializer = new JsonDeserializer(JsonSerializer.serializeToJson(s -> s.writeInt("value", 7)), null);
+
+		// Act:
+		final Deserializer fork = BinaryNisDeserializer.fork(deserializer);
+
+		// Assert:
+		Assert.assertThat(fork, IsSame.sameInstance(deserializer));
+	}
+
+	private static BinaryNisDeserializer createDeserializer(final int value) {
+		final byte[] bytes = BinarySerializer.serializeToBytes(serializer -> serializer.writeInt("value", value));
+		return new BinaryNisDeserializer(bytes, new DeserializationContext(new MockAccountLookup()));
+	}
+}
@@ -0,0 +1,157 @@
+package org.nem.ncc.connector;
+
+import net.minidev.json.JSONObject;
+import org.apache.http.*;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.*;
+import org.apache.http.message.*;
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.connect.ErrorResponse;
+import org.nem.core.serialization.*;
+import org.nem.core.time.TimeInstant;
+import org.nem.ncc.exceptions.NisException;
+import org.nem.ncc.test.*;
+
+public class BinaryResponseStrategyTest {
+	private static final ContentType BINARY_CONTENT_TYPE = ContentType.create("application/binary");
+
+	@Test
+	public void supportedContentTypeIsBinary() {
+		// Arrange:
+		final BinaryResponseStrategy strategy = new BinaryResponseStrategy(new MockAccountLookup());
+
+		// Assert:
+		Assert.assertThat(strategy.getSupportedContentType(), IsEqual.equalTo("application/binary"));
+	}
+
+	@Test
+	public void binarySuccessResponseIsCoercedToBinaryDeserializer() {
+		// Arrange:
+		final byte[] bytes = BinarySerializer.serializeToBytes(serializer -> serializer.writeInt("value", 7));
+		final HttpResponse response = createResponse(200, new ByteArrayEntity(bytes, BINARY_CONTENT_TYPE));
+
+		// Act:
+		final Deserializer deserializer = coerce(response);
+
+		// Assert:
+		Assert.assertThat(deserializer, IsInstanceOf.instanceOf(BinaryNisDeserializer.class));
+		Assert.assertThat(deserializer.readInt("value"), IsEqual.equalTo(7));
+	}
+
+	@Test
+	public void coercedDeserializerUsesSpecifiedAccountLookup() {
+		// Arrange:
+		final MockAccountLookup accountLookup = new MockAccountLookup();
+		final BinaryResponseStrategy strategy = new BinaryResponseStrategy(accountLookup);
+		final byte[] bytes = BinarySerializer.serializeToBytes(serializer -> serializer.writeInt("value", 7));
+		final HttpResponse response = createResponse(200, new ByteArrayEntity(bytes, BINARY_CONTENT_TYPE));
+		final Deserializer deserializer = strategy.coerce(Mockito.mock(HttpRequestBase.class), response);
+
+		// Act:
+		final int initialCount = accountLookup.getNumFindByIdCalls();
+		deserializer.getContext().findAccountByAddress(Utils.generateRandomAddress());
+
+		// Assert:
+		Assert.assertThat(accountLookup.getNumFindByIdCalls(), IsEqual.equalTo(initialCount + 1));
+	}
+
+	@Test
+	public void emptySuccessResponseIsCoercedToNull() {
+		// Arrange:
+		final HttpResponse response = createResponse(200, null);
+
+		// Act:
+		final Deserializer deserializer = coerce(response);
+
+		// Assert:
+		Assert.assertThat(deserializer, IsNull.nullValue());
+	}
+
+	@Test
+	public void binaryErrorResponseIsThrownAsNisException() {
+		// Arrange:
+		final byte[] bytes = BinarySerializer.serializeToBytes(new ErrorResponse(TimeInstant.ZERO, "badness", 500));
+		final HttpResponse response = createResponse(500, new ByteArrayEntity(bytes, BINARY_CONTENT_TYPE));
+
+		// Act:
+		ExceptionAssert.assertThrows(v -> coerce(response), NisException.class);
+	}
+
+	@Test
+	public void jsonSuccessResponseIsRejected() {
+		// Arrange:
+		final HttpResponse response = createResponse(200, new StringEntity("{\"value\":7}", ContentType.APPLICATION_JSON));
+
+		// Act:
+		ExceptionAssert.assertThrows(v -> coerce(response), UnsupportedNisFormatException.class);
+	}
+
+	@Test
+	public void notAcceptableResponseIsRejected() {
+		// Arrange:
+		final HttpResponse response = createResponse(406, new StringEntity("{}", ContentType.APPLICATION_JSON));
+
+		// Act:
+		ExceptionAssert.assertThrows(v -> coerce(response), UnsupportedNisFormatException.class);
+	}
+
+	@Test
+	public void unsupportedMediaTypeResponseIsRejected() {
+		// Arrange:
+		final HttpResponse response = createResponse(415, null);
+
+		// Act:
+		ExceptionAssert.assertThrows(v -> coerce(response), UnsupportedNisFormatException.class);
+	}
+
+	@Test
+	public void jsonErrorResponseIsThrownAsNisException() {
+		// Arrange:
+		final ErrorResponse errorResponse = new ErrorResponse(TimeInstant.ZERO, "network has not been booted yet", 500);
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(errorResponse);
+		final HttpResponse response = createResponse(500, new StringEntity(jsonObject.toJSONString(), ContentType.APPLICATION_JSON));
+
+		// Act:
+		ExceptionAssert.assertThrows(
+				v -> coerce(response),
+				NisException.class,
+				ex -> Assert.assertThat(ex.getCode(), IsEqual.equalTo(NisException.Code.NODE_NOT_BOOTED)));
+	}
+
+	@Test
+	public void malformedJsonErrorResponseIsThrownAsNisException() {
+		// Arrange:
+		final HttpResponse response = createResponse(503, new StringEntity("{}", ContentType.APPLICATION_JSON));
+
+		// Act:
+		ExceptionAssert.assertThrows(
+				v -> coerce(response),
+				NisException.class,
+				ex -> Assert.assertThat(ex.getCode(), IsEqual.equalTo(NisException.Code.UNEXPECTED_ERROR)));
+	}
+
+	@Test
+	public void emptyErrorResponseIsThrownAsNisException() {
+		// Arrange:
+		final HttpResponse response = createResponse(500, null);
+
+		// Act:
+		ExceptionAssert.assertThrows(
+				v -> coerce(response),
+				NisException.class,
+				ex -> Assert.assertThat(ex.getCode(), IsEqual.equalTo(NisException.Code.UNEXPECTED_ERROR)));
+	}
+
+	private static Deserializer coerce(final HttpResponse response) {
+		final BinaryResponseStrategy strategy = new BinaryResponseStrategy(new MockAccountLookup());
+		return strategy.coerce(Mockito.mock(HttpRequestBase.class), response);
+	}
+
+	private static HttpResponse createResponse(final int statusCode, final HttpEntity entity) {
+		final HttpResponse response = new BasicHttpResponse(new BasicStatusLine(HttpVersion.HTTP_1_1, statusCode, null));
+		response.setEntity(entity);
+		return response;
+	}
+}
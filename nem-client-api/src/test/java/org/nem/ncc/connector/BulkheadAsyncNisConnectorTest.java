@@ -0,0 +1,116 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.connect.HttpPostRequest;
+import org.nem.core.connect.client.*;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+public class BulkheadAsyncNisConnectorTest {
+
+	@Test
+	public void getBulkheadsReturnsAllDistinctBulkheads() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		final Collection<Bulkhead> bulkheads = context.connector.getBulkheads();
+
+		// Assert:
+		Assert.assertThat(bulkheads.size(), IsEqual.equalTo(2));
+		Assert.assertThat(bulkheads.contains(context.accountBulkhead), IsEqual.equalTo(true));
+		Assert.assertThat(bulkheads.contains(context.announceBulkhead), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void getAsyncIsLimitedByBulkheadOfApi() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(new CompletableFuture<>());
+
+		// Act:
+		context.connector.getAsync(context.endpoint, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a=b");
+		context.connector.getAsync(context.endpoint, NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL, "a=b");
+
+		// Assert: both apis share the account bulkhead, which only allows a single running request
+		Assert.assertThat(context.accountBulkhead.getNumRunningRequests(), IsEqual.equalTo(1));
+		Assert.assertThat(context.accountBulkhead.getNumQueuedRequests(), IsEqual.equalTo(1));
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(Mockito.any(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void getAsyncOfDifferentApiClassIsNotLimitedByOtherBulkhead() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final Deserializer deserializer = Mockito.mock(Deserializer.class);
+		context.setGetResult(new CompletableFuture<>());
+		context.connector.getAsync(context.endpoint, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a=b");
+		Mockito.when(context.innerConnector.postAsync(context.endpoint, NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, context.postRequest))
+				.thenReturn(CompletableFuture.completedFuture(deserializer));
+
+		// Act:
+		final Deserializer result = context.connector.postAsync(context.endpoint, NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, context.postRequest).join();
+
+		// Assert:
+		Assert.assertThat(result, IsSame.sameInstance(deserializer));
+	}
+
+	@Test
+	public void getAsyncOfApiWithoutBulkheadIsNotLimited() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Deserializer> future = new CompletableFuture<>();
+		context.setGetResult(future);
+
+		// Act:
+		final CompletableFuture<Deserializer> result1 = context.connector.getAsync(context.endpoint, NisApiId.NIS_REST_HEARTBEAT, null);
+		final CompletableFuture<Deserializer> result2 = context.connector.getAsync(context.endpoint, NisApiId.NIS_REST_HEARTBEAT, null);
+
+		// Assert:
+		Assert.assertThat(result1, IsSame.sameInstance(future));
+		Assert.assertThat(result2, IsSame.sameInstance(future));
+		Mockito.verify(context.innerConnector, Mockito.times(2)).getAsync(context.endpoint, NisApiId.NIS_REST_HEARTBEAT, null);
+	}
+
+	@Test
+	public void postVoidAsyncIsLimitedByBulkheadOfApi() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.innerConnector.postVoidAsync(Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(new CompletableFuture<>());
+
+		// Act:
+		context.connector.postVoidAsync(context.endpoint, NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, context.postRequest);
+		context.connector.postVoidAsync(context.endpoint, NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, context.postRequest);
+
+		// Assert:
+		Assert.assertThat(context.announceBulkhead.getNumRunningRequests(), IsEqual.equalTo(1));
+		Assert.assertThat(context.announceBulkhead.getNumQueuedRequests(), IsEqual.equalTo(1));
+	}
+
+	private static class TestContext {
+		private final NodeEndpoint endpoint = NodeEndpoint.fromHost("10.0.0.88");
+		private final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+		private final AsyncNisConnector innerConnector = Mockito.mock(AsyncNisConnector.class);
+		private final Bulkhead accountBulkhead = new Bulkhead("account", 1, 10);
+		private final Bulkhead announceBulkhead = new Bulkhead("announce", 1, 10);
+		private final BulkheadAsyncNisConnector connector;
+
+		private TestContext() {
+			final Map<NisApiId, Bulkhead> bulkheads = new HashMap<>();
+			bulkheads.put(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, this.accountBulkhead);
+			bulkheads.put(NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL, this.accountBulkhead);
+			bulkheads.put(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, this.announceBulkhead);
+			this.connector = new BulkheadAsyncNisConnector(this.innerConnector, bulkheads);
+		}
+
+		private void setGetResult(final CompletableFuture<Deserializer> future) {
+			Mockito.when(this.innerConnector.getAsync(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(future);
+		}
+	}
+}
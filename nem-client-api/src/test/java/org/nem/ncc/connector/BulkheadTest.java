@@ -0,0 +1,255 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.nem.ncc.exceptions.NccException;
+import org.nem.ncc.test.ExceptionAssert;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+public class BulkheadTest {
+
+	@Test
+	public void canCreateBulkhead() {
+		// Act:
+		final Bulkhead bulkhead = new Bulkhead("foo", 2, 3);
+
+		// Assert:
+		Assert.assertThat(bulkhead.getName(), IsEqual.equalTo("foo"));
+		Assert.assertThat(bulkhead.getNumRunningRequests(), IsEqual.equalTo(0));
+		Assert.assertThat(bulkhead.getNumQueuedRequests(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void requestsWithinConcurrencyLimitAreStartedImmediately() {
+		// Arrange:
+		final TestContext context = new TestContext(2, 3);
+
+		// Act:
+		context.execute(2);
+
+		// Assert:
+		Assert.assertThat(context.numStartedRequests, IsEqual.equalTo(2));
+		Assert.assertThat(context.bulkhead.getNumRunningRequests(), IsEqual.equalTo(2));
+		Assert.assertThat(context.bulkhead.getNumQueuedRequests(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void requestsExceedingConcurrencyLimitAreQueued() {
+		// Arrange:
+		final TestContext context = new TestContext(2, 3);
+
+		// Act:
+		final List<CompletableFuture<Integer>> futures = context.execute(4);
+
+		// Assert:
+		Assert.assertThat(context.numStartedRequests, IsEqual.equalTo(2));
+		Assert.assertThat(context.bulkhead.getNumRunningRequests(), IsEqual.equalTo(2));
+		Assert.assertThat(context.bulkhead.getNumQueuedRequests(), IsEqual.equalTo(2));
+		Assert.assertThat(futures.get(3).isDone(), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void queuedRequestIsStartedWhenRunningRequestCompletes() {
+		// Arrange:
+		final TestContext context = new TestContext(2, 3);
+		final List<CompletableFuture<Integer>> futures = context.execute(3);
+
+		// Act:
+		context.requestFutures.get(1).complete(1);
+
+		// Assert:
+		Assert.assertThat(futures.get(1).join(), IsEqual.equalTo(1));
+		Assert.assertThat(context.numStartedRequests, IsEqual.equalTo(3));
+		Assert.assertThat(context.bulkhead.getNumRunningRequests(), IsEqual.equalTo(2));
+		Assert.assertThat(context.bulkhead.getNumQueuedRequests(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void queuedRequestIsStartedWhenRunningRequestFails() {
+		// Arrange:
+		final TestContext context = new TestContext(1, 3);
+		final List<CompletableFuture<Integer>> futures = context.execute(2);
+
+		// Act:
+		context.requestFutures.get(0).completeExceptionally(new IllegalArgumentException());
+		context.requestFutures.get(1).complete(1);
+
+		// Assert:
+		ExceptionAssert.assertThrowsCompletionException(v -> futures.get(0).join(), IllegalArgumentException.class);
+		Assert.assertThat(futures.get(1).join(), IsEqual.equalTo(1));
+		Assert.assertThat(context.bulkhead.getNumRunningRequests(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void requestsExceedingQueueLimitAreRejected() {
+		// Arrange:
+		final TestContext context = new TestContext(2, 3);
+
+		// Act:
+		final List<CompletableFuture<Integer>> futures = context.execute(6);
+
+		// Assert:
+		Assert.assertThat(context.numStartedRequests, IsEqual.equalTo(2));
+		Assert.assertThat(context.bulkhead.getNumQueuedRequests(), IsEqual.equalTo(3));
+		final Throwable exception = futures.get(5).handle((result, e) -> e).join();
+		Assert.assertThat(exception, IsInstanceOf.instanceOf(NccException.class));
+		Assert.assertThat(((NccException)exception).getCode(), IsEqual.equalTo(NccException.Code.NIS_OVERLOADED));
+	}
+
+	@Test
+	public void requestsAreAcceptedAgainAfterQueueDrains() {
+		// Arrange:
+		final TestContext context = new TestContext(1, 1);
+		context.execute(2);
+		context.requestFutures.get(0).complete(0);
+
+		// Act:
+		final List<CompletableFuture<Integer>> futures = context.execute(1);
+
+		// Assert:
+		Assert.assertThat(futures.get(0).isCompletedExceptionally(), IsEqual.equalTo(false));
+		Assert.assertThat(context.bulkhead.getNumQueuedRequests(), IsEqual.equalTo(1));
+	}
+
+	@Test
+	public void requestThatThrowsSynchronouslyReleasesSlot() {
+		// Arrange:
+		final Bulkhead bulkhead = new Bulkhead("foo", 1, 1);
+
+		// Act:
+		final CompletableFuture<Integer> future = bulkhead.execute(() -> {
+			throw new IllegalArgumentException();
+		});
+
+		// Assert:
+		ExceptionAssert.assertThrowsCompletionException(v -> future.join(), IllegalArgumentException.class);
+		Assert.assertThat(bulkhead.getNumRunningRequests(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void queuedRequestThatIsCancelledIsNotStarted() {
+		// Arrange:
+		final TestContext context = new TestContext(2, 3);
+		final List<CompletableFuture<Integer>> futures = context.execute(4);
+
+		// Act:
+		futures.get(2).cancel(true);
+		context.requestFutures.get(1).complete(1);
+
+		// Assert: the slot was passed on to the next queued request
+		Assert.assertThat(context.numStartedRequests, IsEqual.equalTo(3));
+		Assert.assertThat(context.bulkhead.getNumRunningRequests(), IsEqual.equalTo(2));
+		Assert.assertThat(context.bulkhead.getNumQueuedRequests(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void queuedRequestThatIsCancelledReleasesQueueSlot() {
+		// Arrange:
+		final TestContext context = new TestContext(1, 2);
+		final List<CompletableFuture<Integer>> futures = context.execute(3);
+
+		// Act:
+		futures.get(1).cancel(true);
+		final int numQueuedRequestsAfterCancel = context.bulkhead.getNumQueuedRequests();
+		final List<CompletableFuture<Integer>> moreFutures = context.execute(1);
+
+		// Assert: the cancelled request no longer counts against the queue limit
+		Assert.assertThat(numQueuedRequestsAfterCancel, IsEqual.equalTo(1));
+		Assert.assertThat(moreFutures.get(0).isDone(), IsEqual.equalTo(false));
+		Assert.assertThat(context.bulkhead.getNumQueuedRequests(), IsEqual.equalTo(2));
+	}
+
+	@Test
+	public void queuedRequestsThatCompleteSynchronouslyAreStartedWithoutRecursion() {
+		// Arrange:
+		final int numQueuedRequests = 50000;
+		final Bulkhead bulkhead = new Bulkhead("test", 1, numQueuedRequests);
+		final CompletableFuture<Integer> firstRequestFuture = new CompletableFuture<>();
+		bulkhead.execute(() -> firstRequestFuture);
+		final List<CompletableFuture<Integer>> futures = new ArrayList<>();
+		for (int i = 0; i < numQueuedRequests; ++i) {
+			final int value = i;
+			futures.add(bulkhead.execute(() -> CompletableFuture.completedFuture(value)));
+		}
+
+		// Act:
+		firstRequestFuture.complete(-1);
+
+		// Assert: all queued requests completed without overflowing the stack
+		Assert.assertThat(futures.stream().allMatch(CompletableFuture::isDone), IsEqual.equalTo(true));
+		Assert.assertThat(futures.get(numQueuedRequests - 1).join(), IsEqual.equalTo(numQueuedRequests - 1));
+		Assert.assertThat(bulkhead.getNumRunningRequests(), IsEqual.equalTo(0));
+		Assert.assertThat(bulkhead.getNumQueuedRequests(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void newRequestIsQueuedBehindQueuedRequestsWhenSlotIsFree() {
+		// Arrange: the queued request is started (and completes) while the slot of the first request is handed over
+		final TestContext context = new TestContext(1, 3);
+		final List<Integer> startOrder = new ArrayList<>();
+		final CompletableFuture<Integer> firstRequestFuture = new CompletableFuture<>();
+		context.bulkhead.execute(() -> firstRequestFuture);
+		context.bulkhead.execute(() -> {
+			startOrder.add(1);
+			context.bulkhead.execute(() -> {
+				startOrder.add(3);
+				return CompletableFuture.completedFuture(3);
+			});
+			return CompletableFuture.completedFuture(1);
+		});
+		context.bulkhead.execute(() -> {
+			startOrder.add(2);
+			return CompletableFuture.completedFuture(2);
+		});
+
+		// Act:
+		firstRequestFuture.complete(0);
+
+		// Assert:
+		Assert.assertThat(startOrder, IsEqual.equalTo(Arrays.asList(1, 2, 3)));
+		Assert.assertThat(context.bulkhead.getNumRunningRequests(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void runningRequestThatIsCancelledKeepsSlotUntilItCompletes() {
+		// Arrange:
+		final TestContext context = new TestContext(1, 3);
+		final List<CompletableFuture<Integer>> futures = context.execute(2);
+
+		// Act:
+		futures.get(0).cancel(true);
+		final int numRunningRequestsAfterCancel = context.bulkhead.getNumRunningRequests();
+		context.requestFutures.get(0).complete(1);
+
+		// Assert:
+		Assert.assertThat(numRunningRequestsAfterCancel, IsEqual.equalTo(1));
+		Assert.assertThat(context.numStartedRequests, IsEqual.equalTo(2));
+		Assert.assertThat(context.bulkhead.getNumQueuedRequests(), IsEqual.equalTo(0));
+	}
+
+	private static class TestContext {
+		private final Bulkhead bulkhead;
+		private final List<CompletableFuture<Integer>> requestFutures = new ArrayList<>();
+		private int numStartedRequests;
+
+		private TestContext(final int maxConcurrentRequests, final int maxQueuedRequests) {
+			this.bulkhead = new Bulkhead("test", maxConcurrentRequests, maxQueuedRequests);
+		}
+
+		private List<CompletableFuture<Integer>> execute(final int numRequests) {
+			final List<CompletableFuture<Integer>> futures = new ArrayList<>();
+			for (int i = 0; i < numRequests; ++i) {
+				final CompletableFuture<Integer> requestFuture = new CompletableFuture<>();
+				this.requestFutures.add(requestFuture);
+				futures.add(this.bulkhead.execute(() -> {
+					++this.numStartedRequests;
+					return requestFuture;
+				}));
+			}
+
+			return futures;
+		}
+	}
+}
@@ -0,0 +1,460 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.connect.HttpPostRequest;
+import org.nem.core.connect.client.NisApiId;
+import org.nem.core.model.primitive.BlockHeight;
+import org.nem.core.serialization.*;
+import org.nem.core.time.*;
+import org.nem.ncc.exceptions.NccException;
+import org.nem.ncc.test.*;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+public class CachingNisConnectorTest {
+	private static final NisApiId TIMED_API_ID = NisApiId.NIS_REST_NODE_INFO;
+	private static final NisApiId HEIGHT_SENSITIVE_API_ID = NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL;
+	private static final NisApiId UNCACHED_API_ID = NisApiId.NIS_REST_ACCOUNT_LOOK_UP;
+
+	//region uncached apis
+
+	@Test
+	public void uncachedApiIsAlwaysRequestedFromInnerConnector() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.connector.getAsync(UNCACHED_API_ID, "a").join();
+		context.connector.getAsync(UNCACHED_API_ID, "a").join();
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(2)).getAsync(UNCACHED_API_ID, "a");
+		Assert.assertThat(context.connector.size(), IsEqual.equalTo(0));
+	}
+
+	//endregion
+
+	//region timed apis
+
+	@Test
+	public void timedApiIsOnlyRequestedOnceWithinTimeToLive() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		final Deserializer deserializer1 = context.connector.getAsync(TIMED_API_ID, "a").join();
+		context.setCurrentTime(159);
+		final Deserializer deserializer2 = context.connector.getAsync(TIMED_API_ID, "a").join();
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(TIMED_API_ID, "a");
+		Assert.assertThat(deserializer2, IsSame.sameInstance(deserializer1));
+		Assert.assertThat(context.connector.size(), IsEqual.equalTo(1));
+	}
+
+	@Test
+	public void cachedBinaryResponseIsCopiedForEachCaller() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final byte[] bytes = BinarySerializer.serializeToBytes(serializer -> serializer.writeInt("value", 7));
+		Mockito.when(context.innerConnector.getAsync(TIMED_API_ID, "a"))
+				.thenReturn(CompletableFuture.completedFuture(new BinaryNisDeserializer(bytes, null)));
+
+		// Act:
+		final Deserializer deserializer1 = context.connector.getAsync(TIMED_API_ID, "a").join();
+		final Deserializer deserializer2 = context.connector.getAsync(TIMED_API_ID, "a").join();
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(TIMED_API_ID, "a");
+		Assert.assertThat(deserializer2, IsNot.not(IsSame.sameInstance(deserializer1)));
+		Assert.assertThat(deserializer1.readInt("value"), IsEqual.equalTo(7));
+		Assert.assertThat(deserializer2.readInt("value"), IsEqual.equalTo(7));
+	}
+
+	@Test
+	public void timedApiIsRequestedAgainAfterTimeToLive() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+		context.setCurrentTime(160);
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(2)).getAsync(TIMED_API_ID, "a");
+	}
+
+	@Test
+	public void requestsWithDifferentQueriesAreCachedSeparately() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+		context.connector.getAsync(TIMED_API_ID, "b").join();
+		context.connector.getAsync(TIMED_API_ID, null).join();
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(TIMED_API_ID, "a");
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(TIMED_API_ID, "b");
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(TIMED_API_ID, null);
+		Assert.assertThat(context.connector.size(), IsEqual.equalTo(3));
+	}
+
+	@Test
+	public void concurrentRequestsShareInFlightRequest() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Deserializer> future = new CompletableFuture<>();
+		Mockito.when(context.innerConnector.getAsync(TIMED_API_ID, "a")).thenReturn(future);
+
+		// Act:
+		final CompletableFuture<Deserializer> future1 = context.connector.getAsync(TIMED_API_ID, "a");
+		final CompletableFuture<Deserializer> future2 = context.connector.getAsync(TIMED_API_ID, "a");
+		future.complete(Mockito.mock(Deserializer.class));
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(TIMED_API_ID, "a");
+		Assert.assertThat(future1.join(), IsSame.sameInstance(future2.join()));
+	}
+
+	@Test
+	public void failedResponseIsNotCached() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Deserializer> future = new CompletableFuture<>();
+		future.completeExceptionally(new NccException(NccException.Code.NIS_NOT_AVAILABLE));
+		Mockito.when(context.innerConnector.getAsync(TIMED_API_ID, "a")).thenReturn(future);
+
+		// Act:
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> context.connector.getAsync(TIMED_API_ID, "a").join(),
+				NccException.class);
+
+		// Assert:
+		Assert.assertThat(context.connector.size(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void expiredEntriesAreNotRemovedOnEveryMiss() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+		context.connector.getAsync(TIMED_API_ID, "b").join();
+
+		// Act:
+		context.setCurrentTime(160);
+		context.connector.getAsync(TIMED_API_ID, "c").join();
+
+		// Assert:
+		Assert.assertThat(context.connector.size(), IsEqual.equalTo(3));
+	}
+
+	@Test
+	public void expiredEntriesAreRemovedPeriodicallyWhenNewEntryIsAdded() {
+		// Arrange: add two entries that expire and 97 entries that do not (99 misses)
+		final TestContext context = new TestContext();
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+		context.connector.getAsync(TIMED_API_ID, "b").join();
+		context.setCurrentTime(160);
+		for (int i = 0; i < 97; ++i) {
+			context.connector.getAsync(TIMED_API_ID, String.valueOf(i)).join();
+		}
+
+		final int sizeBeforeCleanup = context.connector.size();
+
+		// Act: trigger the 100th miss
+		context.connector.getAsync(TIMED_API_ID, "c").join();
+
+		// Assert:
+		Assert.assertThat(sizeBeforeCleanup, IsEqual.equalTo(99));
+		Assert.assertThat(context.connector.size(), IsEqual.equalTo(98));
+	}
+
+	@Test
+	public void getDelegatesToGetAsync() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		final Deserializer deserializer1 = context.connector.get(TIMED_API_ID, "a");
+		final Deserializer deserializer2 = context.connector.get(TIMED_API_ID, "a");
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(TIMED_API_ID, "a");
+		Assert.assertThat(deserializer2, IsSame.sameInstance(deserializer1));
+	}
+
+	//endregion
+
+	//region height sensitive apis
+
+	@Test
+	public void heightSensitiveApiIsNotCachedWhenChainHeightIsUnknown() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.connector.getAsync(HEIGHT_SENSITIVE_API_ID, "a").join();
+		context.connector.getAsync(HEIGHT_SENSITIVE_API_ID, "a").join();
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(2)).getAsync(HEIGHT_SENSITIVE_API_ID, "a");
+		Assert.assertThat(context.connector.size(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void heightSensitiveApiIsCachedWhileChainHeightIsUnchanged() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.connector.setChainHeight(new BlockHeight(10));
+
+		// Act:
+		context.connector.getAsync(HEIGHT_SENSITIVE_API_ID, "a").join();
+		context.connector.setChainHeight(new BlockHeight(10));
+		context.connector.getAsync(HEIGHT_SENSITIVE_API_ID, "a").join();
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(HEIGHT_SENSITIVE_API_ID, "a");
+	}
+
+	@Test
+	public void heightSensitiveApiIsRequestedAgainAfterTimeToLive() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.connector.setChainHeight(new BlockHeight(10));
+
+		// Act:
+		context.connector.getAsync(HEIGHT_SENSITIVE_API_ID, "a").join();
+		context.setCurrentTime(160);
+		context.connector.getAsync(HEIGHT_SENSITIVE_API_ID, "a").join();
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(2)).getAsync(HEIGHT_SENSITIVE_API_ID, "a");
+	}
+
+	@Test
+	public void heightSensitiveApiIsInvalidatedWhenChainHeightChanges() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.connector.setChainHeight(new BlockHeight(10));
+		context.connector.getAsync(HEIGHT_SENSITIVE_API_ID, "a").join();
+
+		// Act:
+		context.connector.setChainHeight(new BlockHeight(11));
+		final int sizeAfterHeightChange = context.connector.size();
+		context.connector.getAsync(HEIGHT_SENSITIVE_API_ID, "a").join();
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(2)).getAsync(HEIGHT_SENSITIVE_API_ID, "a");
+		Assert.assertThat(sizeAfterHeightChange, IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void timedApiIsNotInvalidatedWhenChainHeightChanges() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.connector.setChainHeight(new BlockHeight(10));
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+
+		// Act:
+		context.connector.setChainHeight(new BlockHeight(11));
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(TIMED_API_ID, "a");
+	}
+
+	//endregion
+
+	//region chain height
+
+	@Test
+	public void chainHeightIsInitiallyUnknown() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Assert:
+		Assert.assertThat(context.connector.getChainHeight(), IsNull.nullValue());
+	}
+
+	@Test
+	public void setChainHeightUpdatesChainHeight() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.connector.setChainHeight(new BlockHeight(17));
+
+		// Assert:
+		Assert.assertThat(context.connector.getChainHeight(), IsEqual.equalTo(new BlockHeight(17)));
+	}
+
+	//endregion
+
+	//region delegation
+
+	@Test
+	public void isConnectedDelegatesToInnerConnector() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.innerConnector.isConnected()).thenReturn(true);
+
+		// Act:
+		final boolean isConnected = context.connector.isConnected();
+
+		// Assert:
+		Assert.assertThat(isConnected, IsEqual.equalTo(true));
+		Mockito.verify(context.innerConnector, Mockito.only()).isConnected();
+	}
+
+	@Test
+	public void postAsyncIsNotCached() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+
+		// Act:
+		context.connector.postAsync(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest);
+		context.connector.postAsync(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest);
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(2)).postAsync(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest);
+	}
+
+	@Test
+	public void voidPostAsyncDelegatesToInnerConnector() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+
+		// Act:
+		context.connector.voidPostAsync(NisApiId.NIS_REST_ACCOUNT_LOCK, postRequest);
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.only()).voidPostAsync(NisApiId.NIS_REST_ACCOUNT_LOCK, postRequest);
+	}
+
+	@Test
+	public void postAsyncInvalidatesAffectedApis() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+		context.connector.getAsync(TIMED_API_ID, "b").join();
+
+		// Act:
+		context.connector.postAsync(NisApiId.NIS_REST_ACCOUNT_UNLOCK, Mockito.mock(HttpPostRequest.class)).join();
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(2)).getAsync(TIMED_API_ID, "a");
+		Assert.assertThat(context.connector.size(), IsEqual.equalTo(1));
+	}
+
+	@Test
+	public void voidPostAsyncInvalidatesAffectedApis() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+
+		// Act:
+		context.connector.voidPostAsync(NisApiId.NIS_REST_ACCOUNT_LOCK, Mockito.mock(HttpPostRequest.class)).join();
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(2)).getAsync(TIMED_API_ID, "a");
+	}
+
+	@Test
+	public void failedVoidPostAsyncInvalidatesAffectedApis() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Void> future = new CompletableFuture<>();
+		future.completeExceptionally(new NccException(NccException.Code.NIS_NOT_AVAILABLE));
+		Mockito.when(context.innerConnector.voidPostAsync(Mockito.any(), Mockito.any())).thenReturn(future);
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+
+		// Act:
+		context.connector.voidPostAsync(NisApiId.NIS_REST_ACCOUNT_LOCK, Mockito.mock(HttpPostRequest.class));
+
+		// Assert:
+		Assert.assertThat(context.connector.size(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void voidPostInvalidatesAffectedApis() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+
+		// Act:
+		context.connector.voidPost(NisApiId.NIS_REST_ACCOUNT_LOCK, Mockito.mock(HttpPostRequest.class));
+
+		// Assert:
+		Assert.assertThat(context.connector.size(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void postDoesNotInvalidateUnaffectedApis() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.connector.getAsync(TIMED_API_ID, "a").join();
+
+		// Act:
+		context.connector.postAsync(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, Mockito.mock(HttpPostRequest.class)).join();
+
+		// Assert:
+		Assert.assertThat(context.connector.size(), IsEqual.equalTo(1));
+	}
+
+	@Test
+	public void forwardAsyncDelegatesToInnerConnector() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.connector.forwardAsync(endpoint -> CompletableFuture.completedFuture(7));
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.only()).forwardAsync(Mockito.any());
+	}
+
+	//endregion
+
+	private static class TestContext {
+		private final PrimaryNisConnector innerConnector = Mockito.mock(PrimaryNisConnector.class);
+		private final TimeProvider timeProvider = Mockito.mock(TimeProvider.class);
+		private final CachingNisConnector connector;
+
+		private TestContext() {
+			final Map<NisApiId, Integer> timeToLiveMap = new HashMap<>();
+			timeToLiveMap.put(TIMED_API_ID, 60);
+			timeToLiveMap.put(HEIGHT_SENSITIVE_API_ID, 60);
+			final Map<NisApiId, Set<NisApiId>> postInvalidationMap = new HashMap<>();
+			postInvalidationMap.put(NisApiId.NIS_REST_ACCOUNT_LOCK, Collections.singleton(TIMED_API_ID));
+			postInvalidationMap.put(NisApiId.NIS_REST_ACCOUNT_UNLOCK, Collections.singleton(TIMED_API_ID));
+			this.connector = new CachingNisConnector(
+					this.innerConnector,
+					this.timeProvider,
+					timeToLiveMap,
+					new HashSet<>(Arrays.asList(HEIGHT_SENSITIVE_API_ID)),
+					postInvalidationMap);
+
+			this.setCurrentTime(100);
+			Mockito.when(this.innerConnector.getAsync(Mockito.any(), Mockito.any()))
+					.then(invocationOnMock -> CompletableFuture.completedFuture(Mockito.mock(Deserializer.class)));
+			Mockito.when(this.innerConnector.postAsync(Mockito.any(), Mockito.any()))
+					.then(invocationOnMock -> CompletableFuture.completedFuture(Mockito.mock(Deserializer.class)));
+			Mockito.when(this.innerConnector.voidPostAsync(Mockito.any(), Mockito.any()))
+					.then(invocationOnMock -> CompletableFuture.completedFuture(null));
+		}
+
+		private void setCurrentTime(final int time) {
+			Mockito.when(this.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(time));
+		}
+	}
+}
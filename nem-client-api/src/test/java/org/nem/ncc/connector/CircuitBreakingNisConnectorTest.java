@@ -0,0 +1,216 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.connect.HttpPostRequest;
+import org.nem.core.connect.client.NisApiId;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+import org.nem.ncc.exceptions.NccException;
+import org.nem.ncc.test.ExceptionAssert;
+
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+public class CircuitBreakingNisConnectorTest {
+	private static final NisApiId API_ID = NisApiId.NIS_REST_ACCOUNT_LOOK_UP;
+
+	//region isConnected
+
+	@Test
+	public void isConnectedIsDelegatedWhenAvailable() {
+		// Assert:
+		assertIsConnectedIsDelegated(true);
+	}
+
+	@Test
+	public void isConnectedIsDelegatedWhenUnavailable() {
+		// Assert:
+		assertIsConnectedIsDelegated(false);
+	}
+
+	private static void assertIsConnectedIsDelegated(final boolean isAvailable) {
+		// Arrange:
+		final TestContext context = new TestContext(isAvailable);
+		Mockito.when(context.innerConnector.isConnected()).thenReturn(true);
+
+		// Act:
+		final boolean isConnected = context.connector.isConnected();
+
+		// Assert:
+		Assert.assertThat(isConnected, IsEqual.equalTo(true));
+		Mockito.verify(context.innerConnector, Mockito.only()).isConnected();
+	}
+
+	//endregion
+
+	//region available
+
+	@Test
+	public void getAsyncIsDelegatedWhenAvailable() {
+		// Arrange:
+		final TestContext context = new TestContext(true);
+		Mockito.when(context.innerConnector.getAsync(API_ID, "a=b")).thenReturn(CompletableFuture.completedFuture(context.deserializer));
+
+		// Act:
+		final Deserializer deserializer = context.connector.getAsync(API_ID, "a=b").join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.deserializer));
+		Mockito.verify(context.innerConnector, Mockito.only()).getAsync(API_ID, "a=b");
+	}
+
+	@Test
+	public void getIsDelegatedWhenAvailable() {
+		// Arrange:
+		final TestContext context = new TestContext(true);
+		Mockito.when(context.innerConnector.getAsync(API_ID, "a=b")).thenReturn(CompletableFuture.completedFuture(context.deserializer));
+
+		// Act:
+		final Deserializer deserializer = context.connector.get(API_ID, "a=b");
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.deserializer));
+		Mockito.verify(context.innerConnector, Mockito.only()).getAsync(API_ID, "a=b");
+	}
+
+	@Test
+	public void forwardAsyncIsDelegatedWhenAvailable() {
+		// Arrange:
+		final TestContext context = new TestContext(true);
+		final Function<NodeEndpoint, CompletableFuture<Integer>> request = endpoint -> CompletableFuture.completedFuture(7);
+		Mockito.when(context.innerConnector.forwardAsync(request)).thenReturn(CompletableFuture.completedFuture(7));
+
+		// Act:
+		final Integer result = context.connector.forwardAsync(request).join();
+
+		// Assert:
+		Assert.assertThat(result, IsEqual.equalTo(7));
+		Mockito.verify(context.innerConnector, Mockito.only()).forwardAsync(request);
+	}
+
+	@Test
+	public void postAsyncIsDelegatedWhenAvailable() {
+		// Arrange:
+		final TestContext context = new TestContext(true);
+		Mockito.when(context.innerConnector.postAsync(API_ID, context.postRequest))
+				.thenReturn(CompletableFuture.completedFuture(context.deserializer));
+
+		// Act:
+		final Deserializer deserializer = context.connector.postAsync(API_ID, context.postRequest).join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.deserializer));
+		Mockito.verify(context.innerConnector, Mockito.only()).postAsync(API_ID, context.postRequest);
+	}
+
+	@Test
+	public void voidPostAsyncIsDelegatedWhenAvailable() {
+		// Arrange:
+		final TestContext context = new TestContext(true);
+		Mockito.when(context.innerConnector.voidPostAsync(API_ID, context.postRequest)).thenReturn(CompletableFuture.completedFuture(null));
+
+		// Act:
+		context.connector.voidPostAsync(API_ID, context.postRequest).join();
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.only()).voidPostAsync(API_ID, context.postRequest);
+	}
+
+	//endregion
+
+	//region unavailable
+
+	@Test
+	public void getAsyncFailsFastWhenUnavailable() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.getAsync(API_ID, "a=b");
+
+		// Assert:
+		assertNisNotAvailable(future);
+		Mockito.verifyZeroInteractions(context.innerConnector);
+	}
+
+	@Test
+	public void getFailsFastWhenUnavailable() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+
+		// Act:
+		ExceptionAssert.assertThrowsNccException(
+				v -> context.connector.get(API_ID, "a=b"),
+				NccException.Code.NIS_NOT_AVAILABLE);
+
+		// Assert:
+		Mockito.verifyZeroInteractions(context.innerConnector);
+	}
+
+	@Test
+	public void forwardAsyncFailsFastWhenUnavailable() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+
+		// Act:
+		final CompletableFuture<Integer> future = context.connector.forwardAsync(endpoint -> CompletableFuture.completedFuture(7));
+
+		// Assert:
+		assertNisNotAvailable(future);
+		Mockito.verifyZeroInteractions(context.innerConnector);
+	}
+
+	@Test
+	public void postAsyncFailsFastWhenUnavailable() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.postAsync(API_ID, context.postRequest);
+
+		// Assert:
+		assertNisNotAvailable(future);
+		Mockito.verifyZeroInteractions(context.innerConnector);
+	}
+
+	@Test
+	public void voidPostAsyncFailsFastWhenUnavailable() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+
+		// Act:
+		final CompletableFuture<Void> future = context.connector.voidPostAsync(API_ID, context.postRequest);
+
+		// Assert:
+		assertNisNotAvailable(future);
+		Mockito.verifyZeroInteractions(context.innerConnector);
+	}
+
+	private static void assertNisNotAvailable(final CompletableFuture<?> future) {
+		Assert.assertThat(future.isCompletedExceptionally(), IsEqual.equalTo(true));
+		ExceptionAssert.assertThrowsNccException(
+				v -> {
+					try {
+						future.join();
+					} catch (final CompletionException e) {
+						throw (NccException)e.getCause();
+					}
+				},
+				NccException.Code.NIS_NOT_AVAILABLE);
+	}
+
+	//endregion
+
+	private static class TestContext {
+		private final PrimaryNisConnector innerConnector = Mockito.mock(PrimaryNisConnector.class);
+		private final Deserializer deserializer = Mockito.mock(Deserializer.class);
+		private final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+		private final CircuitBreakingNisConnector connector;
+
+		private TestContext(final boolean isAvailable) {
+			this.connector = new CircuitBreakingNisConnector(this.innerConnector, () -> isAvailable);
+		}
+	}
+}
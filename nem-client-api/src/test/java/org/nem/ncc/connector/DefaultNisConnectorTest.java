@@ -1,6 +1,6 @@
 package org.nem.ncc.connector;
 
-import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.*;
 import org.junit.*;
 import org.mockito.Mockito;
 import org.nem.core.connect.*;
@@ -107,6 +107,21 @@ public class DefaultNisConnectorTest {
 		context.verifySingleGetRequest(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, queryString);
 	}
 
+	@Test
+	public void getAsyncReturnsDeserializerFutureWithoutBlocking() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Deserializer> future = new CompletableFuture<>();
+		context.setGetToken(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, null, future);
+
+		// Act:
+		final CompletableFuture<Deserializer> result = context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, null);
+
+		// Assert:
+		Assert.assertThat(result, IsSame.sameInstance(future));
+		context.verifySingleGetRequest(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, null);
+	}
+
 	//endregion
 
 	//region forward / forwardAsync
@@ -210,6 +225,22 @@ public class DefaultNisConnectorTest {
 		context.verifySinglePostRequest(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest);
 	}
 
+	@Test
+	public void postAsyncReturnsDeserializerFutureWithoutBlocking() {
+		// Arrange:
+		final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+		final TestContext context = new TestContext();
+		final CompletableFuture<Deserializer> future = new CompletableFuture<>();
+		context.setPostToken(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest, future);
+
+		// Act:
+		final CompletableFuture<Deserializer> result = context.connector.postAsync(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest);
+
+		// Assert:
+		Assert.assertThat(result, IsSame.sameInstance(future));
+		context.verifySinglePostRequest(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest);
+	}
+
 	@Test
 	public void voidPostThrowsNisExceptionOnError() {
 		// Arrange:
@@ -242,6 +273,26 @@ public class DefaultNisConnectorTest {
 		context.verifySinglePostVoidRequest(NisApiId.NIS_REST_ACCOUNT_LOCK, postRequest);
 	}
 
+	@Test
+	public void voidPostAsyncCompletesWhenRequestCompletes() {
+		// Arrange:
+		final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+		final TestContext context = new TestContext();
+		final CompletableFuture<Void> future = new CompletableFuture<>();
+		Mockito.when(context.asyncNisConnector.postVoidAsync(context.defaultEndpoint, NisApiId.NIS_REST_ACCOUNT_LOCK, postRequest))
+				.thenReturn(future);
+
+		// Act:
+		final CompletableFuture<Void> result = context.connector.voidPostAsync(NisApiId.NIS_REST_ACCOUNT_LOCK, postRequest);
+		final boolean isDoneBeforeCompletion = result.isDone();
+		future.complete(null);
+
+		// Assert:
+		Assert.assertThat(isDoneBeforeCompletion, IsEqual.equalTo(false));
+		Assert.assertThat(result.isDone(), IsEqual.equalTo(true));
+		context.verifySinglePostVoidRequest(NisApiId.NIS_REST_ACCOUNT_LOCK, postRequest);
+	}
+
 	//endregion
 
 	private static NisException createNisException() {
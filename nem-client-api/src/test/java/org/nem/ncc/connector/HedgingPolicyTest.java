@@ -0,0 +1,130 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+import org.nem.core.connect.client.NisApiId;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+public class HedgingPolicyTest {
+
+	//region isHedged
+
+	@Test
+	public void isHedgedReturnsTrueForHedgedApis() {
+		// Arrange:
+		final HedgingPolicy policy = createPolicy();
+
+		// Assert:
+		Assert.assertThat(policy.isHedged(NisApiId.NIS_REST_ACCOUNT_LOOK_UP), IsEqual.equalTo(true));
+		Assert.assertThat(policy.isHedged(NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void isHedgedReturnsFalseForOtherApis() {
+		// Arrange:
+		final HedgingPolicy policy = createPolicy();
+
+		// Assert:
+		Assert.assertThat(policy.isHedged(NisApiId.NIS_REST_ACCOUNT_LOCK), IsEqual.equalTo(false));
+		Assert.assertThat(policy.isHedged(NisApiId.NIS_REST_HEARTBEAT), IsEqual.equalTo(false));
+	}
+
+	//endregion
+
+	//region getHedgeDelay
+
+	@Test
+	public void getHedgeDelayReturnsDefaultDelayWhenThereAreNoSamples() {
+		// Arrange:
+		final HedgingPolicy policy = createPolicy();
+
+		// Assert:
+		Assert.assertThat(policy.getHedgeDelay(), IsEqual.equalTo(1000));
+	}
+
+	@Test
+	public void getHedgeDelayReturnsDefaultDelayWhenThereAreTooFewSamples() {
+		// Arrange:
+		final HedgingPolicy policy = createPolicy();
+		recordLatencies(policy, 1, 9);
+
+		// Assert:
+		Assert.assertThat(policy.getHedgeDelay(), IsEqual.equalTo(1000));
+	}
+
+	@Test
+	public void getHedgeDelayReturnsPercentileLatencyWhenThereAreEnoughSamples() {
+		// Arrange:
+		final HedgingPolicy policy = createPolicy();
+		recordLatencies(policy, 1, 20);
+
+		// Assert: the 19th (ceil(0.95 * 20)) smallest latency is used
+		Assert.assertThat(policy.getHedgeDelay(), IsEqual.equalTo(19));
+	}
+
+	@Test
+	public void getHedgeDelayIsIndependentOfSampleOrder() {
+		// Arrange:
+		final HedgingPolicy policy = createPolicy();
+		for (int i = 20; i > 0; --i) {
+			policy.recordLatency(i);
+		}
+
+		// Assert:
+		Assert.assertThat(policy.getHedgeDelay(), IsEqual.equalTo(19));
+	}
+
+	@Test
+	public void getHedgeDelayOnlyUsesMostRecentSamples() {
+		// Arrange: record 100 large latencies followed by 100 small latencies
+		final HedgingPolicy policy = createPolicy();
+		recordLatencies(policy, 1001, 1100);
+		recordLatencies(policy, 1, 100);
+
+		// Assert:
+		Assert.assertThat(policy.getHedgeDelay(), IsEqual.equalTo(95));
+	}
+
+	//endregion
+
+	//region createHedgeTrigger
+
+	@Test
+	public void createHedgeTriggerDelegatesToDelayFactoryWithHedgeDelay() {
+		// Arrange:
+		final List<Integer> delays = new ArrayList<>();
+		final CompletableFuture<Void> trigger = new CompletableFuture<>();
+		final HedgingPolicy policy = new HedgingPolicy(
+				Collections.singleton(NisApiId.NIS_REST_ACCOUNT_LOOK_UP),
+				0.5,
+				delay -> {
+					delays.add(delay);
+					return trigger;
+				});
+		recordLatencies(policy, 1, 10);
+
+		// Act:
+		final CompletableFuture<Void> result = policy.createHedgeTrigger();
+
+		// Assert:
+		Assert.assertThat(result, IsEqual.equalTo(trigger));
+		Assert.assertThat(delays, IsEqual.equalTo(Arrays.asList(5)));
+	}
+
+	//endregion
+
+	private static HedgingPolicy createPolicy() {
+		return new HedgingPolicy(
+				new HashSet<>(Arrays.asList(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL)),
+				0.95,
+				delay -> new CompletableFuture<>());
+	}
+
+	private static void recordLatencies(final HedgingPolicy policy, final int start, final int end) {
+		for (int i = start; i <= end; ++i) {
+			policy.recordLatency(i);
+		}
+	}
+}
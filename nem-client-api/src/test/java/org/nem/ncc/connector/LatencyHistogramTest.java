@@ -0,0 +1,116 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void histogramIsInitiallyEmpty() {
+		// Act:
+		final LatencyHistogram histogram = new LatencyHistogram(10);
+
+		// Assert:
+		Assert.assertThat(histogram.size(), IsEqual.equalTo(0));
+		Assert.assertThat(histogram.getPercentile(0.5), IsEqual.equalTo(0L));
+	}
+
+	@Test
+	public void recordAddsSample() {
+		// Arrange:
+		final LatencyHistogram histogram = new LatencyHistogram(10);
+
+		// Act:
+		histogram.record(7);
+		histogram.record(3);
+
+		// Assert:
+		Assert.assertThat(histogram.size(), IsEqual.equalTo(2));
+	}
+
+	@Test
+	public void sizeIsBoundedByMaxSamples() {
+		// Arrange:
+		final LatencyHistogram histogram = new LatencyHistogram(10);
+
+		// Act:
+		record(histogram, 1, 25);
+
+		// Assert:
+		Assert.assertThat(histogram.size(), IsEqual.equalTo(10));
+	}
+
+	@Test
+	public void getPercentileReturnsLatencyAtPercentile() {
+		// Arrange:
+		final LatencyHistogram histogram = new LatencyHistogram(100);
+		for (int i = 20; i > 0; --i) {
+			histogram.record(i);
+		}
+
+		// Assert:
+		Assert.assertThat(histogram.getPercentile(0.0), IsEqual.equalTo(1L));
+		Assert.assertThat(histogram.getPercentile(0.5), IsEqual.equalTo(10L));
+		Assert.assertThat(histogram.getPercentile(0.95), IsEqual.equalTo(19L));
+		Assert.assertThat(histogram.getPercentile(1.0), IsEqual.equalTo(20L));
+	}
+
+	@Test
+	public void getPercentileOnlyUsesMostRecentSamples() {
+		// Arrange:
+		final LatencyHistogram histogram = new LatencyHistogram(10);
+		record(histogram, 1001, 1010);
+		record(histogram, 1, 10);
+
+		// Assert:
+		Assert.assertThat(histogram.getPercentile(1.0), IsEqual.equalTo(10L));
+	}
+
+	@Test
+	public void getPercentileIsNotUpdatedForFewNewSamples() {
+		// Arrange:
+		final LatencyHistogram histogram = new LatencyHistogram(100);
+		record(histogram, 1, 100);
+		histogram.getPercentile(1.0);
+
+		// Act:
+		record(histogram, 1001, 1009);
+
+		// Assert: less than a tenth of the samples are new
+		Assert.assertThat(histogram.getPercentile(1.0), IsEqual.equalTo(100L));
+	}
+
+	@Test
+	public void getPercentileIsUpdatedAfterEnoughNewSamples() {
+		// Arrange:
+		final LatencyHistogram histogram = new LatencyHistogram(100);
+		record(histogram, 1, 100);
+		histogram.getPercentile(1.0);
+
+		// Act:
+		record(histogram, 1001, 1010);
+
+		// Assert: a tenth of the samples are new
+		Assert.assertThat(histogram.getPercentile(1.0), IsEqual.equalTo(1010L));
+	}
+
+	@Test
+	public void getPercentileIsUpdatedForEveryNewSampleWhileHistogramIsSmall() {
+		// Arrange:
+		final LatencyHistogram histogram = new LatencyHistogram(100);
+		record(histogram, 1, 5);
+		histogram.getPercentile(1.0);
+
+		// Act:
+		histogram.record(7);
+
+		// Assert:
+		Assert.assertThat(histogram.getPercentile(1.0), IsEqual.equalTo(7L));
+	}
+
+	private static void record(final LatencyHistogram histogram, final int start, final int end) {
+		for (int i = start; i <= end; ++i) {
+			histogram.record(i);
+		}
+	}
+}
@@ -0,0 +1,308 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.connect.*;
+import org.nem.core.connect.client.*;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+import org.nem.core.time.*;
+import org.nem.ncc.exceptions.NisException;
+import org.nem.ncc.model.NisCommunicationMode;
+import org.nem.ncc.test.ExceptionAssert;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+public class NegotiatingAsyncNisConnectorTest {
+	private static final NisApiId BINARY_API_ID = NisApiId.NIS_REST_ACCOUNT_LOOK_UP;
+	private static final NisApiId JSON_API_ID = NisApiId.NIS_REST_NODE_INFO;
+	private static final int JSON_RETRY_SECONDS = 60;
+
+	//region getAsync
+
+	@Test
+	public void getAsyncUsesJsonWhenBinaryModeIsDisabled() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.JSON);
+
+		// Act:
+		final Deserializer deserializer = context.connector.getAsync(context.endpoint, BINARY_API_ID, "a=b").join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.jsonDeserializer));
+		Mockito.verify(context.jsonConnector, Mockito.only()).getAsync(context.endpoint, BINARY_API_ID, "a=b");
+		Mockito.verifyZeroInteractions(context.binaryConnector);
+	}
+
+	@Test
+	public void getAsyncUsesJsonForApisThatDoNotSupportBinary() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.BINARY);
+
+		// Act:
+		final Deserializer deserializer = context.connector.getAsync(context.endpoint, JSON_API_ID, "a=b").join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.jsonDeserializer));
+		Mockito.verify(context.jsonConnector, Mockito.only()).getAsync(context.endpoint, JSON_API_ID, "a=b");
+		Mockito.verifyZeroInteractions(context.binaryConnector);
+	}
+
+	@Test
+	public void getAsyncUsesBinaryWhenEndpointSupportsBinary() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.BINARY);
+
+		// Act:
+		final Deserializer deserializer = context.connector.getAsync(context.endpoint, BINARY_API_ID, "a=b").join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.binaryDeserializer));
+		Assert.assertThat(context.connector.supportsBinary(context.endpoint), IsEqual.equalTo(true));
+		Mockito.verify(context.binaryConnector, Mockito.only()).getAsync(context.endpoint, BINARY_API_ID, "a=b");
+		Mockito.verifyZeroInteractions(context.jsonConnector);
+	}
+
+	@Test
+	public void getAsyncFallsBackToJsonWhenEndpointDoesNotSupportBinary() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.BINARY);
+		context.setBinaryGetFailure(new UnsupportedNisFormatException("json"));
+
+		// Act:
+		final Deserializer deserializer = context.connector.getAsync(context.endpoint, BINARY_API_ID, "a=b").join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.jsonDeserializer));
+		Assert.assertThat(context.connector.supportsBinary(context.endpoint), IsEqual.equalTo(false));
+		Mockito.verify(context.binaryConnector, Mockito.only()).getAsync(context.endpoint, BINARY_API_ID, "a=b");
+		Mockito.verify(context.jsonConnector, Mockito.only()).getAsync(context.endpoint, BINARY_API_ID, "a=b");
+	}
+
+	@Test
+	public void getAsyncRemembersEndpointsThatDoNotSupportBinary() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.BINARY);
+		context.setBinaryGetFailure(new UnsupportedNisFormatException("json"));
+		context.connector.getAsync(context.endpoint, BINARY_API_ID, "a=b").join();
+
+		// Act:
+		context.connector.getAsync(context.endpoint, BINARY_API_ID, "c=d").join();
+
+		// Assert:
+		Mockito.verify(context.binaryConnector, Mockito.only()).getAsync(context.endpoint, BINARY_API_ID, "a=b");
+		Mockito.verify(context.jsonConnector, Mockito.times(1)).getAsync(context.endpoint, BINARY_API_ID, "c=d");
+	}
+
+	@Test
+	public void getAsyncUsesJsonForEndpointsThatDoNotSupportBinaryWithinRetryPeriod() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.BINARY);
+		context.setBinaryGetFailure(new UnsupportedNisFormatException("json"));
+		context.connector.getAsync(context.endpoint, BINARY_API_ID, "a=b").join();
+		context.setTime(JSON_RETRY_SECONDS - 1);
+
+		// Act:
+		final Deserializer deserializer = context.connector.getAsync(context.endpoint, BINARY_API_ID, "c=d").join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.jsonDeserializer));
+		Mockito.verify(context.binaryConnector, Mockito.only()).getAsync(context.endpoint, BINARY_API_ID, "a=b");
+	}
+
+	@Test
+	public void getAsyncRequestsBinaryAgainAfterRetryPeriod() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.BINARY);
+		context.setBinaryGetFailure(new UnsupportedNisFormatException("json"));
+		context.connector.getAsync(context.endpoint, BINARY_API_ID, "a=b").join();
+		context.setTime(JSON_RETRY_SECONDS);
+		Mockito.when(context.binaryConnector.getAsync(context.endpoint, BINARY_API_ID, "c=d"))
+				.thenReturn(CompletableFuture.completedFuture(context.binaryDeserializer));
+
+		// Act:
+		final Deserializer deserializer = context.connector.getAsync(context.endpoint, BINARY_API_ID, "c=d").join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.binaryDeserializer));
+		Assert.assertThat(context.connector.supportsBinary(context.endpoint), IsEqual.equalTo(true));
+		Mockito.verify(context.jsonConnector, Mockito.only()).getAsync(context.endpoint, BINARY_API_ID, "a=b");
+	}
+
+	@Test
+	public void getAsyncStartsNewRetryPeriodWhenBinaryIsRejectedAgain() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.BINARY);
+		context.setBinaryGetFailure(new UnsupportedNisFormatException("json"));
+		context.connector.getAsync(context.endpoint, BINARY_API_ID, "a=b").join();
+		context.setTime(JSON_RETRY_SECONDS);
+		context.connector.getAsync(context.endpoint, BINARY_API_ID, "c=d").join();
+		context.setTime(2 * JSON_RETRY_SECONDS - 1);
+
+		// Act:
+		final Deserializer deserializer = context.connector.getAsync(context.endpoint, BINARY_API_ID, "e=f").join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.jsonDeserializer));
+		Assert.assertThat(context.connector.supportsBinary(context.endpoint), IsEqual.equalTo(false));
+		Mockito.verify(context.binaryConnector, Mockito.times(2)).getAsync(Mockito.any(), Mockito.any(), Mockito.any());
+		Mockito.verify(context.jsonConnector, Mockito.times(1)).getAsync(context.endpoint, BINARY_API_ID, "e=f");
+	}
+
+	@Test
+	public void getAsyncRequestsBinaryAgainOnlyOnceAfterRetryPeriod() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.BINARY);
+		context.setBinaryGetFailure(new UnsupportedNisFormatException("json"));
+		context.connector.getAsync(context.endpoint, BINARY_API_ID, "a=b").join();
+		context.setTime(JSON_RETRY_SECONDS);
+		Mockito.when(context.binaryConnector.getAsync(context.endpoint, BINARY_API_ID, "c=d"))
+				.thenReturn(new CompletableFuture<>());
+
+		// Act: the second get is requested while the first one is still asking for the binary format
+		final CompletableFuture<Deserializer> future1 = context.connector.getAsync(context.endpoint, BINARY_API_ID, "c=d");
+		final CompletableFuture<Deserializer> future2 = context.connector.getAsync(context.endpoint, BINARY_API_ID, "e=f");
+
+		// Assert:
+		Assert.assertThat(future1.isDone(), IsEqual.equalTo(false));
+		Assert.assertThat(future2.join(), IsSame.sameInstance(context.jsonDeserializer));
+		Mockito.verify(context.binaryConnector, Mockito.times(2)).getAsync(Mockito.any(), Mockito.any(), Mockito.any());
+		Mockito.verify(context.jsonConnector, Mockito.times(1)).getAsync(context.endpoint, BINARY_API_ID, "e=f");
+	}
+
+	@Test
+	public void getAsyncNegotiatesFormatPerEndpoint() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.BINARY);
+		final NodeEndpoint otherEndpoint = NodeEndpoint.fromHost("10.0.0.77");
+		context.setBinaryGetFailure(new UnsupportedNisFormatException("json"));
+		context.connector.getAsync(context.endpoint, BINARY_API_ID, "a=b").join();
+		Mockito.when(context.binaryConnector.getAsync(otherEndpoint, BINARY_API_ID, "a=b"))
+				.thenReturn(CompletableFuture.completedFuture(context.binaryDeserializer));
+
+		// Act:
+		final Deserializer deserializer = context.connector.getAsync(otherEndpoint, BINARY_API_ID, "a=b").join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.binaryDeserializer));
+		Assert.assertThat(context.connector.supportsBinary(context.endpoint), IsEqual.equalTo(false));
+		Assert.assertThat(context.connector.supportsBinary(otherEndpoint), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void getAsyncDoesNotFallBackToJsonForOtherFailures() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.BINARY);
+		context.setBinaryGetFailure(new NisException(new ErrorResponse(TimeInstant.ZERO, "badness", 500)));
+
+		// Act:
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> context.connector.getAsync(context.endpoint, BINARY_API_ID, "a=b").join(),
+				NisException.class);
+
+		// Assert:
+		Mockito.verifyZeroInteractions(context.jsonConnector);
+	}
+
+	//endregion
+
+	//region postAsync / postVoidAsync
+
+	@Test
+	public void postsUseJsonWhenEndpointIsNotKnownToSupportBinary() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.BINARY);
+
+		// Act:
+		final Deserializer deserializer = context.connector.postAsync(context.endpoint, BINARY_API_ID, context.postRequest).join();
+		context.connector.postVoidAsync(context.endpoint, BINARY_API_ID, context.postRequest).join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.jsonDeserializer));
+		Mockito.verify(context.jsonConnector, Mockito.times(1)).postAsync(context.endpoint, BINARY_API_ID, context.postRequest);
+		Mockito.verify(context.jsonConnector, Mockito.times(1)).postVoidAsync(context.endpoint, BINARY_API_ID, context.postRequest);
+		Mockito.verifyZeroInteractions(context.binaryConnector);
+	}
+
+	@Test
+	public void postsUseBinaryWhenEndpointIsKnownToSupportBinary() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.BINARY);
+		context.connector.getAsync(context.endpoint, BINARY_API_ID, "a=b").join();
+
+		// Act:
+		final Deserializer deserializer = context.connector.postAsync(context.endpoint, BINARY_API_ID, context.postRequest).join();
+		context.connector.postVoidAsync(context.endpoint, BINARY_API_ID, context.postRequest).join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.binaryDeserializer));
+		Mockito.verify(context.binaryConnector, Mockito.times(1)).postAsync(context.endpoint, BINARY_API_ID, context.postRequest);
+		Mockito.verify(context.binaryConnector, Mockito.times(1)).postVoidAsync(context.endpoint, BINARY_API_ID, context.postRequest);
+		Mockito.verifyZeroInteractions(context.jsonConnector);
+	}
+
+	@Test
+	public void postsUseJsonForApisThatDoNotSupportBinary() {
+		// Arrange:
+		final TestContext context = new TestContext(NisCommunicationMode.BINARY);
+		context.connector.getAsync(context.endpoint, BINARY_API_ID, "a=b").join();
+
+		// Act:
+		context.connector.postAsync(context.endpoint, JSON_API_ID, context.postRequest).join();
+
+		// Assert:
+		Mockito.verify(context.jsonConnector, Mockito.only()).postAsync(context.endpoint, JSON_API_ID, context.postRequest);
+	}
+
+	//endregion
+
+	private static CompletableFuture<Deserializer> createExceptionalFuture(final Throwable e) {
+		final CompletableFuture<Deserializer> future = new CompletableFuture<>();
+		future.completeExceptionally(e);
+		return future;
+	}
+
+	private static class TestContext {
+		private final NodeEndpoint endpoint = NodeEndpoint.fromHost("10.0.0.88");
+		private final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+		private final Deserializer binaryDeserializer = Mockito.mock(Deserializer.class);
+		private final Deserializer jsonDeserializer = Mockito.mock(Deserializer.class);
+		private final AsyncNisConnector binaryConnector = Mockito.mock(AsyncNisConnector.class);
+		private final AsyncNisConnector jsonConnector = Mockito.mock(AsyncNisConnector.class);
+		private final TimeProvider timeProvider = Mockito.mock(TimeProvider.class);
+		private final NegotiatingAsyncNisConnector connector;
+
+		private TestContext(final NisCommunicationMode mode) {
+			this.connector = new NegotiatingAsyncNisConnector(
+					this.binaryConnector,
+					this.jsonConnector,
+					() -> mode,
+					new HashSet<>(Arrays.asList(BINARY_API_ID)),
+					this.timeProvider,
+					JSON_RETRY_SECONDS);
+			setupConnector(this.binaryConnector, this.binaryDeserializer);
+			setupConnector(this.jsonConnector, this.jsonDeserializer);
+			this.setTime(0);
+		}
+
+		private void setTime(final int time) {
+			Mockito.when(this.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(time));
+		}
+
+		private void setBinaryGetFailure(final Throwable e) {
+			Mockito.when(this.binaryConnector.getAsync(Mockito.any(), Mockito.any(), Mockito.any()))
+					.thenReturn(createExceptionalFuture(e));
+		}
+
+		private static void setupConnector(final AsyncNisConnector connector, final Deserializer deserializer) {
+			Mockito.when(connector.getAsync(Mockito.any(), Mockito.any(), Mockito.any()))
+					.thenReturn(CompletableFuture.completedFuture(deserializer));
+			Mockito.when(connector.postAsync(Mockito.any(), Mockito.any(), Mockito.any()))
+					.thenReturn(CompletableFuture.completedFuture(deserializer));
+			Mockito.when(connector.postVoidAsync(Mockito.any(), Mockito.any(), Mockito.any()))
+					.thenReturn(CompletableFuture.completedFuture(null));
+		}
+	}
+}
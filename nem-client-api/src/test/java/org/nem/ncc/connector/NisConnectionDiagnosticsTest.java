@@ -0,0 +1,69 @@
+package org.nem.ncc.connector;
+
+import net.minidev.json.*;
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.JsonSerializer;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+public class NisConnectionDiagnosticsTest {
+
+	@Test
+	public void canSerializeDiagnostics() {
+		// Arrange:
+		final NisRoute route = new NisRoute(NodeEndpoint.fromHost("10.0.0.12"), 3, 10);
+		route.execute(CompletableFuture::new);
+		route.execute(() -> CompletableFuture.completedFuture(1));
+		final Bulkhead bulkhead = new Bulkhead("reads", 1, 10);
+		bulkhead.execute(CompletableFuture::new);
+		bulkhead.execute(CompletableFuture::new);
+
+		final RouteLimitingAsyncNisConnector routeConnector = Mockito.mock(RouteLimitingAsyncNisConnector.class);
+		final BulkheadAsyncNisConnector bulkheadConnector = Mockito.mock(BulkheadAsyncNisConnector.class);
+		Mockito.when(routeConnector.getRoutes()).thenReturn(Collections.singletonList(route));
+		Mockito.when(bulkheadConnector.getBulkheads()).thenReturn(Collections.singletonList(bulkhead));
+		final NisConnectionDiagnostics diagnostics = new NisConnectionDiagnostics(routeConnector, bulkheadConnector);
+
+		// Act:
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(diagnostics);
+
+		// Assert:
+		final JSONArray routes = (JSONArray)jsonObject.get("routes");
+		Assert.assertThat(routes.size(), IsEqual.equalTo(1));
+		final JSONObject jsonRoute = (JSONObject)routes.get(0);
+		Assert.assertThat(jsonRoute.get("endpoint"), IsEqual.equalTo(route.getEndpoint().toString()));
+		Assert.assertThat(jsonRoute.get("max"), IsEqual.equalTo(3));
+		Assert.assertThat(jsonRoute.get("leased"), IsEqual.equalTo(1));
+		Assert.assertThat(jsonRoute.get("pending"), IsEqual.equalTo(0));
+		Assert.assertThat(jsonRoute.get("available"), IsEqual.equalTo(2));
+		Assert.assertThat(jsonRoute.get("requests"), IsEqual.equalTo(1L));
+		Assert.assertThat(jsonRoute.get("failures"), IsEqual.equalTo(0L));
+
+		final JSONArray bulkheads = (JSONArray)jsonObject.get("bulkheads");
+		Assert.assertThat(bulkheads.size(), IsEqual.equalTo(1));
+		final JSONObject jsonBulkhead = (JSONObject)bulkheads.get(0);
+		Assert.assertThat(jsonBulkhead.get("name"), IsEqual.equalTo("reads"));
+		Assert.assertThat(jsonBulkhead.get("running"), IsEqual.equalTo(1));
+		Assert.assertThat(jsonBulkhead.get("queued"), IsEqual.equalTo(1));
+	}
+
+	@Test
+	public void diagnosticsReflectCurrentConnectorState() {
+		// Arrange:
+		final RouteLimitingAsyncNisConnector routeConnector = Mockito.mock(RouteLimitingAsyncNisConnector.class);
+		final BulkheadAsyncNisConnector bulkheadConnector = Mockito.mock(BulkheadAsyncNisConnector.class);
+		final NisConnectionDiagnostics diagnostics = new NisConnectionDiagnostics(routeConnector, bulkheadConnector);
+
+		// Act:
+		JsonSerializer.serializeToJson(diagnostics);
+		JsonSerializer.serializeToJson(diagnostics);
+
+		// Assert:
+		Mockito.verify(routeConnector, Mockito.times(2)).getRoutes();
+		Mockito.verify(bulkheadConnector, Mockito.times(2)).getBulkheads();
+	}
+}
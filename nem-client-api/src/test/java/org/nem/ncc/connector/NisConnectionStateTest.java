@@ -0,0 +1,414 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.time.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+public class NisConnectionStateTest {
+	private static final int CACHE_SECONDS = 5;
+	private static final int FAILURE_THRESHOLD = 3;
+	private static final int OPEN_SECONDS = 30;
+
+	//region caching
+
+	@Test
+	public void firstCallChecksLiveness() {
+		// Arrange:
+		final TestContext context = new TestContext(true);
+
+		// Act:
+		final boolean isConnected = context.state.isConnected();
+
+		// Assert:
+		Assert.assertThat(isConnected, IsEqual.equalTo(true));
+		Assert.assertThat(context.numChecks.get(), IsEqual.equalTo(1));
+	}
+
+	@Test
+	public void resultIsCachedWithinCacheWindow() {
+		// Arrange:
+		final TestContext context = new TestContext(true);
+		context.state.isConnected();
+
+		// Act:
+		context.setCurrentTime(100 + CACHE_SECONDS - 1);
+		context.isAlive = false;
+		final boolean isConnected = context.state.isConnected();
+
+		// Assert:
+		Assert.assertThat(isConnected, IsEqual.equalTo(true));
+		Assert.assertThat(context.numChecks.get(), IsEqual.equalTo(1));
+	}
+
+	@Test
+	public void livenessIsCheckedAgainAfterCacheWindow() {
+		// Arrange:
+		final TestContext context = new TestContext(true);
+		context.state.isConnected();
+
+		// Act:
+		context.setCurrentTime(context.currentTime + CACHE_SECONDS);
+		context.isAlive = false;
+		final boolean isConnected = context.state.isConnected();
+
+		// Assert:
+		Assert.assertThat(isConnected, IsEqual.equalTo(false));
+		Assert.assertThat(context.numChecks.get(), IsEqual.equalTo(2));
+	}
+
+	@Test
+	public void callersWaitForFirstCheckInProgress() throws Exception {
+		// Arrange:
+		final CountDownLatch checkStarted = new CountDownLatch(1);
+		final CountDownLatch checkCanComplete = new CountDownLatch(1);
+		final TestContext context = new TestContext(() -> {
+			checkStarted.countDown();
+			await(checkCanComplete);
+			return true;
+		});
+
+		// Act:
+		final CompletableFuture<Boolean> future1 = CompletableFuture.supplyAsync(context.state::isConnected);
+		checkStarted.await();
+		final CompletableFuture<Boolean> future2 = CompletableFuture.supplyAsync(context.state::isConnected);
+		checkCanComplete.countDown();
+
+		// Assert:
+		Assert.assertThat(future1.get(), IsEqual.equalTo(true));
+		Assert.assertThat(future2.get(), IsEqual.equalTo(true));
+		Assert.assertThat(context.numChecks.get(), IsEqual.equalTo(1));
+	}
+
+	@Test
+	public void callersDoNotWaitForSubsequentCheckInProgress() throws Exception {
+		// Arrange:
+		final CountDownLatch checkStarted = new CountDownLatch(1);
+		final CountDownLatch checkCanComplete = new CountDownLatch(1);
+		final AtomicInteger numCalls = new AtomicInteger();
+		final TestContext context = new TestContext(() -> {
+			if (1 == numCalls.incrementAndGet()) {
+				return true;
+			}
+
+			checkStarted.countDown();
+			await(checkCanComplete);
+			return false;
+		});
+		context.state.isConnected();
+		context.setCurrentTime(context.currentTime + CACHE_SECONDS);
+
+		// Act:
+		final CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(context.state::isConnected);
+		checkStarted.await();
+		final boolean isConnected = context.state.isConnected();
+		checkCanComplete.countDown();
+
+		// Assert:
+		Assert.assertThat(isConnected, IsEqual.equalTo(true));
+		Assert.assertThat(future.get(), IsEqual.equalTo(false));
+	}
+
+	//endregion
+
+	//region circuit breaker
+
+	@Test
+	public void circuitIsInitiallyClosed() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+
+		// Assert:
+		Assert.assertThat(context.state.isCircuitOpen(), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void circuitIsNotOpenedBeforeFailureThresholdIsReached() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+
+		// Act:
+		context.checkRepeatedly(FAILURE_THRESHOLD - 1);
+
+		// Assert:
+		Assert.assertThat(context.state.isCircuitOpen(), IsEqual.equalTo(false));
+		Assert.assertThat(context.numChecks.get(), IsEqual.equalTo(FAILURE_THRESHOLD - 1));
+	}
+
+	@Test
+	public void circuitIsOpenedAfterConsecutiveFailures() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+
+		// Act:
+		context.checkRepeatedly(FAILURE_THRESHOLD);
+
+		// Assert:
+		Assert.assertThat(context.state.isCircuitOpen(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void successResetsConsecutiveFailures() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+		context.checkRepeatedly(FAILURE_THRESHOLD - 1);
+		context.isAlive = true;
+		context.checkRepeatedly(1);
+		context.isAlive = false;
+
+		// Act:
+		context.checkRepeatedly(FAILURE_THRESHOLD - 1);
+
+		// Assert:
+		Assert.assertThat(context.state.isCircuitOpen(), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void livenessIsNotCheckedWhileCircuitIsOpen() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+		final int openTime = context.checkRepeatedly(FAILURE_THRESHOLD);
+		context.isAlive = true;
+
+		// Act:
+		context.setCurrentTime(openTime + OPEN_SECONDS - 1);
+		final boolean isConnected = context.state.isConnected();
+
+		// Assert:
+		Assert.assertThat(isConnected, IsEqual.equalTo(false));
+		Assert.assertThat(context.numChecks.get(), IsEqual.equalTo(FAILURE_THRESHOLD));
+	}
+
+	@Test
+	public void circuitIsClosedWhenCheckSucceedsAfterOpenPeriod() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+		final int openTime = context.checkRepeatedly(FAILURE_THRESHOLD);
+		context.isAlive = true;
+
+		// Act:
+		context.setCurrentTime(openTime + OPEN_SECONDS);
+		final boolean isConnected = context.state.isConnected();
+
+		// Assert:
+		Assert.assertThat(isConnected, IsEqual.equalTo(true));
+		Assert.assertThat(context.state.isCircuitOpen(), IsEqual.equalTo(false));
+		Assert.assertThat(context.numChecks.get(), IsEqual.equalTo(FAILURE_THRESHOLD + 1));
+	}
+
+	@Test
+	public void circuitIsReopenedWhenCheckFailsAfterOpenPeriod() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+		final int openTime = context.checkRepeatedly(FAILURE_THRESHOLD);
+
+		// Act:
+		context.setCurrentTime(openTime + OPEN_SECONDS);
+		context.state.isConnected();
+		context.setCurrentTime(openTime + OPEN_SECONDS + CACHE_SECONDS);
+		final boolean isConnected = context.state.isConnected();
+
+		// Assert:
+		Assert.assertThat(isConnected, IsEqual.equalTo(false));
+		Assert.assertThat(context.state.isCircuitOpen(), IsEqual.equalTo(true));
+		Assert.assertThat(context.numChecks.get(), IsEqual.equalTo(FAILURE_THRESHOLD + 1));
+	}
+
+	//endregion
+
+	//region isAvailable
+
+	@Test
+	public void isAvailableReturnsTrueWithoutCheckWhileCircuitIsClosed() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+
+		// Act:
+		final boolean isAvailable = context.state.isAvailable();
+
+		// Assert:
+		Assert.assertThat(isAvailable, IsEqual.equalTo(true));
+		Assert.assertThat(context.numChecks.get(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void isAvailableReturnsFalseWithoutCheckWhileCircuitIsOpen() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+		final int openTime = context.checkRepeatedly(FAILURE_THRESHOLD);
+		context.isAlive = true;
+
+		// Act:
+		context.setCurrentTime(openTime + OPEN_SECONDS - 1);
+		final boolean isAvailable = context.state.isAvailable();
+
+		// Assert:
+		Assert.assertThat(isAvailable, IsEqual.equalTo(false));
+		Assert.assertThat(context.numChecks.get(), IsEqual.equalTo(FAILURE_THRESHOLD));
+	}
+
+	@Test
+	public void isAvailableDoesNotCheckLivenessOnCallingThreadAfterOpenPeriod() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+		final int openTime = context.checkRepeatedly(FAILURE_THRESHOLD);
+		context.isAlive = true;
+
+		// Act:
+		context.setCurrentTime(openTime + OPEN_SECONDS);
+		final boolean isAvailable = context.state.isAvailable();
+
+		// Assert:
+		Assert.assertThat(isAvailable, IsEqual.equalTo(false));
+		Assert.assertThat(context.numChecks.get(), IsEqual.equalTo(FAILURE_THRESHOLD));
+		Assert.assertThat(context.probes.size(), IsEqual.equalTo(1));
+	}
+
+	@Test
+	public void isAvailableSchedulesSingleProbeAfterOpenPeriod() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+		final int openTime = context.checkRepeatedly(FAILURE_THRESHOLD);
+
+		// Act:
+		context.setCurrentTime(openTime + OPEN_SECONDS);
+		context.state.isAvailable();
+		context.state.isAvailable();
+		context.state.isAvailable();
+
+		// Assert:
+		Assert.assertThat(context.probes.size(), IsEqual.equalTo(1));
+	}
+
+	@Test
+	public void isAvailableReturnsTrueAfterProbeSucceeds() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+		final int openTime = context.checkRepeatedly(FAILURE_THRESHOLD);
+		context.isAlive = true;
+		context.setCurrentTime(openTime + OPEN_SECONDS);
+		context.state.isAvailable();
+
+		// Act:
+		context.runProbes();
+		final boolean isAvailable = context.state.isAvailable();
+
+		// Assert:
+		Assert.assertThat(isAvailable, IsEqual.equalTo(true));
+		Assert.assertThat(context.state.isCircuitOpen(), IsEqual.equalTo(false));
+		Assert.assertThat(context.numChecks.get(), IsEqual.equalTo(FAILURE_THRESHOLD + 1));
+	}
+
+	@Test
+	public void isAvailableDoesNotProbeAgainWithinOpenPeriodAfterProbeFails() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+		final int openTime = context.checkRepeatedly(FAILURE_THRESHOLD);
+		context.setCurrentTime(openTime + OPEN_SECONDS);
+		context.state.isAvailable();
+		context.runProbes();
+
+		// Act:
+		context.setCurrentTime(openTime + 2 * OPEN_SECONDS - 1);
+		final boolean isAvailable = context.state.isAvailable();
+
+		// Assert:
+		Assert.assertThat(isAvailable, IsEqual.equalTo(false));
+		Assert.assertThat(context.state.isCircuitOpen(), IsEqual.equalTo(true));
+		Assert.assertThat(context.probes.size(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void isAvailableProbesAgainWhenProbeIsRejected() {
+		// Arrange:
+		final TestContext context = new TestContext(false);
+		final int openTime = context.checkRepeatedly(FAILURE_THRESHOLD);
+		context.setCurrentTime(openTime + OPEN_SECONDS);
+		context.rejectProbes = true;
+		context.state.isAvailable();
+		context.rejectProbes = false;
+
+		// Act:
+		context.state.isAvailable();
+
+		// Assert:
+		Assert.assertThat(context.probes.size(), IsEqual.equalTo(1));
+	}
+
+	//endregion
+
+	private static class TestContext {
+		private final TimeProvider timeProvider = Mockito.mock(TimeProvider.class);
+		private final AtomicInteger numChecks = new AtomicInteger();
+		private final List<Runnable> probes = new ArrayList<>();
+		private boolean rejectProbes;
+		private final NisConnectionState state;
+		private volatile boolean isAlive;
+		private int currentTime;
+
+		private TestContext(final boolean isAlive) {
+			this.isAlive = isAlive;
+			this.state = this.createState(() -> this.isAlive);
+		}
+
+		private TestContext(final BooleanSupplier livenessCheck) {
+			this.state = this.createState(livenessCheck);
+		}
+
+		private NisConnectionState createState(final BooleanSupplier livenessCheck) {
+			this.setCurrentTime(100);
+			return new NisConnectionState(
+					() -> {
+						this.numChecks.incrementAndGet();
+						return livenessCheck.getAsBoolean();
+					},
+					this::queueProbe,
+					this.timeProvider,
+					CACHE_SECONDS,
+					FAILURE_THRESHOLD,
+					OPEN_SECONDS);
+		}
+
+		private void queueProbe(final Runnable probe) {
+			if (this.rejectProbes) {
+				throw new RejectedExecutionException();
+			}
+
+			this.probes.add(probe);
+		}
+
+		private void runProbes() {
+			final List<Runnable> probes = new ArrayList<>(this.probes);
+			this.probes.clear();
+			probes.forEach(Runnable::run);
+		}
+
+		private void setCurrentTime(final int time) {
+			this.currentTime = time;
+			Mockito.when(this.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(time));
+		}
+
+		private int checkRepeatedly(final int count) {
+			// each check is made after the previous result expired
+			for (int i = 0; i < count; ++i) {
+				this.state.isConnected();
+				this.setCurrentTime(this.currentTime + CACHE_SECONDS);
+			}
+
+			return this.currentTime - CACHE_SECONDS;
+		}
+	}
+
+	private static void await(final CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
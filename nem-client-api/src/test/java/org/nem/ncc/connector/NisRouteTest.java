@@ -0,0 +1,80 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.nem.core.node.NodeEndpoint;
+
+import java.util.concurrent.CompletableFuture;
+
+public class NisRouteTest {
+	private static final NodeEndpoint ENDPOINT = NodeEndpoint.fromHost("10.0.0.12");
+
+	@Test
+	public void canCreateRoute() {
+		// Act:
+		final NisRoute route = new NisRoute(ENDPOINT, 3, 10);
+
+		// Assert:
+		Assert.assertThat(route.getEndpoint(), IsEqual.equalTo(ENDPOINT));
+		Assert.assertThat(route.getMaxRequests(), IsEqual.equalTo(3));
+		Assert.assertThat(route.getNumLeased(), IsEqual.equalTo(0));
+		Assert.assertThat(route.getNumPending(), IsEqual.equalTo(0));
+		Assert.assertThat(route.getNumAvailable(), IsEqual.equalTo(3));
+		Assert.assertThat(route.getNumRequests(), IsEqual.equalTo(0L));
+		Assert.assertThat(route.getNumFailures(), IsEqual.equalTo(0L));
+	}
+
+	@Test
+	public void requestsBeyondMaximumArePending() {
+		// Arrange:
+		final NisRoute route = new NisRoute(ENDPOINT, 2, 10);
+
+		// Act:
+		for (int i = 0; i < 3; ++i) {
+			route.execute(CompletableFuture::new);
+		}
+
+		// Assert:
+		Assert.assertThat(route.getNumLeased(), IsEqual.equalTo(2));
+		Assert.assertThat(route.getNumPending(), IsEqual.equalTo(1));
+		Assert.assertThat(route.getNumAvailable(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void pendingRequestIsStartedWhenLeasedRequestCompletes() {
+		// Arrange:
+		final NisRoute route = new NisRoute(ENDPOINT, 1, 10);
+		final CompletableFuture<Integer> future1 = new CompletableFuture<>();
+		route.execute(() -> future1);
+		final CompletableFuture<Integer> result2 = route.execute(() -> CompletableFuture.completedFuture(7));
+
+		// Act:
+		future1.complete(5);
+
+		// Assert:
+		Assert.assertThat(result2.join(), IsEqual.equalTo(7));
+		Assert.assertThat(route.getNumLeased(), IsEqual.equalTo(0));
+		Assert.assertThat(route.getNumPending(), IsEqual.equalTo(0));
+		Assert.assertThat(route.getWaitTimes().size(), IsEqual.equalTo(2));
+	}
+
+	@Test
+	public void completedRequestsAreCounted() {
+		// Arrange:
+		final NisRoute route = new NisRoute(ENDPOINT, 5, 10);
+		final CompletableFuture<Integer> failedFuture = new CompletableFuture<>();
+		failedFuture.completeExceptionally(new RuntimeException("failed"));
+
+		// Act:
+		route.execute(() -> CompletableFuture.completedFuture(1));
+		route.execute(() -> failedFuture);
+		route.execute(() -> CompletableFuture.completedFuture(2));
+		route.execute(CompletableFuture::new);
+
+		// Assert:
+		Assert.assertThat(route.getNumRequests(), IsEqual.equalTo(3L));
+		Assert.assertThat(route.getNumFailures(), IsEqual.equalTo(1L));
+		Assert.assertThat(route.getLatencies().size(), IsEqual.equalTo(3));
+		Assert.assertThat(route.getWaitTimes().size(), IsEqual.equalTo(4));
+	}
+}
@@ -0,0 +1,89 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+import org.nem.core.time.TimeInstant;
+
+public class NodeEndpointHealthTest {
+	private static final TimeInstant TIME = new TimeInstant(100);
+
+	@Test
+	public void healthIsInitializedWithDefaultScore() {
+		// Act:
+		final NodeEndpointHealth health = new NodeEndpointHealth();
+
+		// Assert:
+		Assert.assertThat(health.getNumSuccesses(), IsEqual.equalTo(0L));
+		Assert.assertThat(health.getNumFailures(), IsEqual.equalTo(0L));
+		Assert.assertThat(health.getScore(TIME), IsEqual.equalTo(1000.0));
+	}
+
+	@Test
+	public void firstSuccessSetsAverageLatency() {
+		// Arrange:
+		final NodeEndpointHealth health = new NodeEndpointHealth();
+
+		// Act:
+		health.recordSuccess(40);
+
+		// Assert:
+		Assert.assertThat(health.getNumSuccesses(), IsEqual.equalTo(1L));
+		Assert.assertThat(health.getScore(TIME), IsEqual.equalTo(40.0));
+	}
+
+	@Test
+	public void subsequentSuccessesSmoothAverageLatency() {
+		// Arrange:
+		final NodeEndpointHealth health = new NodeEndpointHealth();
+
+		// Act:
+		health.recordSuccess(40);
+		health.recordSuccess(80);
+
+		// Assert: 0.25 * 80 + 0.75 * 40
+		Assert.assertThat(health.getNumSuccesses(), IsEqual.equalTo(2L));
+		Assert.assertThat(health.getScore(TIME), IsEqual.equalTo(50.0));
+	}
+
+	@Test
+	public void failurePenalizesScoreDuringCooldown() {
+		// Arrange:
+		final NodeEndpointHealth health = new NodeEndpointHealth();
+		health.recordSuccess(40);
+
+		// Act:
+		health.recordFailure(TIME);
+
+		// Assert: 40 + 0.25 * 60000
+		Assert.assertThat(health.getNumFailures(), IsEqual.equalTo(1L));
+		Assert.assertThat(health.getScore(TIME), IsEqual.equalTo(15040.0));
+		Assert.assertThat(health.getScore(TIME.addSeconds(29)), IsEqual.equalTo(15040.0));
+	}
+
+	@Test
+	public void failureIsNotPenalizedAfterCooldown() {
+		// Arrange:
+		final NodeEndpointHealth health = new NodeEndpointHealth();
+		health.recordSuccess(40);
+
+		// Act:
+		health.recordFailure(TIME);
+
+		// Assert:
+		Assert.assertThat(health.getScore(TIME.addSeconds(30)), IsEqual.equalTo(40.0));
+	}
+
+	@Test
+	public void successesReduceErrorPenalty() {
+		// Arrange:
+		final NodeEndpointHealth health = new NodeEndpointHealth();
+		health.recordSuccess(40);
+		health.recordFailure(TIME);
+
+		// Act:
+		health.recordSuccess(40);
+
+		// Assert: 40 + 0.75 * 0.25 * 60000
+		Assert.assertThat(health.getScore(TIME), IsEqual.equalTo(11290.0));
+	}
+}
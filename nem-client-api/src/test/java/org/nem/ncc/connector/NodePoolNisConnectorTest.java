@@ -0,0 +1,602 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.connect.*;
+import org.nem.core.connect.client.*;
+import org.nem.core.model.primitive.BlockHeight;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.*;
+import org.nem.core.time.*;
+import org.nem.ncc.exceptions.*;
+import org.nem.ncc.test.ExceptionAssert;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+public class NodePoolNisConnectorTest {
+
+	//region isConnected
+
+	@Test
+	public void isConnectedReturnsTrueWhenPrimaryAnswers() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_HEARTBEAT, createDeserializerFuture());
+
+		// Act:
+		final boolean result = context.connector.isConnected();
+
+		// Assert:
+		Assert.assertThat(result, IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void isConnectedReturnsTrueWhenPrimaryAnswersWithNisException() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_HEARTBEAT, createNisExceptionFuture());
+
+		// Act:
+		final boolean result = context.connector.isConnected();
+
+		// Assert:
+		Assert.assertThat(result, IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void isConnectedOnlyChecksPrimary() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_HEARTBEAT, createOtherExceptionFuture());
+		context.setGetResult(context.fallback, NisApiId.NIS_REST_HEARTBEAT, createDeserializerFuture());
+
+		// Act:
+		final boolean result = context.connector.isConnected();
+
+		// Assert:
+		Assert.assertThat(result, IsEqual.equalTo(false));
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_HEARTBEAT, 0);
+	}
+
+	//endregion
+
+	//region get
+
+	@Test
+	public void getIsSentToPrimaryWhenAllEndpointsAreUnscored() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final Deserializer expectedDeserializer = Mockito.mock(Deserializer.class);
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, CompletableFuture.completedFuture(expectedDeserializer));
+
+		// Act:
+		final Deserializer deserializer = context.connector.get(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo");
+
+		// Assert:
+		Assert.assertThat(deserializer, IsEqual.equalTo(expectedDeserializer));
+		context.verifyGetRequests(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 0);
+	}
+
+	@Test
+	public void getFailsOverToFallbackWhenPrimaryIsUnreachable() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final Deserializer expectedDeserializer = Mockito.mock(Deserializer.class);
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, createOtherExceptionFuture());
+		context.setGetResult(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, CompletableFuture.completedFuture(expectedDeserializer));
+
+		// Act:
+		final Deserializer deserializer = context.connector.get(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo");
+
+		// Assert:
+		Assert.assertThat(deserializer, IsEqual.equalTo(expectedDeserializer));
+		context.verifyGetRequests(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+		Assert.assertThat(context.connector.getHealth(context.primary).getNumFailures(), IsEqual.equalTo(1L));
+		Assert.assertThat(context.connector.getHealth(context.fallback).getNumSuccesses(), IsEqual.equalTo(1L));
+	}
+
+	@Test
+	public void getAsyncFailsOverToFallbackWhenPrimaryBecomesUnreachable() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final Deserializer expectedDeserializer = Mockito.mock(Deserializer.class);
+		final CompletableFuture<Deserializer> primaryFuture = new CompletableFuture<>();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, primaryFuture);
+		context.setGetResult(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, CompletableFuture.completedFuture(expectedDeserializer));
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo");
+		final boolean isDoneBeforePrimaryFailure = future.isDone();
+		primaryFuture.completeExceptionally(new NccException(NccException.Code.NO_PUBLIC_KEY));
+
+		// Assert:
+		Assert.assertThat(isDoneBeforePrimaryFailure, IsEqual.equalTo(false));
+		Assert.assertThat(future.join(), IsEqual.equalTo(expectedDeserializer));
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+	}
+
+	@Test
+	public void getDoesNotFailOverOnNisException() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, createNisExceptionFuture());
+
+		// Act:
+		ExceptionAssert.assertThrows(
+				v -> context.connector.get(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo"),
+				NisException.class);
+
+		// Assert:
+		context.verifyGetRequests(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 0);
+		Assert.assertThat(context.connector.getHealth(context.primary).getNumSuccesses(), IsEqual.equalTo(1L));
+	}
+
+	@Test
+	public void getDoesNotFailOverWhenOverloaded() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, createOverloadedFuture());
+
+		// Act:
+		ExceptionAssert.assertThrowsNccException(
+				v -> context.connector.get(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo"),
+				NccException.Code.NIS_OVERLOADED);
+
+		// Assert:
+		context.verifyGetRequests(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 0);
+	}
+
+	@Test
+	public void overloadedGetDoesNotAffectEndpointHealth() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, createOverloadedFuture());
+
+		// Act:
+		ExceptionAssert.assertThrowsNccException(
+				v -> context.connector.get(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo"),
+				NccException.Code.NIS_OVERLOADED);
+
+		// Assert:
+		Assert.assertThat(context.connector.getHealth(context.primary).getNumSuccesses(), IsEqual.equalTo(0L));
+		Assert.assertThat(context.connector.getHealth(context.primary).getNumFailures(), IsEqual.equalTo(0L));
+	}
+
+	@Test
+	public void getFailsWhenAllEndpointsAreUnreachable() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, createOtherExceptionFuture());
+		context.setGetResult(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, createOtherExceptionFuture());
+
+		// Act:
+		ExceptionAssert.assertThrowsNccException(
+				v -> context.connector.get(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo"),
+				NccException.Code.NO_PUBLIC_KEY);
+
+		// Assert:
+		context.verifyGetRequests(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+	}
+
+	@Test
+	public void getIsRoutedToHealthiestEndpointAfterFailure() {
+		// Arrange: make the primary fail once
+		final TestContext context = new TestContext();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, createOtherExceptionFuture());
+		context.setGetResult(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, createDeserializerFuture());
+		context.connector.get(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo");
+
+		// Act:
+		context.connector.get(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo");
+
+		// Assert: the second request went directly to the fallback
+		context.verifyGetRequests(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 2);
+	}
+
+	@Test
+	public void primaryOnlyGetIsNotFailedOver() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_STATUS, createOtherExceptionFuture());
+		context.setGetResult(context.fallback, NisApiId.NIS_REST_STATUS, createDeserializerFuture());
+
+		// Act:
+		ExceptionAssert.assertThrows(
+				v -> context.connector.get(NisApiId.NIS_REST_STATUS, null),
+				NccException.class);
+
+		// Assert:
+		context.verifyGetRequests(context.primary, NisApiId.NIS_REST_STATUS, 1);
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_STATUS, 0);
+	}
+
+	@Test
+	public void concurrentGetsSharingBinaryResponseReadIndependentCopies() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Deserializer> future = new CompletableFuture<>();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, future);
+
+		// Act:
+		final CompletableFuture<Deserializer> future1 = context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a");
+		final CompletableFuture<Deserializer> future2 = context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a");
+		final byte[] bytes = BinarySerializer.serializeToBytes(serializer -> serializer.writeInt("value", 7));
+		future.complete(new BinaryNisDeserializer(bytes, null));
+
+		// Assert:
+		context.verifyGetRequests(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+		Assert.assertThat(future1.join().readInt("value"), IsEqual.equalTo(7));
+		Assert.assertThat(future2.join().readInt("value"), IsEqual.equalTo(7));
+	}
+
+	//endregion
+
+	//region forward
+
+	@Test
+	public void forwardIsSentToPrimary() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final List<NodeEndpoint> endpoints = new ArrayList<>();
+
+		// Act:
+		final BlockHeight height = context.connector.forward(endpoint -> {
+			endpoints.add(endpoint);
+			return CompletableFuture.completedFuture(new BlockHeight(12));
+		});
+
+		// Assert:
+		Assert.assertThat(height, IsEqual.equalTo(new BlockHeight(12)));
+		Assert.assertThat(endpoints, IsEqual.equalTo(Collections.singletonList(context.primary)));
+	}
+
+	@Test
+	public void forwardIsSentToPrimaryEvenIfFallbackIsHealthier() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, createOtherExceptionFuture());
+		context.setGetResult(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, createDeserializerFuture());
+		context.connector.get(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo");
+		final List<NodeEndpoint> endpoints = new ArrayList<>();
+
+		// Act:
+		context.connector.forward(endpoint -> {
+			endpoints.add(endpoint);
+			return CompletableFuture.completedFuture(new BlockHeight(12));
+		});
+
+		// Assert:
+		Assert.assertThat(endpoints, IsEqual.equalTo(Collections.singletonList(context.primary)));
+	}
+
+	@Test
+	public void forwardIsNotFailedOverWhenPrimaryIsUnreachable() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final List<NodeEndpoint> endpoints = new ArrayList<>();
+
+		// Act:
+		ExceptionAssert.assertThrows(
+				v -> context.connector.forward(endpoint -> {
+					endpoints.add(endpoint);
+					return context.primary.equals(endpoint)
+							? createExceptionalFuture(new NccException(NccException.Code.NO_PUBLIC_KEY))
+							: CompletableFuture.completedFuture(new BlockHeight(12));
+				}),
+				NccException.class);
+
+		// Assert:
+		Assert.assertThat(endpoints, IsEqual.equalTo(Collections.singletonList(context.primary)));
+	}
+
+	@Test
+	public void forwardIsNotFailedOverWhenRequestThrowsSynchronously() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final List<NodeEndpoint> endpoints = new ArrayList<>();
+
+		// Act:
+		ExceptionAssert.assertThrows(
+				v -> context.connector.forward(endpoint -> {
+					endpoints.add(endpoint);
+					throw new NccException(NccException.Code.NO_PUBLIC_KEY);
+				}),
+				NccException.class);
+
+		// Assert:
+		Assert.assertThat(endpoints, IsEqual.equalTo(Collections.singletonList(context.primary)));
+	}
+
+	//endregion
+
+	//region post / voidPost
+
+	@Test
+	public void postIsOnlySentToPrimary() {
+		// Arrange:
+		final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+		final TestContext context = new TestContext();
+		Mockito.when(context.asyncNisConnector.postAsync(context.primary, NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest))
+				.thenReturn(createOtherExceptionFuture());
+
+		// Act:
+		ExceptionAssert.assertThrows(
+				v -> context.connector.post(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest),
+				NccException.class);
+
+		// Assert:
+		Mockito.verify(context.asyncNisConnector, Mockito.times(1)).postAsync(context.primary, NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest);
+		Mockito.verify(context.asyncNisConnector, Mockito.never()).postAsync(context.fallback, NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest);
+	}
+
+	@Test
+	public void voidPostIsOnlySentToPrimary() {
+		// Arrange:
+		final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+		final TestContext context = new TestContext();
+		Mockito.when(context.asyncNisConnector.postVoidAsync(context.primary, NisApiId.NIS_REST_ACCOUNT_LOCK, postRequest))
+				.thenReturn(CompletableFuture.completedFuture(null));
+
+		// Act:
+		context.connector.voidPost(NisApiId.NIS_REST_ACCOUNT_LOCK, postRequest);
+
+		// Assert:
+		Mockito.verify(context.asyncNisConnector, Mockito.times(1)).postVoidAsync(context.primary, NisApiId.NIS_REST_ACCOUNT_LOCK, postRequest);
+		Mockito.verify(context.asyncNisConnector, Mockito.never()).postVoidAsync(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOCK, postRequest);
+	}
+
+	//endregion
+
+	//region hedging
+
+	@Test
+	public void hedgedGetIsNotHedgedWhenPrimaryAnswersBeforeTrigger() {
+		// Arrange:
+		final TestContext context = TestContext.createHedging();
+		final Deserializer expectedDeserializer = Mockito.mock(Deserializer.class);
+		final CompletableFuture<Deserializer> primaryFuture = new CompletableFuture<>();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, primaryFuture);
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo");
+		primaryFuture.complete(expectedDeserializer);
+		context.hedgeTrigger.complete(null);
+
+		// Assert:
+		Assert.assertThat(future.join(), IsEqual.equalTo(expectedDeserializer));
+		context.verifyGetRequests(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 0);
+	}
+
+	@Test
+	public void hedgedGetDoesNotCreateTriggerWhenPrimaryAnswersImmediately() {
+		// Arrange:
+		final TestContext context = TestContext.createHedging();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, createDeserializerFuture());
+
+		// Act:
+		context.connector.get(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo");
+
+		// Assert:
+		Assert.assertThat(context.hedgeDelays.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void hedgedGetIsSentToFallbackWhenTriggerFires() {
+		// Arrange:
+		final TestContext context = TestContext.createHedging();
+		final Deserializer expectedDeserializer = Mockito.mock(Deserializer.class);
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, new CompletableFuture<>());
+		context.setGetResult(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, CompletableFuture.completedFuture(expectedDeserializer));
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo");
+		final boolean isDoneBeforeTrigger = future.isDone();
+		context.hedgeTrigger.complete(null);
+
+		// Assert:
+		Assert.assertThat(isDoneBeforeTrigger, IsEqual.equalTo(false));
+		Assert.assertThat(future.join(), IsEqual.equalTo(expectedDeserializer));
+		Assert.assertThat(context.hedgeDelays, IsEqual.equalTo(Arrays.asList(1000)));
+		context.verifyGetRequests(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+	}
+
+	@Test
+	public void hedgedGetUsesFirstAnswer() {
+		// Arrange:
+		final TestContext context = TestContext.createHedging();
+		final Deserializer expectedDeserializer = Mockito.mock(Deserializer.class);
+		final CompletableFuture<Deserializer> primaryFuture = new CompletableFuture<>();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, primaryFuture);
+		context.setGetResult(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, new CompletableFuture<>());
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo");
+		context.hedgeTrigger.complete(null);
+		primaryFuture.complete(expectedDeserializer);
+
+		// Assert:
+		Assert.assertThat(future.join(), IsEqual.equalTo(expectedDeserializer));
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+	}
+
+	@Test
+	public void hedgedGetIsSentToFallbackImmediatelyWhenPrimaryIsUnreachable() {
+		// Arrange:
+		final TestContext context = TestContext.createHedging();
+		final Deserializer expectedDeserializer = Mockito.mock(Deserializer.class);
+		final CompletableFuture<Deserializer> primaryFuture = new CompletableFuture<>();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, primaryFuture);
+		context.setGetResult(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, CompletableFuture.completedFuture(expectedDeserializer));
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo");
+		primaryFuture.completeExceptionally(new NccException(NccException.Code.NO_PUBLIC_KEY));
+
+		// Assert:
+		Assert.assertThat(future.join(), IsEqual.equalTo(expectedDeserializer));
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+	}
+
+	@Test
+	public void hedgedGetFailsWhenAllEndpointsAreUnreachable() {
+		// Arrange:
+		final TestContext context = TestContext.createHedging();
+		final CompletableFuture<Deserializer> primaryFuture = new CompletableFuture<>();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, primaryFuture);
+		context.setGetResult(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, createOtherExceptionFuture());
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo");
+		primaryFuture.completeExceptionally(new NccException(NccException.Code.NO_PUBLIC_KEY));
+
+		// Assert:
+		Assert.assertThat(future.isCompletedExceptionally(), IsEqual.equalTo(true));
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 1);
+	}
+
+	@Test
+	public void hedgedGetIsNotHedgedOnNisException() {
+		// Arrange:
+		final TestContext context = TestContext.createHedging();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, createNisExceptionFuture());
+
+		// Act:
+		ExceptionAssert.assertThrows(
+				v -> context.connector.get(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo"),
+				NisException.class);
+		context.hedgeTrigger.complete(null);
+
+		// Assert:
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 0);
+	}
+
+	@Test
+	public void hedgedGetIsNotHedgedWhenOverloaded() {
+		// Arrange:
+		final TestContext context = TestContext.createHedging();
+		final CompletableFuture<Deserializer> primaryFuture = new CompletableFuture<>();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, primaryFuture);
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=foo");
+		primaryFuture.completeExceptionally(new NccException(NccException.Code.NIS_OVERLOADED));
+		context.hedgeTrigger.complete(null);
+
+		// Assert:
+		Assert.assertThat(future.isCompletedExceptionally(), IsEqual.equalTo(true));
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, 0);
+	}
+
+	@Test
+	public void unhedgedGetIsNotHedgedWhenTriggerFires() {
+		// Arrange:
+		final TestContext context = TestContext.createHedging();
+		final CompletableFuture<Deserializer> primaryFuture = new CompletableFuture<>();
+		context.setGetResult(context.primary, NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL, primaryFuture);
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL, "address=foo");
+		context.hedgeTrigger.complete(null);
+
+		// Assert:
+		Assert.assertThat(future.isDone(), IsEqual.equalTo(false));
+		Assert.assertThat(context.hedgeDelays.isEmpty(), IsEqual.equalTo(true));
+		context.verifyGetRequests(context.fallback, NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL, 0);
+	}
+
+	@Test
+	public void forwardIsNotHedgedWhenTriggerFires() {
+		// Arrange:
+		final TestContext context = TestContext.createHedging();
+		final List<NodeEndpoint> endpoints = new ArrayList<>();
+
+		// Act:
+		final CompletableFuture<BlockHeight> future = context.connector.forwardAsync(endpoint -> {
+			endpoints.add(endpoint);
+			return new CompletableFuture<>();
+		});
+		context.hedgeTrigger.complete(null);
+
+		// Assert:
+		Assert.assertThat(future.isDone(), IsEqual.equalTo(false));
+		Assert.assertThat(context.hedgeDelays.isEmpty(), IsEqual.equalTo(true));
+		Assert.assertThat(endpoints, IsEqual.equalTo(Collections.singletonList(context.primary)));
+	}
+
+	//endregion
+
+	private static CompletableFuture<Deserializer> createDeserializerFuture() {
+		return CompletableFuture.completedFuture(Mockito.mock(Deserializer.class));
+	}
+
+	private static CompletableFuture<Deserializer> createNisExceptionFuture() {
+		return createExceptionalFuture(new NisException(new ErrorResponse(TimeInstant.ZERO, "badness", 500)));
+	}
+
+	private static CompletableFuture<Deserializer> createOverloadedFuture() {
+		return createExceptionalFuture(new NccException(NccException.Code.NIS_OVERLOADED));
+	}
+
+	private static CompletableFuture<Deserializer> createOtherExceptionFuture() {
+		return createExceptionalFuture(new NccException(NccException.Code.NO_PUBLIC_KEY));
+	}
+
+	private static <T> CompletableFuture<T> createExceptionalFuture(final RuntimeException ex) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(ex);
+		return future;
+	}
+
+	private static class TestContext {
+		private final NodeEndpoint primary = NodeEndpoint.fromHost("10.0.0.11");
+		private final NodeEndpoint fallback = NodeEndpoint.fromHost("10.0.0.12");
+		private final AsyncNisConnector asyncNisConnector = Mockito.mock(AsyncNisConnector.class);
+		private final TimeProvider timeProvider = Mockito.mock(TimeProvider.class);
+		private final CompletableFuture<Void> hedgeTrigger = new CompletableFuture<>();
+		private final List<Integer> hedgeDelays = new ArrayList<>();
+		private final NodePoolNisConnector connector;
+
+		private TestContext() {
+			this(null);
+		}
+
+		private TestContext(final Set<NisApiId> hedgedApiIds) {
+			Mockito.when(this.timeProvider.getCurrentTime()).thenReturn(new TimeInstant(100));
+			final HedgingPolicy hedgingPolicy = null == hedgedApiIds
+					? null
+					: new HedgingPolicy(hedgedApiIds, 0.95, delay -> {
+						this.hedgeDelays.add(delay);
+						return this.hedgeTrigger;
+					});
+			this.connector = new NodePoolNisConnector(
+					() -> Arrays.asList(this.primary, this.fallback),
+					this.asyncNisConnector,
+					this.timeProvider,
+					hedgingPolicy);
+		}
+
+		private static TestContext createHedging() {
+			return new TestContext(Collections.singleton(NisApiId.NIS_REST_ACCOUNT_LOOK_UP));
+		}
+
+		private void setGetResult(final NodeEndpoint endpoint, final NisApiId apiId, final CompletableFuture<Deserializer> future) {
+			Mockito.when(this.asyncNisConnector.getAsync(Mockito.eq(endpoint), Mockito.eq(apiId), Mockito.any()))
+					.thenReturn(future);
+		}
+
+		private void verifyGetRequests(final NodeEndpoint endpoint, final NisApiId apiId, final int numExpectedRequests) {
+			Mockito.verify(this.asyncNisConnector, Mockito.times(numExpectedRequests))
+					.getAsync(Mockito.eq(endpoint), Mockito.eq(apiId), Mockito.any());
+		}
+	}
+}
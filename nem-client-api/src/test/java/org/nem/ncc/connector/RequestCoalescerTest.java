@@ -0,0 +1,165 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.nem.ncc.exceptions.NccException;
+import org.nem.ncc.test.ExceptionAssert;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public class RequestCoalescerTest {
+
+	@Test
+	public void firstRequestForKeyIsStarted() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		final CompletableFuture<Integer> future = context.coalescer.coalesce("a", context.request);
+		context.complete(7);
+
+		// Assert:
+		Assert.assertThat(future.join(), IsEqual.equalTo(7));
+		Assert.assertThat(context.numRequests, IsEqual.equalTo(1));
+	}
+
+	@Test
+	public void concurrentRequestsForSameKeyShareSingleRequest() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		final CompletableFuture<Integer> future1 = context.coalescer.coalesce("a", context.request);
+		final CompletableFuture<Integer> future2 = context.coalescer.coalesce("a", context.request);
+		final CompletableFuture<Integer> future3 = context.coalescer.coalesce("a", context.request);
+		context.complete(7);
+
+		// Assert:
+		Assert.assertThat(context.numRequests, IsEqual.equalTo(1));
+		Assert.assertThat(future1.join(), IsEqual.equalTo(7));
+		Assert.assertThat(future2.join(), IsEqual.equalTo(7));
+		Assert.assertThat(future3.join(), IsEqual.equalTo(7));
+	}
+
+	@Test
+	public void concurrentRequestsForDifferentKeysAreNotShared() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.coalescer.coalesce("a", context.request);
+		context.coalescer.coalesce("b", context.request);
+
+		// Assert:
+		Assert.assertThat(context.numRequests, IsEqual.equalTo(2));
+		Assert.assertThat(context.coalescer.getNumInFlightRequests(), IsEqual.equalTo(2));
+	}
+
+	@Test
+	public void completedRequestIsNotShared() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.coalescer.coalesce("a", context.request);
+		context.complete(7);
+
+		// Act:
+		context.coalescer.coalesce("a", context.request);
+
+		// Assert:
+		Assert.assertThat(context.numRequests, IsEqual.equalTo(2));
+	}
+
+	@Test
+	public void completedRequestIsRemovedFromInFlightRequests() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.coalescer.coalesce("a", context.request);
+
+		// Act:
+		context.complete(7);
+
+		// Assert:
+		Assert.assertThat(context.coalescer.getNumInFlightRequests(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void failedRequestFailsAllSharingCallers() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Integer> future1 = context.coalescer.coalesce("a", context.request);
+		final CompletableFuture<Integer> future2 = context.coalescer.coalesce("a", context.request);
+
+		// Act:
+		context.future.completeExceptionally(new NccException(NccException.Code.NIS_NOT_AVAILABLE));
+
+		// Assert:
+		ExceptionAssert.assertThrowsCompletionException(v -> future1.join(), NccException.class);
+		ExceptionAssert.assertThrowsCompletionException(v -> future2.join(), NccException.class);
+		Assert.assertThat(context.coalescer.getNumInFlightRequests(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void requestThatThrowsIsNotShared() {
+		// Arrange:
+		final RequestCoalescer<String, Integer> coalescer = new RequestCoalescer<>();
+
+		// Act:
+		final CompletableFuture<Integer> future = coalescer.coalesce("a", () -> {
+			throw new NccException(NccException.Code.NIS_NOT_AVAILABLE);
+		});
+
+		// Assert:
+		ExceptionAssert.assertThrowsCompletionException(v -> future.join(), NccException.class);
+		Assert.assertThat(coalescer.getNumInFlightRequests(), IsEqual.equalTo(0));
+	}
+
+	@Test
+	public void cancelingCallerFutureDoesNotAffectOtherCallers() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Integer> future1 = context.coalescer.coalesce("a", context.request);
+		final CompletableFuture<Integer> future2 = context.coalescer.coalesce("a", context.request);
+
+		// Act:
+		future1.cancel(true);
+		context.complete(7);
+
+		// Assert:
+		Assert.assertThat(future2.join(), IsEqual.equalTo(7));
+	}
+
+	@Test
+	public void isInFlightReturnsTrueOnlyWhileRequestForKeyIsInFlight() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		final boolean isInFlightBefore = context.coalescer.isInFlight("a");
+		context.coalescer.coalesce("a", context.request);
+		final boolean isInFlightDuring = context.coalescer.isInFlight("a");
+		final boolean isOtherKeyInFlight = context.coalescer.isInFlight("b");
+		context.complete(7);
+		final boolean isInFlightAfter = context.coalescer.isInFlight("a");
+
+		// Assert:
+		Assert.assertThat(isInFlightBefore, IsEqual.equalTo(false));
+		Assert.assertThat(isInFlightDuring, IsEqual.equalTo(true));
+		Assert.assertThat(isOtherKeyInFlight, IsEqual.equalTo(false));
+		Assert.assertThat(isInFlightAfter, IsEqual.equalTo(false));
+	}
+
+	private static class TestContext {
+		private final RequestCoalescer<String, Integer> coalescer = new RequestCoalescer<>();
+		private final CompletableFuture<Integer> future = new CompletableFuture<>();
+		private int numRequests;
+		private final Supplier<CompletableFuture<Integer>> request = () -> {
+			++this.numRequests;
+			return this.future;
+		};
+
+		private void complete(final int value) {
+			this.future.complete(value);
+		}
+	}
+}
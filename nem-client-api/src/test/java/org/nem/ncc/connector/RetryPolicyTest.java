@@ -0,0 +1,98 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+import org.nem.core.connect.client.NisApiId;
+
+import java.util.Collections;
+
+public class RetryPolicyTest {
+
+	//region isRetryable
+
+	@Test
+	public void isRetryableReturnsTrueForIdempotentApis() {
+		// Arrange:
+		final RetryPolicy policy = createPolicy(1.0);
+
+		// Assert:
+		Assert.assertThat(policy.isRetryable(NisApiId.NIS_REST_ACCOUNT_LOOK_UP), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void isRetryableReturnsFalseForOtherApis() {
+		// Arrange:
+		final RetryPolicy policy = createPolicy(1.0);
+
+		// Assert:
+		Assert.assertThat(policy.isRetryable(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE), IsEqual.equalTo(false));
+		Assert.assertThat(policy.isRetryable(NisApiId.NIS_REST_HEARTBEAT), IsEqual.equalTo(false));
+	}
+
+	//endregion
+
+	//region getRetryDelay
+
+	@Test
+	public void retryDelayGrowsExponentially() {
+		// Arrange:
+		final RetryPolicy policy = createPolicy(1.0);
+
+		// Assert:
+		Assert.assertThat(policy.getRetryDelay(1, 0), IsEqual.equalTo(100));
+		Assert.assertThat(policy.getRetryDelay(2, 0), IsEqual.equalTo(200));
+		Assert.assertThat(policy.getRetryDelay(3, 0), IsEqual.equalTo(400));
+	}
+
+	@Test
+	public void retryDelayIsBoundedByMaxDelay() {
+		// Arrange:
+		final RetryPolicy policy = createPolicy(1.0);
+
+		// Assert:
+		Assert.assertThat(policy.getRetryDelay(4, 0), IsEqual.equalTo(500));
+		Assert.assertThat(policy.getRetryDelay(5, 0), IsEqual.equalTo(500));
+	}
+
+	@Test
+	public void retryDelayIsJittered() {
+		// Arrange:
+		final RetryPolicy policy = createPolicy(0.25);
+
+		// Assert:
+		Assert.assertThat(policy.getRetryDelay(1, 0), IsEqual.equalTo(25));
+		Assert.assertThat(policy.getRetryDelay(3, 0), IsEqual.equalTo(100));
+	}
+
+	@Test
+	public void noRetryIsScheduledAfterMaxAttempts() {
+		// Arrange:
+		final RetryPolicy policy = createPolicy(1.0);
+
+		// Assert:
+		Assert.assertThat(policy.getRetryDelay(6, 0), IsEqual.equalTo(-1));
+		Assert.assertThat(policy.getRetryDelay(7, 0), IsEqual.equalTo(-1));
+	}
+
+	@Test
+	public void noRetryIsScheduledThatWouldExceedBudget() {
+		// Arrange:
+		final RetryPolicy policy = createPolicy(1.0);
+
+		// Assert:
+		Assert.assertThat(policy.getRetryDelay(1, 900), IsEqual.equalTo(100));
+		Assert.assertThat(policy.getRetryDelay(1, 901), IsEqual.equalTo(-1));
+	}
+
+	//endregion
+
+	private static RetryPolicy createPolicy(final double random) {
+		return new RetryPolicy(
+				Collections.singleton(NisApiId.NIS_REST_ACCOUNT_LOOK_UP),
+				6,
+				100,
+				500,
+				1000,
+				() -> random);
+	}
+}
@@ -0,0 +1,288 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.connect.*;
+import org.nem.core.connect.client.NisApiId;
+import org.nem.core.serialization.Deserializer;
+import org.nem.core.time.TimeInstant;
+import org.nem.ncc.exceptions.*;
+import org.nem.ncc.test.ExceptionAssert;
+
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+public class RetryingNisConnectorTest {
+	private static final NisApiId RETRYABLE_API_ID = NisApiId.NIS_REST_ACCOUNT_LOOK_UP;
+
+	//region getAsync
+
+	@Test
+	public void getAsyncIsNotRetriedOnSuccess() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResults(CompletableFuture.completedFuture(context.deserializer));
+
+		// Act:
+		final Deserializer deserializer = context.connector.getAsync(RETRYABLE_API_ID, "a=b").join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.deserializer));
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(RETRYABLE_API_ID, "a=b");
+		Assert.assertThat(context.delays.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void getAsyncIsRetriedOnTransientFailure() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResults(
+				createExceptionalFuture(new InactivePeerException("timeout")),
+				createExceptionalFuture(new InactivePeerException("timeout")),
+				CompletableFuture.completedFuture(context.deserializer));
+
+		// Act:
+		final Deserializer deserializer = context.connector.getAsync(RETRYABLE_API_ID, "a=b").join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.deserializer));
+		Mockito.verify(context.innerConnector, Mockito.times(3)).getAsync(RETRYABLE_API_ID, "a=b");
+		Assert.assertThat(context.delays, IsEqual.equalTo(Arrays.asList(100, 200)));
+	}
+
+	@Test
+	public void getAsyncFailsAfterMaxAttempts() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResults(createExceptionalFuture(new InactivePeerException("timeout")));
+
+		// Act:
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> context.connector.getAsync(RETRYABLE_API_ID, "a=b").join(),
+				InactivePeerException.class);
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(3)).getAsync(RETRYABLE_API_ID, "a=b");
+	}
+
+	@Test
+	public void getAsyncIsNotRetriedOnNisException() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResults(createExceptionalFuture(new NisException(new ErrorResponse(TimeInstant.ZERO, "badness", 500))));
+
+		// Act:
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> context.connector.getAsync(RETRYABLE_API_ID, "a=b").join(),
+				NisException.class);
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(RETRYABLE_API_ID, "a=b");
+	}
+
+	@Test
+	public void getAsyncIsNotRetriedOnNccException() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResults(createExceptionalFuture(new NccException(NccException.Code.NIS_OVERLOADED)));
+
+		// Act:
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> context.connector.getAsync(RETRYABLE_API_ID, "a=b").join(),
+				NccException.class);
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(RETRYABLE_API_ID, "a=b");
+	}
+
+	@Test
+	public void getAsyncIsRetriedOnConnectionFailure() {
+		// Assert:
+		assertGetAsyncIsRetried(new ConnectException("refused"));
+	}
+
+	@Test
+	public void getAsyncIsRetriedOnSocketTimeout() {
+		// Assert:
+		assertGetAsyncIsRetried(new SocketTimeoutException("timeout"));
+	}
+
+	@Test
+	public void getAsyncIsNotRetriedOnFatalPeerException() {
+		// Assert:
+		assertGetAsyncIsNotRetried(new FatalPeerException("invalid response"));
+	}
+
+	@Test
+	public void getAsyncIsNotRetriedOnOtherException() {
+		// Assert:
+		assertGetAsyncIsNotRetried(new IllegalArgumentException("badness"));
+	}
+
+	private static void assertGetAsyncIsRetried(final Exception ex) {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResults(createExceptionalFuture(ex), CompletableFuture.completedFuture(context.deserializer));
+
+		// Act:
+		final Deserializer deserializer = context.connector.getAsync(RETRYABLE_API_ID, "a=b").join();
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.deserializer));
+		Mockito.verify(context.innerConnector, Mockito.times(2)).getAsync(RETRYABLE_API_ID, "a=b");
+	}
+
+	private static void assertGetAsyncIsNotRetried(final Exception ex) {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResults(createExceptionalFuture(ex));
+
+		// Act:
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> context.connector.getAsync(RETRYABLE_API_ID, "a=b").join(),
+				ex.getClass());
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(RETRYABLE_API_ID, "a=b");
+	}
+
+	@Test
+	public void getAsyncOfNonIdempotentApiIsNotRetried() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResults(createExceptionalFuture(new InactivePeerException("timeout")));
+
+		// Act:
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> context.connector.getAsync(NisApiId.NIS_REST_HEARTBEAT, null).join(),
+				InactivePeerException.class);
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.times(1)).getAsync(NisApiId.NIS_REST_HEARTBEAT, null);
+	}
+
+	@Test
+	public void getAsyncWaitsForRetryDelay() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Void> delay = new CompletableFuture<>();
+		context.delayFuture = delay;
+		context.setGetResults(
+				createExceptionalFuture(new InactivePeerException("timeout")),
+				CompletableFuture.completedFuture(context.deserializer));
+
+		// Act:
+		final CompletableFuture<Deserializer> future = context.connector.getAsync(RETRYABLE_API_ID, "a=b");
+		final boolean isDoneBeforeDelay = future.isDone();
+		delay.complete(null);
+
+		// Assert:
+		Assert.assertThat(isDoneBeforeDelay, IsEqual.equalTo(false));
+		Assert.assertThat(future.join(), IsSame.sameInstance(context.deserializer));
+	}
+
+	@Test
+	public void getDelegatesToGetAsync() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResults(
+				createExceptionalFuture(new InactivePeerException("timeout")),
+				CompletableFuture.completedFuture(context.deserializer));
+
+		// Act:
+		final Deserializer deserializer = context.connector.get(RETRYABLE_API_ID, "a=b");
+
+		// Assert:
+		Assert.assertThat(deserializer, IsSame.sameInstance(context.deserializer));
+		Mockito.verify(context.innerConnector, Mockito.times(2)).getAsync(RETRYABLE_API_ID, "a=b");
+	}
+
+	//endregion
+
+	//region other
+
+	@Test
+	public void isConnectedDelegatesToInnerConnector() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.innerConnector.isConnected()).thenReturn(true);
+
+		// Act:
+		final boolean isConnected = context.connector.isConnected();
+
+		// Assert:
+		Assert.assertThat(isConnected, IsEqual.equalTo(true));
+		Mockito.verify(context.innerConnector, Mockito.only()).isConnected();
+	}
+
+	@Test
+	public void postAsyncIsNotRetried() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+		Mockito.when(context.innerConnector.postAsync(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest))
+				.thenReturn(createExceptionalFuture(new InactivePeerException("timeout")));
+
+		// Act:
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> context.connector.postAsync(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest).join(),
+				InactivePeerException.class);
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.only()).postAsync(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, postRequest);
+	}
+
+	@Test
+	public void voidPostAsyncDelegatesToInnerConnector() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+
+		// Act:
+		context.connector.voidPostAsync(NisApiId.NIS_REST_ACCOUNT_LOCK, postRequest);
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.only()).voidPostAsync(NisApiId.NIS_REST_ACCOUNT_LOCK, postRequest);
+	}
+
+	@Test
+	public void forwardAsyncDelegatesToInnerConnector() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		context.connector.forwardAsync(endpoint -> CompletableFuture.completedFuture(7));
+
+		// Assert:
+		Mockito.verify(context.innerConnector, Mockito.only()).forwardAsync(Mockito.any());
+	}
+
+	//endregion
+
+	private static <T> CompletableFuture<T> createExceptionalFuture(final Throwable e) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(e);
+		return future;
+	}
+
+	private static class TestContext {
+		private final Deserializer deserializer = Mockito.mock(Deserializer.class);
+		private final PrimaryNisConnector innerConnector = Mockito.mock(PrimaryNisConnector.class);
+		private final List<Integer> delays = new ArrayList<>();
+		private CompletableFuture<Void> delayFuture = CompletableFuture.completedFuture(null);
+		private final RetryingNisConnector connector = new RetryingNisConnector(
+				this.innerConnector,
+				new RetryPolicy(Collections.singleton(RETRYABLE_API_ID), 3, 100, 1000, 60000, () -> 1.0),
+				delay -> {
+					this.delays.add(delay);
+					return this.delayFuture;
+				});
+
+		@SafeVarargs
+		private final void setGetResults(final CompletableFuture<Deserializer> first, final CompletableFuture<Deserializer>... rest) {
+			Mockito.when(this.innerConnector.getAsync(Mockito.any(), Mockito.any())).thenReturn(first, rest);
+		}
+	}
+}
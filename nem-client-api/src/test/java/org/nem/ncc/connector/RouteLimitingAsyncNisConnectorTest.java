@@ -0,0 +1,160 @@
+package org.nem.ncc.connector;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.connect.HttpPostRequest;
+import org.nem.core.connect.client.*;
+import org.nem.core.node.NodeEndpoint;
+import org.nem.core.serialization.Deserializer;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+public class RouteLimitingAsyncNisConnectorTest {
+
+	@Test
+	public void getRoutesIsInitiallyEmpty() {
+		// Arrange:
+		final TestContext context = new TestContext();
+
+		// Act:
+		final Collection<NisRoute> routes = context.connector.getRoutes();
+
+		// Assert:
+		Assert.assertThat(routes.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void getRoutesReturnsRouteForEachUsedEndpoint() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(new CompletableFuture<>());
+		context.connector.getAsync(context.endpoint1, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a=b");
+		context.connector.getAsync(context.endpoint2, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a=b");
+		context.connector.getAsync(context.endpoint1, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a=c");
+
+		// Act:
+		final Collection<NisRoute> routes = context.connector.getRoutes();
+
+		// Assert:
+		final Set<NodeEndpoint> endpoints = routes.stream().map(NisRoute::getEndpoint).collect(Collectors.toSet());
+		Assert.assertThat(endpoints, IsEqual.equalTo(new HashSet<>(Arrays.asList(context.endpoint1, context.endpoint2))));
+		routes.forEach(route -> Assert.assertThat(route.getMaxRequests(), IsEqual.equalTo(2)));
+	}
+
+	@Test
+	public void getAsyncIsLimitedPerEndpoint() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(new CompletableFuture<>());
+
+		// Act:
+		for (int i = 0; i < 3; ++i) {
+			context.connector.getAsync(context.endpoint1, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a=b");
+		}
+
+		context.connector.getAsync(context.endpoint2, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a=b");
+
+		// Assert:
+		final NisRoute route1 = context.getRoute(context.endpoint1);
+		final NisRoute route2 = context.getRoute(context.endpoint2);
+		Assert.assertThat(route1.getNumLeased(), IsEqual.equalTo(2));
+		Assert.assertThat(route1.getNumPending(), IsEqual.equalTo(1));
+		Assert.assertThat(route2.getNumLeased(), IsEqual.equalTo(1));
+		Assert.assertThat(route2.getNumPending(), IsEqual.equalTo(0));
+		Mockito.verify(context.innerConnector, Mockito.times(3)).getAsync(Mockito.any(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void getAsyncDelegatesToInnerConnector() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final Deserializer deserializer = Mockito.mock(Deserializer.class);
+		context.setGetResult(CompletableFuture.completedFuture(deserializer));
+
+		// Act:
+		final Deserializer result = context.connector.getAsync(context.endpoint1, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a=b").join();
+
+		// Assert:
+		Assert.assertThat(result, IsSame.sameInstance(deserializer));
+		Mockito.verify(context.innerConnector, Mockito.only()).getAsync(context.endpoint1, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a=b");
+		Assert.assertThat(context.getRoute(context.endpoint1).getNumRequests(), IsEqual.equalTo(1L));
+	}
+
+	@Test
+	public void postAsyncDelegatesToInnerConnector() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final Deserializer deserializer = Mockito.mock(Deserializer.class);
+		Mockito.when(context.innerConnector.postAsync(context.endpoint1, NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, context.postRequest))
+				.thenReturn(CompletableFuture.completedFuture(deserializer));
+
+		// Act:
+		final Deserializer result = context.connector.postAsync(context.endpoint1, NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, context.postRequest)
+				.join();
+
+		// Assert:
+		Assert.assertThat(result, IsSame.sameInstance(deserializer));
+		Assert.assertThat(context.getRoute(context.endpoint1).getNumRequests(), IsEqual.equalTo(1L));
+	}
+
+	@Test
+	public void postVoidAsyncIsLimitedPerEndpoint() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		Mockito.when(context.innerConnector.postVoidAsync(Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(new CompletableFuture<>());
+
+		// Act:
+		for (int i = 0; i < 3; ++i) {
+			context.connector.postVoidAsync(context.endpoint1, NisApiId.NIS_REST_TRANSACTION_ANNOUNCE, context.postRequest);
+		}
+
+		// Assert:
+		final NisRoute route = context.getRoute(context.endpoint1);
+		Assert.assertThat(route.getNumLeased(), IsEqual.equalTo(2));
+		Assert.assertThat(route.getNumPending(), IsEqual.equalTo(1));
+	}
+
+	@Test
+	public void maxRequestsPerRouteIsReadWhenRouteIsFirstUsed() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		context.setGetResult(new CompletableFuture<>());
+		context.connector.getAsync(context.endpoint1, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a=b");
+		context.maxRequestsPerRoute = 5;
+
+		// Act:
+		context.connector.getAsync(context.endpoint1, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a=b");
+		context.connector.getAsync(context.endpoint2, NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "a=b");
+
+		// Assert:
+		Assert.assertThat(context.getRoute(context.endpoint1).getMaxRequests(), IsEqual.equalTo(2));
+		Assert.assertThat(context.getRoute(context.endpoint2).getMaxRequests(), IsEqual.equalTo(5));
+	}
+
+	private static class TestContext {
+		private final NodeEndpoint endpoint1 = NodeEndpoint.fromHost("10.0.0.88");
+		private final NodeEndpoint endpoint2 = NodeEndpoint.fromHost("10.0.0.89");
+		private final HttpPostRequest postRequest = Mockito.mock(HttpPostRequest.class);
+		private final AsyncNisConnector innerConnector = Mockito.mock(AsyncNisConnector.class);
+		private int maxRequestsPerRoute = 2;
+		private final RouteLimitingAsyncNisConnector connector = new RouteLimitingAsyncNisConnector(
+				this.innerConnector,
+				() -> this.maxRequestsPerRoute,
+				10);
+
+		private void setGetResult(final CompletableFuture<Deserializer> future) {
+			Mockito.when(this.innerConnector.getAsync(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(future);
+		}
+
+		private NisRoute getRoute(final NodeEndpoint endpoint) {
+			return this.connector.getRoutes().stream()
+					.filter(route -> route.getEndpoint().equals(endpoint))
+					.findFirst()
+					.get();
+		}
+	}
+}
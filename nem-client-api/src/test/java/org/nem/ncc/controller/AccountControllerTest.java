@@ -13,6 +13,7 @@ import org.nem.core.model.primitive.*;
 import org.nem.core.node.NodeEndpoint;
 import org.nem.core.serialization.SerializableList;
 import org.nem.core.time.TimeInstant;
+import org.nem.ncc.cache.ChainHeightTracker;
 import org.nem.ncc.connector.PrimaryNisConnector;
 import org.nem.ncc.controller.requests.*;
 import org.nem.ncc.controller.viewmodels.*;
@@ -20,6 +21,7 @@ import org.nem.ncc.exceptions.NccException;
 import org.nem.ncc.services.*;
 import org.nem.ncc.test.*;
 import org.nem.ncc.wallet.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -48,6 +50,26 @@ public class AccountControllerTest {
 		Assert.assertThat(accountViewModel, IsEqual.equalTo(originalAccountViewModel));
 	}
 
+	@Test
+	public void getAccountInfosDelegatesToAccountMapper() {
+		// Arrange:
+		final List<Account> accounts = Arrays.asList(Utils.generateRandomAccount(), Utils.generateRandomAccount());
+		final List<Address> addresses = accounts.stream().map(Account::getAddress).collect(Collectors.toList());
+		final List<AccountViewModel> originalViewModels = accounts.stream().map(AccountControllerTest::createViewModel).collect(Collectors.toList());
+		final TestContext context = new TestContext();
+		Mockito.when(context.accountMapper.toViewModelsAsync(Mockito.eq(addresses), Mockito.anyInt()))
+				.thenReturn(CompletableFuture.completedFuture(originalViewModels));
+
+		// Act:
+		final AccountIdListRequest request = new AccountIdListRequest(addresses);
+		final SerializableList<AccountViewModel> viewModels = Utils.getDeferredResult(context.controller.getAccountInfos(request));
+
+		// Assert:
+		Mockito.verify(context.accountMapper, Mockito.times(1)).toViewModelsAsync(Mockito.eq(addresses), Mockito.anyInt());
+		Mockito.verify(context.accountMapper, Mockito.never()).toViewModel(Mockito.any(Address.class));
+		Assert.assertThat(viewModels.asCollection(), IsEqual.equalTo(originalViewModels));
+	}
+
 	//endregion
 
 	//region getAccountTransactionsAll
@@ -58,16 +80,16 @@ public class AccountControllerTest {
 		final Account account = Utils.generateRandomAccount();
 		final TestContext context = new TestContext();
 		final AccountViewModel originalAccountViewModel = createViewModel(account);
-		Mockito.when(context.accountMapper.toViewModel(account.getAddress()))
-				.thenReturn(originalAccountViewModel);
+		Mockito.when(context.accountMapper.toViewModelAsync(account.getAddress()))
+				.thenReturn(CompletableFuture.completedFuture(originalAccountViewModel));
 
 		// Act:
 		final AccountHashRequest request = new AccountHashRequest(account.getAddress(), Utils.generateRandomHash());
-		final AccountTransactionsPair pair = context.controller.getAccountTransactionsAll(request);
+		final AccountTransactionsPair pair = Utils.getDeferredResult(context.controller.getAccountTransactionsAll(request));
 		final AccountViewModel accountViewModel = pair.getAccount();
 
 		// Assert:
-		Mockito.verify(context.accountMapper, Mockito.times(1)).toViewModel(account.getAddress());
+		Mockito.verify(context.accountMapper, Mockito.times(1)).toViewModelAsync(account.getAddress());
 		Assert.assertThat(accountViewModel, IsEqual.equalTo(originalAccountViewModel));
 	}
 
@@ -76,23 +98,23 @@ public class AccountControllerTest {
 		// Arrange:
 		final Account account = Utils.generateRandomAccount();
 		final TestContext context = new TestContext();
-		Mockito.when(context.accountMapper.toViewModel(account.getAddress()))
-				.thenReturn(createViewModel(account));
+		Mockito.when(context.accountMapper.toViewModelAsync(account.getAddress()))
+				.thenReturn(CompletableFuture.completedFuture(createViewModel(account)));
 
 		final List<Transaction> transactions = Arrays.asList(
 				createTransfer(Utils.generateRandomAccount(), Amount.fromNem(124)),
 				createTransfer(account, Amount.fromNem(572)),
 				createTransfer(Utils.generateRandomAccount(), Amount.fromNem(323)));
-		Mockito.when(context.accountServices.getUnconfirmedTransactions(account.getAddress()))
-				.thenReturn(transactions);
+		Mockito.when(context.accountServices.getUnconfirmedTransactionsAsync(account.getAddress()))
+				.thenReturn(CompletableFuture.completedFuture(transactions));
 
 		// Act:
 		final AccountHashRequest request = new AccountHashRequest(account.getAddress(), Utils.generateRandomHash());
-		final AccountTransactionsPair pair = context.controller.getAccountTransactionsAll(request);
+		final AccountTransactionsPair pair = Utils.getDeferredResult(context.controller.getAccountTransactionsAll(request));
 		final Collection<TransferViewModel> transferViewModels = pair.getTransactions();
 
 		// Assert:
-		Mockito.verify(context.accountServices, Mockito.times(1)).getUnconfirmedTransactions(account.getAddress());
+		Mockito.verify(context.accountServices, Mockito.times(1)).getUnconfirmedTransactionsAsync(account.getAddress());
 		Assert.assertThat(
 				transferViewModels.stream().map(TransferViewModel::getAmount).collect(Collectors.toList()),
 				IsEqual.equalTo(Arrays.asList(Amount.fromNem(124), Amount.fromNem(572), Amount.fromNem(323))));
@@ -109,8 +131,8 @@ public class AccountControllerTest {
 		// Arrange:
 		final Account account = Utils.generateRandomAccount();
 		final TestContext context = new TestContext();
-		Mockito.when(context.accountMapper.toViewModel(account.getAddress()))
-				.thenReturn(createViewModel(account));
+		Mockito.when(context.accountMapper.toViewModelAsync(account.getAddress()))
+				.thenReturn(CompletableFuture.completedFuture(createViewModel(account)));
 		context.setLastBlockHeight(27);
 
 		final AccountHashRequest request = new AccountHashRequest(account.getAddress(), Utils.generateRandomHash());
@@ -118,16 +140,15 @@ public class AccountControllerTest {
 				createTransferMetaDataPair(Utils.generateRandomAccount(), Amount.fromNem(124), 19),
 				createTransferMetaDataPair(account, Amount.fromNem(572), 17),
 				createTransferMetaDataPair(Utils.generateRandomAccount(), Amount.fromNem(323), 27));
-		Mockito.when(context.accountServices.getTransactions(TransactionDirection.ALL, account.getAddress(), request.getHash()))
-				.thenReturn(pairs);
+		context.setTransactions(TransactionDirection.ALL, account.getAddress(), request.getHash(), pairs);
 
 		// Act:
-		final AccountTransactionsPair pair = context.controller.getAccountTransactionsAll(request);
+		final AccountTransactionsPair pair = Utils.getDeferredResult(context.controller.getAccountTransactionsAll(request));
 		final Collection<TransferViewModel> transferViewModels = pair.getTransactions();
 
 		// Assert:
 		Mockito.verify(context.accountServices, Mockito.times(1))
-				.getTransactions(TransactionDirection.ALL, account.getAddress(), request.getHash());
+				.getTransactionsAsync(Mockito.eq(TransactionDirection.ALL), Mockito.eq(account.getAddress()), Mockito.eq(request.getHash()), Mockito.any());
 		Assert.assertThat(
 				transferViewModels.stream().map(TransferViewModel::getAmount).collect(Collectors.toList()),
 				IsEqual.equalTo(Arrays.asList(Amount.fromNem(124), Amount.fromNem(572), Amount.fromNem(323))));
@@ -144,23 +165,22 @@ public class AccountControllerTest {
 		// Arrange:
 		final Account account = Utils.generateRandomAccount();
 		final TestContext context = new TestContext();
-		Mockito.when(context.accountMapper.toViewModel(account.getAddress()))
-				.thenReturn(createViewModel(account));
+		Mockito.when(context.accountMapper.toViewModelAsync(account.getAddress()))
+				.thenReturn(CompletableFuture.completedFuture(createViewModel(account)));
 		context.setLastBlockHeight(27);
 
 		final List<Transaction> transactions = Arrays.asList(
 				createTransfer(account, Amount.fromNem(124)));
-		Mockito.when(context.accountServices.getUnconfirmedTransactions(account.getAddress()))
-				.thenReturn(transactions);
+		Mockito.when(context.accountServices.getUnconfirmedTransactionsAsync(account.getAddress()))
+				.thenReturn(CompletableFuture.completedFuture(transactions));
 
 		final AccountHashRequest request = new AccountHashRequest(account.getAddress(), Utils.generateRandomHash());
 		final List<TransactionMetaDataPair> pairs = Arrays.asList(
 				createTransferMetaDataPair(Utils.generateRandomAccount(), Amount.fromNem(323), 25));
-		Mockito.when(context.accountServices.getTransactions(TransactionDirection.ALL, account.getAddress(), request.getHash()))
-				.thenReturn(pairs);
+		context.setTransactions(TransactionDirection.ALL, account.getAddress(), request.getHash(), pairs);
 
 		// Act:
-		final AccountTransactionsPair pair = context.controller.getAccountTransactionsAll(request);
+		final AccountTransactionsPair pair = Utils.getDeferredResult(context.controller.getAccountTransactionsAll(request));
 		final Collection<TransferViewModel> transferViewModels = pair.getTransactions();
 
 		// Assert:
@@ -175,6 +195,30 @@ public class AccountControllerTest {
 				IsEqual.equalTo(Arrays.asList(0L, 3L)));
 	}
 
+	@Test
+	public void getAccountTransactionsAllDoesNotWaitForAccountLookup() {
+		// Arrange:
+		final Account account = Utils.generateRandomAccount();
+		final TestContext context = new TestContext();
+		final AccountViewModel originalAccountViewModel = createViewModel(account);
+		final CompletableFuture<AccountViewModel> accountFuture = new CompletableFuture<>();
+		Mockito.when(context.accountMapper.toViewModelAsync(account.getAddress())).thenReturn(accountFuture);
+		context.setLastBlockHeight(27);
+
+		final AccountHashRequest request = new AccountHashRequest(account.getAddress(), Utils.generateRandomHash());
+		context.setTransactions(TransactionDirection.ALL, account.getAddress(), request.getHash(), new ArrayList<>());
+
+		// Act:
+		final DeferredResult<AccountTransactionsPair> result = context.controller.getAccountTransactionsAll(request);
+		final boolean hasResultBeforeLookup = result.hasResult();
+		accountFuture.complete(originalAccountViewModel);
+
+		// Assert:
+		Assert.assertThat(hasResultBeforeLookup, IsEqual.equalTo(false));
+		Assert.assertThat(Utils.getDeferredResult(result).getAccount(), IsEqual.equalTo(originalAccountViewModel));
+		Mockito.verify(context.accountMapper, Mockito.never()).toViewModel(Mockito.any(Address.class));
+	}
+
 	private static TransactionMetaDataPair createTransferMetaDataPair(final Account sender, final Amount amount, final int blockHeight) {
 		return new TransactionMetaDataPair(
 				createTransfer(sender, amount),
@@ -199,23 +243,23 @@ public class AccountControllerTest {
 		// Arrange:
 		final Account account = Utils.generateRandomAccount();
 		final TestContext context = new TestContext();
-		Mockito.when(context.accountMapper.toViewModel(account.getAddress()))
-				.thenReturn(createViewModel(account));
+		Mockito.when(context.accountMapper.toViewModelAsync(account.getAddress()))
+				.thenReturn(CompletableFuture.completedFuture(createViewModel(account)));
 
 		final AccountHashRequest request = new AccountHashRequest(account.getAddress(), null);
 		final List<Transaction> pairs = Arrays.asList(
 				createTransfer(Utils.generateRandomAccount(), Amount.fromNem(124)),
 				createTransfer(account, Amount.fromNem(572)),
 				createTransfer(Utils.generateRandomAccount(), Amount.fromNem(323)));
-		Mockito.when(context.accountServices.getUnconfirmedTransactions(account.getAddress()))
-				.thenReturn(pairs);
+		Mockito.when(context.accountServices.getUnconfirmedTransactionsAsync(account.getAddress()))
+				.thenReturn(CompletableFuture.completedFuture(pairs));
 
 		// Act:
-		final AccountTransactionsPair pair = context.controller.getAccountTransactionsUnconfirmed(request);
+		final AccountTransactionsPair pair = Utils.getDeferredResult(context.controller.getAccountTransactionsUnconfirmed(request));
 		final Collection<TransferViewModel> transferViewModels = pair.getTransactions();
 
 		// Assert:
-		Mockito.verify(context.accountServices, Mockito.times(1)).getUnconfirmedTransactions(account.getAddress());
+		Mockito.verify(context.accountServices, Mockito.times(1)).getUnconfirmedTransactionsAsync(account.getAddress());
 		Assert.assertThat(
 				transferViewModels.stream().map(TransferViewModel::getAmount).collect(Collectors.toList()),
 				IsEqual.equalTo(Arrays.asList(Amount.fromNem(124), Amount.fromNem(572), Amount.fromNem(323))));
@@ -232,16 +276,18 @@ public class AccountControllerTest {
 		// Arrange:
 		final Account account = Utils.generateRandomAccount();
 		final TestContext context = new TestContext();
+		Mockito.when(context.accountMapper.toViewModelAsync(account.getAddress()))
+				.thenReturn(CompletableFuture.completedFuture(createViewModel(account)));
 
 		final AccountHashRequest request = new AccountHashRequest(account.getAddress(), Utils.generateRandomHash());
-		Mockito.when(context.accountServices.getUnconfirmedTransactions(account.getAddress()))
-				.thenReturn(Arrays.asList(createTransfer(account, Amount.fromNem(572))));
+		Mockito.when(context.accountServices.getUnconfirmedTransactionsAsync(account.getAddress()))
+				.thenReturn(CompletableFuture.completedFuture(Arrays.asList(createTransfer(account, Amount.fromNem(572)))));
 
 		// Act:
-		final AccountTransactionsPair pair = context.controller.getAccountTransactionsUnconfirmed(request);
+		final AccountTransactionsPair pair = Utils.getDeferredResult(context.controller.getAccountTransactionsUnconfirmed(request));
 
 		// Assert:
-		Mockito.verify(context.accountServices, Mockito.times(0)).getUnconfirmedTransactions(Mockito.any());
+		Mockito.verify(context.accountServices, Mockito.times(0)).getUnconfirmedTransactionsAsync(Mockito.any());
 		Assert.assertThat(pair.getTransactions().size(), IsEqual.equalTo(0));
 	}
 
@@ -272,11 +318,11 @@ public class AccountControllerTest {
 
 	private void assertGetTransactionsDelegateToAccountService(
 			final TransactionDirection direction,
-			final Function<TestContext, Function<AccountHashRequest, AccountTransactionsPair>> handlerFactory) {
+			final Function<TestContext, Function<AccountHashRequest, DeferredResult<AccountTransactionsPair>>> handlerFactory) {
 		final Account account = Utils.generateRandomAccount();
 		final TestContext context = new TestContext();
-		Mockito.when(context.accountMapper.toViewModel(account.getAddress()))
-				.thenReturn(createViewModel(account));
+		Mockito.when(context.accountMapper.toViewModelAsync(account.getAddress()))
+				.thenReturn(CompletableFuture.completedFuture(createViewModel(account)));
 		context.setLastBlockHeight(34);
 
 		final AccountHashRequest request = new AccountHashRequest(account.getAddress(), null);
@@ -284,16 +330,15 @@ public class AccountControllerTest {
 				createTransferMetaDataPair(Utils.generateRandomAccount(), Amount.fromNem(124), 19),
 				createTransferMetaDataPair(account, Amount.fromNem(572), 17),
 				createTransferMetaDataPair(Utils.generateRandomAccount(), Amount.fromNem(323), 27));
-		Mockito.when(context.accountServices.getTransactions(direction, account.getAddress(), request.getHash()))
-				.thenReturn(pairs);
+		context.setTransactions(direction, account.getAddress(), request.getHash(), pairs);
 
 		// Act:
-		final AccountTransactionsPair pair = handlerFactory.apply(context).apply(request);
+		final AccountTransactionsPair pair = Utils.getDeferredResult(handlerFactory.apply(context).apply(request));
 		final Collection<TransferViewModel> transferViewModels = pair.getTransactions();
 
 		// Assert:
 		Mockito.verify(context.accountServices, Mockito.times(1))
-				.getTransactions(direction, account.getAddress(), request.getHash());
+				.getTransactionsAsync(Mockito.eq(direction), Mockito.eq(account.getAddress()), Mockito.eq(request.getHash()), Mockito.any());
 		Assert.assertThat(
 				transferViewModels.stream().map(TransferViewModel::getAmount).collect(Collectors.toList()),
 				IsEqual.equalTo(Arrays.asList(Amount.fromNem(124), Amount.fromNem(572), Amount.fromNem(323))));
@@ -319,14 +364,14 @@ public class AccountControllerTest {
 				new HarvestInfo(Hash.ZERO, new BlockHeight(5), TimeInstant.ZERO, Amount.ZERO),
 				new HarvestInfo(Hash.ZERO, new BlockHeight(9), TimeInstant.ZERO, Amount.ZERO));
 
-		Mockito.when(context.accountServices.getAccountHarvests(ahRequest.getAccountId(), ahRequest.getHash()))
-				.thenReturn(originalHarvestInfos);
+		context.setHarvests(ahRequest.getAccountId(), ahRequest.getHash(), originalHarvestInfos);
 
 		// Act:
-		final SerializableList<HarvestInfoViewModel> harvestInfos = context.controller.getAccountHarvests(ahRequest);
+		final SerializableList<HarvestInfoViewModel> harvestInfos = Utils.getDeferredResult(context.controller.getAccountHarvests(ahRequest));
 
 		// Assert:
-		Mockito.verify(context.accountServices, Mockito.times(1)).getAccountHarvests(ahRequest.getAccountId(), ahRequest.getHash());
+		Mockito.verify(context.accountServices, Mockito.times(1))
+				.getAccountHarvestsAsync(Mockito.eq(ahRequest.getAccountId()), Mockito.eq(ahRequest.getHash()), Mockito.any());
 		Assert.assertThat(
 				harvestInfos.asCollection().stream().map(HarvestInfoViewModel::getBlockHeight).collect(Collectors.toList()),
 				IsEqual.equalTo(Arrays.asList(new BlockHeight(7), new BlockHeight(5), new BlockHeight(9))));
@@ -363,7 +408,7 @@ public class AccountControllerTest {
 		action.accept(context.controller, new AccountWalletRequest(account.getAddress(), new WalletName("wallet")));
 
 		final ArgumentCaptor<HttpPostRequest> requestCaptor = ArgumentCaptor.forClass(HttpPostRequest.class);
-		Mockito.verify(context.connector, Mockito.times(1)).voidPost(Mockito.eq(apiId), requestCaptor.capture());
+		Mockito.verify(context.connector, Mockito.times(1)).voidPostAsync(Mockito.eq(apiId), requestCaptor.capture());
 		final JSONObject jsonRequest = (JSONObject)JSONValue.parse(requestCaptor.getValue().getPayload());
 
 		// Assert:
@@ -425,24 +470,50 @@ public class AccountControllerTest {
 		private final AccountServices accountServices = Mockito.mock(AccountServices.class);
 		private final AccountMapper accountMapper = Mockito.mock(AccountMapper.class);
 		private final WalletServices walletServices = Mockito.mock(WalletServices.class);
-		private final ChainServices chainServices = Mockito.mock(ChainServices.class);
+		private final ChainHeightTracker chainHeightTracker = Mockito.mock(ChainHeightTracker.class);
 		private final PrimaryNisConnector connector = Mockito.mock(PrimaryNisConnector.class);
 
 		private final AccountController controller = new AccountController(
 				this.accountServices,
 				this.accountMapper,
 				this.walletServices,
-				this.chainServices,
+				this.chainHeightTracker,
 				this.connector);
 
 		private TestContext() {
 			this.setLastBlockHeight(1);
 			ServicesUtils.setupForwarding(this.connector, this.nisEndpoint);
+
+			Mockito.when(this.accountServices.getUnconfirmedTransactionsAsync(Mockito.any()))
+					.thenReturn(CompletableFuture.completedFuture(new ArrayList<>()));
+			Mockito.when(this.accountServices.getTransactionsAsync(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+					.thenReturn(CompletableFuture.completedFuture(new ArrayList<>()));
+			Mockito.when(this.connector.voidPostAsync(Mockito.any(), Mockito.any()))
+					.thenReturn(CompletableFuture.completedFuture(null));
 		}
 
 		private void setLastBlockHeight(final int height) {
-			Mockito.when(this.chainServices.getChainHeightAsync(this.nisEndpoint))
+			Mockito.when(this.chainHeightTracker.getHeightAsync())
 					.thenReturn(CompletableFuture.completedFuture(new BlockHeight(height)));
 		}
+
+		private void setTransactions(
+				final TransactionDirection direction,
+				final Address address,
+				final Hash hash,
+				final List<TransactionMetaDataPair> pairs) {
+			Mockito.when(this.accountServices.getTransactionsAsync(Mockito.eq(direction), Mockito.eq(address), Mockito.eq(hash), Mockito.any()))
+					.then(invocationOnMock -> mapAll(pairs, invocationOnMock.getArguments()[3]));
+		}
+
+		private void setHarvests(final Address address, final Hash hash, final List<HarvestInfo> harvestInfos) {
+			Mockito.when(this.accountServices.getAccountHarvestsAsync(Mockito.eq(address), Mockito.eq(hash), Mockito.any()))
+					.then(invocationOnMock -> mapAll(harvestInfos, invocationOnMock.getArguments()[2]));
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> CompletableFuture<List<?>> mapAll(final List<T> items, final Object mapper) {
+			return CompletableFuture.completedFuture(items.stream().map((Function<T, ?>)mapper).collect(Collectors.toList()));
+		}
 	}
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package org.nem.ncc.controller;
 
 import net.minidev.json.JSONObject;
-import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.*;
 import org.junit.*;
 import org.mockito.Mockito;
 import org.nem.core.deploy.CommonStarter;
@@ -9,8 +9,7 @@ import org.nem.core.model.NemStatus;
 import org.nem.core.model.ncc.NemRequestResult;
 import org.nem.core.serialization.*;
 import org.nem.ncc.cache.*;
-
-import java.util.ArrayList;
+import org.nem.ncc.connector.NisConnectionDiagnostics;
 
 public class AdminControllerTest {
 
@@ -18,9 +17,10 @@ public class AdminControllerTest {
 	public void heartbeatReturnsSuccessfulResult() {
 		// Arrange:
 		final AdminController controller = new AdminController(
-				Mockito.mock(AccountsFileRepository.class),
-				Mockito.mock(NccAccountCache.class),
-				Mockito.mock(CommonStarter.class));
+				Mockito.mock(AccountsCachePersister.class),
+				Mockito.mock(CommonStarter.class),
+				Mockito.mock(NisConnectionDiagnostics.class),
+				Mockito.mock(AccountCacheDiagnostics.class));
 
 		// Act:
 		final SerializableEntity entity = controller.heartbeat();
@@ -32,30 +32,35 @@ public class AdminControllerTest {
 	}
 
 	@Test
-	public void shutdownDelegatesToRepositoryAndNccMain() throws InterruptedException {
+	public void shutdownDelegatesToPersisterAndNccMain() throws InterruptedException {
 		// Arrange:
-		final AccountsFileRepository repository = Mockito.mock(AccountsFileRepository.class);
-		final NccAccountCache cache = Mockito.mock(NccAccountCache.class);
+		final AccountsCachePersister persister = Mockito.mock(AccountsCachePersister.class);
 		final CommonStarter commonStarter = Mockito.mock(CommonStarter.class);
-		Mockito.when(cache.getAccounts()).thenReturn(new ArrayList<>());
 
 		// Act:
-		final AdminController controller = new AdminController(repository, cache, commonStarter);
+		final AdminController controller = new AdminController(
+				persister,
+				commonStarter,
+				Mockito.mock(NisConnectionDiagnostics.class),
+				Mockito.mock(AccountCacheDiagnostics.class));
 		controller.shutdown();
 		Thread.sleep(500);
 
 		// Assert:
 		Mockito.verify(commonStarter, Mockito.times(1)).stopServer();
-		Mockito.verify(repository, Mockito.times(1)).save(cache.getAccounts());
+		Mockito.verify(persister, Mockito.times(1)).compact();
 	}
 
 	@Test
 	public void statusReturnsSuccessfulResult() {
 		// Arrange:
+		final AccountsCachePersister persister = Mockito.mock(AccountsCachePersister.class);
+		Mockito.when(persister.isSeeded()).thenReturn(true);
 		final AdminController controller = new AdminController(
-				Mockito.mock(AccountsFileRepository.class),
-				Mockito.mock(NccAccountCache.class),
-				Mockito.mock(CommonStarter.class));
+				persister,
+				Mockito.mock(CommonStarter.class),
+				Mockito.mock(NisConnectionDiagnostics.class),
+				Mockito.mock(AccountCacheDiagnostics.class));
 
 		// Act:
 		final SerializableEntity entity = controller.status();
@@ -67,4 +72,58 @@ public class AdminControllerTest {
 		Assert.assertThat(jsonObject.get("code"), IsEqual.equalTo(NemStatus.RUNNING.getValue()));
 		Assert.assertThat(jsonObject.get("message"), IsEqual.equalTo("status"));
 	}
+
+	@Test
+	public void statusReturnsStartingResultWhileAccountsCacheIsBeingSeeded() {
+		// Arrange:
+		final AccountsCachePersister persister = Mockito.mock(AccountsCachePersister.class);
+		Mockito.when(persister.isSeeded()).thenReturn(false);
+		final AdminController controller = new AdminController(
+				persister,
+				Mockito.mock(CommonStarter.class),
+				Mockito.mock(NisConnectionDiagnostics.class),
+				Mockito.mock(AccountCacheDiagnostics.class));
+
+		// Act:
+		final SerializableEntity entity = controller.status();
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(entity);
+
+		// Assert:
+		Assert.assertThat(jsonObject.get("type"), IsEqual.equalTo(NemRequestResult.TYPE_STATUS));
+		Assert.assertThat(jsonObject.get("code"), IsEqual.equalTo(NemStatus.STARTING.getValue()));
+	}
+
+	@Test
+	public void connectionDiagnosticsReturnsDiagnostics() {
+		// Arrange:
+		final NisConnectionDiagnostics diagnostics = Mockito.mock(NisConnectionDiagnostics.class);
+		final AdminController controller = new AdminController(
+				Mockito.mock(AccountsCachePersister.class),
+				Mockito.mock(CommonStarter.class),
+				diagnostics,
+				Mockito.mock(AccountCacheDiagnostics.class));
+
+		// Act:
+		final SerializableEntity entity = controller.connectionDiagnostics();
+
+		// Assert:
+		Assert.assertThat(entity, IsSame.sameInstance(diagnostics));
+	}
+
+	@Test
+	public void accountCacheDiagnosticsReturnsDiagnostics() {
+		// Arrange:
+		final AccountCacheDiagnostics diagnostics = Mockito.mock(AccountCacheDiagnostics.class);
+		final AdminController controller = new AdminController(
+				Mockito.mock(AccountsCachePersister.class),
+				Mockito.mock(CommonStarter.class),
+				Mockito.mock(NisConnectionDiagnostics.class),
+				diagnostics);
+
+		// Act:
+		final SerializableEntity entity = controller.accountCacheDiagnostics();
+
+		// Assert:
+		Assert.assertThat(entity, IsSame.sameInstance(diagnostics));
+	}
 }
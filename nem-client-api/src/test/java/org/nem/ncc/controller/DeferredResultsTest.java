@@ -0,0 +1,73 @@
+package org.nem.ncc.controller;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.nem.ncc.exceptions.NccException;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.*;
+
+public class DeferredResultsTest {
+
+	@Test
+	public void resultIsNotSetBeforeFutureIsCompleted() {
+		// Arrange:
+		final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+		// Act:
+		final DeferredResult<Integer> result = DeferredResults.fromFuture(future);
+
+		// Assert:
+		Assert.assertThat(result.hasResult(), IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void resultIsSetWhenFutureCompletesSuccessfully() {
+		// Arrange:
+		final CompletableFuture<Integer> future = new CompletableFuture<>();
+		final DeferredResult<Integer> result = DeferredResults.fromFuture(future);
+
+		// Act:
+		future.complete(7);
+
+		// Assert:
+		Assert.assertThat(result.getResult(), IsEqual.equalTo(7));
+	}
+
+	@Test
+	public void errorResultIsSetWhenFutureCompletesExceptionally() {
+		// Arrange:
+		final CompletableFuture<Integer> future = new CompletableFuture<>();
+		final DeferredResult<Integer> result = DeferredResults.fromFuture(future);
+		final NccException exception = new NccException(NccException.Code.NIS_NOT_AVAILABLE);
+
+		// Act:
+		future.completeExceptionally(exception);
+
+		// Assert:
+		Assert.assertThat(result.getResult(), IsSame.sameInstance(exception));
+	}
+
+	@Test
+	public void errorResultIsUnwrappedWhenFutureCompletesWithCompletionException() {
+		// Arrange:
+		final CompletableFuture<Integer> future = new CompletableFuture<>();
+		final DeferredResult<Integer> result = DeferredResults.fromFuture(future);
+		final NccException exception = new NccException(NccException.Code.NIS_NOT_AVAILABLE);
+
+		// Act:
+		future.completeExceptionally(new CompletionException(exception));
+
+		// Assert:
+		Assert.assertThat(result.getResult(), IsSame.sameInstance(exception));
+	}
+
+	@Test
+	public void resultIsSetWhenFutureIsAlreadyCompleted() {
+		// Act:
+		final DeferredResult<Integer> result = DeferredResults.fromFuture(CompletableFuture.completedFuture(7));
+
+		// Assert:
+		Assert.assertThat(result.getResult(), IsEqual.equalTo(7));
+	}
+}
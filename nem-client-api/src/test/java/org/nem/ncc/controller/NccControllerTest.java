@@ -1,6 +1,6 @@
 package org.nem.ncc.controller;
 
-import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.*;
 import org.junit.*;
 import org.mockito.Mockito;
 import org.nem.core.crypto.KeyPair;
@@ -8,14 +8,16 @@ import org.nem.core.metadata.ApplicationMetaData;
 import org.nem.core.model.primitive.BlockHeight;
 import org.nem.core.node.*;
 import org.nem.core.time.*;
-import org.nem.ncc.connector.PrimaryNisConnector;
+import org.nem.ncc.cache.ChainHeightTracker;
+import org.nem.ncc.connector.*;
 import org.nem.ncc.controller.viewmodels.*;
 import org.nem.ncc.exceptions.NccException;
 import org.nem.ncc.model.*;
 import org.nem.ncc.services.*;
 import org.nem.ncc.test.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.*;
 
 public class NccControllerTest {
 
@@ -43,7 +45,7 @@ public class NccControllerTest {
 	public void getNisInfoFailsIfNisIsNotConnected() {
 		// Arrange:
 		final TestContext context = new TestContext();
-		Mockito.when(context.connector.isConnected()).thenReturn(false);
+		Mockito.when(context.connectionState.isConnected()).thenReturn(false);
 
 		// Act:
 		ExceptionAssert.assertThrowsNccException(
@@ -59,7 +61,7 @@ public class NccControllerTest {
 		setupContextForNisInfoTests(context, identity);
 
 		// Act:
-		final NisNodeInfo info = context.controller.getNisInfo().getNodeInfo();
+		final NisNodeInfo info = Utils.getDeferredResult(context.controller.getNisInfo()).getNodeInfo();
 
 		// Assert:
 		Assert.assertThat(info.getAppMetaData().getVersion(), IsEqual.equalTo("1.0.0"));
@@ -74,7 +76,7 @@ public class NccControllerTest {
 		setupContextForNisInfoTests(context, identity);
 
 		// Act:
-		final NisNodeMetaData metaData = context.controller.getNisInfo().getNodeMetaData();
+		final NisNodeMetaData metaData = Utils.getDeferredResult(context.controller.getNisInfo()).getNodeMetaData();
 
 		// Assert:
 		Assert.assertThat(metaData.getActivePeers(), IsEqual.equalTo(9));
@@ -83,7 +85,7 @@ public class NccControllerTest {
 	}
 
 	private static void setupContextForNisInfoTests(final TestContext context, final NodeIdentity nodeIdentity) {
-		Mockito.when(context.connector.isConnected()).thenReturn(true);
+		Mockito.when(context.connectionState.isConnected()).thenReturn(true);
 		final NisInfoViewModel viewModel = createNisInfoViewModel(nodeIdentity);
 
 		final NisNodeInfo originalInfo = viewModel.getNodeInfo();
@@ -115,7 +117,7 @@ public class NccControllerTest {
 	public void isNisRunningReturnsZeroWhenNisIsNotConnected() {
 		// Arrange:
 		final TestContext context = new TestContext();
-		Mockito.when(context.connector.isConnected()).thenReturn(false);
+		Mockito.when(context.connectionState.isConnected()).thenReturn(false);
 
 		// Act:
 		final String result = context.controller.isNisRunning();
@@ -128,7 +130,7 @@ public class NccControllerTest {
 	public void isNisRunningReturnsOneWhenNisIsConnected() {
 		// Arrange:
 		final TestContext context = new TestContext();
-		Mockito.when(context.connector.isConnected()).thenReturn(true);
+		Mockito.when(context.connectionState.isConnected()).thenReturn(true);
 
 		// Act:
 		final String result = context.controller.isNisRunning();
@@ -145,15 +147,48 @@ public class NccControllerTest {
 	public void getBlockHeightReturnsNisBlockHeight() {
 		// Arrange:
 		final TestContext context = new TestContext();
-		Mockito.when(context.chainServices.getChainHeightAsync(context.nisEndpoint))
+		Mockito.when(context.chainHeightTracker.getHeightAsync())
 				.thenReturn(CompletableFuture.completedFuture(new BlockHeight(8)));
 
 		// Act:
-		final BlockHeight height = context.controller.getBlockHeight();
+		final BlockHeight height = Utils.getDeferredResult(context.controller.getBlockHeight());
 
 		// Assert:
 		Assert.assertThat(height, IsEqual.equalTo(new BlockHeight(8)));
-		Mockito.verify(context.chainServices, Mockito.only()).getChainHeightAsync(context.nisEndpoint);
+		Mockito.verify(context.chainHeightTracker, Mockito.only()).getHeightAsync();
+		Mockito.verify(context.chainServices, Mockito.never()).getChainHeightAsync(Mockito.any());
+	}
+
+	@Test
+	public void getBlockHeightSetsUnwrappedErrorResultWhenNisRequestFails() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<BlockHeight> future = new CompletableFuture<>();
+		future.completeExceptionally(new CompletionException(new NccException(NccException.Code.NIS_NOT_AVAILABLE)));
+		Mockito.when(context.chainHeightTracker.getHeightAsync()).thenReturn(future);
+
+		// Act:
+		final DeferredResult<BlockHeight> result = context.controller.getBlockHeight();
+
+		// Assert:
+		Assert.assertThat(result.getResult(), IsInstanceOf.instanceOf(NccException.class));
+	}
+
+	@Test
+	public void getBlockHeightDoesNotSetResultUntilNisResponds() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<BlockHeight> future = new CompletableFuture<>();
+		Mockito.when(context.chainHeightTracker.getHeightAsync()).thenReturn(future);
+
+		// Act:
+		final DeferredResult<BlockHeight> result = context.controller.getBlockHeight();
+		final boolean hadResultBeforeResponse = result.hasResult();
+		future.complete(new BlockHeight(8));
+
+		// Assert:
+		Assert.assertThat(hadResultBeforeResponse, IsEqual.equalTo(false));
+		Assert.assertThat(result.getResult(), IsEqual.equalTo(new BlockHeight(8)));
 	}
 
 	//endregion
@@ -166,6 +201,8 @@ public class NccControllerTest {
 		private final NccController controller;
 		private final ChainServices chainServices = Mockito.mock(ChainServices.class);
 		private final NodeServices nodeServices = Mockito.mock(NodeServices.class);
+		private final ChainHeightTracker chainHeightTracker = Mockito.mock(ChainHeightTracker.class);
+		private final NisConnectionState connectionState = Mockito.mock(NisConnectionState.class);
 
 		private TestContext() {
 			final TimeProvider timeProvider = Mockito.mock(TimeProvider.class);
@@ -179,7 +216,9 @@ public class NccControllerTest {
 					this.metaData,
 					this.connector,
 					this.chainServices,
-					this.nodeServices);
+					this.nodeServices,
+					this.chainHeightTracker,
+					this.connectionState);
 
 			ServicesUtils.setupForwarding(this.connector, this.nisEndpoint);
 		}
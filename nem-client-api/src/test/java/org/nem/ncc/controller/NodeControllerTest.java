@@ -16,6 +16,8 @@ import org.nem.ncc.services.WalletServices;
 import org.nem.ncc.test.Utils;
 import org.nem.ncc.wallet.*;
 
+import java.util.concurrent.CompletableFuture;
+
 public class NodeControllerTest {
 
 	@Test
@@ -34,7 +36,7 @@ public class NodeControllerTest {
 		// Assert:
 		Mockito.verify(context.walletServices, Mockito.times(1)).get(new WalletName("wal-blah"));
 		Mockito.verify(wallet, Mockito.times(1)).getAccountPrivateKey(account.getAddress());
-		Mockito.verify(context.connector, Mockito.times(1)).voidPost(Mockito.eq(NisApiId.NIS_REST_NODE_BOOT), Mockito.any());
+		Mockito.verify(context.connector, Mockito.times(1)).voidPostAsync(Mockito.eq(NisApiId.NIS_REST_NODE_BOOT), Mockito.any());
 	}
 
 	@Test
@@ -51,7 +53,7 @@ public class NodeControllerTest {
 		context.controller.bootNode(new BootNodeRequest(account.getAddress(), new WalletName("wal-blah"), "node-bar"));
 
 		final ArgumentCaptor<HttpPostRequest> requestCaptor = ArgumentCaptor.forClass(HttpPostRequest.class);
-		Mockito.verify(context.connector, Mockito.times(1)).voidPost(Mockito.eq(NisApiId.NIS_REST_NODE_BOOT), requestCaptor.capture());
+		Mockito.verify(context.connector, Mockito.times(1)).voidPostAsync(Mockito.eq(NisApiId.NIS_REST_NODE_BOOT), requestCaptor.capture());
 		final JSONObject jsonRequest = (JSONObject)JSONValue.parse(requestCaptor.getValue().getPayload());
 
 		// Assert:
@@ -84,14 +86,14 @@ public class NodeControllerTest {
 		// Arrange:
 		final TestContext context = new TestContext();
 		final JSONObject jsonObject = JsonSerializer.serializeToJson(new NemRequestResult(ValidationResult.FAILURE_HASH_EXISTS));
-		Mockito.when(context.connector.get(NisApiId.NIS_REST_STATUS, null))
-				.thenReturn(Utils.createDeserializer(jsonObject));
+		Mockito.when(context.connector.getAsync(NisApiId.NIS_REST_STATUS, null))
+				.thenReturn(CompletableFuture.completedFuture(Utils.createDeserializer(jsonObject)));
 
 		// Act:
-		final NemRequestResult requestResult = context.controller.checkNodeStatus();
+		final NemRequestResult requestResult = Utils.getDeferredResult(context.controller.checkNodeStatus());
 
 		// Assert:
-		Mockito.verify(context.connector, Mockito.only()).get(NisApiId.NIS_REST_STATUS, null);
+		Mockito.verify(context.connector, Mockito.only()).getAsync(NisApiId.NIS_REST_STATUS, null);
 		Assert.assertThat(requestResult.getCode(), IsEqual.equalTo(ValidationResult.FAILURE_HASH_EXISTS.getValue()));
 	}
 
@@ -99,5 +101,10 @@ public class NodeControllerTest {
 		private final WalletServices walletServices = Mockito.mock(WalletServices.class);
 		private final PrimaryNisConnector connector = Mockito.mock(PrimaryNisConnector.class);
 		private final NodeController controller = new NodeController(this.walletServices, this.connector);
+
+		private TestContext() {
+			Mockito.when(this.connector.voidPostAsync(Mockito.any(), Mockito.any()))
+					.thenReturn(CompletableFuture.completedFuture(null));
+		}
 	}
 }
\ No newline at end of file
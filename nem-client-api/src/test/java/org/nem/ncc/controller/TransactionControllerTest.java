@@ -9,7 +9,10 @@ import org.nem.core.connect.client.NisApiId;
 import org.nem.core.crypto.*;
 import org.nem.core.model.*;
 import org.nem.core.model.ncc.NemRequestResult;
+import org.nem.core.model.primitive.Amount;
 import org.nem.core.serialization.*;
+import org.nem.core.time.TimeInstant;
+import org.nem.ncc.cache.NccAccountCache;
 import org.nem.ncc.connector.PrimaryNisConnector;
 import org.nem.ncc.controller.requests.*;
 import org.nem.ncc.controller.viewmodels.PartialTransferInformationViewModel;
@@ -17,6 +20,8 @@ import org.nem.ncc.exceptions.NisException;
 import org.nem.ncc.services.TransactionMapper;
 import org.nem.ncc.test.*;
 
+import java.util.concurrent.CompletableFuture;
+
 public class TransactionControllerTest {
 
 	//region sendTransaction
@@ -28,7 +33,7 @@ public class TransactionControllerTest {
 		final Transaction model = new MockTransaction(Utils.generateRandomAccount(), 7);
 		final Deserializer deserializer = this.getNisRequestResultDeserializer(ValidationResult.SUCCESS.getValue());
 		Mockito.when(context.transactionMapper.toModel(context.request)).thenReturn(model);
-		Mockito.when(context.connector.post(Mockito.any(), Mockito.any())).thenReturn(deserializer);
+		Mockito.when(context.connector.postAsync(Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture(deserializer));
 
 		// Act:
 		context.controller.sendTransaction(context.request);
@@ -44,13 +49,13 @@ public class TransactionControllerTest {
 		final MockTransaction model = new MockTransaction(Utils.generateRandomAccount(), 7);
 		final Deserializer deserializer = this.getNisRequestResultDeserializer(ValidationResult.SUCCESS.getValue());
 		Mockito.when(context.transactionMapper.toModel(context.request)).thenReturn(model);
-		Mockito.when(context.connector.post(Mockito.any(), Mockito.any())).thenReturn(deserializer);
+		Mockito.when(context.connector.postAsync(Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture(deserializer));
 
 		// Act:
 		context.controller.sendTransaction(context.request);
 
 		final ArgumentCaptor<HttpPostRequest> requestCaptor = ArgumentCaptor.forClass(HttpPostRequest.class);
-		Mockito.verify(context.connector, Mockito.times(1)).post(Mockito.eq(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE), requestCaptor.capture());
+		Mockito.verify(context.connector, Mockito.times(1)).postAsync(Mockito.eq(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE), requestCaptor.capture());
 		final JSONObject jsonRequest = (JSONObject)JSONValue.parse(requestCaptor.getValue().getPayload());
 		final RequestAnnounce requestAnnounce = new RequestAnnounce(new JsonDeserializer(jsonRequest, null));
 
@@ -68,10 +73,48 @@ public class TransactionControllerTest {
 		final Transaction model = new MockTransaction(Utils.generateRandomAccount(), 7);
 		final Deserializer deserializer = this.getNisRequestResultDeserializer(ValidationResult.FAILURE_TIMESTAMP_TOO_FAR_IN_PAST.getValue());
 		Mockito.when(context.transactionMapper.toModel(context.request)).thenReturn(model);
-		Mockito.when(context.connector.post(Mockito.any(), Mockito.any())).thenReturn(deserializer);
+		Mockito.when(context.connector.postAsync(Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture(deserializer));
 
 		// Act:
-		context.controller.sendTransaction(context.request);
+		Utils.getDeferredResult(context.controller.sendTransaction(context.request));
+	}
+
+	@Test
+	public void sendTransactionInvalidatesCachedSenderAndRecipientAccounts() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final Account sender = Utils.generateRandomAccount();
+		final Account recipient = Utils.generateRandomAccount();
+		final Transaction model = new TransferTransaction(TimeInstant.ZERO, sender, recipient, Amount.fromNem(7), null);
+		final Deserializer deserializer = this.getNisRequestResultDeserializer(ValidationResult.SUCCESS.getValue());
+		Mockito.when(context.transactionMapper.toModel(context.request)).thenReturn(model);
+		Mockito.when(context.connector.postAsync(Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture(deserializer));
+
+		// Act:
+		Utils.getDeferredResult(context.controller.sendTransaction(context.request));
+
+		// Assert:
+		Mockito.verify(context.accountCache, Mockito.times(1)).invalidate(sender.getAddress());
+		Mockito.verify(context.accountCache, Mockito.times(1)).invalidate(recipient.getAddress());
+		Mockito.verify(context.accountCache, Mockito.times(2)).invalidate(Mockito.any());
+	}
+
+	@Test
+	public void sendTransactionDoesNotInvalidateCachedAccountsWhenAnnounceFails() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final Transaction model = new MockTransaction(Utils.generateRandomAccount(), 7);
+		final Deserializer deserializer = this.getNisRequestResultDeserializer(ValidationResult.FAILURE_TIMESTAMP_TOO_FAR_IN_PAST.getValue());
+		Mockito.when(context.transactionMapper.toModel(context.request)).thenReturn(model);
+		Mockito.when(context.connector.postAsync(Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture(deserializer));
+
+		// Act:
+		ExceptionAssert.assertThrows(
+				v -> Utils.getDeferredResult(context.controller.sendTransaction(context.request)),
+				NisException.class);
+
+		// Assert:
+		Mockito.verify(context.accountCache, Mockito.never()).invalidate(Mockito.any());
 	}
 
 	//endregion
@@ -109,7 +152,7 @@ public class TransactionControllerTest {
 		final Transaction model = new MockTransaction(Utils.generateRandomAccount(), 7);
 		final Deserializer deserializer = this.getNisRequestResultDeserializer(ValidationResult.SUCCESS.getValue());
 		Mockito.when(context.transactionMapper.toModel(context.harvestRequest, ImportanceTransferTransaction.Mode.Activate)).thenReturn(model);
-		Mockito.when(context.connector.post(Mockito.any(), Mockito.any())).thenReturn(deserializer);
+		Mockito.when(context.connector.postAsync(Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture(deserializer));
 
 		// Act:
 		context.controller.remoteUnlock(context.harvestRequest);
@@ -125,13 +168,13 @@ public class TransactionControllerTest {
 		final MockTransaction model = new MockTransaction(Utils.generateRandomAccount(), 7);
 		final Deserializer deserializer = this.getNisRequestResultDeserializer(ValidationResult.SUCCESS.getValue());
 		Mockito.when(context.transactionMapper.toModel(context.harvestRequest, ImportanceTransferTransaction.Mode.Activate)).thenReturn(model);
-		Mockito.when(context.connector.post(Mockito.any(), Mockito.any())).thenReturn(deserializer);
+		Mockito.when(context.connector.postAsync(Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture(deserializer));
 
 		// Act:
 		context.controller.remoteUnlock(context.harvestRequest);
 
 		final ArgumentCaptor<HttpPostRequest> requestCaptor = ArgumentCaptor.forClass(HttpPostRequest.class);
-		Mockito.verify(context.connector, Mockito.times(1)).post(Mockito.eq(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE), requestCaptor.capture());
+		Mockito.verify(context.connector, Mockito.times(1)).postAsync(Mockito.eq(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE), requestCaptor.capture());
 		final JSONObject jsonRequest = (JSONObject)JSONValue.parse(requestCaptor.getValue().getPayload());
 		final RequestAnnounce requestAnnounce = new RequestAnnounce(new JsonDeserializer(jsonRequest, null));
 
@@ -149,13 +192,13 @@ public class TransactionControllerTest {
 		final MockTransaction model = new MockTransaction(Utils.generateRandomAccount(), 7);
 		final Deserializer deserializer = this.getNisRequestResultDeserializer(ValidationResult.SUCCESS.getValue());
 		Mockito.when(context.transactionMapper.toModel(context.harvestRequest, ImportanceTransferTransaction.Mode.Deactivate)).thenReturn(model);
-		Mockito.when(context.connector.post(Mockito.any(), Mockito.any())).thenReturn(deserializer);
+		Mockito.when(context.connector.postAsync(Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture(deserializer));
 
 		// Act:
 		context.controller.remoteLock(context.harvestRequest);
 
 		final ArgumentCaptor<HttpPostRequest> requestCaptor = ArgumentCaptor.forClass(HttpPostRequest.class);
-		Mockito.verify(context.connector, Mockito.times(1)).post(Mockito.eq(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE), requestCaptor.capture());
+		Mockito.verify(context.connector, Mockito.times(1)).postAsync(Mockito.eq(NisApiId.NIS_REST_TRANSACTION_ANNOUNCE), requestCaptor.capture());
 		final JSONObject jsonRequest = (JSONObject)JSONValue.parse(requestCaptor.getValue().getPayload());
 		final RequestAnnounce requestAnnounce = new RequestAnnounce(new JsonDeserializer(jsonRequest, null));
 
@@ -166,6 +209,23 @@ public class TransactionControllerTest {
 		Assert.assertThat(requestAnnounce.getSignature(), IsEqual.equalTo(expectedSignature.getBytes()));
 	}
 
+	@Test
+	public void remoteUnlockInvalidatesCachedSenderAccount() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final Account sender = Utils.generateRandomAccount();
+		final Transaction model = new MockTransaction(sender, 7);
+		final Deserializer deserializer = this.getNisRequestResultDeserializer(ValidationResult.SUCCESS.getValue());
+		Mockito.when(context.transactionMapper.toModel(context.harvestRequest, ImportanceTransferTransaction.Mode.Activate)).thenReturn(model);
+		Mockito.when(context.connector.postAsync(Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture(deserializer));
+
+		// Act:
+		Utils.getDeferredResult(context.controller.remoteUnlock(context.harvestRequest));
+
+		// Assert:
+		Mockito.verify(context.accountCache, Mockito.only()).invalidate(sender.getAddress());
+	}
+
 	//endregion
 
 	private Deserializer getNisRequestResultDeserializer(final int code) {
@@ -185,6 +245,7 @@ public class TransactionControllerTest {
 		private final PrimaryNisConnector connector = Mockito.mock(PrimaryNisConnector.class);
 		private final TransferSendRequest request = Mockito.mock(TransferSendRequest.class);
 		private final TransferImportanceRequest harvestRequest = Mockito.mock(TransferImportanceRequest.class);
-		private final TransactionController controller = new TransactionController(this.transactionMapper, this.connector);
+		private final NccAccountCache accountCache = Mockito.mock(NccAccountCache.class);
+		private final TransactionController controller = new TransactionController(this.transactionMapper, this.connector, this.accountCache);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package org.nem.ncc.controller.interceptors;
+
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.nem.core.utils.ExceptionUtils;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.*;
+import java.util.*;
+import java.util.logging.*;
+
+public class AuditInterceptorTest {
+	private static final Logger LOGGER = Logger.getLogger(AuditInterceptor.class.getName());
+
+	private final List<String> messages = new ArrayList<>();
+	private final Handler handler = new Handler() {
+		@Override
+		public void publish(final LogRecord record) {
+			AuditInterceptorTest.this.messages.add(record.getMessage());
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	};
+
+	@Before
+	public void addLogHandler() {
+		LOGGER.addHandler(this.handler);
+	}
+
+	@After
+	public void removeLogHandler() {
+		LOGGER.removeHandler(this.handler);
+	}
+
+	//region preHandle
+
+	@Test
+	public void preHandleLogsEntryOfRequestDispatch() {
+		// Arrange:
+		final HttpServletRequest request = createRequest("/ncc/api/account/find", DispatcherType.REQUEST);
+
+		// Act:
+		final boolean result = preHandle(request);
+
+		// Assert:
+		Assert.assertThat(result, IsEqual.equalTo(true));
+		Assert.assertThat(this.messages, IsEqual.equalTo(Collections.singletonList("entering /ncc/api/account/find [10.0.0.1]")));
+	}
+
+	@Test
+	public void preHandleDoesNotLogEntryOfAsyncDispatch() {
+		// Arrange:
+		final HttpServletRequest request = createRequest("/ncc/api/account/find", DispatcherType.ASYNC);
+
+		// Act:
+		final boolean result = preHandle(request);
+
+		// Assert:
+		Assert.assertThat(result, IsEqual.equalTo(true));
+		Assert.assertThat(this.messages.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void preHandleDoesNotLogEntryOfIgnoredPath() {
+		// Arrange:
+		final HttpServletRequest request = createRequest("/ncc/api/heartbeat", DispatcherType.REQUEST);
+
+		// Act:
+		final boolean result = preHandle(request);
+
+		// Assert:
+		Assert.assertThat(result, IsEqual.equalTo(true));
+		Assert.assertThat(this.messages.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	//endregion
+
+	//region afterCompletion
+
+	@Test
+	public void afterCompletionLogsExitOfSynchronousRequest() {
+		// Arrange:
+		final HttpServletRequest request = createRequest("/ncc/api/account/find", DispatcherType.REQUEST);
+
+		// Act:
+		afterCompletion(request, null);
+
+		// Assert:
+		Assert.assertThat(this.messages, IsEqual.equalTo(Collections.singletonList("exiting /ncc/api/account/find [10.0.0.1]")));
+	}
+
+	@Test
+	public void afterCompletionDoesNotLogExitOfRequestDispatchThatStartedAsyncProcessing() {
+		// Arrange:
+		final HttpServletRequest request = createRequest("/ncc/api/account/find", DispatcherType.REQUEST);
+		Mockito.when(request.isAsyncStarted()).thenReturn(true);
+
+		// Act:
+		afterCompletion(request, null);
+
+		// Assert:
+		Assert.assertThat(this.messages.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void afterCompletionLogsExitOfAsyncDispatch() {
+		// Arrange:
+		final HttpServletRequest request = createRequest("/ncc/api/account/find", DispatcherType.ASYNC);
+
+		// Act:
+		afterCompletion(request, null);
+
+		// Assert:
+		Assert.assertThat(this.messages, IsEqual.equalTo(Collections.singletonList("exiting /ncc/api/account/find [10.0.0.1]")));
+	}
+
+	@Test
+	public void afterCompletionLogsExitWithException() {
+		// Arrange:
+		final HttpServletRequest request = createRequest("/ncc/api/account/find", DispatcherType.ASYNC);
+
+		// Act:
+		afterCompletion(request, new RuntimeException("badness"));
+
+		// Assert:
+		Assert.assertThat(
+				this.messages,
+				IsEqual.equalTo(Collections.singletonList("exiting /ncc/api/account/find [10.0.0.1]: java.lang.RuntimeException: badness")));
+	}
+
+	@Test
+	public void afterCompletionDoesNotLogExitOfIgnoredPath() {
+		// Arrange:
+		final HttpServletRequest request = createRequest("/ncc/api/heartbeat", DispatcherType.REQUEST);
+
+		// Act:
+		afterCompletion(request, null);
+
+		// Assert:
+		Assert.assertThat(this.messages.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	//endregion
+
+	private static HttpServletRequest createRequest(final String path, final DispatcherType dispatcherType) {
+		final HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+		Mockito.when(request.getRequestURI()).thenReturn(path);
+		Mockito.when(request.getRemoteAddr()).thenReturn("10.0.0.1");
+		Mockito.when(request.getDispatcherType()).thenReturn(dispatcherType);
+		return request;
+	}
+
+	private static boolean preHandle(final HttpServletRequest request) {
+		final AuditInterceptor interceptor = new AuditInterceptor();
+		return ExceptionUtils.propagate(() -> interceptor.preHandle(request, Mockito.mock(HttpServletResponse.class), new Object()));
+	}
+
+	private static void afterCompletion(final HttpServletRequest request, final Exception ex) {
+		final AuditInterceptor interceptor = new AuditInterceptor();
+		ExceptionUtils.propagateVoid(() -> interceptor.afterCompletion(request, Mockito.mock(HttpServletResponse.class), new Object(), ex));
+	}
+}
@@ -0,0 +1,106 @@
+package org.nem.ncc.controller.requests;
+
+import net.minidev.json.*;
+import org.hamcrest.core.IsEqual;
+import org.junit.*;
+import org.nem.core.model.Address;
+import org.nem.core.serialization.*;
+import org.nem.ncc.test.Utils;
+
+import java.util.*;
+
+public class AccountIdListRequestTest {
+
+	@Test
+	public void requestCanBeCreatedAroundValidAccountIds() {
+		// Arrange:
+		final List<Address> addresses = Arrays.asList(Utils.generateRandomAddress(), Utils.generateRandomAddress());
+
+		// Act:
+		final AccountIdListRequest request = new AccountIdListRequest(addresses);
+
+		// Assert:
+		Assert.assertThat(request.getAccountIds(), IsEqual.equalTo(addresses));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void requestCannotBeCreatedAroundInvalidAccountId() {
+		// Act:
+		new AccountIdListRequest(Arrays.asList(Utils.generateRandomAddress(), Address.fromEncoded("FOO")));
+	}
+
+	@Test
+	public void requestCanBeCreatedAroundMaxAccountIds() {
+		// Arrange:
+		final List<Address> addresses = createRandomAddresses(AccountIdListRequest.MAX_ACCOUNT_IDS);
+
+		// Act:
+		final AccountIdListRequest request = new AccountIdListRequest(addresses);
+
+		// Assert:
+		Assert.assertThat(request.getAccountIds(), IsEqual.equalTo(addresses));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void requestCannotBeCreatedAroundMoreThanMaxAccountIds() {
+		// Act:
+		new AccountIdListRequest(createRandomAddresses(AccountIdListRequest.MAX_ACCOUNT_IDS + 1));
+	}
+
+	@Test
+	public void requestCanBeDeserializedGivenValidAccountIds() {
+		// Arrange:
+		final List<Address> addresses = Arrays.asList(Utils.generateRandomAddress(), Utils.generateRandomAddress());
+
+		// Act:
+		final AccountIdListRequest request = createRequestFromJson(addresses.get(0).getEncoded(), addresses.get(1).getEncoded());
+
+		// Assert:
+		Assert.assertThat(request.getAccountIds(), IsEqual.equalTo(addresses));
+	}
+
+	@Test
+	public void requestCanBeDeserializedGivenNoAccountIds() {
+		// Act:
+		final AccountIdListRequest request = createRequestFromJson();
+
+		// Assert:
+		Assert.assertThat(request.getAccountIds().isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void requestCannotBeDeserializedGivenInvalidAccountId() {
+		// Act:
+		createRequestFromJson(Utils.generateRandomAddress().getEncoded(), "Foo");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void requestCannotBeDeserializedGivenMoreThanMaxAccountIds() {
+		// Act:
+		createRequestFromJson(createRandomAddresses(AccountIdListRequest.MAX_ACCOUNT_IDS + 1).stream()
+				.map(Address::getEncoded)
+				.toArray(String[]::new));
+	}
+
+	private static List<Address> createRandomAddresses(final int count) {
+		final List<Address> addresses = new ArrayList<>();
+		for (int i = 0; i < count; ++i) {
+			addresses.add(Utils.generateRandomAddress());
+		}
+
+		return addresses;
+	}
+
+	private static AccountIdListRequest createRequestFromJson(final String... addresses) {
+		final JSONArray jsonArray = new JSONArray();
+		for (final String address : addresses) {
+			final JSONObject jsonAccount = new JSONObject();
+			jsonAccount.put("account", address);
+			jsonArray.add(jsonAccount);
+		}
+
+		final JSONObject jsonObject = new JSONObject();
+		jsonObject.put("data", jsonArray);
+		return new AccountIdListRequest(new JsonDeserializer(jsonObject, null));
+	}
+}
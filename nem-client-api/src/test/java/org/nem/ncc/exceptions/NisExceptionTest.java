@@ -1,6 +1,6 @@
 package org.nem.ncc.exceptions;
 
-import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.*;
 import org.junit.*;
 import org.nem.core.connect.ErrorResponse;
 import org.nem.core.time.TimeInstant;
@@ -45,4 +45,27 @@ public class NisExceptionTest {
 			Assert.assertThat(exception.getCode(), IsEqual.equalTo(pair.getValue()));
 		}
 	}
+
+	@Test
+	public void nisExceptionExposesErrorResponseStatus() {
+		// Act:
+		final NisException exception = new NisException(new ErrorResponse(TimeInstant.ZERO, "badness", 400));
+
+		// Assert:
+		Assert.assertThat(exception.getStatus(), IsEqual.equalTo(400));
+	}
+
+	@Test
+	public void canCopyNisException() {
+		// Arrange:
+		final NisException original = new NisException(new ErrorResponse(TimeInstant.ZERO, "FAILURE_UNKNOWN_ACCOUNT", 400));
+
+		// Act:
+		final NisException exception = new NisException(original);
+
+		// Assert:
+		Assert.assertThat(exception.getCode(), IsEqual.equalTo(NisException.Code.TRANSACTION_REJECTED_UNKNOWN_ACCOUNT));
+		Assert.assertThat(exception.getStatus(), IsEqual.equalTo(400));
+		Assert.assertThat(exception.getCause(), IsSame.sameInstance(original));
+	}
 }
\ No newline at end of file
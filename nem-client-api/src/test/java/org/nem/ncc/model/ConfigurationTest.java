@@ -157,6 +157,238 @@ public class ConfigurationTest {
 
 	//endregion
 
+	//region getNisEndpoints
+
+	@Test
+	public void getNisEndpointsReturnsOnlyNisEndpointWhenNoFallbackEndpointsAreConfigured() {
+		// Arrange:
+		final Configuration config = createDefaultConfiguration();
+
+		// Act:
+		final List<NodeEndpoint> endpoints = config.getNisEndpoints();
+
+		// Assert:
+		Assert.assertThat(endpoints, IsEqual.equalTo(Arrays.asList(ENDPOINT)));
+	}
+
+	@Test
+	public void getNisEndpointsReturnsNisEndpointFollowedByFallbackEndpoints() {
+		// Arrange:
+		final NodeEndpoint fallback1 = NodeEndpoint.fromHost("10.10.10.13");
+		final NodeEndpoint fallback2 = NodeEndpoint.fromHost("10.10.10.14");
+		final Configuration config = createConfigWithFallbackServers(Arrays.asList(fallback1, ENDPOINT, fallback2));
+
+		// Act:
+		final List<NodeEndpoint> endpoints = config.getNisEndpoints();
+
+		// Assert: the duplicate primary endpoint is filtered out
+		Assert.assertThat(endpoints, IsEqual.equalTo(Arrays.asList(ENDPOINT, fallback1, fallback2)));
+	}
+
+	@Test
+	public void fallbackEndpointsCanBeRoundTripped() {
+		// Arrange:
+		final NodeEndpoint fallback = NodeEndpoint.fromHost("10.10.10.13");
+		final Configuration originalConfig = createConfigWithFallbackServers(Arrays.asList(fallback));
+
+		// Act:
+		final Configuration config = new Configuration(
+				Utils.createDeserializer(JsonSerializer.serializeToJson(originalConfig)),
+				"sp2");
+
+		// Assert:
+		Assert.assertThat(config.getNisEndpoints(), IsEqual.equalTo(Arrays.asList(ENDPOINT, fallback)));
+	}
+
+	@Test
+	public void getNisEndpointsReflectsNisEndpointUpdate() {
+		// Arrange:
+		final NodeEndpoint fallback = NodeEndpoint.fromHost("10.10.10.13");
+		final Configuration config = createConfigWithFallbackServers(Arrays.asList(fallback));
+
+		// Act:
+		config.update("en-CA", NodeEndpoint.fromHost("127.0.0.1"), new NisBootInfo(12, "A", "C"));
+
+		// Assert:
+		Assert.assertThat(config.getNisEndpoints(), IsEqual.equalTo(Arrays.asList(NodeEndpoint.fromHost("127.0.0.1"), fallback)));
+	}
+
+	@Test
+	public void nisCommunicationModeDefaultsToJson() {
+		// Act:
+		final Configuration config = createDefaultConfiguration();
+
+		// Assert:
+		Assert.assertThat(config.getNisCommunicationMode(), IsEqual.equalTo(NisCommunicationMode.JSON));
+	}
+
+	@Test
+	public void nisCommunicationModeCanBeDeserialized() {
+		// Arrange:
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(createDefaultConfiguration());
+		jsonObject.remove("nisCommunicationMode");
+		final Configuration jsonConfig = new Configuration(Utils.createDeserializer(jsonObject), "sp");
+		jsonObject.put("nisCommunicationMode", "BINARY");
+
+		// Act:
+		final Configuration binaryConfig = new Configuration(Utils.createDeserializer(jsonObject), "sp");
+
+		// Assert:
+		Assert.assertThat(jsonConfig.getNisCommunicationMode(), IsEqual.equalTo(NisCommunicationMode.JSON));
+		Assert.assertThat(binaryConfig.getNisCommunicationMode(), IsEqual.equalTo(NisCommunicationMode.BINARY));
+	}
+
+	@Test
+	public void unknownNisCommunicationModeFallsBackToJson() {
+		// Arrange:
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(createDefaultConfiguration());
+		jsonObject.put("nisCommunicationMode", "CARRIER_PIGEON");
+
+		// Act:
+		final Configuration config = new Configuration(Utils.createDeserializer(jsonObject), "sp");
+
+		// Assert:
+		Assert.assertThat(config.getNisCommunicationMode(), IsEqual.equalTo(NisCommunicationMode.JSON));
+	}
+
+	@Test
+	public void nisCommunicationModeCanBeRoundTripped() {
+		// Arrange:
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(createDefaultConfiguration());
+		jsonObject.put("nisCommunicationMode", "BINARY");
+		final Configuration originalConfig = new Configuration(Utils.createDeserializer(jsonObject), "sp");
+
+		// Act:
+		final Configuration config = new Configuration(
+				Utils.createDeserializer(JsonSerializer.serializeToJson(originalConfig)),
+				"sp2");
+
+		// Assert:
+		Assert.assertThat(config.getNisCommunicationMode(), IsEqual.equalTo(NisCommunicationMode.BINARY));
+	}
+
+	@Test
+	public void nisMaxConnectionsPerRouteHasDefaultValue() {
+		// Act:
+		final Configuration config = createDefaultConfiguration();
+
+		// Assert:
+		Assert.assertThat(config.getNisMaxConnectionsPerRoute(), IsEqual.equalTo(20));
+	}
+
+	@Test
+	public void nisMaxConnectionsPerRouteCanBeDeserialized() {
+		// Arrange:
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(createDefaultConfiguration());
+		jsonObject.remove("nisMaxConnectionsPerRoute");
+		final Configuration defaultConfig = new Configuration(Utils.createDeserializer(jsonObject), "sp");
+		jsonObject.put("nisMaxConnectionsPerRoute", 7);
+
+		// Act:
+		final Configuration customConfig = new Configuration(Utils.createDeserializer(jsonObject), "sp");
+
+		// Assert:
+		Assert.assertThat(defaultConfig.getNisMaxConnectionsPerRoute(), IsEqual.equalTo(20));
+		Assert.assertThat(customConfig.getNisMaxConnectionsPerRoute(), IsEqual.equalTo(7));
+	}
+
+	@Test
+	public void nisMaxConnectionsPerRouteCanBeRoundTripped() {
+		// Arrange:
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(createDefaultConfiguration());
+		jsonObject.put("nisMaxConnectionsPerRoute", 7);
+		final Configuration originalConfig = new Configuration(Utils.createDeserializer(jsonObject), "sp");
+
+		// Act:
+		final Configuration config = new Configuration(
+				Utils.createDeserializer(JsonSerializer.serializeToJson(originalConfig)),
+				"sp2");
+
+		// Assert:
+		Assert.assertThat(config.getNisMaxConnectionsPerRoute(), IsEqual.equalTo(7));
+	}
+
+	@Test
+	public void nonPositiveNisMaxConnectionsPerRouteCannotBeDeserialized() {
+		// Arrange:
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(createDefaultConfiguration());
+
+		for (final int value : Arrays.asList(0, -1)) {
+			jsonObject.put("nisMaxConnectionsPerRoute", value);
+
+			// Act:
+			ExceptionAssert.assertThrows(
+					v -> new Configuration(Utils.createDeserializer(jsonObject), "sp"),
+					IllegalArgumentException.class);
+		}
+	}
+
+	@Test
+	public void accountCacheMaxEntriesHasDefaultValue() {
+		// Act:
+		final Configuration config = createDefaultConfiguration();
+
+		// Assert:
+		Assert.assertThat(config.getAccountCacheMaxEntries(), IsEqual.equalTo(10000));
+	}
+
+	@Test
+	public void accountCacheMaxEntriesCanBeDeserialized() {
+		// Arrange:
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(createDefaultConfiguration());
+		jsonObject.remove("accountCacheMaxEntries");
+		final Configuration defaultConfig = new Configuration(Utils.createDeserializer(jsonObject), "sp");
+		jsonObject.put("accountCacheMaxEntries", 500);
+
+		// Act:
+		final Configuration customConfig = new Configuration(Utils.createDeserializer(jsonObject), "sp");
+
+		// Assert:
+		Assert.assertThat(defaultConfig.getAccountCacheMaxEntries(), IsEqual.equalTo(10000));
+		Assert.assertThat(customConfig.getAccountCacheMaxEntries(), IsEqual.equalTo(500));
+	}
+
+	@Test
+	public void accountCacheMaxEntriesCanBeRoundTripped() {
+		// Arrange:
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(createDefaultConfiguration());
+		jsonObject.put("accountCacheMaxEntries", 500);
+		final Configuration originalConfig = new Configuration(Utils.createDeserializer(jsonObject), "sp");
+
+		// Act:
+		final Configuration config = new Configuration(
+				Utils.createDeserializer(JsonSerializer.serializeToJson(originalConfig)),
+				"sp2");
+
+		// Assert:
+		Assert.assertThat(config.getAccountCacheMaxEntries(), IsEqual.equalTo(500));
+	}
+
+	@Test
+	public void nonPositiveAccountCacheMaxEntriesCannotBeDeserialized() {
+		// Arrange:
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(createDefaultConfiguration());
+
+		for (final int value : Arrays.asList(0, -1)) {
+			jsonObject.put("accountCacheMaxEntries", value);
+
+			// Act:
+			ExceptionAssert.assertThrows(
+					v -> new Configuration(Utils.createDeserializer(jsonObject), "sp"),
+					IllegalArgumentException.class);
+		}
+	}
+
+	private static Configuration createConfigWithFallbackServers(final List<NodeEndpoint> fallbackServers) {
+		final JSONObject jsonObject = JsonSerializer.serializeToJson(createDefaultConfiguration());
+		final JSONArray jsonArray = new JSONArray();
+		fallbackServers.forEach(endpoint -> jsonArray.add(JsonSerializer.serializeToJson(endpoint)));
+		jsonObject.put("fallbackServers", jsonArray);
+		return new Configuration(Utils.createDeserializer(jsonObject), "sp");
+	}
+
+	//endregion
+
 	//region isNisLocal
 
 	@Test
@@ -7,9 +7,13 @@ import org.nem.core.model.*;
 import org.nem.core.model.ncc.*;
 import org.nem.ncc.controller.viewmodels.AccountViewModel;
 import org.nem.ncc.model.*;
-import org.nem.ncc.test.Utils;
+import org.nem.ncc.test.*;
 import org.nem.ncc.wallet.WalletAccount;
 
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
 public class AccountMapperTest {
 
 	@Test
@@ -56,6 +60,115 @@ public class AccountMapperTest {
 		Assert.assertThat(viewModel.getLabel(), IsEqual.equalTo("my pri label"));
 	}
 
+	@Test
+	public void addressCanBeMappedToViewModelAsync() {
+		// Arrange:
+		final Address address = Address.fromEncoded("sigma");
+		final AccountLabels accountLabels = Mockito.mock(AccountLabels.class);
+		Mockito.when(accountLabels.getLabel(address))
+				.thenReturn(new AccountLabel(address, "my pub label", "my pri label"));
+
+		final AccountMetaDataPairLookup accountLookup = Mockito.mock(AccountMetaDataPairLookup.class);
+		Mockito.when(accountLookup.findPairByAddressAsync(address))
+				.thenReturn(CompletableFuture.completedFuture(createMetaDataPair(address)));
+
+		// Act:
+		final AccountMapper mapper = new AccountMapper(accountLabels, accountLookup);
+		final AccountViewModel viewModel = mapper.toViewModelAsync(address).join();
+
+		// Assert:
+		Assert.assertThat(viewModel.getAddress(), IsEqual.equalTo(address));
+		Assert.assertThat(viewModel.getStatus(), IsEqual.equalTo(AccountStatus.LOCKED));
+		Assert.assertThat(viewModel.getLabel(), IsEqual.equalTo("my pri label"));
+		Mockito.verify(accountLookup, Mockito.never()).findPairByAddress(address);
+	}
+
+	@Test
+	public void addressesCanBeMappedToViewModelsAsync() {
+		// Arrange:
+		final List<Address> addresses = Arrays.asList(Utils.generateRandomAddress(), Utils.generateRandomAddress(), Utils.generateRandomAddress());
+		final AccountMetaDataPairLookup accountLookup = Mockito.mock(AccountMetaDataPairLookup.class);
+		for (final Address address : addresses) {
+			Mockito.when(accountLookup.findPairByAddressAsync(address))
+					.thenReturn(CompletableFuture.completedFuture(createMetaDataPair(address)));
+		}
+
+		// Act:
+		final AccountMapper mapper = new AccountMapper(Mockito.mock(AccountLabels.class), accountLookup);
+		final List<AccountViewModel> viewModels = mapper.toViewModelsAsync(addresses, 2).join();
+
+		// Assert:
+		Assert.assertThat(
+				viewModels.stream().map(AccountViewModel::getAddress).collect(Collectors.toList()),
+				IsEqual.equalTo(addresses));
+	}
+
+	@Test
+	public void emptyAddressesCanBeMappedToViewModelsAsync() {
+		// Act:
+		final AccountMapper mapper = new AccountMapper(Mockito.mock(AccountLabels.class), Mockito.mock(AccountMetaDataPairLookup.class));
+		final List<AccountViewModel> viewModels = mapper.toViewModelsAsync(new ArrayList<>(), 2).join();
+
+		// Assert:
+		Assert.assertThat(viewModels.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void addressesAreMappedWithBoundedConcurrency() {
+		// Arrange:
+		final List<Address> addresses = Arrays.asList(Utils.generateRandomAddress(), Utils.generateRandomAddress(), Utils.generateRandomAddress());
+		final Map<Address, CompletableFuture<AccountMetaDataPair>> futures = new HashMap<>();
+		final AccountMetaDataPairLookup accountLookup = Mockito.mock(AccountMetaDataPairLookup.class);
+		for (final Address address : addresses) {
+			futures.put(address, new CompletableFuture<>());
+			Mockito.when(accountLookup.findPairByAddressAsync(address)).thenReturn(futures.get(address));
+		}
+
+		final AccountMapper mapper = new AccountMapper(Mockito.mock(AccountLabels.class), accountLookup);
+
+		// Act:
+		final CompletableFuture<List<AccountViewModel>> future = mapper.toViewModelsAsync(addresses, 2);
+
+		// Assert: only the first two lookups were started
+		Mockito.verify(accountLookup, Mockito.times(1)).findPairByAddressAsync(addresses.get(0));
+		Mockito.verify(accountLookup, Mockito.times(1)).findPairByAddressAsync(addresses.get(1));
+		Mockito.verify(accountLookup, Mockito.never()).findPairByAddressAsync(addresses.get(2));
+
+		// Act: complete the second lookup
+		futures.get(addresses.get(1)).complete(createMetaDataPair(addresses.get(1)));
+
+		// Assert: the third lookup was started
+		Mockito.verify(accountLookup, Mockito.times(1)).findPairByAddressAsync(addresses.get(2));
+		Assert.assertThat(future.isDone(), IsEqual.equalTo(false));
+
+		// Act: complete the remaining lookups
+		futures.get(addresses.get(0)).complete(createMetaDataPair(addresses.get(0)));
+		futures.get(addresses.get(2)).complete(createMetaDataPair(addresses.get(2)));
+
+		// Assert:
+		Assert.assertThat(
+				future.join().stream().map(AccountViewModel::getAddress).collect(Collectors.toList()),
+				IsEqual.equalTo(addresses));
+	}
+
+	@Test
+	public void mappingAddressesFailsIfAnyLookupFails() {
+		// Arrange:
+		final List<Address> addresses = Arrays.asList(Utils.generateRandomAddress(), Utils.generateRandomAddress());
+		final AccountMetaDataPairLookup accountLookup = Mockito.mock(AccountMetaDataPairLookup.class);
+		final CompletableFuture<AccountMetaDataPair> failedFuture = new CompletableFuture<>();
+		failedFuture.completeExceptionally(new IllegalArgumentException());
+		Mockito.when(accountLookup.findPairByAddressAsync(addresses.get(0)))
+				.thenReturn(CompletableFuture.completedFuture(createMetaDataPair(addresses.get(0))));
+		Mockito.when(accountLookup.findPairByAddressAsync(addresses.get(1))).thenReturn(failedFuture);
+
+		// Act:
+		final AccountMapper mapper = new AccountMapper(Mockito.mock(AccountLabels.class), accountLookup);
+		ExceptionAssert.assertThrowsCompletionException(
+				v -> mapper.toViewModelsAsync(addresses, 2).join(),
+				IllegalArgumentException.class);
+	}
+
 	private static AccountMetaDataPair createMetaDataPair(final Address address) {
 		return new AccountMetaDataPair(
 				Utils.createAccountInfoFromAddress(address),
@@ -14,6 +14,7 @@ import org.nem.ncc.connector.PrimaryNisConnector;
 import org.nem.ncc.test.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 public class AccountServicesTest {
@@ -38,6 +39,26 @@ public class AccountServicesTest {
 		Assert.assertThat(pair.getMetaData().getStatus(), IsEqual.equalTo(AccountStatus.UNLOCKED));
 	}
 
+	@Test
+	public void getAccountMetaDataPairAsyncDelegatesToConnector() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final AccountMetaDataPair originalPair = new AccountMetaDataPair(
+				Utils.createAccountInfoFromAddress(Address.fromEncoded("FOO")),
+				new AccountMetaData(AccountStatus.UNLOCKED, AccountRemoteStatus.INACTIVE));
+
+		Mockito.when(context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=FOO"))
+				.thenReturn(CompletableFuture.completedFuture(serialize(originalPair)));
+
+		// Act:
+		final AccountMetaDataPair pair = context.services.getAccountMetaDataPairAsync(Address.fromEncoded("FOO")).join();
+
+		// Assert:
+		Mockito.verify(context.connector, Mockito.times(1)).getAsync(NisApiId.NIS_REST_ACCOUNT_LOOK_UP, "address=FOO");
+		Assert.assertThat(pair.getAccount().getAddress(), IsEqual.equalTo(Address.fromEncoded("FOO")));
+		Assert.assertThat(pair.getMetaData().getStatus(), IsEqual.equalTo(AccountStatus.UNLOCKED));
+	}
+
 	//region NEW account/transactions API
 
 	private static void assertGetTransactionsWithHashDelegatesToConnector(
@@ -52,14 +73,14 @@ public class AccountServicesTest {
 				createTransferMetaDataPair(Amount.fromNem(572), 9),
 				createTransferMetaDataPair(Amount.fromNem(323), 4));
 
-		Mockito.when(context.connector.get(Matchers.eq(nisApiId), Matchers.anyString()))
-				.thenReturn(serialize(new SerializableList<>(originalPairs)));
+		Mockito.when(context.connector.getAsync(Matchers.eq(nisApiId), Matchers.anyString()))
+				.thenReturn(CompletableFuture.completedFuture(serialize(new SerializableList<>(originalPairs))));
 
 		// Act:
-		final List<TransactionMetaDataPair> pairs = context.services.getTransactions(direction, Address.fromEncoded("FOO"), hash);
+		final List<TransactionMetaDataPair> pairs = context.services.getTransactionsAsync(direction, Address.fromEncoded("FOO"), hash).join();
 
 		// Assert:
-		Mockito.verify(context.connector, Mockito.times(1)).get(nisApiId, expectedQueryString);
+		Mockito.verify(context.connector, Mockito.times(1)).getAsync(nisApiId, expectedQueryString);
 		Assert.assertThat(
 				pairs.stream().map(p -> p.getTransaction().getFee()).collect(Collectors.toList()),
 				IsEqual.equalTo(Arrays.asList(Amount.fromNem(124), Amount.fromNem(572), Amount.fromNem(323))));
@@ -128,6 +149,56 @@ public class AccountServicesTest {
 		);
 	}
 
+	@Test
+	public void getTransactionsCanMapEachTransactionWhileReading() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final List<TransactionMetaDataPair> originalPairs = Arrays.asList(
+				createTransferMetaDataPair(Amount.fromNem(124), 5),
+				createTransferMetaDataPair(Amount.fromNem(572), 9),
+				createTransferMetaDataPair(Amount.fromNem(323), 4));
+
+		Mockito.when(context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL, "address=FOO"))
+				.thenReturn(CompletableFuture.completedFuture(serialize(new SerializableList<>(originalPairs))));
+
+		// Act:
+		final List<Amount> fees = context.services.getTransactionsAsync(
+				TransactionDirection.ALL,
+				Address.fromEncoded("FOO"),
+				null,
+				p -> p.getTransaction().getFee()).join();
+
+		// Assert:
+		Mockito.verify(context.connector, Mockito.times(1)).getAsync(NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL, "address=FOO");
+		Assert.assertThat(fees, IsEqual.equalTo(Arrays.asList(Amount.fromNem(124), Amount.fromNem(572), Amount.fromNem(323))));
+	}
+
+	@Test
+	public void getTransactionsAsyncReadsTransactionsOnResponseExecutor() {
+		// Arrange: none of the accounts are known, so every account lookup is a (potentially blocking) cache miss
+		final TestContext context = new TestContext();
+		final MockAccountLookup accountLookup = new MockAccountLookup();
+		final CompletableFuture<Deserializer> response = new CompletableFuture<>();
+		Mockito.when(context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_TRANSFERS_ALL, "address=FOO")).thenReturn(response);
+		final CompletableFuture<List<Amount>> future = context.queuingServices.getTransactionsAsync(
+				TransactionDirection.ALL,
+				Address.fromEncoded("FOO"),
+				null,
+				p -> p.getTransaction().getFee());
+
+		// Act:
+		response.complete(serialize(
+				new SerializableList<>(Collections.singletonList(createTransferMetaDataPair(Amount.fromNem(124), 5))),
+				accountLookup));
+		final int numLookupsOnCompletion = accountLookup.getNumFindByIdCalls();
+		context.runQueuedResponses();
+
+		// Assert: the accounts were not looked up on the thread completing the response
+		Assert.assertThat(numLookupsOnCompletion, IsEqual.equalTo(0));
+		Assert.assertThat(accountLookup.getNumFindByIdCalls() > 0, IsEqual.equalTo(true));
+		Assert.assertThat(future.join(), IsEqual.equalTo(Collections.singletonList(Amount.fromNem(124))));
+	}
+
 	//endregion
 
 	//region getUnconfirmedTransactions
@@ -162,17 +233,41 @@ public class AccountServicesTest {
 				IsEqual.equalTo(Arrays.asList(Amount.fromNem(323), Amount.fromNem(124), Amount.fromNem(572))));
 	}
 
+	@Test
+	public void getUnconfirmedTransactionsAsyncReadsTransactionsOnResponseExecutor() {
+		// Arrange: none of the accounts are known, so every account lookup is a (potentially blocking) cache miss
+		final TestContext context = new TestContext();
+		final MockAccountLookup accountLookup = new MockAccountLookup();
+		final CompletableFuture<Deserializer> response = new CompletableFuture<>();
+		Mockito.when(context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_UNCONFIRMED, "address=FOO")).thenReturn(response);
+		final CompletableFuture<List<Transaction>> future = context.queuingServices.getUnconfirmedTransactionsAsync(Address.fromEncoded("FOO"));
+
+		// Act:
+		response.complete(serialize(
+				new SerializableList<>(Collections.singletonList(createTransfer(Amount.fromNem(124)))),
+				accountLookup));
+		final int numLookupsOnCompletion = accountLookup.getNumFindByIdCalls();
+		context.runQueuedResponses();
+
+		// Assert: the accounts were not looked up on the thread completing the response
+		Assert.assertThat(numLookupsOnCompletion, IsEqual.equalTo(0));
+		Assert.assertThat(accountLookup.getNumFindByIdCalls() > 0, IsEqual.equalTo(true));
+		Assert.assertThat(
+				future.join().stream().map(Transaction::getFee).collect(Collectors.toList()),
+				IsEqual.equalTo(Collections.singletonList(Amount.fromNem(124))));
+	}
+
 	private static List<Amount> assertGetUnconfirmedTransactionsDelegation(final List<Transaction> originalTransactions) {
 		// Arrange:
 		final TestContext context = new TestContext();
-		Mockito.when(context.connector.get(NisApiId.NIS_REST_ACCOUNT_UNCONFIRMED, "address=FOO"))
-				.thenReturn(serialize(new SerializableList<>(originalTransactions)));
+		Mockito.when(context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_UNCONFIRMED, "address=FOO"))
+				.thenReturn(CompletableFuture.completedFuture(serialize(new SerializableList<>(originalTransactions))));
 
 		// Act:
-		final List<Transaction> transactions = context.services.getUnconfirmedTransactions(Address.fromEncoded("FOO"));
+		final List<Transaction> transactions = context.services.getUnconfirmedTransactionsAsync(Address.fromEncoded("FOO")).join();
 
 		// Assert:
-		Mockito.verify(context.connector, Mockito.times(1)).get(NisApiId.NIS_REST_ACCOUNT_UNCONFIRMED, "address=FOO");
+		Mockito.verify(context.connector, Mockito.times(1)).getAsync(NisApiId.NIS_REST_ACCOUNT_UNCONFIRMED, "address=FOO");
 		return transactions.stream().map(Transaction::getFee).collect(Collectors.toList());
 	}
 
@@ -213,23 +308,71 @@ public class AccountServicesTest {
 				new HarvestInfo(Hash.ZERO, new BlockHeight(9), TimeInstant.ZERO, Amount.ZERO)
 		));
 
-		Mockito.when(context.connector.get(NisApiId.NIS_REST_ACCOUNT_HARVESTS, queryString))
-				.thenReturn(new JsonDeserializer(JsonSerializer.serializeToJson(originalHarvestInfos), null));
+		Mockito.when(context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_HARVESTS, queryString))
+				.thenReturn(CompletableFuture.completedFuture(new JsonDeserializer(JsonSerializer.serializeToJson(originalHarvestInfos), null)));
 
 		// Act:
-		final List<HarvestInfo> harvestInfos = context.services.getAccountHarvests(address, hash);
+		final List<HarvestInfo> harvestInfos = context.services.getAccountHarvestsAsync(address, hash).join();
 
 		// Assert:
-		Mockito.verify(context.connector, Mockito.times(1)).get(NisApiId.NIS_REST_ACCOUNT_HARVESTS, queryString);
+		Mockito.verify(context.connector, Mockito.times(1)).getAsync(NisApiId.NIS_REST_ACCOUNT_HARVESTS, queryString);
 		Assert.assertThat(
 				harvestInfos.stream().map(HarvestInfo::getBlockHeight).collect(Collectors.toList()),
 				IsEqual.equalTo(Arrays.asList(new BlockHeight(7), new BlockHeight(5), new BlockHeight(9))));
 	}
 
+	@Test
+	public void getAccountHarvestsCanMapEachHarvestWhileReading() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final SerializableList<HarvestInfo> originalHarvestInfos = new SerializableList<>(Arrays.asList(
+				new HarvestInfo(Hash.ZERO, new BlockHeight(7), TimeInstant.ZERO, Amount.ZERO),
+				new HarvestInfo(Hash.ZERO, new BlockHeight(5), TimeInstant.ZERO, Amount.ZERO)));
+
+		Mockito.when(context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_HARVESTS, "address=FOO"))
+				.thenReturn(CompletableFuture.completedFuture(serialize(originalHarvestInfos)));
+
+		// Act:
+		final List<BlockHeight> heights = context.services.getAccountHarvestsAsync(
+				Address.fromEncoded("FOO"),
+				null,
+				HarvestInfo::getBlockHeight).join();
+
+		// Assert:
+		Mockito.verify(context.connector, Mockito.times(1)).getAsync(NisApiId.NIS_REST_ACCOUNT_HARVESTS, "address=FOO");
+		Assert.assertThat(heights, IsEqual.equalTo(Arrays.asList(new BlockHeight(7), new BlockHeight(5))));
+	}
+
+	@Test
+	public void getAccountHarvestsAsyncReadsHarvestsOnResponseExecutor() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final CompletableFuture<Deserializer> response = new CompletableFuture<>();
+		Mockito.when(context.connector.getAsync(NisApiId.NIS_REST_ACCOUNT_HARVESTS, "address=FOO")).thenReturn(response);
+		final CompletableFuture<List<BlockHeight>> future = context.queuingServices.getAccountHarvestsAsync(
+				Address.fromEncoded("FOO"),
+				null,
+				HarvestInfo::getBlockHeight);
+
+		// Act:
+		response.complete(serialize(new SerializableList<>(Collections.singletonList(
+				new HarvestInfo(Hash.ZERO, new BlockHeight(7), TimeInstant.ZERO, Amount.ZERO)))));
+		final boolean isDoneOnCompletion = future.isDone();
+		context.runQueuedResponses();
+
+		// Assert:
+		Assert.assertThat(isDoneOnCompletion, IsEqual.equalTo(false));
+		Assert.assertThat(future.join(), IsEqual.equalTo(Collections.singletonList(new BlockHeight(7))));
+	}
+
+	//endregion
+
 	private static Deserializer serialize(final SerializableEntity entity) {
-		return new JsonDeserializer(
-				JsonSerializer.serializeToJson(entity),
-				new DeserializationContext(new MockAccountLookup()));
+		return serialize(entity, new MockAccountLookup());
+	}
+
+	private static Deserializer serialize(final SerializableEntity entity, final AccountLookup accountLookup) {
+		return new JsonDeserializer(JsonSerializer.serializeToJson(entity), new DeserializationContext(accountLookup));
 	}
 
 	private static TransactionMetaDataPair createTransferMetaDataPair(final Amount fee, final int blockHeight) {
@@ -256,7 +399,14 @@ public class AccountServicesTest {
 
 	private static class TestContext {
 		private final PrimaryNisConnector connector = Mockito.mock(PrimaryNisConnector.class);
+		private final List<Runnable> queuedResponses = new ArrayList<>();
+
+		private final AccountServices services = new AccountServices(this.connector, Runnable::run);
+		private final AccountServices queuingServices = new AccountServices(this.connector, this.queuedResponses::add);
 
-		private final AccountServices services = new AccountServices(this.connector);
+		public void runQueuedResponses() {
+			this.queuedResponses.forEach(Runnable::run);
+			this.queuedResponses.clear();
+		}
 	}
 }
\ No newline at end of file
@@ -3,12 +3,14 @@ package org.nem.ncc.services;
 import org.hamcrest.core.*;
 import org.junit.*;
 import org.mockito.Mockito;
+import org.nem.core.crypto.KeyPair;
+import org.nem.core.model.Address;
 import org.nem.ncc.exceptions.NccException;
 import org.nem.ncc.test.*;
 import org.nem.ncc.wallet.*;
 import org.nem.ncc.wallet.storage.*;
 
-import java.util.Arrays;
+import java.util.*;
 
 public class DefaultWalletServicesTest {
 
@@ -79,6 +81,192 @@ public class DefaultWalletServicesTest {
 
 	//endregion
 
+	//region tryFindOpenAccountKeys
+
+	@Test
+	public void canReturnKeysOfWalletAccountInOpenWallet() {
+		// Arrange:
+		final WalletAccount account = new WalletAccount();
+		final TestContext context = new TestContext();
+		context.originalWallet.addOtherAccount(account);
+
+		// Act:
+		context.walletServices.open(context.pair);
+		final WalletAccountKeys keys = context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+
+		// Assert:
+		Assert.assertThat(keys.getKeyPair().getPrivateKey(), IsEqual.equalTo(account.getPrivateKey()));
+		Assert.assertThat(Address.fromPublicKey(keys.getPublicKey()), IsEqual.equalTo(account.getAddress()));
+		Assert.assertThat(
+				keys.getRemoteAddress(),
+				IsEqual.equalTo(Address.fromPublicKey(new KeyPair(account.getRemoteHarvestingPrivateKey()).getPublicKey())));
+	}
+
+	@Test
+	public void keysOfWalletAccountAreDerivedOnlyOnce() {
+		// Arrange:
+		final WalletAccount account = new WalletAccount();
+		final TestContext context = new TestContext();
+		context.originalWallet.addOtherAccount(account);
+		context.walletServices.open(context.pair);
+
+		// Act:
+		final WalletAccountKeys keys1 = context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+		final WalletAccountKeys keys2 = context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+
+		// Assert:
+		Assert.assertThat(keys2, IsSame.sameInstance(keys1));
+	}
+
+	@Test
+	public void cannotReturnKeysOfWalletAccountInClosedWallet() {
+		// Arrange:
+		final WalletAccount account = new WalletAccount();
+		final TestContext context = new TestContext();
+		context.originalWallet.addOtherAccount(account);
+		context.walletServices.open(context.pair);
+		context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+
+		// Act:
+		context.walletServices.close(context.pair.getName());
+		final WalletAccountKeys keys = context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+
+		// Assert:
+		Assert.assertThat(keys, IsNull.nullValue());
+	}
+
+	@Test
+	public void cannotReturnKeysOfAccountRemovedFromOpenWallet() {
+		// Arrange:
+		final WalletAccount account = new WalletAccount();
+		final TestContext context = new TestContext(new WalletAccount());
+		context.originalWallet.addOtherAccount(account);
+		final Wallet wallet = context.walletServices.open(context.pair);
+		context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+
+		// Act:
+		wallet.removeAccount(account.getAddress());
+		final WalletAccountKeys keys = context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+
+		// Assert:
+		Assert.assertThat(keys, IsNull.nullValue());
+	}
+
+	@Test
+	public void keysOfAccountRemovedFromOpenWalletAreDroppedWhenAccountIsLookedUp() {
+		// Arrange:
+		final WalletAccount account = new WalletAccount();
+		final TestContext context = new TestContext(new WalletAccount());
+		context.originalWallet.addOtherAccount(account);
+		final Wallet wallet = context.walletServices.open(context.pair);
+		final WalletAccountKeys keys1 = context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+		wallet.removeAccount(account.getAddress());
+		context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+
+		// Act:
+		wallet.addOtherAccount(account);
+		final WalletAccountKeys keys2 = context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+
+		// Assert:
+		Assert.assertThat(keys2, IsNot.not(IsSame.sameInstance(keys1)));
+	}
+
+	@Test
+	public void keysOfAccountRemovedFromOpenWalletAreDroppedWhenOtherKeysAreDerived() {
+		// Arrange:
+		final WalletAccount account1 = new WalletAccount();
+		final WalletAccount account2 = new WalletAccount();
+		final TestContext context = new TestContext(new WalletAccount());
+		context.originalWallet.addOtherAccount(account1);
+		context.originalWallet.addOtherAccount(account2);
+		final Wallet wallet = context.walletServices.open(context.pair);
+		final WalletAccountKeys keys1 = context.walletServices.tryFindOpenAccountKeys(account1.getAddress());
+		wallet.removeAccount(account1.getAddress());
+		context.walletServices.tryFindOpenAccountKeys(account2.getAddress());
+
+		// Act:
+		wallet.addOtherAccount(account1);
+		final WalletAccountKeys keys2 = context.walletServices.tryFindOpenAccountKeys(account1.getAddress());
+
+		// Assert:
+		Assert.assertThat(keys2, IsNot.not(IsSame.sameInstance(keys1)));
+	}
+
+	@Test
+	public void keysOfOtherOpenWalletsAreNotDroppedWhenWalletIsClosed() {
+		// Arrange:
+		final WalletAccount account = new WalletAccount();
+		final TestContext context = new TestContext();
+		context.originalWallet.addOtherAccount(account);
+		context.walletServices.open(context.pair);
+		final WalletAccountKeys keys1 = context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+
+		// Act:
+		context.walletServices.close(new WalletName("other"));
+		final WalletAccountKeys keys2 = context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+
+		// Assert:
+		Assert.assertThat(keys2, IsSame.sameInstance(keys1));
+	}
+
+	@Test
+	public void keysOfReopenedWalletAccountAreDerivedAgain() {
+		// Arrange:
+		final WalletAccount account = new WalletAccount();
+		final TestContext context = new TestContext();
+		context.originalWallet.addOtherAccount(account);
+		context.walletServices.open(context.pair);
+		final WalletAccountKeys keys1 = context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+		context.walletServices.close(context.pair.getName());
+
+		// Act:
+		context.walletServices.open(context.pair);
+		final WalletAccountKeys keys2 = context.walletServices.tryFindOpenAccountKeys(account.getAddress());
+
+		// Assert:
+		Assert.assertThat(keys2, IsNot.not(IsSame.sameInstance(keys1)));
+		Assert.assertThat(keys2.getKeyPair().getPrivateKey(), IsEqual.equalTo(account.getPrivateKey()));
+	}
+
+	//endregion
+
+	//region getOpenAccountAddresses
+
+	@Test
+	public void getOpenAccountAddressesReturnsAllAccountsOfOpenWallets() {
+		// Arrange:
+		final WalletAccount primaryAccount = new WalletAccount();
+		final WalletAccount otherAccount = new WalletAccount();
+		final TestContext context = new TestContext(primaryAccount);
+		context.originalWallet.addOtherAccount(otherAccount);
+
+		// Act:
+		context.walletServices.open(context.pair);
+		final Set<Address> addresses = context.walletServices.getOpenAccountAddresses();
+
+		// Assert:
+		Assert.assertThat(
+				addresses,
+				IsEquivalent.equivalentTo(Arrays.asList(primaryAccount.getAddress(), otherAccount.getAddress())));
+	}
+
+	@Test
+	public void getOpenAccountAddressesDoesNotReturnAccountsOfClosedWallets() {
+		// Arrange:
+		final TestContext context = new TestContext(new WalletAccount());
+		context.originalWallet.addOtherAccount(new WalletAccount());
+
+		// Act:
+		context.walletServices.open(context.pair);
+		context.walletServices.close(context.pair.getName());
+		final Set<Address> addresses = context.walletServices.getOpenAccountAddresses();
+
+		// Assert:
+		Assert.assertThat(addresses.isEmpty(), IsEqual.equalTo(true));
+	}
+
+	//endregion
+
 	//region open
 
 	@Test
@@ -210,6 +398,35 @@ public class DefaultWalletServicesTest {
 		Mockito.verify(context.repository, Mockito.times(1)).load(context.descriptor);
 	}
 
+	@Test
+	public void closeNotifiesWalletClosedListeners() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final List<WalletName> closedNames = new ArrayList<>();
+		context.walletServices.addWalletClosedListener(closedNames::add);
+		context.walletServices.open(context.pair);
+
+		// Act:
+		context.walletServices.close(context.pair.getName());
+
+		// Assert:
+		Assert.assertThat(closedNames, IsEqual.equalTo(Arrays.asList(new WalletName("n"))));
+	}
+
+	@Test
+	public void closeDoesNotNotifyWalletClosedListenersIfWalletIsNotOpen() {
+		// Arrange:
+		final TestContext context = new TestContext();
+		final List<WalletName> closedNames = new ArrayList<>();
+		context.walletServices.addWalletClosedListener(closedNames::add);
+
+		// Act:
+		context.walletServices.close(context.pair.getName());
+
+		// Assert:
+		Assert.assertThat(closedNames.isEmpty(), IsEqual.equalTo(true));
+	}
+
 	//endregion
 
 	//region move
@@ -350,6 +567,24 @@ public class DefaultWalletServicesTest {
 				NccException.Code.WALLET_IS_NOT_OPEN);
 	}
 
+	@Test
+	public void renamingOpenWalletNotifiesWalletClosedListeners() {
+		// Arrange:
+		final WalletNamePasswordPair pair2 = createPair("n2", "p");
+		final WalletDescriptor descriptor2 = createDescriptor("n2");
+		final TestContext context = new TestContext();
+		final List<WalletName> closedNames = new ArrayList<>();
+		context.walletServices.addWalletClosedListener(closedNames::add);
+		Mockito.when(context.descriptorFactory.createNew(pair2)).thenReturn(descriptor2);
+
+		// Act:
+		context.walletServices.open(context.pair);
+		context.walletServices.move(context.pair, pair2);
+
+		// Assert:
+		Assert.assertThat(closedNames, IsEqual.equalTo(Arrays.asList(new WalletName("n"))));
+	}
+
 	@Test
 	public void renamedWalletPreservesAccountInformation() {
 		// Arrange:
@@ -388,9 +623,16 @@ public class DefaultWalletServicesTest {
 		private final DefaultWalletServices walletServices = new DefaultWalletServices(this.repository, this.descriptorFactory);
 		final WalletNamePasswordPair pair = createPair("n", "p");
 		final WalletDescriptor descriptor = createDescriptor("n");
-		final Wallet originalWallet = new MemoryWallet(new WalletName("n"));
+		final Wallet originalWallet;
 
 		public TestContext() {
+			this(null);
+		}
+
+		public TestContext(final WalletAccount primaryAccount) {
+			this.originalWallet = null == primaryAccount
+					? new MemoryWallet(new WalletName("n"))
+					: new MemoryWallet(new WalletName("n"), primaryAccount);
 			Mockito.when(this.descriptorFactory.createNew(this.pair)).thenReturn(this.descriptor);
 			Mockito.when(this.descriptorFactory.openExisting(this.pair)).thenReturn(this.descriptor);
 			Mockito.when(this.repository.load(this.descriptor)).thenReturn(this.originalWallet);
@@ -69,7 +69,7 @@ public class ServicesUtils {
 	}
 
 	/**
-	 * Sets up forwarding so that connector.forward executes the function parameter.
+	 * Sets up forwarding so that connector.forward and connector.forwardAsync execute the function parameter.
 	 *
 	 * @param connector The connector.
 	 * @param endpoint The endpoint to which requests should be forwarded.
@@ -82,5 +82,9 @@ public class ServicesUtils {
 			final CompletableFuture<?> future = (CompletableFuture<?>)funcArgument.apply(endpoint);
 			return future.get();
 		});
+		Mockito.when(connector.forwardAsync(Mockito.any())).then(invocationOnMock -> {
+			final Function funcArgument = (Function)invocationOnMock.getArguments()[0];
+			return funcArgument.apply(endpoint);
+		});
 	}
 }
@@ -8,6 +8,7 @@ import org.nem.core.model.primitive.*;
 import org.nem.core.serialization.*;
 import org.nem.core.utils.ExceptionUtils;
 import org.nem.ncc.controller.viewmodels.AccountViewModel;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
@@ -368,4 +369,25 @@ public class Utils {
 		final Deserializer deserializer = Utils.createDeserializer(JsonSerializer.serializeToJson(entity));
 		return CompletableFuture.completedFuture(deserializer);
 	}
+
+	/**
+	 * Gets the result of a deferred result that has already been set.
+	 * If an error result has been set, it is rethrown.
+	 *
+	 * @param deferredResult The deferred result.
+	 * @return The result.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T getDeferredResult(final DeferredResult<T> deferredResult) {
+		if (!deferredResult.hasResult()) {
+			throw new IllegalStateException("deferred result has not been set");
+		}
+
+		final Object result = deferredResult.getResult();
+		if (result instanceof RuntimeException) {
+			throw (RuntimeException)result;
+		}
+
+		return (T)result;
+	}
 }
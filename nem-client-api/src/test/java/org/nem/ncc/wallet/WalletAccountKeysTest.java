@@ -0,0 +1,70 @@
+package org.nem.ncc.wallet;
+
+import org.hamcrest.core.*;
+import org.junit.*;
+import org.nem.core.crypto.*;
+import org.nem.core.model.Address;
+
+public class WalletAccountKeysTest {
+
+	//region construction
+
+	@Test
+	public void keysAreDerivedFromAccountPrivateKeys() {
+		// Arrange:
+		final WalletAccount account = new WalletAccount();
+
+		// Act:
+		final WalletAccountKeys keys = new WalletAccountKeys(account);
+
+		// Assert:
+		final Address expectedRemoteAddress = Address.fromPublicKey(new KeyPair(account.getRemoteHarvestingPrivateKey()).getPublicKey());
+		Assert.assertThat(keys.getKeyPair().getPrivateKey(), IsEqual.equalTo(account.getPrivateKey()));
+		Assert.assertThat(keys.getPublicKey(), IsSame.sameInstance(keys.getKeyPair().getPublicKey()));
+		Assert.assertThat(Address.fromPublicKey(keys.getPublicKey()), IsEqual.equalTo(account.getAddress()));
+		Assert.assertThat(keys.getRemoteAddress(), IsEqual.equalTo(expectedRemoteAddress));
+	}
+
+	//endregion
+
+	//region isDerivedFrom
+
+	@Test
+	public void keysAreDerivedFromAccountWithSamePrivateKeys() {
+		// Arrange:
+		final WalletAccount account = new WalletAccount();
+		final WalletAccountKeys keys = new WalletAccountKeys(account);
+
+		// Assert:
+		Assert.assertThat(keys.isDerivedFrom(account), IsEqual.equalTo(true));
+		Assert.assertThat(
+				keys.isDerivedFrom(new WalletAccount(account.getPrivateKey(), account.getRemoteHarvestingPrivateKey())),
+				IsEqual.equalTo(true));
+	}
+
+	@Test
+	public void keysAreNotDerivedFromAccountWithDifferentPrivateKey() {
+		// Arrange:
+		final WalletAccount account = new WalletAccount();
+		final WalletAccountKeys keys = new WalletAccountKeys(account);
+
+		// Assert:
+		Assert.assertThat(
+				keys.isDerivedFrom(new WalletAccount(new KeyPair().getPrivateKey(), account.getRemoteHarvestingPrivateKey())),
+				IsEqual.equalTo(false));
+	}
+
+	@Test
+	public void keysAreNotDerivedFromAccountWithDifferentRemoteHarvestingPrivateKey() {
+		// Arrange:
+		final WalletAccount account = new WalletAccount();
+		final WalletAccountKeys keys = new WalletAccountKeys(account);
+
+		// Assert:
+		Assert.assertThat(
+				keys.isDerivedFrom(new WalletAccount(account.getPrivateKey(), new KeyPair().getPrivateKey())),
+				IsEqual.equalTo(false));
+	}
+
+	//endregion
+}